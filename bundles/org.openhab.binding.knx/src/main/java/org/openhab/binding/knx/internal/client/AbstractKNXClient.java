@@ -465,6 +465,11 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         }
     }
 
+    @Override
+    public int getReadQueueSize() {
+        return readDatapoints.size();
+    }
+
     @Override
     public final void registerGroupAddressListener(GroupAddressListener listener) {
         groupAddressListeners.add(listener);
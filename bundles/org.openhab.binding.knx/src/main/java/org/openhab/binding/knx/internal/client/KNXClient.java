@@ -81,6 +81,13 @@ public interface KNXClient {
      */
     void readDatapoint(Datapoint datapoint);
 
+    /**
+     * Returns the number of datapoints waiting to be read.
+     *
+     * @return the length of the read queue
+     */
+    int getReadQueueSize();
+
     /**
      * Write a command to the KNX bus.
      *
@@ -33,6 +33,11 @@ public class NoOpClient implements KNXClient {
         return false;
     }
 
+    @Override
+    public int getReadQueueSize() {
+        return 0;
+    }
+
     @Override
     public boolean isReachable(@Nullable IndividualAddress address) throws KNXException {
         return false;
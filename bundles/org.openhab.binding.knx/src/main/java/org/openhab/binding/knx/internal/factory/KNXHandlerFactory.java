@@ -30,6 +30,7 @@ import org.openhab.binding.knx.internal.i18n.KNXTranslationProvider;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.i18n.LocaleProvider;
 import org.openhab.core.i18n.TranslationProvider;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.io.transport.serial.SerialPortManager;
 import org.openhab.core.net.NetworkAddressService;
 import org.openhab.core.thing.Bridge;
@@ -39,10 +40,14 @@ import org.openhab.core.thing.ThingUID;
 import org.openhab.core.thing.binding.BaseThingHandlerFactory;
 import org.openhab.core.thing.binding.ThingHandler;
 import org.openhab.core.thing.binding.ThingHandlerFactory;
+import org.openhab.io.metrics.addon.internal.MicrometerThingMetrics;
+import org.openhab.io.metrics.addon.internal.ThingMetrics;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
 
 /**
  * The {@link KNXHandlerFactory} is responsible for creating things and thing
@@ -60,6 +65,7 @@ public class KNXHandlerFactory extends BaseThingHandlerFactory {
     @Nullable
     private final NetworkAddressService networkAddressService;
     private final SerialPortManager serialPortManager;
+    private volatile @Nullable MeterRegistryProvider meterRegistryProvider;
     private final Map<ThingUID, KNXBridgeBaseThingHandler> bridges = new ConcurrentHashMap<>();
 
     @Activate
@@ -78,6 +84,15 @@ public class KNXHandlerFactory extends BaseThingHandlerFactory {
         disableUoM = (boolean) config.getOrDefault(CONFIG_DISABLE_UOM, false);
     }
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    protected void setMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    protected void unsetMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        this.meterRegistryProvider = null;
+    }
+
     @Override
     public boolean supportsThingType(ThingTypeUID thingTypeUID) {
         return SUPPORTED_THING_TYPES_UIDS.contains(thingTypeUID);
@@ -104,19 +119,29 @@ public class KNXHandlerFactory extends BaseThingHandlerFactory {
     protected @Nullable ThingHandler createHandler(Thing thing) {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
         if (thingTypeUID.equals(THING_TYPE_IP_BRIDGE)) {
-            KNXBridgeBaseThingHandler bridgeHandler = new IPBridgeThingHandler((Bridge) thing, networkAddressService);
+            KNXBridgeBaseThingHandler bridgeHandler = new IPBridgeThingHandler((Bridge) thing, networkAddressService,
+                    createMetrics(thing));
             bridges.put(thing.getUID(), bridgeHandler);
             return bridgeHandler;
         } else if (thingTypeUID.equals(THING_TYPE_SERIAL_BRIDGE)) {
-            KNXBridgeBaseThingHandler bridgeHandler = new SerialBridgeThingHandler((Bridge) thing, serialPortManager);
+            KNXBridgeBaseThingHandler bridgeHandler = new SerialBridgeThingHandler((Bridge) thing, serialPortManager,
+                    createMetrics(thing));
             bridges.put(thing.getUID(), bridgeHandler);
             return bridgeHandler;
         } else if (thingTypeUID.equals(THING_TYPE_DEVICE)) {
-            return new DeviceThingHandler(thing);
+            return new DeviceThingHandler(thing, createMetrics(thing));
         }
         return null;
     }
 
+    private ThingMetrics createMetrics(Thing thing) {
+        @Nullable
+        MeterRegistryProvider provider = meterRegistryProvider;
+        // Micrometer is only loaded if the optional monitor bundle provides a meter registry
+        return provider == null ? ThingMetrics.NOOP
+                : new MicrometerThingMetrics(provider.getOHMeterRegistry(), BINDING_ID, thing.getUID());
+    }
+
     @Override
     public void unregisterHandler(Thing thing) {
         bridges.remove(thing.getUID());
@@ -64,6 +64,7 @@ import org.openhab.core.types.Type;
 import org.openhab.core.types.UnDefType;
 import org.openhab.core.types.util.UnitUtils;
 import org.openhab.core.util.HexUtils;
+import org.openhab.io.metrics.addon.internal.ThingMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -99,13 +100,16 @@ public class DeviceThingHandler extends BaseThingHandler implements GroupAddress
     private @Nullable ScheduledFuture<?> descriptionJob;
     private boolean filledDescription = false;
     private @Nullable ScheduledFuture<?> pollingJob;
+    private final ThingMetrics metrics;
 
-    public DeviceThingHandler(Thing thing) {
+    public DeviceThingHandler(Thing thing, ThingMetrics metrics) {
         super(thing);
+        this.metrics = metrics;
     }
 
     @Override
     public void initialize() {
+        metrics.open();
         DeviceConfig config = getConfigAs(DeviceConfig.class);
         readInterval = config.getReadInterval();
 
@@ -180,6 +184,7 @@ public class DeviceThingHandler extends BaseThingHandler implements GroupAddress
         knxChannels.clear();
 
         detachFromClient();
+        metrics.close();
     }
 
     protected void cancelReadFutures() {
@@ -251,6 +256,7 @@ public class DeviceThingHandler extends BaseThingHandler implements GroupAddress
     /** Handling commands triggered from openHAB */
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
+        long startNanos = System.nanoTime();
         logger.trace("Handling command '{}' for channel '{}'", command, channelUID);
         KNXChannel knxChannel = knxChannels.get(channelUID);
         if (knxChannel == null) {
@@ -280,6 +286,7 @@ public class DeviceThingHandler extends BaseThingHandler implements GroupAddress
                             groupAddressesWriteBlocked.invalidate(destination);
                         } else {
                             getClient().writeToKNX(commandSpec);
+                            metrics.recordCommand(startNanos);
                         }
                     } else {
                         logger.debug(
@@ -438,6 +445,7 @@ public class DeviceThingHandler extends BaseThingHandler implements GroupAddress
                     logger.trace("processDataReceived updateState to channel '{}' new value '{}' for GA '{}'",
                             knxChannel.getChannelUID(), value, destination);
                     updateState(knxChannel.getChannelUID(), state);
+                    metrics.countChannelUpdate();
                 }
             }
         } else {
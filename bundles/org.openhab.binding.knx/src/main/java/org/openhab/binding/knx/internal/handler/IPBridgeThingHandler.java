@@ -28,6 +28,7 @@ import org.openhab.core.net.NetworkAddressService;
 import org.openhab.core.thing.Bridge;
 import org.openhab.core.thing.ThingStatus;
 import org.openhab.core.thing.ThingStatusDetail;
+import org.openhab.io.metrics.addon.internal.ThingMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -56,12 +57,18 @@ public class IPBridgeThingHandler extends KNXBridgeBaseThingHandler {
     private @Nullable final NetworkAddressService networkAddressService;
 
     public IPBridgeThingHandler(Bridge bridge, @Nullable NetworkAddressService networkAddressService) {
-        super(bridge);
+        this(bridge, networkAddressService, ThingMetrics.NOOP);
+    }
+
+    public IPBridgeThingHandler(Bridge bridge, @Nullable NetworkAddressService networkAddressService,
+            ThingMetrics metrics) {
+        super(bridge, metrics);
         this.networkAddressService = networkAddressService;
     }
 
     @Override
     public void initialize() {
+        registerMeters();
         // initialization would take too long and show a warning during binding startup
         // KNX secure is adding serious delay
         updateStatus(ThingStatus.UNKNOWN);
@@ -28,6 +28,7 @@ import org.openhab.core.thing.ThingStatus;
 import org.openhab.core.thing.ThingStatusDetail;
 import org.openhab.core.thing.binding.BaseBridgeHandler;
 import org.openhab.core.types.Command;
+import org.openhab.io.metrics.addon.internal.ThingMetrics;
 
 import tuwien.auto.calimero.knxnetip.SecureConnection;
 import tuwien.auto.calimero.secure.KnxSecureException;
@@ -76,16 +77,36 @@ public abstract class KNXBridgeBaseThingHandler extends BaseBridgeHandler implem
     protected SecureRoutingConfig secureRouting;
     protected SecureTunnelConfig secureTunnel;
     private CommandExtensionData commandExtensionData;
+    private final ThingMetrics metrics;
 
     public KNXBridgeBaseThingHandler(Bridge bridge) {
+        this(bridge, ThingMetrics.NOOP);
+    }
+
+    public KNXBridgeBaseThingHandler(Bridge bridge, ThingMetrics metrics) {
         super(bridge);
         secureRouting = new SecureRoutingConfig();
         secureTunnel = new SecureTunnelConfig();
         commandExtensionData = new CommandExtensionData(new TreeMap<>());
+        this.metrics = metrics;
     }
 
     protected abstract KNXClient getClient();
 
+    /**
+     * Register the meters of the bridge, to be called on initialization.
+     */
+    protected void registerMeters() {
+        metrics.open();
+        metrics.registerQueueSize("read", () -> getClient().getReadQueueSize());
+    }
+
+    @Override
+    public void dispose() {
+        metrics.close();
+        super.dispose();
+    }
+
     public CommandExtensionData getCommandExtensionData() {
         return commandExtensionData;
     }
@@ -184,6 +205,10 @@ public abstract class KNXBridgeBaseThingHandler extends BaseBridgeHandler implem
 
     @Override
     public void updateStatus(ThingStatus status) {
+        if (status == ThingStatus.ONLINE) {
+            // the client reports ONLINE only once it (re)connected to the bus
+            metrics.countReconnect();
+        }
         super.updateStatus(status);
     }
 
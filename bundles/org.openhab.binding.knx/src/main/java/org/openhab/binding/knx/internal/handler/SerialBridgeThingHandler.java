@@ -23,6 +23,7 @@ import org.openhab.binding.knx.internal.config.SerialBridgeConfiguration;
 import org.openhab.core.io.transport.serial.SerialPortManager;
 import org.openhab.core.thing.Bridge;
 import org.openhab.core.thing.ThingStatus;
+import org.openhab.io.metrics.addon.internal.ThingMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,13 +46,15 @@ public class SerialBridgeThingHandler extends KNXBridgeBaseThingHandler {
 
     private final SerialPortManager serialPortManager;
 
-    public SerialBridgeThingHandler(Bridge bridge, final SerialPortManager serialPortManager) {
-        super(bridge);
+    public SerialBridgeThingHandler(Bridge bridge, final SerialPortManager serialPortManager,
+            ThingMetrics metrics) {
+        super(bridge, metrics);
         this.serialPortManager = serialPortManager;
     }
 
     @Override
     public void initialize() {
+        registerMeters();
         // create new instance using current configuration settings;
         // when a parameter change is done from UI, dispose() and initialize() are called
         SerialBridgeConfiguration config = getConfigAs(SerialBridgeConfiguration.class);
@@ -12,20 +12,25 @@
  */
 package org.openhab.binding.modbus.handler;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.internal.AtomicStampedValue;
 import org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal;
+import org.openhab.binding.modbus.internal.ModbusPollMerger;
 import org.openhab.binding.modbus.internal.config.ModbusPollerConfiguration;
+import org.openhab.binding.modbus.internal.handler.AbstractModbusEndpointThingHandler;
 import org.openhab.binding.modbus.internal.handler.ModbusDataThingHandler;
 import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
 import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
 import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
 import org.openhab.core.io.transport.modbus.ModbusConstants;
 import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
@@ -43,6 +48,7 @@ import org.openhab.core.thing.ThingStatusInfo;
 import org.openhab.core.thing.binding.BaseBridgeHandler;
 import org.openhab.core.thing.binding.ThingHandler;
 import org.openhab.core.types.Command;
+import org.openhab.io.metrics.addon.internal.ThingMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -70,7 +76,22 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
 
         private volatile @Nullable AtomicStampedValue<PollResult> lastResult;
 
+        // Data of the last result passed to the children, used with onlyOnChange. Null when the next result should
+        // be passed on in any case.
+        private volatile byte @Nullable [] lastDispatchedRegisters;
+        private volatile boolean @Nullable [] lastDispatchedBits;
+        private volatile long lastDispatchMillis;
+        private final LongAdder dispatchedResults = new LongAdder();
+        private final LongAdder skippedResults = new LongAdder();
+
         public synchronized void handleResult(PollResult result) {
+            handleResult(result, true);
+        }
+
+        /**
+         * @param changed whether the result should be passed to the children. Unchanged results are only cached.
+         */
+        private synchronized void handleResult(PollResult result, boolean changed) {
             // Ignore all incoming data and errors if configuration is not correct
             if (hasConfigurationError() || disposed) {
                 return;
@@ -84,8 +105,17 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
                     this.lastResult = localLastResult;
                 }
             }
+            if (!changed) {
+                skippedResults.increment();
+                logger.trace("Thing {} received unchanged response {}, not notifying children", thing.getUID(),
+                        result);
+                return;
+            }
+            dispatchedResults.increment();
             logger.debug("Thing {} received response {}", thing.getUID(), result);
+            long startNanos = System.nanoTime();
             notifyChildren(result);
+            metrics.recordPoll(startNanos);
             if (result.failure != null) {
                 Exception error = result.failure.getCause();
                 assert error != null;
@@ -102,14 +132,79 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
             Optional<@Nullable ModbusRegisterArray> registers = (Optional<@Nullable ModbusRegisterArray>) result
                     .getRegisters();
             lastPolledDataCache.set(registers.orElse(null));
-            handleResult(new PollResult(result));
+            handleResult(new PollResult(result), hasChanged(result));
         }
 
         @Override
         public synchronized void handle(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+            // children need the next successful result to recover from the error
+            resetChangeDetection();
             handleResult(new PollResult(failure));
         }
 
+        /**
+         * Check whether the result should be passed to the children, and remember its data if so
+         *
+         * @return true, unless onlyOnChange is configured and the data equals the data last passed to the children
+         */
+        private boolean hasChanged(AsyncModbusReadResult result) {
+            if (!config.isOnlyOnChange()) {
+                return true;
+            }
+            long now = System.currentTimeMillis();
+            long forcedRefreshMillis = config.getForcedRefreshMillis();
+            boolean refreshDue = forcedRefreshMillis > 0 && now - lastDispatchMillis >= forcedRefreshMillis;
+            Optional<ModbusRegisterArray> registerArray = result.getRegisters();
+            Optional<BitArray> bitArray = result.getBits();
+            boolean changed;
+            if (registerArray.isPresent()) {
+                byte[] registers = registerArray.get().getBytes();
+                changed = refreshDue || !Arrays.equals(lastDispatchedRegisters, registers);
+                if (changed) {
+                    // copy, as the cached registers might be mutated by data things writing individual bits
+                    lastDispatchedRegisters = registers.clone();
+                    lastDispatchedBits = null;
+                }
+            } else if (bitArray.isPresent()) {
+                BitArray bits = bitArray.get();
+                changed = refreshDue || !bitsEqual(lastDispatchedBits, bits);
+                if (changed) {
+                    boolean[] values = new boolean[bits.size()];
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = bits.getBit(i);
+                    }
+                    lastDispatchedRegisters = null;
+                    lastDispatchedBits = values;
+                }
+            } else {
+                changed = true;
+            }
+            if (changed) {
+                lastDispatchMillis = now;
+            }
+            return changed;
+        }
+
+        private boolean bitsEqual(boolean @Nullable [] values, BitArray bits) {
+            if (values == null || values.length != bits.size()) {
+                return false;
+            }
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != bits.getBit(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Pass the next result to the children, even if it has not changed
+         */
+        public void resetChangeDetection() {
+            lastDispatchedRegisters = null;
+            lastDispatchedBits = null;
+        }
+
         private void resetCommunicationError() {
             ThingStatusInfo statusInfo = thing.getStatusInfo();
             if (ThingStatus.OFFLINE.equals(statusInfo.getStatus())
@@ -153,6 +248,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
          */
         public void resetCache() {
             lastResult = null;
+            resetChangeDetection();
         }
     }
 
@@ -189,6 +285,8 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
     private @NonNullByDefault({}) ModbusPollerConfiguration config;
     private long cacheMillis;
     private volatile @Nullable PollTask pollTask;
+    private volatile @Nullable ModbusPollMerger pollMerger;
+    private volatile ModbusPollMerger.@Nullable Registration mergedPoll;
     private volatile @Nullable ModbusReadRequestBlueprint request;
     private volatile boolean disposed;
     private volatile List<ModbusDataThingHandler> childCallbacks = new CopyOnWriteArrayList<>();
@@ -198,9 +296,15 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
     private ReadCallbackDelegator callbackDelegator = new ReadCallbackDelegator();
 
     private @Nullable ModbusReadFunctionCode functionCode;
+    private final ThingMetrics metrics;
 
     public ModbusPollerThingHandler(Bridge bridge) {
+        this(bridge, ThingMetrics.NOOP);
+    }
+
+    public ModbusPollerThingHandler(Bridge bridge, ThingMetrics metrics) {
         super(bridge);
+        this.metrics = metrics;
     }
 
     @Override
@@ -244,6 +348,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
         comms = null;
         request = null;
         disposed = false;
+        metrics.open();
         logger.trace("Initializing {} from status {}", this.getThing().getUID(), this.getThing().getStatus());
         try {
             config = getConfigAs(ModbusPollerConfiguration.class);
@@ -276,6 +381,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
                     break;
             }
             cacheMillis = this.config.getCacheMillis();
+            metrics.registerPollResults(callbackDelegator.dispatchedResults, callbackDelegator.skippedResults);
             registerPollTask();
         } catch (EndpointNotInitializedException e) {
             logger.debug("Exception during initialization", e);
@@ -295,6 +401,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
         this.callbackDelegator.resetCache();
         comms = null;
         lastPolledDataCache.set(null);
+        metrics.close();
     }
 
     /**
@@ -312,7 +419,15 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
             logger.debug("Unregistering polling from ModbusManager");
             comms.unregisterRegularPoll(localPollTask);
         }
+        ModbusPollMerger localPollMerger = this.pollMerger;
+        ModbusPollMerger.Registration localMergedPoll = this.mergedPoll;
+        if (localPollMerger != null && localMergedPoll != null) {
+            logger.debug("Unregistering polling from the poll merger of the endpoint");
+            localPollMerger.unregisterRegularPoll(localMergedPoll);
+        }
         this.pollTask = null;
+        this.pollMerger = null;
+        this.mergedPoll = null;
         request = null;
         comms = null;
         updateStatus(ThingStatus.OFFLINE);
@@ -327,7 +442,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
     @SuppressWarnings("null")
     private synchronized void registerPollTask() throws EndpointNotInitializedException {
         logger.trace("registerPollTask()");
-        if (pollTask != null) {
+        if (pollTask != null || mergedPoll != null) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR);
             logger.debug("pollTask should be unregistered before registering a new one!");
             return;
@@ -361,10 +476,22 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
             logger.debug("Not registering polling with ModbusManager since refresh disabled");
             updateStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE, "Not polling");
         } else {
-            logger.debug("Registering polling with ModbusManager");
-            pollTask = localComms.registerRegularPoll(localRequest, config.getRefresh(), 0, callbackDelegator,
-                    callbackDelegator);
-            assert pollTask != null;
+            // only the endpoints of this binding merge polls, other endpoint handlers are polled directly
+            ModbusPollMerger localPollMerger = null;
+            if (slaveEndpointThingHandler instanceof AbstractModbusEndpointThingHandler<?, ?> endpointHandler) {
+                localPollMerger = endpointHandler.getPollMerger();
+            }
+            if (localPollMerger != null) {
+                logger.debug("Registering polling with the poll merger of the endpoint");
+                mergedPoll = localPollMerger.registerRegularPoll(localRequest, config.getRefresh(), callbackDelegator,
+                        callbackDelegator);
+                pollMerger = localPollMerger;
+            } else {
+                logger.debug("Registering polling with ModbusManager");
+                pollTask = localComms.registerRegularPoll(localRequest, config.getRefresh(), 0, callbackDelegator,
+                        callbackDelegator);
+                assert pollTask != null;
+            }
             updateStatus(ThingStatus.ONLINE);
         }
     }
@@ -386,6 +513,8 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
     public void childHandlerInitialized(ThingHandler childHandler, Thing childThing) {
         if (childHandler instanceof ModbusDataThingHandler modbusDataThingHandler) {
             this.childCallbacks.add(modbusDataThingHandler);
+            // the new child has not seen the current data yet
+            callbackDelegator.resetChangeDetection();
         }
     }
 
@@ -455,6 +584,8 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
                     getThing().getUID());
             ModbusCommunicationInterface localComms = comms;
             if (localComms != null) {
+                // pass the response to the children even if it has not changed
+                callbackDelegator.resetChangeDetection();
                 localComms.submitOneTimePoll(localRequest, callbackDelegator, callbackDelegator);
             }
         }
@@ -463,4 +594,22 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
     public AtomicReference<@Nullable ModbusRegisterArray> getLastPolledDataCache() {
         return lastPolledDataCache;
     }
+
+    /**
+     * Get the number of poll results and errors passed to the data things
+     *
+     * @return number of results passed on
+     */
+    public long getDispatchedResultCount() {
+        return callbackDelegator.dispatchedResults.sum();
+    }
+
+    /**
+     * Get the number of poll results not passed to the data things since they had not changed
+     *
+     * @return number of results skipped, always zero unless onlyOnChange is configured
+     */
+    public long getSkippedResultCount() {
+        return callbackDelegator.skippedResults.sum();
+    }
 }
@@ -12,6 +12,7 @@
  */
 package org.openhab.binding.modbus.internal;
 
+import static org.openhab.binding.modbus.ModbusBindingConstants.BINDING_ID;
 import static org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal.*;
 
 import java.util.HashSet;
@@ -23,6 +24,7 @@ import org.openhab.binding.modbus.handler.ModbusPollerThingHandler;
 import org.openhab.binding.modbus.internal.handler.ModbusDataThingHandler;
 import org.openhab.binding.modbus.internal.handler.ModbusSerialThingHandler;
 import org.openhab.binding.modbus.internal.handler.ModbusTcpThingHandler;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.io.transport.modbus.ModbusManager;
 import org.openhab.core.thing.Bridge;
 import org.openhab.core.thing.Thing;
@@ -30,8 +32,12 @@ import org.openhab.core.thing.ThingTypeUID;
 import org.openhab.core.thing.binding.BaseThingHandlerFactory;
 import org.openhab.core.thing.binding.ThingHandler;
 import org.openhab.core.thing.binding.ThingHandlerFactory;
+import org.openhab.io.metrics.addon.internal.MicrometerThingMetrics;
+import org.openhab.io.metrics.addon.internal.ThingMetrics;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -48,6 +54,7 @@ public class ModbusHandlerFactory extends BaseThingHandlerFactory {
     private final Logger logger = LoggerFactory.getLogger(ModbusHandlerFactory.class);
 
     private @NonNullByDefault({}) ModbusManager manager;
+    private volatile @Nullable MeterRegistryProvider meterRegistryProvider;
 
     private static final Set<ThingTypeUID> SUPPORTED_THING_TYPES_UIDS = new HashSet<>();
     static {
@@ -73,10 +80,10 @@ public class ModbusHandlerFactory extends BaseThingHandlerFactory {
             return new ModbusSerialThingHandler((Bridge) thing, manager);
         } else if (thingTypeUID.equals(THING_TYPE_MODBUS_POLLER)) {
             logger.debug("createHandler Modbus poller");
-            return new ModbusPollerThingHandler((Bridge) thing);
+            return new ModbusPollerThingHandler((Bridge) thing, createMetrics(thing));
         } else if (thingTypeUID.equals(THING_TYPE_MODBUS_DATA)) {
             logger.debug("createHandler data");
-            return new ModbusDataThingHandler(thing);
+            return new ModbusDataThingHandler(thing, createMetrics(thing));
         }
         logger.error("createHandler for unknown thing type uid {}. Thing label was: {}", thing.getThingTypeUID(),
                 thing.getLabel());
@@ -84,6 +91,14 @@ public class ModbusHandlerFactory extends BaseThingHandlerFactory {
         return null;
     }
 
+    private ThingMetrics createMetrics(Thing thing) {
+        @Nullable
+        MeterRegistryProvider provider = meterRegistryProvider;
+        // Micrometer is only loaded if the optional monitor bundle provides a meter registry
+        return provider == null ? ThingMetrics.NOOP
+                : new MicrometerThingMetrics(provider.getOHMeterRegistry(), BINDING_ID, thing.getUID());
+    }
+
     @Reference
     public void setModbusManager(ModbusManager manager) {
         logger.debug("Setting manager: {}", manager);
@@ -93,4 +108,13 @@ public class ModbusHandlerFactory extends BaseThingHandlerFactory {
     public void unsetModbusManager(ModbusManager manager) {
         this.manager = null;
     }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    protected void setMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    protected void unsetMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        this.meterRegistryProvider = null;
+    }
 }
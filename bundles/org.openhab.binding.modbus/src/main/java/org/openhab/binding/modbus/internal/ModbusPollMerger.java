@@ -0,0 +1,285 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Merges the regular polls of an endpoint into fewer, larger reads.
+ *
+ * Requests of the same slave, function code and poll period are merged if they overlap, are adjacent or are at most
+ * <code>maxGap</code> registers (coils, discrete inputs) apart, as long as the merged request does not exceed the
+ * protocol maximum. The result of a merged read is split up again and passed to the callbacks of the original
+ * requests, so the callbacks receive the same data as if their request had been polled on its own.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusPollMerger {
+
+    /**
+     * A regular poll registered with {@link ModbusPollMerger#registerRegularPoll}.
+     */
+    public static final class Registration {
+        private final ModbusReadRequestBlueprint request;
+        private final ModbusReadCallback resultCallback;
+        private final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback;
+        private final GroupKey group;
+
+        private Registration(ModbusReadRequestBlueprint request, long pollPeriodMillis,
+                ModbusReadCallback resultCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+            this.request = request;
+            this.resultCallback = resultCallback;
+            this.failureCallback = failureCallback;
+            this.group = new GroupKey(request.getUnitID(), request.getFunctionCode(), pollPeriodMillis);
+        }
+
+        public ModbusReadRequestBlueprint getRequest() {
+            return request;
+        }
+
+        private int getStart() {
+            return request.getReference();
+        }
+
+        private int getEnd() {
+            return request.getReference() + request.getDataLength();
+        }
+    }
+
+    /**
+     * Requests with the same key can be merged.
+     */
+    private record GroupKey(int slaveId, ModbusReadFunctionCode functionCode, long pollPeriodMillis) {
+    }
+
+    /**
+     * A read covering the requests of one or more registrations.
+     */
+    private record MergedBlock(int start, int length, int maxTries, List<Registration> registrations) {
+    }
+
+    /**
+     * Splits the result of a merged read and passes the parts to the callbacks of the registrations.
+     */
+    private class MergedBlockCallback
+            implements ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
+        private final MergedBlock block;
+
+        MergedBlockCallback(MergedBlock block) {
+            this.block = block;
+        }
+
+        @Override
+        public void handle(AsyncModbusReadResult result) {
+            for (Registration registration : block.registrations()) {
+                ModbusReadRequestBlueprint request = registration.getRequest();
+                int offset = registration.getStart() - block.start();
+                int length = request.getDataLength();
+                try {
+                    result.getRegisters().ifPresent(registers -> {
+                        if (registers.size() < offset + length) {
+                            registration.failureCallback.handle(new AsyncModbusFailure<>(request,
+                                    new IllegalStateException(String.format(
+                                            "Merged read returned %d registers, expected at least %d",
+                                            registers.size(), offset + length))));
+                        } else {
+                            registration.resultCallback.handle(new AsyncModbusReadResult(request,
+                                    new ModbusRegisterArray(Arrays.copyOfRange(registers.getBytes(), offset * 2,
+                                            (offset + length) * 2))));
+                        }
+                    });
+                    result.getBits().ifPresent(bits -> {
+                        BitArray slice = new BitArray(length);
+                        for (int i = 0; i < length; i++) {
+                            slice.setBit(i, bits.getBit(offset + i));
+                        }
+                        registration.resultCallback.handle(new AsyncModbusReadResult(request, slice));
+                    });
+                } catch (RuntimeException e) {
+                    logger.warn("Error handling the result of merged read {} for request {}", result.getRequest(),
+                            request, e);
+                }
+            }
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+            for (Registration registration : block.registrations()) {
+                try {
+                    registration.failureCallback
+                            .handle(new AsyncModbusFailure<>(registration.getRequest(), failure.getCause()));
+                } catch (RuntimeException e) {
+                    logger.warn("Error handling the failure of merged read {} for request {}", failure.getRequest(),
+                            registration.getRequest(), e);
+                }
+            }
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusPollMerger.class);
+    private final ModbusCommunicationInterface comms;
+    private final int maxGap;
+    private final Map<GroupKey, List<Registration>> registrations = new HashMap<>();
+    private final Map<GroupKey, Map<MergedBlock, PollTask>> pollTasks = new HashMap<>();
+
+    /**
+     * @param comms the communication interface of the endpoint
+     * @param maxGap the maximum number of registers (coils, discrete inputs) between two requests that are merged
+     */
+    public ModbusPollMerger(ModbusCommunicationInterface comms, int maxGap) {
+        this.comms = comms;
+        this.maxGap = maxGap;
+    }
+
+    /**
+     * Register a regularly polled request. The request is polled together with all other requests it can be merged
+     * with.
+     *
+     * @param request request to poll
+     * @param pollPeriodMillis poll interval, in milliseconds
+     * @param resultCallback callback to call with the data of the request
+     * @param failureCallback callback to call in case of failure
+     * @return the registration, to be passed to {@link #unregisterRegularPoll(Registration)}
+     * @throws IllegalStateException when the communication interface has been closed already
+     */
+    public synchronized Registration registerRegularPoll(ModbusReadRequestBlueprint request, long pollPeriodMillis,
+            ModbusReadCallback resultCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        Registration registration = new Registration(request, pollPeriodMillis, resultCallback, failureCallback);
+        registrations.computeIfAbsent(registration.group, group -> new ArrayList<>()).add(registration);
+        updatePollTasks(registration.group);
+        return registration;
+    }
+
+    /**
+     * Unregister a regularly polled request. The remaining requests it was merged with are merged again.
+     *
+     * @param registration the registration returned by {@link #registerRegularPoll}
+     * @return whether the request was registered
+     */
+    public synchronized boolean unregisterRegularPoll(Registration registration) {
+        List<Registration> groupRegistrations = registrations.get(registration.group);
+        if (groupRegistrations == null || !groupRegistrations.remove(registration)) {
+            return false;
+        }
+        if (groupRegistrations.isEmpty()) {
+            registrations.remove(registration.group);
+        }
+        updatePollTasks(registration.group);
+        return true;
+    }
+
+    /**
+     * Unregister all polls.
+     */
+    public synchronized void close() {
+        registrations.clear();
+        pollTasks.values().forEach(tasks -> tasks.values().forEach(comms::unregisterRegularPoll));
+        pollTasks.clear();
+    }
+
+    /**
+     * @return the number of reads that are polled regularly
+     */
+    public synchronized int getPollCount() {
+        return pollTasks.values().stream().mapToInt(Map::size).sum();
+    }
+
+    /**
+     * Merge the requests of a group again and (un)register the polls of all blocks that changed.
+     */
+    private void updatePollTasks(GroupKey group) {
+        Set<MergedBlock> blocks = new HashSet<>(merge(group, registrations.getOrDefault(group, List.of())));
+        Map<MergedBlock, PollTask> tasks = pollTasks.computeIfAbsent(group, key -> new HashMap<>());
+        tasks.entrySet().removeIf(entry -> {
+            if (blocks.contains(entry.getKey())) {
+                return false;
+            }
+            comms.unregisterRegularPoll(entry.getValue());
+            return true;
+        });
+        for (MergedBlock block : blocks) {
+            if (!tasks.containsKey(block)) {
+                ModbusReadRequestBlueprint request = new ModbusReadRequestBlueprint(group.slaveId(),
+                        group.functionCode(), block.start(), block.length(), block.maxTries());
+                MergedBlockCallback callback = new MergedBlockCallback(block);
+                logger.debug("Registering merged poll {} for {} requests", request, block.registrations().size());
+                tasks.put(block, comms.registerRegularPoll(request, group.pollPeriodMillis(), 0, callback, callback));
+            }
+        }
+        if (tasks.isEmpty()) {
+            pollTasks.remove(group);
+        }
+    }
+
+    private List<MergedBlock> merge(GroupKey group, List<Registration> groupRegistrations) {
+        int maxLength = switch (group.functionCode()) {
+            case READ_COILS, READ_INPUT_DISCRETES -> ModbusConstants.MAX_BITS_READ_COUNT;
+            default -> ModbusConstants.MAX_REGISTERS_READ_COUNT;
+        };
+        List<Registration> sorted = groupRegistrations.stream()
+                .sorted(Comparator.comparingInt(Registration::getStart).thenComparingInt(Registration::getEnd))
+                .toList();
+
+        List<MergedBlock> blocks = new ArrayList<>();
+        List<Registration> current = new ArrayList<>();
+        int start = 0;
+        int end = 0;
+        for (Registration registration : sorted) {
+            int mergedEnd = Math.max(end, registration.getEnd());
+            if (!current.isEmpty() && registration.getStart() <= end + maxGap && mergedEnd - start <= maxLength) {
+                end = mergedEnd;
+            } else {
+                if (!current.isEmpty()) {
+                    blocks.add(createBlock(start, end, current));
+                }
+                current = new ArrayList<>();
+                start = registration.getStart();
+                end = registration.getEnd();
+            }
+            current.add(registration);
+        }
+        if (!current.isEmpty()) {
+            blocks.add(createBlock(start, end, current));
+        }
+        return blocks;
+    }
+
+    private MergedBlock createBlock(int start, int end, List<Registration> blockRegistrations) {
+        int maxTries = blockRegistrations.stream().mapToInt(registration -> registration.getRequest().getMaxTries())
+                .max().orElse(1);
+        return new MergedBlock(start, end - start, maxTries, List.copyOf(blockRegistrations));
+    }
+}
@@ -29,6 +29,8 @@ public class ModbusPollerConfiguration {
     private @Nullable String type;
     private int maxTries = 3;// backwards compatibility and tests
     private long cacheMillis = 50L;
+    private boolean onlyOnChange;
+    private long forcedRefreshMillis;
 
     /**
      * Gets refresh period in milliseconds
@@ -115,4 +117,33 @@ public class ModbusPollerConfiguration {
     public void setCacheMillis(long cacheMillis) {
         this.cacheMillis = cacheMillis;
     }
+
+    /**
+     * Gets whether poll results are passed to the data things only when they differ from the previous result
+     */
+    public boolean isOnlyOnChange() {
+        return onlyOnChange;
+    }
+
+    /**
+     * Sets whether poll results are passed to the data things only when they differ from the previous result
+     */
+    public void setOnlyOnChange(boolean onlyOnChange) {
+        this.onlyOnChange = onlyOnChange;
+    }
+
+    /**
+     * Gets interval in milliseconds after which unchanged poll results are passed to the data things anyway, with
+     * {@link #isOnlyOnChange()}. Zero or negative to never pass unchanged results.
+     */
+    public long getForcedRefreshMillis() {
+        return forcedRefreshMillis;
+    }
+
+    /**
+     * Sets interval in milliseconds after which unchanged poll results are passed to the data things anyway
+     */
+    public void setForcedRefreshMillis(long forcedRefreshMillis) {
+        this.forcedRefreshMillis = forcedRefreshMillis;
+    }
 }
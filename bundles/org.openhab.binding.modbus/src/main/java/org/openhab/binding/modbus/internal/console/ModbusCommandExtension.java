@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal.console;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.modbus.handler.ModbusPollerThingHandler;
+import org.openhab.core.io.console.Console;
+import org.openhab.core.io.console.ConsoleCommandCompleter;
+import org.openhab.core.io.console.StringsCompleter;
+import org.openhab.core.io.console.extensions.AbstractConsoleCommandExtension;
+import org.openhab.core.io.console.extensions.ConsoleCommandExtension;
+import org.openhab.core.thing.Thing;
+import org.openhab.core.thing.ThingRegistry;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * The {@link ModbusCommandExtension} is responsible for handling console commands
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ConsoleCommandExtension.class)
+public class ModbusCommandExtension extends AbstractConsoleCommandExtension implements ConsoleCommandCompleter {
+
+    private static final String CMD_POLLERS = "pollers";
+    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(List.of(CMD_POLLERS), false);
+
+    private final ThingRegistry thingRegistry;
+
+    @Activate
+    public ModbusCommandExtension(final @Reference ThingRegistry thingRegistry) {
+        super("modbus", "Interact with the Modbus binding.");
+        this.thingRegistry = thingRegistry;
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length == 1 && CMD_POLLERS.equals(args[0])) {
+            printPollers(console);
+        } else {
+            printUsage(console);
+        }
+    }
+
+    private void printPollers(Console console) {
+        boolean found = false;
+        for (Thing thing : thingRegistry.getAll()) {
+            if (thing.getHandler() instanceof ModbusPollerThingHandler handler) {
+                found = true;
+                console.println(String.format("%-60s %10d passed on %10d unchanged skipped", thing.getUID(),
+                        handler.getDispatchedResultCount(), handler.getSkippedResultCount()));
+            }
+        }
+        if (!found) {
+            console.println("No pollers");
+        }
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return List.of(buildCommandUsage(CMD_POLLERS,
+                "list the number of poll results passed to the data things and skipped since they had not changed"));
+    }
+
+    @Override
+    public @Nullable ConsoleCommandCompleter getCompleter() {
+        return this;
+    }
+
+    @Override
+    public boolean complete(String[] args, int cursorArgumentIndex, int cursorPosition, List<String> candidates) {
+        if (cursorArgumentIndex <= 0) {
+            return CMD_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
+        }
+        return false;
+    }
+}
@@ -17,6 +17,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.handler.EndpointNotInitializedException;
 import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
+import org.openhab.binding.modbus.internal.ModbusPollMerger;
 import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
 import org.openhab.core.io.transport.modbus.ModbusManager;
 import org.openhab.core.io.transport.modbus.endpoint.EndpointPoolConfiguration;
@@ -46,8 +47,11 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
     protected volatile @Nullable E endpoint;
     protected ModbusManager modbusManager;
     protected volatile @NonNullByDefault({}) EndpointPoolConfiguration poolConfiguration;
+    /** Maximum gap between merged polls, -1 if polls are not merged */
+    protected volatile int pollMergeMaxGap = -1;
     private final Logger logger = LoggerFactory.getLogger(AbstractModbusEndpointThingHandler.class);
     private @NonNullByDefault({}) ModbusCommunicationInterface comms;
+    private volatile @Nullable ModbusPollMerger pollMerger;
 
     public AbstractModbusEndpointThingHandler(Bridge bridge, ModbusManager modbusManager) {
         super(bridge);
@@ -76,6 +80,9 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
                 }
                 try {
                     comms = modbusManager.newModbusCommunicationInterface(endpoint, poolConfiguration);
+                    if (pollMergeMaxGap >= 0) {
+                        pollMerger = new ModbusPollMerger(comms, pollMergeMaxGap);
+                    }
                     updateStatus(ThingStatus.ONLINE);
                 } catch (IllegalArgumentException e) {
                     updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
@@ -94,6 +101,11 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
     @Override
     public void dispose() {
         try {
+            ModbusPollMerger localPollMerger = pollMerger;
+            pollMerger = null;
+            if (localPollMerger != null) {
+                localPollMerger.close();
+            }
             ModbusCommunicationInterface localComms = comms;
             if (localComms != null) {
                 localComms.close();
@@ -110,6 +122,15 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
         return comms;
     }
 
+    /**
+     * Gets the {@link ModbusPollMerger} of this endpoint, which merges the regular polls of all pollers
+     *
+     * @return poll merger, or <code>null</code> if the polls of this endpoint are not merged
+     */
+    public @Nullable ModbusPollMerger getPollMerger() {
+        return pollMerger;
+    }
+
     @Nullable
     public E getEndpoint() {
         return endpoint;
@@ -119,7 +140,7 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
     public abstract int getSlaveId() throws EndpointNotInitializedException;
 
     /**
-     * Must be overriden by subclasses to initialize config, endpoint, and poolConfiguration
+     * Must be overriden by subclasses to initialize config, endpoint, poolConfiguration and pollMergeMaxGap
      */
     protected abstract void configure() throws ModbusConfigurationException;
 
@@ -17,6 +17,8 @@ import static org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -80,6 +82,7 @@ import org.openhab.core.types.RefreshType;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
 import org.openhab.core.util.HexUtils;
+import org.openhab.io.metrics.addon.internal.ThingMetrics;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.FrameworkUtil;
 import org.slf4j.Logger;
@@ -122,7 +125,47 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         CHANNEL_ID_TO_ACCEPTED_TYPES.put(ModbusBindingConstantsInternal.CHANNEL_ROLLERSHUTTER,
                 new RollershutterItem("").getAcceptedDataTypes());
     }
+
+    /**
+     * A data channel, with the state types it accepts and the states boolean-like values are mapped to
+     *
+     * @param decimal whether the channel accepts {@link DecimalType} states as they are
+     */
+    private record DataChannel(String channelId, List<Class<? extends State>> acceptedDataTypes,
+            @Nullable State trueState, @Nullable State falseState, boolean decimal) {
+    }
+
+    private static final List<DataChannel> DATA_CHANNELS = new ArrayList<>();
+
+    static {
+        CHANNEL_ID_TO_ACCEPTED_TYPES.forEach((channelId, acceptedDataTypes) -> {
+            boolean decimal = !acceptedDataTypes.isEmpty() && acceptedDataTypes.get(0).equals(DecimalType.class);
+            if (containsOnOff(acceptedDataTypes)) {
+                DATA_CHANNELS.add(new DataChannel(channelId, acceptedDataTypes, OnOffType.ON, OnOffType.OFF, decimal));
+            } else if (containsOpenClosed(acceptedDataTypes)) {
+                DATA_CHANNELS.add(new DataChannel(channelId, acceptedDataTypes, OpenClosedType.OPEN,
+                        OpenClosedType.CLOSED, decimal));
+            } else if (!acceptedDataTypes.isEmpty()) {
+                DATA_CHANNELS.add(new DataChannel(channelId, acceptedDataTypes, null, null, decimal));
+            }
+        });
+    }
+
+    /**
+     * Location of the read value within the polled data, resolved once in initialize
+     *
+     * @param extractIndex index of the value as understood by
+     *            {@link ModbusBitUtilities#extractStateFromRegisters(ModbusRegisterArray, int, ValueType)}, or index
+     *            of the bit with coils and discrete inputs
+     * @param rawOffset index of the first byte (with registers) or bit (with coils and discrete inputs) the value is
+     *            decoded from
+     * @param rawLength number of bytes or bits the value is decoded from
+     */
+    private record ReadPlan(int extractIndex, int rawOffset, int rawLength) {
+    }
+
     // data channels + 4 for read/write last error/success
+    private static final DecimalType DECIMAL_ONE = new DecimalType(BigDecimal.ONE);
     private static final int NUMER_OF_CHANNELS_HINT = CHANNEL_ID_TO_ACCEPTED_TYPES.size() + 4;
 
     //
@@ -135,6 +178,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private volatile @Nullable CascadedValueTransformationImpl writeTransformation;
     private volatile Optional<Integer> readIndex = Optional.empty();
     private volatile Optional<Integer> readSubIndex = Optional.empty();
+    private volatile @Nullable ReadPlan readPlan;
     private volatile Optional<Integer> writeStart = Optional.empty();
     private volatile Optional<Integer> writeSubIndex = Optional.empty();
     private volatile int pollStart;
@@ -151,18 +195,37 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private volatile Map<String, ChannelUID> channelCache = new HashMap<>();
     private volatile Map<ChannelUID, Long> channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
     private volatile Map<ChannelUID, State> channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+    // raw data the last read value was decoded from, and the channel states transformed from it
+    private volatile byte[] lastRawData = new byte[0];
+    private volatile @Nullable Map<ChannelUID, State> lastValueStates;
 
     private volatile LocalDateTime lastStatusInfoUpdate = LocalDateTime.MIN;
     private volatile ThingStatusInfo statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE,
             null);
 
+    private final ThingMetrics metrics;
+
     public ModbusDataThingHandler(Thing thing) {
+        this(thing, ThingMetrics.NOOP);
+    }
+
+    public ModbusDataThingHandler(Thing thing, ThingMetrics metrics) {
         super(thing);
         this.bundleContext = FrameworkUtil.getBundle(ModbusDataThingHandler.class).getBundleContext();
+        this.metrics = metrics;
     }
 
     @Override
     public synchronized void handleCommand(ChannelUID channelUID, Command command) {
+        long startNanos = System.nanoTime();
+        try {
+            handleCommandInternal(channelUID, command);
+        } finally {
+            metrics.recordCommand(startNanos);
+        }
+    }
+
+    private void handleCommandInternal(ChannelUID channelUID, Command command) {
         logger.trace("Thing {} '{}' received command '{}' to channel '{}'", getThing().getUID(), getThing().getLabel(),
                 command, channelUID);
         ModbusDataConfiguration config = this.config;
@@ -401,6 +464,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         // Long running initialization should be done asynchronously in background.
         try {
             logger.trace("initialize() of thing {} '{}' starting", thing.getUID(), thing.getLabel());
+            metrics.open();
             ModbusDataConfiguration localConfig = config = getConfigAs(ModbusDataConfiguration.class);
             updateUnchangedValuesEveryMillis = localConfig.getUpdateUnchangedValuesEveryMillis();
             Bridge bridge = getBridge();
@@ -469,6 +533,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         writeTransformation = null;
         readIndex = Optional.empty();
         readSubIndex = Optional.empty();
+        readPlan = null;
         writeStart = Optional.empty();
         writeSubIndex = Optional.empty();
         pollStart = 0;
@@ -486,6 +551,22 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE, null);
         channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
         channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+        lastRawData = new byte[0];
+        lastValueStates = null;
+        metrics.close();
+    }
+
+    @Override
+    public synchronized void channelLinked(ChannelUID channelUID) {
+        // cached states only cover the channels linked at the time they were transformed
+        lastValueStates = null;
+        super.channelLinked(channelUID);
+    }
+
+    @Override
+    public synchronized void channelUnlinked(ChannelUID channelUID) {
+        lastValueStates = null;
+        super.channelUnlinked(channelUID);
     }
 
     @Override
@@ -578,6 +659,50 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         }
         readTransformation = new CascadedValueTransformationImpl(config.getReadTransform());
         validateReadIndex();
+        compileReadPlan();
+    }
+
+    /**
+     * Resolve where the read value is located within the polled data, so that poll results can be decoded without
+     * evaluating the configuration again
+     */
+    private void compileReadPlan() {
+        ModbusReadRequestBlueprint readRequest = this.readRequest;
+        ValueType readValueType = this.readValueType;
+        lastRawData = new byte[0];
+        lastValueStates = null;
+        if (!isReadEnabled || readIndex.isEmpty() || readRequest == null || readValueType == null) {
+            readPlan = null;
+            return;
+        }
+        int relativeIndex = readIndex.get() - pollStart;
+        final ReadPlan localReadPlan;
+        switch (readRequest.getFunctionCode()) {
+            case READ_COILS:
+            case READ_INPUT_DISCRETES:
+                localReadPlan = new ReadPlan(relativeIndex, relativeIndex, 1);
+                break;
+            default:
+                // extractIndex:
+                // e.g. with bit, extractIndex=4 means 5th bit (from right) ("10.4" -> 5th bit of register 10)
+                // e.g. with 8bit integer, extractIndex=3 means high byte of second register
+                //
+                // with <16 bit types, this is the index of the N'th 1-bit/8-bit item. Each register has 16/2 items,
+                // respectively.
+                // with >=16 bit types, this is index of first register
+                if (readValueType.getBits() >= 16) {
+                    // Invariant, checked in validateReadIndex
+                    assert readSubIndex.orElse(0) == 0;
+                    localReadPlan = new ReadPlan(relativeIndex, relativeIndex * 2, readValueType.getBits() / 8);
+                } else {
+                    int itemsPerRegister = 16 / readValueType.getBits();
+                    localReadPlan = new ReadPlan(relativeIndex * itemsPerRegister + readSubIndex.orElse(0),
+                            relativeIndex * 2, 2);
+                }
+                break;
+        }
+        readPlan = localReadPlan;
+        lastRawData = new byte[localReadPlan.rawLength()];
     }
 
     private void validateAndParseWriteParameters(ModbusDataConfiguration config) throws ModbusConfigurationException {
@@ -787,11 +912,11 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         }
     }
 
-    private boolean containsOnOff(List<Class<? extends State>> channelAcceptedDataTypes) {
+    private static boolean containsOnOff(List<Class<? extends State>> channelAcceptedDataTypes) {
         return channelAcceptedDataTypes.stream().anyMatch(clz -> clz.equals(OnOffType.class));
     }
 
-    private boolean containsOpenClosed(List<Class<? extends State>> acceptedDataTypes) {
+    private static boolean containsOpenClosed(List<Class<? extends State>> acceptedDataTypes) {
         return acceptedDataTypes.stream().anyMatch(clz -> clz.equals(OpenClosedType.class));
     }
 
@@ -815,38 +940,34 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             return;
         }
         ValueType readValueType = this.readValueType;
-        if (readValueType == null) {
+        ReadPlan readPlan = this.readPlan;
+        if (readValueType == null || readPlan == null) {
             return;
         }
-        State numericState;
-
-        // extractIndex:
-        // e.g. with bit, extractIndex=4 means 5th bit (from right) ("10.4" -> 5th bit of register 10, "10.4" -> 5th bit
-        // of register 10)
-        // bit of second register)
-        // e.g. with 8bit integer, extractIndex=3 means high byte of second register
-        //
-        // with <16 bit types, this is the index of the N'th 1-bit/8-bit item. Each register has 16/2 items,
-        // respectively.
-        // with >=16 bit types, this is index of first register
-        int extractIndex;
-        if (readValueType.getBits() >= 16) {
-            // Invariant, checked in initialize
-            assert readSubIndex.orElse(0) == 0;
-            extractIndex = readIndex.get() - pollStart;
-        } else {
-            int subIndex = readSubIndex.orElse(0);
-            int itemsPerRegister = 16 / readValueType.getBits();
-            extractIndex = (readIndex.get() - pollStart) * itemsPerRegister + subIndex;
+        byte[] bytes = registers.getBytes();
+        int rawEnd = readPlan.rawOffset() + readPlan.rawLength();
+        Map<ChannelUID, State> lastValueStates = this.lastValueStates;
+        if (lastValueStates != null && bytes.length >= rawEnd
+                && Arrays.equals(lastRawData, 0, lastRawData.length, bytes, readPlan.rawOffset(), rawEnd)) {
+            Map<ChannelUID, State> values = processUpdatedValue(lastValueStates);
+            logger.debug("Thing {} channels updated: {}. Registers unchanged, reusing previous value. Registers {} "
+                    + "for request {}", thing.getUID(), values, registers, request);
+            return;
         }
-        numericState = ModbusBitUtilities.extractStateFromRegisters(registers, extractIndex, readValueType)
-                .map(state -> (State) state).orElse(UnDefType.UNDEF);
+
+        State numericState = ModbusBitUtilities.extractStateFromRegisters(registers, readPlan.extractIndex(),
+                readValueType).map(state -> (State) state).orElse(UnDefType.UNDEF);
         boolean boolValue = !numericState.equals(DecimalType.ZERO);
-        Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
+        Map<ChannelUID, State> valueStates = transformValue(numericState, boolValue);
+        Map<ChannelUID, State> values = processUpdatedValue(valueStates);
+        if (bytes.length >= rawEnd && canReuseValueStates()) {
+            System.arraycopy(bytes, readPlan.rawOffset(), lastRawData, 0, readPlan.rawLength());
+            this.lastValueStates = valueStates;
+        }
         logger.debug(
                 "Thing {} channels updated: {}. readValueType={}, readIndex={}, readSubIndex(or 0)={}, extractIndex={} -> numeric value {} and boolValue={}. Registers {} for request {}",
-                thing.getUID(), values, readValueType, readIndex, readSubIndex.orElse(0), extractIndex, numericState,
-                boolValue, registers, request);
+                thing.getUID(), values, readValueType, readIndex, readSubIndex.orElse(0), readPlan.extractIndex(),
+                numericState, boolValue, registers, request);
     }
 
     private synchronized void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
@@ -855,9 +976,26 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         } else if (!isReadEnabled) {
             return;
         }
-        boolean boolValue = bits.getBit(readIndex.get() - pollStart);
-        DecimalType numericState = boolValue ? new DecimalType(BigDecimal.ONE) : DecimalType.ZERO;
-        Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
+        ReadPlan readPlan = this.readPlan;
+        if (readPlan == null) {
+            return;
+        }
+        boolean boolValue = bits.getBit(readPlan.extractIndex());
+        byte rawValue = (byte) (boolValue ? 1 : 0);
+        Map<ChannelUID, State> lastValueStates = this.lastValueStates;
+        if (lastValueStates != null && lastRawData[0] == rawValue) {
+            Map<ChannelUID, State> values = processUpdatedValue(lastValueStates);
+            logger.debug("Thing {} channels updated: {}. Bit unchanged, reusing previous value. Bits {} for request {}",
+                    thing.getUID(), values, bits, request);
+            return;
+        }
+        DecimalType numericState = boolValue ? DECIMAL_ONE : DecimalType.ZERO;
+        Map<ChannelUID, State> valueStates = transformValue(numericState, boolValue);
+        Map<ChannelUID, State> values = processUpdatedValue(valueStates);
+        if (canReuseValueStates()) {
+            lastRawData[0] = rawValue;
+            this.lastValueStates = valueStates;
+        }
         logger.debug(
                 "Thing {} channels updated: {}. readValueType={}, readIndex={} -> numeric value {} and boolValue={}. Bits {} for request {}",
                 thing.getUID(), values, readValueType, readIndex, numericState, boolValue, bits, request);
@@ -950,73 +1088,87 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     }
 
     /**
-     * Update linked channels
+     * Transform polled data to the states of the linked data channels
      *
      * @param numericState numeric state corresponding to polled data (or UNDEF with floating point NaN or infinity)
      * @param boolValue boolean value corresponding to polled data
-     * @return updated channel data
+     * @return states of the linked data channels
      */
-    private Map<ChannelUID, State> processUpdatedValue(State numericState, boolean boolValue) {
+    private Map<ChannelUID, State> transformValue(State numericState, boolean boolValue) {
         ValueTransformation localReadTransformation = readTransformation;
         if (localReadTransformation == null) {
             // We should always have transformation available if thing is initalized properly
-            logger.trace("No transformation available, aborting processUpdatedValue");
+            logger.trace("No transformation available, aborting transformValue");
             return Collections.emptyMap();
         }
-        Map<ChannelUID, State> states = new HashMap<>();
-        CHANNEL_ID_TO_ACCEPTED_TYPES.keySet().stream().forEach(channelId -> {
-            ChannelUID channelUID = getChannelUID(channelId);
+        boolean identityTransform = localReadTransformation.isIdentityTransform();
+        Map<ChannelUID, State> states = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+        for (DataChannel channel : DATA_CHANNELS) {
+            ChannelUID channelUID = getChannelUID(channel.channelId());
             if (!isLinked(channelUID)) {
-                return;
-            }
-            List<Class<? extends State>> acceptedDataTypes = CHANNEL_ID_TO_ACCEPTED_TYPES.get(channelId);
-            if (acceptedDataTypes.isEmpty()) {
-                return;
-            }
-
-            State boolLikeState;
-            if (containsOnOff(acceptedDataTypes)) {
-                boolLikeState = OnOffType.from(boolValue);
-            } else if (containsOpenClosed(acceptedDataTypes)) {
-                boolLikeState = boolValue ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
-            } else {
-                boolLikeState = null;
+                continue;
             }
 
             State transformedState;
-            if (localReadTransformation.isIdentityTransform()) {
+            if (identityTransform) {
+                @Nullable
+                State boolLikeState = boolValue ? channel.trueState() : channel.falseState();
                 if (boolLikeState != null) {
                     // A bit of smartness for ON/OFF and OPEN/CLOSED with boolean like items
                     transformedState = boolLikeState;
+                } else if (channel.decimal() && numericState instanceof DecimalType) {
+                    // Parsing the string representation would result in an equal DecimalType
+                    transformedState = numericState;
                 } else {
                     // Numeric states always go through transformation. This allows value of 17.5 to be
                     // converted to
                     // 17.5% with percent types (instead of raising error)
-                    transformedState = localReadTransformation.transformState(bundleContext, acceptedDataTypes,
-                            numericState);
+                    transformedState = localReadTransformation.transformState(bundleContext,
+                            channel.acceptedDataTypes(), numericState);
                 }
             } else {
-                transformedState = localReadTransformation.transformState(bundleContext, acceptedDataTypes,
+                transformedState = localReadTransformation.transformState(bundleContext, channel.acceptedDataTypes(),
                         numericState);
             }
 
             if (transformedState != null) {
                 logger.trace(
                         "Channel {} will be updated to '{}' (type {}). Input data: number value {} (value type '{}' taken into account) and bool value {}. Transformation: {}",
-                        channelId, transformedState, transformedState.getClass().getSimpleName(), numericState,
-                        readValueType, boolValue,
-                        localReadTransformation.isIdentityTransform() ? "<identity>" : localReadTransformation);
+                        channel.channelId(), transformedState, transformedState.getClass().getSimpleName(),
+                        numericState, readValueType, boolValue,
+                        identityTransform ? "<identity>" : localReadTransformation);
                 states.put(channelUID, transformedState);
             } else {
-                String types = String.join(", ",
-                        acceptedDataTypes.stream().map(cls -> cls.getSimpleName()).toArray(String[]::new));
+                String types = String.join(", ", channel.acceptedDataTypes().stream()
+                        .map(cls -> cls.getSimpleName()).toArray(String[]::new));
                 logger.warn(
                         "Channel {} will not be updated since transformation was unsuccessful. Channel is expecting the following data types [{}]. Input data: number value {} (value type '{}' taken into account) and bool value {}. Transformation: {}",
-                        channelId, types, numericState, readValueType, boolValue,
-                        localReadTransformation.isIdentityTransform() ? "<identity>" : localReadTransformation);
+                        channel.channelId(), types, numericState, readValueType, boolValue,
+                        identityTransform ? "<identity>" : localReadTransformation);
             }
-        });
+        }
+        return states;
+    }
 
+    /**
+     * Only the states of the identity transformation depend on the raw data alone. Other transformations may use
+     * services that were not available yet or external state, so their results are never reused.
+     *
+     * @return whether the transformed states may be reused while the raw data does not change
+     */
+    private boolean canReuseValueStates() {
+        ValueTransformation localReadTransformation = readTransformation;
+        return localReadTransformation != null && localReadTransformation.isIdentityTransform();
+    }
+
+    /**
+     * Update linked channels
+     *
+     * @param valueStates states of the linked data channels, as returned by {@link #transformValue(State, boolean)}
+     * @return updated channel data
+     */
+    private Map<ChannelUID, State> processUpdatedValue(Map<ChannelUID, State> valueStates) {
+        Map<ChannelUID, State> states = new HashMap<>(valueStates);
         ChannelUID lastReadSuccessUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS);
         if (isLinked(lastReadSuccessUID)) {
             states.put(lastReadSuccessUID, new DateTimeType());
@@ -1052,6 +1204,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private void tryUpdateState(ChannelUID uid, State state) {
         try {
             updateState(uid, state);
+            metrics.countChannelUpdate();
         } catch (IllegalArgumentException e) {
             logger.warn("Error updating state '{}' (type {}) to channel {}: {} {}", state,
                     Optional.ofNullable(state).map(s -> s.getClass().getName()).orElse("null"), uid,
@@ -61,6 +61,8 @@ public class ModbusTcpThingHandler
         poolConfiguration.setInterConnectDelayMillis(config.getTimeBetweenReconnectMillis());
         poolConfiguration.setInterTransactionDelayMillis(config.getTimeBetweenTransactionsMillis());
         poolConfiguration.setReconnectAfterMillis(config.getReconnectAfterMillis());
+
+        pollMergeMaxGap = config.isMergePolls() ? Math.max(0, config.getMergePollsMaxGap()) : -1;
     }
 
     @SuppressWarnings("null") // since Optional.map is always called with NonNull argument
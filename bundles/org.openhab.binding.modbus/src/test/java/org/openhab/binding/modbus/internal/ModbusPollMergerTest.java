@@ -0,0 +1,218 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+
+/**
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusPollMergerTest {
+
+    private static final long PERIOD = 1000;
+
+    private final List<AsyncModbusReadResult> results = new ArrayList<>();
+    private final List<AsyncModbusFailure<ModbusReadRequestBlueprint>> failures = new ArrayList<>();
+    private final ModbusReadCallback resultCallback = results::add;
+    private final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback = failures::add;
+
+    private @NonNullByDefault({}) ModbusCommunicationInterface comms;
+
+    @BeforeEach
+    public void setUp() {
+        comms = mock(ModbusCommunicationInterface.class);
+        when(comms.registerRegularPoll(any(), anyLong(), anyLong(), any(), any()))
+                .thenAnswer(invocation -> mock(PollTask.class));
+    }
+
+    private static ModbusReadRequestBlueprint request(ModbusReadFunctionCode functionCode, int start, int length) {
+        return new ModbusReadRequestBlueprint(1, functionCode, start, length, 3);
+    }
+
+    private static ModbusReadRequestBlueprint request(int start, int length) {
+        return request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, length);
+    }
+
+    private List<ModbusReadRequestBlueprint> registeredRequests() {
+        ArgumentCaptor<ModbusReadRequestBlueprint> captor = ArgumentCaptor.forClass(ModbusReadRequestBlueprint.class);
+        verify(comms, atLeastOnce()).registerRegularPoll(captor.capture(), eq(PERIOD), anyLong(), any(), any());
+        return captor.getAllValues();
+    }
+
+    private ModbusReadCallback lastResultCallback() {
+        ArgumentCaptor<ModbusReadCallback> captor = ArgumentCaptor.forClass(ModbusReadCallback.class);
+        verify(comms, atLeastOnce()).registerRegularPoll(any(), anyLong(), anyLong(), captor.capture(), any());
+        return captor.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ModbusFailureCallback<ModbusReadRequestBlueprint> lastFailureCallback() {
+        ArgumentCaptor<ModbusFailureCallback<ModbusReadRequestBlueprint>> captor = ArgumentCaptor
+                .forClass(ModbusFailureCallback.class);
+        verify(comms, atLeastOnce()).registerRegularPoll(any(), anyLong(), anyLong(), any(), captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    public void testAdjacentRequestsAreMerged() {
+        ModbusPollMerger merger = new ModbusPollMerger(comms, 0);
+        merger.registerRegularPoll(request(0, 2), PERIOD, resultCallback, failureCallback);
+        merger.registerRegularPoll(request(2, 3), PERIOD, resultCallback, failureCallback);
+
+        assertThat(merger.getPollCount(), is(equalTo(1)));
+        List<ModbusReadRequestBlueprint> requests = registeredRequests();
+        assertThat(requests.get(requests.size() - 1), is(equalTo(request(0, 5))));
+        verify(comms, times(1)).unregisterRegularPoll(any());
+    }
+
+    @Test
+    public void testGapIsRespected() {
+        ModbusPollMerger merger = new ModbusPollMerger(comms, 2);
+        merger.registerRegularPoll(request(0, 2), PERIOD, resultCallback, failureCallback);
+        merger.registerRegularPoll(request(4, 2), PERIOD, resultCallback, failureCallback);
+        merger.registerRegularPoll(request(9, 1), PERIOD, resultCallback, failureCallback);
+
+        assertThat(merger.getPollCount(), is(equalTo(2)));
+        List<ModbusReadRequestBlueprint> requests = registeredRequests();
+        assertThat(requests, hasItems(request(0, 6), request(9, 1)));
+    }
+
+    @Test
+    public void testDifferentFunctionCodesAndPeriodsAreNotMerged() {
+        ModbusPollMerger merger = new ModbusPollMerger(comms, 0);
+        merger.registerRegularPoll(request(0, 2), PERIOD, resultCallback, failureCallback);
+        merger.registerRegularPoll(request(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 2, 2), PERIOD, resultCallback,
+                failureCallback);
+        merger.registerRegularPoll(request(2, 2), PERIOD * 2, resultCallback, failureCallback);
+
+        assertThat(merger.getPollCount(), is(equalTo(3)));
+        verify(comms, never()).unregisterRegularPoll(any());
+    }
+
+    @Test
+    public void testProtocolMaximumIsRespected() {
+        ModbusPollMerger merger = new ModbusPollMerger(comms, 0);
+        int length = ModbusConstants.MAX_REGISTERS_READ_COUNT / 2 + 1;
+        merger.registerRegularPoll(request(0, length), PERIOD, resultCallback, failureCallback);
+        merger.registerRegularPoll(request(length, length), PERIOD, resultCallback, failureCallback);
+        merger.registerRegularPoll(request(2 * length, 1), PERIOD, resultCallback, failureCallback);
+
+        assertThat(merger.getPollCount(), is(equalTo(2)));
+    }
+
+    @Test
+    public void testUnregisterSplitsAgain() {
+        ModbusPollMerger merger = new ModbusPollMerger(comms, 0);
+        ModbusPollMerger.Registration first = merger.registerRegularPoll(request(0, 2), PERIOD, resultCallback,
+                failureCallback);
+        ModbusPollMerger.Registration second = merger.registerRegularPoll(request(2, 2), PERIOD, resultCallback,
+                failureCallback);
+        merger.registerRegularPoll(request(4, 2), PERIOD, resultCallback, failureCallback);
+        assertThat(merger.getPollCount(), is(equalTo(1)));
+
+        assertThat(merger.unregisterRegularPoll(second), is(true));
+        assertThat(merger.unregisterRegularPoll(second), is(false));
+        assertThat(merger.getPollCount(), is(equalTo(2)));
+
+        merger.unregisterRegularPoll(first);
+        assertThat(merger.getPollCount(), is(equalTo(1)));
+
+        merger.close();
+        assertThat(merger.getPollCount(), is(equalTo(0)));
+    }
+
+    @Test
+    public void testRegistersAreSplit() {
+        ModbusPollMerger merger = new ModbusPollMerger(comms, 1);
+        merger.registerRegularPoll(request(0, 2), PERIOD, resultCallback, failureCallback);
+        merger.registerRegularPoll(request(3, 1), PERIOD, resultCallback, failureCallback);
+
+        lastResultCallback().handle(new AsyncModbusReadResult(request(0, 4), new ModbusRegisterArray(10, 11, 12, 13)));
+
+        assertThat(failures.size(), is(equalTo(0)));
+        assertThat(results.size(), is(equalTo(2)));
+        AsyncModbusReadResult first = results.stream().filter(r -> r.getRequest().getReference() == 0).findFirst()
+                .orElseThrow();
+        AsyncModbusReadResult second = results.stream().filter(r -> r.getRequest().getReference() == 3).findFirst()
+                .orElseThrow();
+        assertThat(first.getRequest(), is(equalTo(request(0, 2))));
+        assertThat(first.getRegisters().orElseThrow().size(), is(equalTo(2)));
+        assertThat(first.getRegisters().orElseThrow().getRegister(0), is(equalTo(10)));
+        assertThat(first.getRegisters().orElseThrow().getRegister(1), is(equalTo(11)));
+        assertThat(second.getRegisters().orElseThrow().size(), is(equalTo(1)));
+        assertThat(second.getRegisters().orElseThrow().getRegister(0), is(equalTo(13)));
+    }
+
+    @Test
+    public void testBitsAreSplit() {
+        ModbusPollMerger merger = new ModbusPollMerger(comms, 0);
+        merger.registerRegularPoll(request(ModbusReadFunctionCode.READ_COILS, 0, 2), PERIOD, resultCallback,
+                failureCallback);
+        merger.registerRegularPoll(request(ModbusReadFunctionCode.READ_COILS, 2, 2), PERIOD, resultCallback,
+                failureCallback);
+
+        BitArray bits = new BitArray(4);
+        bits.setBit(1, true);
+        bits.setBit(2, true);
+        lastResultCallback().handle(new AsyncModbusReadResult(request(ModbusReadFunctionCode.READ_COILS, 0, 4), bits));
+
+        assertThat(results.size(), is(equalTo(2)));
+        for (AsyncModbusReadResult result : results) {
+            BitArray slice = result.getBits().orElseThrow();
+            assertThat(slice.size(), is(equalTo(2)));
+            boolean firstRequest = result.getRequest().getReference() == 0;
+            assertThat(slice.getBit(0), is(!firstRequest));
+            assertThat(slice.getBit(1), is(firstRequest));
+        }
+    }
+
+    @Test
+    public void testFailureIsPassedToAllRequests() {
+        ModbusPollMerger merger = new ModbusPollMerger(comms, 0);
+        merger.registerRegularPoll(request(0, 2), PERIOD, resultCallback, failureCallback);
+        merger.registerRegularPoll(request(2, 2), PERIOD, resultCallback, failureCallback);
+
+        Exception cause = new Exception("timeout");
+        lastFailureCallback().handle(new AsyncModbusFailure<>(request(0, 4), cause));
+
+        assertThat(results.size(), is(equalTo(0)));
+        assertThat(failures.size(), is(equalTo(2)));
+        for (AsyncModbusFailure<ModbusReadRequestBlueprint> failure : failures) {
+            assertThat(failure.getCause(), is(sameInstance(cause)));
+            assertThat(failure.getRequest().getDataLength(), is(equalTo(2)));
+        }
+    }
+}
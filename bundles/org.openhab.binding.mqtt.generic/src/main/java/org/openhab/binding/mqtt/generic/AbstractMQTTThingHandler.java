@@ -44,6 +44,7 @@ import org.openhab.core.types.RefreshType;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
 import org.openhab.core.util.UIDUtils;
+import org.openhab.io.metrics.addon.internal.ThingMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -84,10 +85,16 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
     private AtomicBoolean messageReceived = new AtomicBoolean(false);
     private Map<String, @Nullable ChannelState> availabilityStates = new ConcurrentHashMap<>();
     private AvailabilityMode availabilityMode = AvailabilityMode.ALL;
+    private final ThingMetrics metrics;
 
     public AbstractMQTTThingHandler(Thing thing, int subscribeTimeout) {
+        this(thing, subscribeTimeout, ThingMetrics.NOOP);
+    }
+
+    public AbstractMQTTThingHandler(Thing thing, int subscribeTimeout, ThingMetrics metrics) {
         super(thing);
         this.subscribeTimeout = subscribeTimeout;
+        this.metrics = metrics;
     }
 
     /**
@@ -124,6 +131,7 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
 
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
+        long startNanos = System.nanoTime();
         if (connection == null) {
             return;
         }
@@ -152,6 +160,7 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
 
         final CompletableFuture<Boolean> future = data.publishValue(command);
         future.handle((v, ex) -> {
+            metrics.recordCommand(startNanos);
             if (ex != null) {
                 updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, ex.getLocalizedMessage());
                 logger.debug("Failed publishing value {} to topic {}: {}", command, data.getCommandTopic(),
@@ -194,6 +203,7 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
             return;
         }
         this.connection = connection;
+        metrics.countReconnect();
 
         // Start up (subscribe to MQTT topics). Limit with a timeout and catch exceptions.
         // We do not set the thing to ONLINE here in the AbstractBase, that is the responsibility of a derived
@@ -231,6 +241,7 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
 
     @Override
     public void initialize() {
+        metrics.open();
         bridgeStatusChanged(getBridgeStatus());
     }
 
@@ -249,6 +260,7 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
             logger.warn("unsubscription on disposal failed for {}: ", thing.getUID(), e);
         }
         connection = null;
+        metrics.close();
         super.dispose();
     }
 
@@ -264,6 +276,7 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
         if (messageReceived.compareAndSet(false, true)) {
             calculateAndUpdateThingStatus(true);
         }
+        metrics.countChannelUpdate();
         super.updateState(channelUID, value);
     }
 
@@ -42,6 +42,16 @@ public class ChannelConfig {
     public boolean postCommand = false;
     public @Nullable Integer qos;
     public boolean retained = false;
+    /**
+     * If greater than 0, commands are collected for this time in milliseconds and only the latest one is published.
+     * Consecutive commands are published at most once per this time.
+     */
+    public int publishDelay = 0;
+    /**
+     * The maximum time in milliseconds a command is held back by {@link #publishDelay} while new commands keep coming
+     * in. 0 holds it back until no new command was received for the publish delay.
+     */
+    public int publishMaxDelay = 0;
     /** If true, the state topic will not update a state, but trigger a channel instead. */
     public boolean trigger = false;
     public String unit = "";
@@ -69,6 +69,12 @@ public class ChannelConfigBuilder {
         return this;
     }
 
+    public ChannelConfigBuilder withPublishDelay(int publishDelay, int publishMaxDelay) {
+        config.publishDelay = publishDelay;
+        config.publishMaxDelay = publishMaxDelay;
+        return this;
+    }
+
     public ChannelConfigBuilder makeTrigger(boolean trigger) {
         config.trigger = trigger;
         return this;
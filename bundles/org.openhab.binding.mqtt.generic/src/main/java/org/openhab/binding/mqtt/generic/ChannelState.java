@@ -14,6 +14,7 @@ package org.openhab.binding.mqtt.generic;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.IllegalFormatException;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -24,6 +25,7 @@ import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.mqtt.generic.tools.DelayedBatchProcessing;
 import org.openhab.binding.mqtt.generic.values.TextValue;
 import org.openhab.binding.mqtt.generic.values.Value;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
@@ -66,6 +68,25 @@ public class ChannelState implements MqttMessageSubscriber {
     private @Nullable ScheduledFuture<?> scheduledFuture;
     private CompletableFuture<@Nullable Void> future = CompletableFuture.completedFuture(null);
     private final Object futureLock = new Object();
+    private volatile @Nullable LastMessage lastMessage;
+    private volatile @Nullable DelayedBatchProcessing<PendingCommand> delayedPublish;
+
+    /**
+     * The last message that was parsed without the {@link TypeParser}, with the resulting state. Such a parsed state
+     * only depends on the message, so it can be reused if the same message is received again.
+     *
+     * @param payload The raw payload, only set if there are no incoming transformations
+     * @param value The message after the transformations
+     */
+    private record LastMessage(byte @Nullable [] payload, String value, State state) {
+    }
+
+    /**
+     * A command that is held back by the publish delay, with the future returned to the caller of
+     * {@link #publishValue(Command)}.
+     */
+    private record PendingCommand(Command command, CompletableFuture<Boolean> future) {
+    }
 
     /**
      * Creates a new channel state.
@@ -97,6 +118,7 @@ public class ChannelState implements MqttMessageSubscriber {
      */
     public void addTransformation(ChannelStateTransformation transformation) {
         transformationsIn.add(transformation);
+        lastMessage = null;
     }
 
     public void addTransformation(String transformation, TransformationServiceProvider transformationServiceProvider) {
@@ -131,6 +153,7 @@ public class ChannelState implements MqttMessageSubscriber {
     public void clearTransformations() {
         transformationsIn.clear();
         transformationsOut.clear();
+        lastMessage = null;
     }
 
     /**
@@ -173,6 +196,13 @@ public class ChannelState implements MqttMessageSubscriber {
             return;
         }
 
+        // Same payload as before: skip decoding and parsing and reuse the state
+        final LastMessage lastMessage = this.lastMessage;
+        if (lastMessage != null && !config.trigger && Arrays.equals(lastMessage.payload(), payload)) {
+            publishState(channelStateUpdateListener, lastMessage.state());
+            return;
+        }
+
         // String value: Apply transformations
         String strValue = new String(payload, StandardCharsets.UTF_8);
         for (ChannelStateTransformation t : transformationsIn) {
@@ -193,18 +223,32 @@ public class ChannelState implements MqttMessageSubscriber {
             return;
         }
 
-        Command command = TypeParser.parseCommand(cachedValue.getSupportedCommandTypes(), strValue);
-        if (command == null) {
-            logger.warn("Incoming payload '{}' on '{}' not supported by type '{}'", strValue, topic,
-                    cachedValue.getClass().getSimpleName());
-            receivedOrTimeout();
+        if (lastMessage != null && strValue.equals(lastMessage.value())) {
+            publishState(channelStateUpdateListener, lastMessage.state());
             return;
         }
 
         Type parsedType;
         // Map the string to a command, update the cached value and post the command to the framework
         try {
-            parsedType = cachedValue.parseMessage(command);
+            @Nullable
+            Type directType = cachedValue.parseMessageDirectly(strValue);
+            if (directType != null) {
+                parsedType = directType;
+                if (directType instanceof State directState) {
+                    this.lastMessage = new LastMessage(transformationsIn.isEmpty() ? payload : null, strValue,
+                            directState);
+                }
+            } else {
+                Command command = TypeParser.parseCommand(cachedValue.getSupportedCommandTypes(), strValue);
+                if (command == null) {
+                    logger.warn("Incoming payload '{}' on '{}' not supported by type '{}'", strValue, topic,
+                            cachedValue.getClass().getSimpleName());
+                    receivedOrTimeout();
+                    return;
+                }
+                parsedType = cachedValue.parseMessage(command);
+            }
         } catch (IllegalArgumentException | IllegalStateException e) {
             logger.warn("Command '{}' from channel '{}' not supported by type '{}': {}", strValue, channelUID,
                     cachedValue.getClass().getSimpleName(), e.getMessage());
@@ -213,14 +257,20 @@ public class ChannelState implements MqttMessageSubscriber {
         }
 
         if (parsedType instanceof State parsedState) {
-            cachedValue.update(parsedState);
+            publishState(channelStateUpdateListener, parsedState);
         } else {
             // things that are only Commands _must_ be posted as a command (like STOP)
             channelStateUpdateListener.postChannelCommand(channelUID, (Command) parsedType);
             receivedOrTimeout();
-            return;
         }
+    }
 
+    /**
+     * Updates the cached value and informs the listener. Repeated states are still passed on, as the framework
+     * reports every update.
+     */
+    private void publishState(ChannelStateUpdateListener channelStateUpdateListener, State parsedState) {
+        cachedValue.update(parsedState);
         State newState = cachedValue.getChannelState();
         // If the user explicitly wants a command sent, not an update, do that. But
         // we have to check that the state is even possible to send as a command
@@ -282,7 +332,12 @@ public class ChannelState implements MqttMessageSubscriber {
         this.connection = null;
         this.channelStateUpdateListener = null;
         hasSubscribed = false;
+        lastMessage = null;
         cachedValue.resetState();
+        final DelayedBatchProcessing<PendingCommand> delayedPublish = this.delayedPublish;
+        if (delayedPublish != null) {
+            delayedPublish.join().forEach(pending -> pending.future().complete(false));
+        }
     }
 
     private void receivedOrTimeout() {
@@ -324,6 +379,12 @@ public class ChannelState implements MqttMessageSubscriber {
 
             this.connection = connection;
 
+            if (config.publishDelay > 0 && !readOnly && delayedPublish == null) {
+                int maxDelay = config.publishMaxDelay > 0 ? Math.max(config.publishMaxDelay, config.publishDelay) : 0;
+                delayedPublish = new DelayedBatchProcessing<>(config.publishDelay, maxDelay, this::publishLatest,
+                        scheduler);
+            }
+
             if (config.stateTopic.isBlank()) {
                 return CompletableFuture.completedFuture(null);
             }
@@ -354,11 +415,47 @@ public class ChannelState implements MqttMessageSubscriber {
     /**
      * Publishes a value on MQTT. A command topic needs to be set in the configuration.
      *
+     * If a publish delay is configured, the command is held back and only the latest command within the delay is
+     * published. The futures of all commands that were replaced by it complete with the result of that publish.
+     *
      * @param command The command to send
      * @return A future that completes with true if the publishing worked and false if it is a readonly topic
      *         and exceptionally otherwise.
      */
     public CompletableFuture<Boolean> publishValue(Command command) {
+        final DelayedBatchProcessing<PendingCommand> delayedPublish = this.delayedPublish;
+        if (delayedPublish != null && connection != null) {
+            CompletableFuture<Boolean> f = new CompletableFuture<>();
+            delayedPublish.accept(new PendingCommand(command, f));
+            return f;
+        }
+        return publishNow(command);
+    }
+
+    /**
+     * Callback of the {@link DelayedBatchProcessing}. Publishes the latest of the collected commands.
+     */
+    private void publishLatest(List<PendingCommand> pendingCommands) {
+        Command command = pendingCommands.get(pendingCommands.size() - 1).command();
+        logger.trace("Publishing {} on channel {}, dropped {} older commands", command, channelUID,
+                pendingCommands.size() - 1);
+        CompletableFuture<Boolean> future;
+        try {
+            future = publishNow(command);
+        } catch (IllegalArgumentException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        // For QoS 1 and 2 this completes once the broker acknowledged the message
+        future.whenComplete((result, e) -> pendingCommands.forEach(pending -> {
+            if (e != null) {
+                pending.future().completeExceptionally(e);
+            } else {
+                pending.future().complete(result);
+            }
+        }));
+    }
+
+    private CompletableFuture<Boolean> publishNow(Command command) {
         final MqttBrokerConnection connection = this.connection;
 
         if (connection == null) {
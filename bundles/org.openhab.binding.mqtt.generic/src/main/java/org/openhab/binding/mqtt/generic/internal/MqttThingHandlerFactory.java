@@ -21,6 +21,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.mqtt.generic.MqttChannelStateDescriptionProvider;
 import org.openhab.binding.mqtt.generic.TransformationServiceProvider;
 import org.openhab.binding.mqtt.generic.internal.handler.GenericMQTTThingHandler;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.thing.Thing;
 import org.openhab.core.thing.ThingTypeUID;
 import org.openhab.core.thing.binding.BaseThingHandlerFactory;
@@ -28,11 +29,15 @@ import org.openhab.core.thing.binding.ThingHandler;
 import org.openhab.core.thing.binding.ThingHandlerFactory;
 import org.openhab.core.transform.TransformationHelper;
 import org.openhab.core.transform.TransformationService;
+import org.openhab.io.metrics.addon.internal.MicrometerThingMetrics;
+import org.openhab.io.metrics.addon.internal.ThingMetrics;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
 
 /**
  * The {@link MqttThingHandlerFactory} is responsible for creating things and thing
@@ -44,6 +49,7 @@ import org.osgi.service.component.annotations.Reference;
 @NonNullByDefault
 public class MqttThingHandlerFactory extends BaseThingHandlerFactory implements TransformationServiceProvider {
     private @NonNullByDefault({}) MqttChannelStateDescriptionProvider stateDescriptionProvider;
+    private volatile @Nullable MeterRegistryProvider meterRegistryProvider;
     private static final Set<ThingTypeUID> SUPPORTED_THING_TYPES_UIDS = Stream
             .of(MqttBindingConstants.GENERIC_MQTT_THING).collect(Collectors.toSet());
 
@@ -73,16 +79,34 @@ public class MqttThingHandlerFactory extends BaseThingHandlerFactory implements
         this.stateDescriptionProvider = null;
     }
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    protected void setMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    protected void unsetMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        this.meterRegistryProvider = null;
+    }
+
     @Override
     protected @Nullable ThingHandler createHandler(Thing thing) {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (thingTypeUID.equals(MqttBindingConstants.GENERIC_MQTT_THING)) {
-            return new GenericMQTTThingHandler(thing, stateDescriptionProvider, this, 1500);
+            return new GenericMQTTThingHandler(thing, stateDescriptionProvider, this, 1500, createMetrics(thing));
         }
         return null;
     }
 
+    private ThingMetrics createMetrics(Thing thing) {
+        @Nullable
+        MeterRegistryProvider provider = meterRegistryProvider;
+        // Micrometer is only loaded if the optional monitor bundle provides a meter registry
+        return provider == null ? ThingMetrics.NOOP
+                : new MicrometerThingMetrics(provider.getOHMeterRegistry(), MqttBindingConstants.BINDING_ID,
+                        thing.getUID());
+    }
+
     @Override
     public @Nullable TransformationService getTransformationService(String type) {
         return TransformationHelper.getTransformationService(bundleContext, type);
@@ -46,6 +46,7 @@ import org.openhab.core.thing.binding.builder.ThingBuilder;
 import org.openhab.core.thing.type.ChannelTypeUID;
 import org.openhab.core.types.StateDescription;
 import org.openhab.core.types.util.UnitUtils;
+import org.openhab.io.metrics.addon.internal.ThingMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -71,7 +72,13 @@ public class GenericMQTTThingHandler extends AbstractMQTTThingHandler implements
      */
     public GenericMQTTThingHandler(Thing thing, MqttChannelStateDescriptionProvider stateDescProvider,
             TransformationServiceProvider transformationServiceProvider, int subscribeTimeout) {
-        super(thing, subscribeTimeout);
+        this(thing, stateDescProvider, transformationServiceProvider, subscribeTimeout, ThingMetrics.NOOP);
+    }
+
+    public GenericMQTTThingHandler(Thing thing, MqttChannelStateDescriptionProvider stateDescProvider,
+            TransformationServiceProvider transformationServiceProvider, int subscribeTimeout,
+            ThingMetrics metrics) {
+        super(thing, subscribeTimeout, metrics);
         this.stateDescProvider = stateDescProvider;
         this.transformationServiceProvider = transformationServiceProvider;
     }
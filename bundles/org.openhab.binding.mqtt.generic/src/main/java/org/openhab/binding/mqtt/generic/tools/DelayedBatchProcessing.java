@@ -35,10 +35,12 @@ import org.eclipse.jdt.annotation.Nullable;
 @NonNullByDefault
 public class DelayedBatchProcessing<T> implements Consumer<T> {
     private final int delay;
+    private final int maxDelay;
     private final Consumer<List<T>> consumer;
     private final List<T> queue = Collections.synchronizedList(new ArrayList<>());
     private final ScheduledExecutorService executor;
     protected final AtomicReference<@Nullable ScheduledFuture<?>> futureRef = new AtomicReference<>();
+    private long batchStart;
 
     /**
      * Creates a {@link DelayedBatchProcessing}.
@@ -48,23 +50,53 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
      * @param executor A scheduled executor service
      */
     public DelayedBatchProcessing(int delay, Consumer<List<T>> consumer, ScheduledExecutorService executor) {
+        this(delay, 0, consumer, executor);
+    }
+
+    /**
+     * Creates a {@link DelayedBatchProcessing} that delivers the collected objects at the latest after the given
+     * maximum delay, even if new objects keep coming in.
+     *
+     * @param delay A delay in milliseconds
+     * @param maxDelay A maximum delay in milliseconds after the first object of a batch was received. Can be 0 to
+     *            disable the maximum delay.
+     * @param consumer A consumer of the list of collected objects
+     * @param executor A scheduled executor service
+     */
+    public DelayedBatchProcessing(int delay, int maxDelay, Consumer<List<T>> consumer,
+            ScheduledExecutorService executor) {
         this.delay = delay;
+        this.maxDelay = maxDelay;
         this.consumer = consumer;
         this.executor = executor;
         if (delay <= 0) {
             throw new IllegalArgumentException("Delay need to be greater than 0!");
         }
+        if (maxDelay < 0) {
+            throw new IllegalArgumentException("Maximum delay must not be negative!");
+        }
     }
 
     /**
      * Add new object to the batch process list. Every time a new object is received,
-     * the delay timer is rescheduled.
+     * the delay timer is rescheduled, but not beyond the maximum delay.
      *
      * @param t An object
      */
     @Override
     public void accept(T t) {
-        queue.add(t);
+        long delay = this.delay;
+        synchronized (queue) {
+            long now = System.nanoTime();
+            if (queue.isEmpty()) {
+                batchStart = now;
+            }
+            queue.add(t);
+            if (maxDelay > 0) {
+                long remaining = maxDelay - TimeUnit.NANOSECONDS.toMillis(now - batchStart);
+                delay = Math.max(0, Math.min(delay, remaining));
+            }
+        }
         cancel(futureRef.getAndSet(executor.schedule(this::run, delay, TimeUnit.MILLISECONDS)));
     }
 
@@ -135,6 +135,18 @@ public class NumberValue extends Value {
         return parseCommand(command);
     }
 
+    @Override
+    public @Nullable Type parseMessageDirectly(String message) throws IllegalArgumentException {
+        if (isPlainDecimal(message)) {
+            return parseCommand(new DecimalType(new BigDecimal(message)));
+        } else if (message.equalsIgnoreCase(NAN) || message.equalsIgnoreCase(NEGATIVE_NAN)) {
+            return UnDefType.UNDEF;
+        } else if (message.isEmpty()) {
+            return UnDefType.NULL;
+        }
+        return null;
+    }
+
     private BigDecimal getOldValue() {
         BigDecimal val = BigDecimal.ZERO;
         if (state instanceof DecimalType decimalCommand) {
@@ -27,6 +27,7 @@ import org.openhab.core.library.types.StringType;
 import org.openhab.core.types.Command;
 import org.openhab.core.types.CommandDescriptionBuilder;
 import org.openhab.core.types.CommandOption;
+import org.openhab.core.types.Type;
 
 /**
  * Implements an on/off boolean value.
@@ -111,6 +112,16 @@ public class OnOffValue extends Value {
         }
     }
 
+    @Override
+    public @Nullable Type parseMessageDirectly(String message) throws IllegalArgumentException {
+        if (OnOffType.ON.name().equals(message)) {
+            return OnOffType.ON;
+        } else if (OnOffType.OFF.name().equals(message)) {
+            return OnOffType.OFF;
+        }
+        return parseMessage(new StringType(message));
+    }
+
     @Override
     public String getMQTTpublishValue(Command command, @Nullable String pattern) {
         String formatPattern = pattern;
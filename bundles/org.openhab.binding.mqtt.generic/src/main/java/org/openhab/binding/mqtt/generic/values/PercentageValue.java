@@ -29,6 +29,7 @@ import org.openhab.core.library.types.UpDownType;
 import org.openhab.core.library.unit.Units;
 import org.openhab.core.types.Command;
 import org.openhab.core.types.StateDescriptionFragmentBuilder;
+import org.openhab.core.types.Type;
 import org.openhab.core.types.UnDefType;
 
 /**
@@ -133,6 +134,18 @@ public class PercentageValue extends Value {
         }
     }
 
+    @Override
+    public @Nullable Type parseMessageDirectly(String message) throws IllegalArgumentException {
+        if (isPlainDecimal(message)) {
+            return parseCommand(new DecimalType(new BigDecimal(message)));
+        } else if (OnOffType.ON.name().equals(message)) {
+            return PercentType.HUNDRED;
+        } else if (OnOffType.OFF.name().equals(message)) {
+            return PercentType.ZERO;
+        }
+        return null;
+    }
+
     @Override
     public String getMQTTpublishValue(Command command, @Nullable String pattern) {
         // Formula: From percentage to custom min/max: value*span/100+min
@@ -115,6 +115,12 @@ public class TextValue extends Value {
         return new StringType(valueStr);
     }
 
+    @Override
+    public State parseMessageDirectly(String message) throws IllegalArgumentException {
+        // StringType is the only supported command type, so the TypeParser would just wrap the message
+        return parseMessage(new StringType(message));
+    }
+
     /**
      * @return valid states. Can be null.
      */
@@ -29,6 +29,7 @@ import org.openhab.core.types.CommandDescriptionBuilder;
 import org.openhab.core.types.State;
 import org.openhab.core.types.StateDescriptionFragmentBuilder;
 import org.openhab.core.types.Type;
+import org.openhab.core.types.TypeParser;
 import org.openhab.core.types.UnDefType;
 
 /**
@@ -154,6 +155,42 @@ public abstract class Value {
         return parseCommand(command);
     }
 
+    /**
+     * Parses a message from MQTT directly, without trying all supported command types with the {@link TypeParser}.
+     * Implementations handle the common messages of a value type and must return the same result as
+     * {@link #parseMessage(Command)} would for the command parsed by the {@link TypeParser}. The result must not depend
+     * on the current state, so it can be reused for repeated messages.
+     *
+     * @param message The message received from MQTT, after the transformations.
+     * @return The parsed type or null if the message has to be parsed by the {@link TypeParser}.
+     * @exception IllegalArgumentException Thrown if for example a number is out of range.
+     */
+    public @Nullable Type parseMessageDirectly(String message) throws IllegalArgumentException {
+        return null;
+    }
+
+    /**
+     * Returns true if the message is a plain decimal number like <code>-12.5</code>, which is parsed the same way by
+     * all number types.
+     */
+    protected static boolean isPlainDecimal(String message) {
+        int length = message.length();
+        int i = length > 0 && message.charAt(0) == '-' ? 1 : 0;
+        int digits = 0;
+        boolean point = false;
+        for (; i < length; i++) {
+            char c = message.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits++;
+            } else if (c == '.' && !point && digits > 0) {
+                point = true;
+            } else {
+                return false;
+            }
+        }
+        return digits > 0 && message.charAt(length - 1) != '.';
+    }
+
     /**
      * Updates the internal value state with the given binary payload.
      *
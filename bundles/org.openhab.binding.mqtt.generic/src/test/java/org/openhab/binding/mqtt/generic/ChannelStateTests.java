@@ -56,6 +56,7 @@ import org.openhab.core.library.types.StringType;
 import org.openhab.core.library.unit.Units;
 import org.openhab.core.thing.ChannelUID;
 import org.openhab.core.types.Command;
+import org.openhab.core.types.State;
 import org.openhab.core.util.ColorUtil;
 
 /**
@@ -104,6 +105,26 @@ public class ChannelStateTests {
         verify(connectionMock).unsubscribe(eq("state"), eq(c));
     }
 
+    @Test
+    public void publishDelayTest() throws Exception {
+        ChannelConfig delayConfig = ChannelConfigBuilder.create(null, "command").withPublishDelay(100, 0).build();
+        ChannelState c = spy(new ChannelState(delayConfig, channelUIDMock, textValue, channelStateUpdateListenerMock));
+        c.start(connectionMock, scheduler, 0).get(50, TimeUnit.MILLISECONDS);
+
+        CompletableFuture<Boolean> first = c.publishValue(new StringType("1"));
+        CompletableFuture<Boolean> second = c.publishValue(new StringType("2"));
+        CompletableFuture<Boolean> third = c.publishValue(new StringType("3"));
+        verify(connectionMock, never()).publish(any(), any(), anyInt(), anyBoolean());
+
+        // Only the latest command is published, all callers are informed about the result
+        assertThat(third.get(1, TimeUnit.SECONDS), is(true));
+        assertThat(first.get(), is(true));
+        assertThat(second.get(), is(true));
+        verify(connectionMock).publish(eq("command"), argThat(p -> Arrays.equals(p, "3".getBytes())), anyInt(),
+                eq(false));
+        verify(connectionMock, times(1)).publish(any(), any(), anyInt(), anyBoolean());
+    }
+
     @Test
     public void publishFormatTest() throws Exception {
         ChannelState c = spy(new ChannelState(config, channelUIDMock, textValue, channelStateUpdateListenerMock));
@@ -177,6 +198,29 @@ public class ChannelStateTests {
         verify(channelStateUpdateListenerMock, times(3)).updateChannelState(eq(channelUIDMock), any());
     }
 
+    @Test
+    public void receiveRepeatedPayloadTest() {
+        NumberValue value = spy(new NumberValue(null, null, null, Units.WATT));
+        ChannelState c = spy(new ChannelState(config, channelUIDMock, value, channelStateUpdateListenerMock));
+        c.start(connectionMock, mock(ScheduledExecutorService.class), 100);
+
+        c.processMessage("state", "15".getBytes());
+        State first = value.getChannelState();
+        c.processMessage("state", "15".getBytes());
+        assertThat(value.getChannelState(), is(sameInstance(first)));
+
+        c.processMessage("state", "INCREASE".getBytes());
+        assertThat(value.getChannelState().toString(), is("16 W"));
+
+        // the same payload as before the increase still results in the same state
+        c.processMessage("state", "15".getBytes());
+        assertThat(value.getChannelState(), is(sameInstance(first)));
+
+        verify(value, times(1)).parseMessageDirectly("15");
+        // every message is passed on, even if the state did not change
+        verify(channelStateUpdateListenerMock, times(4)).updateChannelState(eq(channelUIDMock), any());
+    }
+
     @Test
     public void receiveDecimalFractionalTest() {
         NumberValue value = new NumberValue(null, null, new BigDecimal(10.5), null);
@@ -17,6 +17,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -36,6 +37,7 @@ import org.openhab.core.library.unit.MetricPrefix;
 import org.openhab.core.library.unit.Units;
 import org.openhab.core.types.Command;
 import org.openhab.core.types.State;
+import org.openhab.core.types.Type;
 import org.openhab.core.types.TypeParser;
 import org.openhab.core.types.UnDefType;
 
@@ -422,4 +424,39 @@ public class ValueTests {
         assertThat(v.parseMessage(new StringType("NULL")), is(UnDefType.NULL));
         assertThat(v.parseMessage(new StringType("")), is(new StringType("")));
     }
+
+    @Test
+    public void parseMessageDirectlyMatchesTypeParser() {
+        List<Value> values = List.of(new NumberValue(null, null, null, null),
+                new NumberValue(null, null, null, Units.WATT), new OnOffValue(), new OnOffValue("1", "0"),
+                new PercentageValue(new BigDecimal(-100), new BigDecimal(100), null, null, null), new TextValue());
+        List<String> messages = List.of("0", "15", "-12.50", "007", "100", "ON", "OFF", "1", "NaN", "", "text");
+        for (Value v : values) {
+            for (String message : messages) {
+                Type direct;
+                try {
+                    direct = v.parseMessageDirectly(message);
+                } catch (IllegalArgumentException e) {
+                    assertThrows(IllegalArgumentException.class, () -> v.parseMessage(p(v, message)));
+                    continue;
+                }
+                if (direct != null) {
+                    assertThat(v.getClass().getSimpleName() + " " + message, direct,
+                            is(v.parseMessage(p(v, message))));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void plainDecimal() {
+        assertTrue(Value.isPlainDecimal("0"));
+        assertTrue(Value.isPlainDecimal("-12.5"));
+        assertFalse(Value.isPlainDecimal(""));
+        assertFalse(Value.isPlainDecimal("-"));
+        assertFalse(Value.isPlainDecimal("1."));
+        assertFalse(Value.isPlainDecimal(".5"));
+        assertFalse(Value.isPlainDecimal("1e3"));
+        assertFalse(Value.isPlainDecimal("15 W"));
+    }
 }
@@ -14,8 +14,12 @@ package org.openhab.binding.mqtt.homeassistant.internal;
 
 import java.lang.ref.WeakReference;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -50,12 +54,15 @@ public class DiscoverComponents implements MqttMessageSubscriber {
     private final Logger logger = LoggerFactory.getLogger(DiscoverComponents.class);
     private final ThingUID thingUID;
     private final ScheduledExecutorService scheduler;
+    private final Executor executor;
     private final ChannelStateUpdateListener updateListener;
     private final AvailabilityTracker tracker;
     private final TransformationServiceProvider transformationServiceProvider;
 
     protected final CompletableFuture<@Nullable Void> discoverFinishedFuture = new CompletableFuture<>();
     private final Gson gson;
+    // The last pending configuration of each topic. Configurations of a topic are processed in order.
+    private final Map<String, CompletableFuture<@Nullable Void>> pendingConfigs = new ConcurrentHashMap<>();
 
     private @Nullable ScheduledFuture<?> stopDiscoveryFuture;
     private WeakReference<@Nullable MqttBrokerConnection> connectionRef = new WeakReference<>(null);
@@ -68,6 +75,14 @@ public class DiscoverComponents implements MqttMessageSubscriber {
      */
     public static interface ComponentDiscovered {
         void componentDiscovered(HaID homeAssistantTopicID, AbstractComponent<?> component);
+
+        /**
+         * Returns true if a component with exactly this configuration is already known. The configuration is then
+         * not parsed again, e.g. when all retained configurations are received again after a reconnect.
+         */
+        default boolean isComponentKnown(HaID homeAssistantTopicID, String config) {
+            return false;
+        }
     }
 
     /**
@@ -75,13 +90,15 @@ public class DiscoverComponents implements MqttMessageSubscriber {
      *
      * @param thingUID The Thing UID to perform the discovery for.
      * @param scheduler A scheduler for timeouts
+     * @param executor An executor to parse the received configurations and create the components
      * @param channelStateUpdateListener Channel update listener. Usually the handler.
      */
-    public DiscoverComponents(ThingUID thingUID, ScheduledExecutorService scheduler,
+    public DiscoverComponents(ThingUID thingUID, ScheduledExecutorService scheduler, Executor executor,
             ChannelStateUpdateListener channelStateUpdateListener, AvailabilityTracker tracker, Gson gson,
             TransformationServiceProvider transformationServiceProvider) {
         this.thingUID = thingUID;
         this.scheduler = scheduler;
+        this.executor = executor;
         this.updateListener = channelStateUpdateListener;
         this.gson = gson;
         this.tracker = tracker;
@@ -94,11 +111,25 @@ public class DiscoverComponents implements MqttMessageSubscriber {
             return;
         }
 
+        // Do not block the MQTT callback thread, a reconnect delivers the retained configurations of all components
+        Runnable task = () -> processConfig(topic, payload);
+        CompletableFuture<@Nullable Void> future = Objects.requireNonNull(pendingConfigs.compute(topic,
+                (t, previous) -> previous == null ? CompletableFuture.runAsync(task, executor)
+                        : previous.thenRunAsync(task, executor)));
+        future.whenComplete((result, e) -> pendingConfigs.remove(topic, future));
+    }
+
+    private void processConfig(String topic, byte[] payload) {
         HaID haID = new HaID(topic);
         String config = new String(payload);
         AbstractComponent<?> component = null;
+        ComponentDiscovered discoveredListener = this.discoveredListener;
 
         if (config.length() > 0) {
+            if (discoveredListener != null && discoveredListener.isComponentKnown(haID, config)) {
+                logger.trace("Configuration of HomeAssistant component {} is unchanged", haID);
+                return;
+            }
             try {
                 component = ComponentFactory.createComponent(thingUID, haID, config, updateListener, tracker, scheduler,
                         gson, transformationServiceProvider);
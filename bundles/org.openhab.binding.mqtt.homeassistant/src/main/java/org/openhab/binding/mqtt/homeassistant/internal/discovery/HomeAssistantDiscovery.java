@@ -14,6 +14,7 @@ package org.openhab.binding.mqtt.homeassistant.internal.discovery;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -79,6 +80,8 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
     protected final Map<String, Set<HaID>> componentsPerThingID = new TreeMap<>();
     protected final Map<String, ThingUID> thingIDPerTopic = new TreeMap<>();
     protected final Map<String, DiscoveryResult> results = new ConcurrentHashMap<>();
+    // The last parsed configuration of each topic, so retained configurations are not parsed again on a reconnect
+    protected final Map<String, ParsedConfiguration> configPerTopic = new ConcurrentHashMap<>();
 
     private @Nullable ScheduledFuture<?> future;
     private final Gson gson;
@@ -97,6 +100,9 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         HA_COMP_TO_NAME.put("switch", "Switch");
     }
 
+    protected record ParsedConfiguration(byte[] payload, AbstractChannelConfiguration config) {
+    }
+
     static final String BASE_TOPIC = "homeassistant";
     static final String BIRTH_TOPIC = "homeassistant/status";
     static final String ONLINE_STATUS = "online";
@@ -202,8 +208,7 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         HaID haID = new HaID(topic);
 
         try {
-            AbstractChannelConfiguration config = AbstractChannelConfiguration
-                    .fromString(new String(payload, StandardCharsets.UTF_8), gson);
+            AbstractChannelConfiguration config = parseConfiguration(topic, payload);
 
             final String thingID = config.getThingId(haID.objectID);
 
@@ -255,6 +260,18 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         }
     }
 
+    private AbstractChannelConfiguration parseConfiguration(String topic, byte[] payload) {
+        ParsedConfiguration parsed = configPerTopic.get(topic);
+        if (parsed != null && Arrays.equals(parsed.payload(), payload)) {
+            return parsed.config();
+        }
+        configPerTopic.remove(topic);
+        AbstractChannelConfiguration config = AbstractChannelConfiguration
+                .fromString(new String(payload, StandardCharsets.UTF_8), gson);
+        configPerTopic.put(topic, new ParsedConfiguration(payload, config));
+        return config;
+    }
+
     @Override
     protected void startScan() {
         super.startScan();
@@ -295,6 +312,7 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         if (!topic.endsWith("/config")) {
             return;
         }
+        configPerTopic.remove(topic);
         if (thingIDPerTopic.containsKey(topic)) {
             ThingUID thingUID = thingIDPerTopic.remove(topic);
             if (thingUID != null) {
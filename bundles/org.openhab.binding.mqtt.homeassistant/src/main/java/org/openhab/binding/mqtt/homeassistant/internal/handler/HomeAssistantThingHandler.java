@@ -45,6 +45,7 @@ import org.openhab.binding.mqtt.homeassistant.internal.component.ComponentFactor
 import org.openhab.binding.mqtt.homeassistant.internal.component.Update;
 import org.openhab.binding.mqtt.homeassistant.internal.config.ChannelConfigurationTypeAdapterFactory;
 import org.openhab.binding.mqtt.homeassistant.internal.exception.ConfigurationException;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.validation.ConfigValidationException;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
 import org.openhab.core.thing.Channel;
@@ -89,6 +90,7 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
     private static final Comparator<Channel> CHANNEL_COMPARATOR_BY_UID = Comparator
             .comparing(channel -> channel.getUID().toString());
     private static final URI UPDATABLE_CONFIG_DESCRIPTION_URI = URI.create("thing-type:mqtt:homeassistant-updatable");
+    private static final String DISCOVERY_THREADPOOL_NAME = "homeassistant-discovery";
 
     private final Logger logger = LoggerFactory.getLogger(HomeAssistantThingHandler.class);
 
@@ -126,7 +128,8 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
         this.transformationServiceProvider = transformationServiceProvider;
         this.attributeReceiveTimeout = attributeReceiveTimeout;
         this.delayedProcessing = new DelayedBatchProcessing<>(attributeReceiveTimeout, this, scheduler);
-        this.discoverComponents = new DiscoverComponents(thing.getUID(), scheduler, this, this, gson,
+        this.discoverComponents = new DiscoverComponents(thing.getUID(), scheduler,
+                ThreadPoolManager.getPool(DISCOVERY_THREADPOOL_NAME), this, this, gson,
                 this.transformationServiceProvider);
     }
 
@@ -257,6 +260,23 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
         delayedProcessing.accept(component);
     }
 
+    /**
+     * Callback of {@link DiscoverComponents}. Check if the component is already known with the same configuration.
+     */
+    @Override
+    public boolean isComponentKnown(HaID homeAssistantTopicID, String config) {
+        synchronized (haComponents) { // sync whenever discoverComponents is started
+            for (AbstractComponent<?> known : haComponents.values()) {
+                if (homeAssistantTopicID.equals(known.getHaID())
+                        && config.equals(known.getChannelConfigurationJson())) {
+                    known.setConfigSeen();
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     /**
      * Callback of {@link DelayedBatchProcessing}.
      * Add all newly discovered components to the Thing and start the components.
@@ -18,6 +18,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -93,6 +94,23 @@ public class HomeAssistantDiscoveryTests extends AbstractHomeAssistantTests {
                 "climate/0x847127fffe11dd6a_climate_zigbee2mqtt", "switch/0x847127fffe11dd6a_auto_lock_zigbee2mqtt"));
     }
 
+    @Test
+    public void testUnchangedConfigIsNotParsedAgain() {
+        var topic = "homeassistant/climate/0x847127fffe11dd6a_climate_zigbee2mqtt/config";
+        var payload = getResourceAsByteArray("component/configTS0601ClimateThermostat.json");
+
+        discovery.receivedMessage(HA_UID, bridgeConnection, topic, payload);
+        var parsed = Objects.requireNonNull(discovery.configPerTopic.get(topic));
+
+        // The same configuration is received again, e.g. after a reconnect
+        discovery.receivedMessage(HA_UID, bridgeConnection, topic, payload.clone());
+        var reused = Objects.requireNonNull(discovery.configPerTopic.get(topic));
+        assertThat(reused.config(), is(sameInstance(parsed.config())));
+
+        discovery.topicVanished(HA_UID, bridgeConnection, topic);
+        assertThat(discovery.configPerTopic.containsKey(topic), is(false));
+    }
+
     private static class TestHomeAssistantDiscovery extends HomeAssistantDiscovery {
         public TestHomeAssistantDiscovery(MqttChannelTypeProvider typeProvider) {
             super(null);
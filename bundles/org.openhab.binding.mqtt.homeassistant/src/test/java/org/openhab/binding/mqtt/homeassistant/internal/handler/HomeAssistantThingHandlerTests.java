@@ -102,7 +102,8 @@ public class HomeAssistantThingHandlerTests extends AbstractHomeAssistantTests {
         var configTopic = "homeassistant/climate/0x847127fffe11dd6a_climate_zigbee2mqtt/config";
         thingHandler.discoverComponents.processMessage(configTopic,
                 getResourceAsByteArray("component/configTS0601ClimateThermostat.json"));
-        verify(thingHandler, times(1)).componentDiscovered(eq(new HaID(configTopic)), any(Climate.class));
+        verify(thingHandler, timeout(SUBSCRIBE_TIMEOUT).times(1)).componentDiscovered(eq(new HaID(configTopic)),
+                any(Climate.class));
 
         thingHandler.delayedProcessing.forceProcessNow();
         assertThat(haThing.getChannels().size(), CoreMatchers.is(6));
@@ -112,7 +113,7 @@ public class HomeAssistantThingHandlerTests extends AbstractHomeAssistantTests {
         configTopic = "homeassistant/switch/0x847127fffe11dd6a_auto_lock_zigbee2mqtt/config";
         thingHandler.discoverComponents.processMessage(configTopic,
                 getResourceAsByteArray("component/configTS0601AutoLock.json"));
-        verify(thingHandler, times(2)).componentDiscovered(any(), any());
+        verify(thingHandler, timeout(SUBSCRIBE_TIMEOUT).times(2)).componentDiscovered(any(), any());
         verify(thingHandler, times(1)).componentDiscovered(eq(new HaID(configTopic)), any(Switch.class));
 
         thingHandler.delayedProcessing.forceProcessNow();
@@ -167,7 +168,8 @@ public class HomeAssistantThingHandlerTests extends AbstractHomeAssistantTests {
                 + "\"name\": \"CorridorTemp\", "//
                 + "\"unit_of_measurement\": \"°C\" "//
                 + "}").getBytes(StandardCharsets.UTF_8));
-        verify(thingHandler, times(1)).componentDiscovered(eq(new HaID(configTopicTempCorridor)), any(Sensor.class));
+        verify(thingHandler, timeout(SUBSCRIBE_TIMEOUT).times(1))
+                .componentDiscovered(eq(new HaID(configTopicTempCorridor)), any(Sensor.class));
         thingHandler.delayedProcessing.forceProcessNow();
         waitForAssert(() -> {
             assertThat("1 channel created", thingHandler.getThing().getChannels().size() == 1);
@@ -183,8 +185,9 @@ public class HomeAssistantThingHandlerTests extends AbstractHomeAssistantTests {
                 + "\"name\": \"OutsideTemp\", "//
                 + "\"source\": \"gateway2\" "//
                 + "}").getBytes(StandardCharsets.UTF_8));
+        verify(thingHandler, timeout(SUBSCRIBE_TIMEOUT).times(1))
+                .componentDiscovered(eq(new HaID(configTopicTempOutside)), any(Sensor.class));
         thingHandler.delayedProcessing.forceProcessNow();
-        verify(thingHandler, times(1)).componentDiscovered(eq(new HaID(configTopicTempOutside)), any(Sensor.class));
         waitForAssert(() -> {
             assertThat("2 channel created", thingHandler.getThing().getChannels().size() == 2);
         });
@@ -198,6 +201,8 @@ public class HomeAssistantThingHandlerTests extends AbstractHomeAssistantTests {
                 + "\"name\": \"CorridorTemp NEW\", "//
                 + "\"unit_of_measurement\": \"°C\" "//
                 + "}").getBytes(StandardCharsets.UTF_8));
+        verify(thingHandler, timeout(SUBSCRIBE_TIMEOUT).times(2))
+                .componentDiscovered(eq(new HaID(configTopicTempCorridor)), any(Sensor.class));
         thingHandler.delayedProcessing.forceProcessNow();
 
         waitForAssert(() -> {
@@ -223,6 +228,29 @@ public class HomeAssistantThingHandlerTests extends AbstractHomeAssistantTests {
         });
     }
 
+    @Test
+    public void testUnchangedComponentPublish() {
+        thingHandler.initialize();
+        MQTT_TOPICS.forEach(t -> {
+            verify(bridgeConnection, timeout(SUBSCRIBE_TIMEOUT)).subscribe(eq(t), any());
+        });
+
+        var configTopic = "homeassistant/climate/0x847127fffe11dd6a_climate_zigbee2mqtt/config";
+        var config = getResourceAsByteArray("component/configTS0601ClimateThermostat.json");
+        thingHandler.discoverComponents.processMessage(configTopic, config);
+        verify(thingHandler, timeout(SUBSCRIBE_TIMEOUT).times(1)).componentDiscovered(eq(new HaID(configTopic)),
+                any(Climate.class));
+        thingHandler.delayedProcessing.forceProcessNow();
+        assertThat(haThing.getChannels().size(), CoreMatchers.is(6));
+
+        // The same configuration is received again, e.g. after a reconnect, and must not be parsed again
+        thingHandler.discoverComponents.processMessage(configTopic, config);
+        verify(thingHandler, timeout(SUBSCRIBE_TIMEOUT).times(2)).isComponentKnown(eq(new HaID(configTopic)), any());
+        verify(thingHandler, after(ATTRIBUTE_RECEIVE_TIMEOUT).times(1)).componentDiscovered(any(), any());
+        assertThat(haThing.getChannels().size(), CoreMatchers.is(6));
+        verify(channelTypeProvider, times(6)).setChannelType(any(), any());
+    }
+
     @Test
     public void testDispose() {
         thingHandler.initialize();
@@ -238,6 +266,7 @@ public class HomeAssistantThingHandlerTests extends AbstractHomeAssistantTests {
         thingHandler.discoverComponents.processMessage(
                 "homeassistant/switch/0x847127fffe11dd6a_auto_lock_zigbee2mqtt/config",
                 getResourceAsByteArray("component/configTS0601AutoLock.json"));
+        verify(thingHandler, timeout(SUBSCRIBE_TIMEOUT).times(2)).componentDiscovered(any(), any());
         thingHandler.delayedProcessing.forceProcessNow();
         assertThat(haThing.getChannels().size(), CoreMatchers.is(7));
         verify(channelTypeProvider, times(7)).setChannelType(any(), any());
@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.internal;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
+
+/**
+ * A {@link MqttBrokerConnection} which keeps a routing table of all subscriptions in a {@link TopicTrie} and counts
+ * the messages delivered to each subscriber.
+ *
+ * The MQTT client already dispatches messages by topic filter, so every subscriber is still registered at the
+ * connection. It is wrapped in a {@link Route}, which counts the messages before passing them on.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class RoutingBrokerConnection extends MqttBrokerConnection {
+
+    /**
+     * A subscription of a subscriber to a topic filter.
+     */
+    public static class Route implements MqttMessageSubscriber {
+        private final String filter;
+        private final MqttMessageSubscriber subscriber;
+        private final LongAdder messages = new LongAdder();
+
+        Route(String filter, MqttMessageSubscriber subscriber) {
+            this.filter = filter;
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void processMessage(String topic, byte[] payload) {
+            messages.increment();
+            subscriber.processMessage(topic, payload);
+        }
+
+        public String getFilter() {
+            return filter;
+        }
+
+        public MqttMessageSubscriber getSubscriber() {
+            return subscriber;
+        }
+
+        /**
+         * @return the number of messages delivered to the subscriber
+         */
+        public long getMessages() {
+            return messages.sum();
+        }
+    }
+
+    private record RouteKey(String filter, MqttMessageSubscriber subscriber) {
+    }
+
+    private final Map<RouteKey, Route> routes = new HashMap<>();
+    private final TopicTrie<Route> routingTable = new TopicTrie<>();
+
+    public RoutingBrokerConnection(Protocol protocol, MqttVersion mqttVersion, String host, @Nullable Integer port,
+            boolean secure, boolean hostnameValidated, @Nullable String clientId) {
+        super(protocol, mqttVersion, host, port, secure, hostnameValidated, clientId);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> subscribe(String topic, MqttMessageSubscriber subscriber) {
+        Route route;
+        synchronized (routes) {
+            route = routes.computeIfAbsent(new RouteKey(topic, subscriber), key -> new Route(topic, subscriber));
+            routingTable.add(topic, route);
+        }
+        return super.subscribe(topic, route);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> unsubscribe(String topic, MqttMessageSubscriber subscriber) {
+        @Nullable
+        Route route;
+        synchronized (routes) {
+            route = routes.remove(new RouteKey(topic, subscriber));
+            if (route != null) {
+                routingTable.remove(topic, route);
+            }
+        }
+        return super.unsubscribe(topic, route != null ? route : subscriber);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> unsubscribeAll() {
+        synchronized (routes) {
+            routes.clear();
+            routingTable.clear();
+        }
+        return super.unsubscribeAll();
+    }
+
+    /**
+     * Returns the routing table.
+     *
+     * @return the routes by topic filter, sorted by filter
+     */
+    public SortedMap<String, List<Route>> getRoutes() {
+        return routingTable.getFilters();
+    }
+
+    /**
+     * Returns the routes a message with the given topic is delivered to.
+     *
+     * @param topic a topic without wildcards
+     * @return the matching routes
+     */
+    public List<Route> getRoutes(String topic) {
+        return routingTable.match(topic);
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Stores values by MQTT topic filter. Each level of a filter is a node of the trie, so finding the values of all
+ * filters that match a topic only depends on the number of levels of the topic, not on the number of filters.
+ *
+ * The wildcards <code>+</code> (one level) and <code>#</code> (any number of levels, including the parent level) are
+ * supported. Like in MQTT, wildcards in the first level do not match topics starting with <code>$</code>.
+ *
+ * @author pre-martin - Initial contribution
+ *
+ * @param <T> the type of the values
+ */
+@NonNullByDefault
+public class TopicTrie<T> {
+    private static final String SINGLE_LEVEL_WILDCARD = "+";
+    private static final String MULTI_LEVEL_WILDCARD = "#";
+
+    private static class Node<T> {
+        final Map<String, Node<T>> children = new HashMap<>();
+        final Set<T> values = new LinkedHashSet<>();
+
+        boolean isEmpty() {
+            return children.isEmpty() && values.isEmpty();
+        }
+    }
+
+    private final Node<T> root = new Node<>();
+
+    /**
+     * Adds a value for a topic filter.
+     *
+     * @param filter the topic filter, may contain wildcards
+     * @param value the value
+     * @return true if the value was not stored for this filter yet
+     */
+    public synchronized boolean add(String filter, T value) {
+        Node<T> node = root;
+        for (String level : filter.split("/", -1)) {
+            node = node.children.computeIfAbsent(level, l -> new Node<>());
+        }
+        return node.values.add(value);
+    }
+
+    /**
+     * Removes a value of a topic filter.
+     *
+     * @param filter the topic filter, as given to {@link #add(String, Object)}
+     * @param value the value
+     * @return true if the value was stored for this filter
+     */
+    public synchronized boolean remove(String filter, T value) {
+        return remove(root, filter.split("/", -1), 0, value);
+    }
+
+    private boolean remove(Node<T> node, String[] levels, int index, T value) {
+        if (index == levels.length) {
+            return node.values.remove(value);
+        }
+        Node<T> child = node.children.get(levels[index]);
+        if (child == null || !remove(child, levels, index + 1, value)) {
+            return false;
+        }
+        if (child.isEmpty()) {
+            node.children.remove(levels[index]);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the values of all filters that match a topic.
+     *
+     * @param topic the topic of a message, without wildcards
+     * @return the values
+     */
+    public synchronized List<T> match(String topic) {
+        List<T> result = new ArrayList<>();
+        match(root, topic.split("/", -1), 0, !topic.startsWith("$"), result);
+        return result;
+    }
+
+    private void match(Node<T> node, String[] levels, int index, boolean wildcards, List<T> result) {
+        if (wildcards) {
+            Node<T> multiLevel = node.children.get(MULTI_LEVEL_WILDCARD);
+            if (multiLevel != null) {
+                result.addAll(multiLevel.values);
+            }
+        }
+        if (index == levels.length) {
+            result.addAll(node.values);
+            return;
+        }
+        Node<T> child = node.children.get(levels[index]);
+        if (child != null) {
+            match(child, levels, index + 1, true, result);
+        }
+        if (wildcards) {
+            Node<T> singleLevel = node.children.get(SINGLE_LEVEL_WILDCARD);
+            if (singleLevel != null) {
+                match(singleLevel, levels, index + 1, true, result);
+            }
+        }
+    }
+
+    /**
+     * Returns all filters with their values, sorted by filter.
+     */
+    public synchronized SortedMap<String, List<T>> getFilters() {
+        SortedMap<String, List<T>> filters = new TreeMap<>();
+        collect(root, null, filters);
+        return filters;
+    }
+
+    private void collect(Node<T> node, @Nullable String filter, Map<String, List<T>> filters) {
+        if (filter != null && !node.values.isEmpty()) {
+            filters.put(filter, new ArrayList<>(node.values));
+        }
+        node.children.forEach((level, child) -> collect(child, filter == null ? level : filter + "/" + level, filters));
+    }
+
+    public synchronized boolean isEmpty() {
+        return root.isEmpty();
+    }
+
+    public synchronized void clear() {
+        root.children.clear();
+        root.values.clear();
+    }
+}
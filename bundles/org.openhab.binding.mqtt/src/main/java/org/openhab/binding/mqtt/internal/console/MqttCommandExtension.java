@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.internal.console;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.mqtt.handler.AbstractBrokerHandler;
+import org.openhab.binding.mqtt.internal.RoutingBrokerConnection;
+import org.openhab.binding.mqtt.internal.RoutingBrokerConnection.Route;
+import org.openhab.core.io.console.Console;
+import org.openhab.core.io.console.ConsoleCommandCompleter;
+import org.openhab.core.io.console.StringsCompleter;
+import org.openhab.core.io.console.extensions.AbstractConsoleCommandExtension;
+import org.openhab.core.io.console.extensions.ConsoleCommandExtension;
+import org.openhab.core.thing.Thing;
+import org.openhab.core.thing.ThingRegistry;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * The {@link MqttCommandExtension} is responsible for handling console commands
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ConsoleCommandExtension.class)
+public class MqttCommandExtension extends AbstractConsoleCommandExtension implements ConsoleCommandCompleter {
+
+    private static final String CMD_ROUTES = "routes";
+    private static final String CMD_MATCH = "match";
+    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(List.of(CMD_ROUTES, CMD_MATCH),
+            false);
+
+    private final ThingRegistry thingRegistry;
+
+    @Activate
+    public MqttCommandExtension(final @Reference ThingRegistry thingRegistry) {
+        super("mqtt", "Interact with the MQTT broker connections.");
+        this.thingRegistry = thingRegistry;
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length == 1 && CMD_ROUTES.equals(args[0])) {
+            forEachConnection(console, connection -> printRoutes(console, connection.getRoutes()));
+        } else if (args.length == 2 && CMD_MATCH.equals(args[0])) {
+            forEachConnection(console, connection -> printRoutes(console, connection.getRoutes(args[1])
+                    .stream().collect(Collectors.groupingBy(Route::getFilter, TreeMap::new, Collectors.toList()))));
+        } else {
+            printUsage(console);
+        }
+    }
+
+    private void forEachConnection(Console console, Consumer<RoutingBrokerConnection> consumer) {
+        for (Thing thing : thingRegistry.getAll()) {
+            if (thing.getHandler() instanceof AbstractBrokerHandler handler
+                    && handler.getConnection() instanceof RoutingBrokerConnection connection) {
+                console.println(String.format("Broker %s:", thing.getUID()));
+                consumer.accept(connection);
+            }
+        }
+    }
+
+    private void printRoutes(Console console, Map<String, List<Route>> routes) {
+        if (routes.isEmpty()) {
+            console.println("  no subscriptions");
+            return;
+        }
+        routes.forEach((filter, filterRoutes) -> {
+            long messages = filterRoutes.stream().mapToLong(Route::getMessages).sum();
+            String subscribers = filterRoutes.stream()
+                    .collect(Collectors.groupingBy(route -> route.getSubscriber().getClass().getSimpleName(),
+                            TreeMap::new, Collectors.counting()))
+                    .entrySet().stream().map(entry -> entry.getValue() + "x " + entry.getKey())
+                    .collect(Collectors.joining(", "));
+            console.println(String.format("  %-60s %10d messages  %s", filter, messages, subscribers));
+        });
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return List.of(buildCommandUsage(CMD_ROUTES, "list the subscriptions and the number of delivered messages"),
+                buildCommandUsage(CMD_MATCH + " <topic>", "list the subscriptions a message on the topic is sent to"));
+    }
+
+    @Override
+    public @Nullable ConsoleCommandCompleter getCompleter() {
+        return this;
+    }
+
+    @Override
+    public boolean complete(String[] args, int cursorArgumentIndex, int cursorPosition, List<String> candidates) {
+        if (cursorArgumentIndex <= 0) {
+            return CMD_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
+        }
+        return false;
+    }
+}
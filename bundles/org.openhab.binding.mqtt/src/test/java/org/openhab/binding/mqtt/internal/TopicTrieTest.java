@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link TopicTrie}.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class TopicTrieTest {
+
+    @Test
+    public void matchExactTopic() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        trie.add("a/b/c", "exact");
+        trie.add("a/b", "parent");
+
+        assertThat(trie.match("a/b/c"), contains("exact"));
+        assertThat(trie.match("a/b"), contains("parent"));
+        assertThat(trie.match("a/b/c/d"), is(empty()));
+    }
+
+    @Test
+    public void matchWildcards() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        trie.add("a/+/c", "single");
+        trie.add("a/#", "multi");
+        trie.add("#", "all");
+        trie.add("+/+", "two");
+
+        assertThat(trie.match("a/b/c"), containsInAnyOrder("single", "multi", "all"));
+        assertThat(trie.match("a/b"), containsInAnyOrder("multi", "all", "two"));
+        // the multi level wildcard also matches the parent level
+        assertThat(trie.match("a"), containsInAnyOrder("multi", "all"));
+        assertThat(trie.match("x/y/z"), contains("all"));
+    }
+
+    @Test
+    public void wildcardsDoNotMatchSystemTopics() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        trie.add("#", "all");
+        trie.add("+/broker", "single");
+        trie.add("$SYS/#", "system");
+
+        assertThat(trie.match("$SYS/broker"), contains("system"));
+    }
+
+    @Test
+    public void removeValues() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        trie.add("a/+/c", "one");
+        trie.add("a/+/c", "two");
+
+        assertTrue(trie.remove("a/+/c", "one"));
+        assertFalse(trie.remove("a/+/c", "one"));
+        assertFalse(trie.remove("a/b/c", "two"));
+        assertThat(trie.match("a/b/c"), contains("two"));
+
+        assertTrue(trie.remove("a/+/c", "two"));
+        assertTrue(trie.isEmpty());
+    }
+
+    @Test
+    public void listFilters() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        trie.add("b/#", "one");
+        trie.add("a/+", "two");
+        trie.add("a/+", "three");
+
+        assertThat(trie.getFilters().keySet(), contains("a/+", "b/#"));
+        assertEquals(List.of("two", "three"), trie.getFilters().get("a/+"));
+    }
+}
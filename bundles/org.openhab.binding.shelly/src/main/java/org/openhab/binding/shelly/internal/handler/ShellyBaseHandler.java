@@ -75,6 +75,7 @@ import org.openhab.core.types.RefreshType;
 import org.openhab.core.types.State;
 import org.openhab.core.types.StateOption;
 import org.openhab.core.types.UnDefType;
+import org.openhab.io.metrics.addon.internal.ThingMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -106,6 +107,7 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
 
     private final ShellyTranslationProvider messages;
     private final ShellyChannelCache cache;
+    private final ThingMetrics metrics;
     private final int cacheCount = UPDATE_SETTINGS_INTERVAL_SECONDS / UPDATE_STATUS_INTERVAL_SECONDS;
 
     private boolean gen2 = false;
@@ -137,11 +139,13 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
      * @param thingTable
      * @param coapServer coap server instance
      * @param httpClient from httpService
+     * @param metrics meters of the thing
      */
     public ShellyBaseHandler(final Thing thing, final ShellyTranslationProvider translationProvider,
             final ShellyBindingConfiguration bindingConfig, ShellyThingTable thingTable,
-            final Shelly1CoapServer coapServer, final HttpClient httpClient) {
+            final Shelly1CoapServer coapServer, final HttpClient httpClient, final ThingMetrics metrics) {
         super(thing);
+        this.metrics = metrics;
 
         this.thingTable = thingTable;
         this.thingName = getString(thing.getLabel());
@@ -178,6 +182,7 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
      */
     @Override
     public void initialize() {
+        metrics.open();
         // start background initialization:
         initJob = scheduler.schedule(() -> {
             boolean start = true;
@@ -384,6 +389,7 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
      */
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
+        long startNanos = System.nanoTime();
         try {
             if (command instanceof RefreshType) {
                 String channelId = channelUID.getId();
@@ -516,6 +522,8 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
 
         } catch (IllegalArgumentException e) {
             logger.debug("{}: {}", thingName, messages.get("command.failed", command, channelUID));
+        } finally {
+            metrics.recordCommand(startNanos);
         }
     }
 
@@ -523,6 +531,8 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
      * Update device status and channels
      */
     protected void refreshStatus() {
+        long startNanos = System.nanoTime();
+        boolean polled = false;
         try {
             boolean updated = false;
 
@@ -535,6 +545,7 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
             skipUpdate++;
             ThingStatus thingStatus = getThing().getStatus();
             if (refreshSettings || (scheduledUpdates > 0) || (skipUpdate % skipCount == 0)) {
+                polled = true;
                 if (!profile.isInitialized() || ((thingStatus == ThingStatus.OFFLINE))
                         || (thingStatus == ThingStatus.UNKNOWN)) {
                     logger.debug("{}: Status update triggered thing initialization", thingName);
@@ -576,6 +587,9 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
         } catch (NullPointerException | IllegalArgumentException e) {
             logger.debug("{}: Unable to refresh status: {}", thingName, messages.get("statusupdate.failed"), e);
         } finally {
+            if (polled) {
+                metrics.recordPoll(startNanos);
+            }
             if (scheduledUpdates > 0) {
                 --scheduledUpdates;
                 logger.trace("{}: {} more updates requested", thingName, scheduledUpdates);
@@ -717,6 +731,7 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
             logger.debug("{}: Handler is shutting down, ignore", thingName);
             return;
         }
+        metrics.countReconnect();
         updateStatus(ThingStatus.UNKNOWN, ThingStatusDetail.CONFIGURATION_PENDING,
                 messages.get("offline.status-error-restarted"));
         requestUpdates(0, true);
@@ -1273,6 +1288,7 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
         String id = channelId.contains("$") ? substringBefore(channelId, "$") : channelId;
         if (!stopping && isLinked(id)) {
             updateState(id, value);
+            metrics.countChannelUpdate();
             logger.debug("{}: Channel {} updated with {} (type {}).", thingName, channelId, value, value.getClass());
         }
     }
@@ -1539,6 +1555,7 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
         logger.debug("{}: Stopping Thing", thingName);
         stopping = true;
         stop();
+        metrics.close();
         super.dispose();
     }
 
@@ -18,6 +18,7 @@ import org.openhab.binding.shelly.internal.api1.Shelly1CoapServer;
 import org.openhab.binding.shelly.internal.config.ShellyBindingConfiguration;
 import org.openhab.binding.shelly.internal.provider.ShellyTranslationProvider;
 import org.openhab.core.thing.Thing;
+import org.openhab.io.metrics.addon.internal.ThingMetrics;
 
 /**
  * The {@link ShellyProtectedHandler} implements a dummy handler for password protected devices.
@@ -35,11 +36,12 @@ public class ShellyProtectedHandler extends ShellyBaseHandler {
      * @param thingTable
      * @param coapService coap server instance
      * @param httpClient to connect to the openHAB HTTP API
+     * @param metrics meters of the thing
      */
     public ShellyProtectedHandler(final Thing thing, final ShellyTranslationProvider translationProvider,
             final ShellyBindingConfiguration bindingConfig, ShellyThingTable thingTable,
-            final Shelly1CoapServer coapService, final HttpClient httpClient) {
-        super(thing, translationProvider, bindingConfig, thingTable, coapService, httpClient);
+            final Shelly1CoapServer coapService, final HttpClient httpClient, final ThingMetrics metrics) {
+        super(thing, translationProvider, bindingConfig, thingTable, coapService, httpClient, metrics);
     }
 
     @Override
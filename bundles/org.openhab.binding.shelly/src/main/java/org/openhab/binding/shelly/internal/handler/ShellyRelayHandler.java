@@ -37,6 +37,7 @@ import org.openhab.core.library.unit.Units;
 import org.openhab.core.thing.ChannelUID;
 import org.openhab.core.thing.Thing;
 import org.openhab.core.types.Command;
+import org.openhab.io.metrics.addon.internal.ThingMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,11 +60,12 @@ public class ShellyRelayHandler extends ShellyBaseHandler {
      * @param thingTable
      * @param coapServer coap server instance
      * @param httpClient to connect to the openHAB HTTP API
+     * @param metrics meters of the thing
      */
     public ShellyRelayHandler(final Thing thing, final ShellyTranslationProvider translationProvider,
             final ShellyBindingConfiguration bindingConfig, ShellyThingTable thingTable,
-            final Shelly1CoapServer coapServer, final HttpClient httpClient) {
-        super(thing, translationProvider, bindingConfig, thingTable, coapServer, httpClient);
+            final Shelly1CoapServer coapServer, final HttpClient httpClient, final ThingMetrics metrics) {
+        super(thing, translationProvider, bindingConfig, thingTable, coapServer, httpClient, metrics);
     }
 
     @Override
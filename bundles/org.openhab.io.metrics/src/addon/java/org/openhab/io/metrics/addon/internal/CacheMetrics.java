@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics.addon.internal;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link CacheMetrics} publishes the usage of the caches of a transformation service.
+ *
+ * The service counts hits and misses itself and registers the counters once a meter registry is bound; until then it
+ * uses {@link #NOOP}, so Micrometer is only loaded if the monitor bundle is installed.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public interface CacheMetrics {
+
+    /**
+     * Publishes nothing, used while no meter registry is bound
+     */
+    CacheMetrics NOOP = new CacheMetrics() {
+    };
+
+    /**
+     * Publish the usage of a cache
+     *
+     * @param cache the name of the cache, used as the cache tag
+     * @param size returns the number of entries in the cache
+     * @param hits number of lookups answered by the cache
+     * @param misses number of lookups that had to compute the value
+     */
+    default void registerCache(String cache, IntSupplier size, LongAdder hits, LongAdder misses) {
+    }
+
+    /**
+     * Remove the meters, called when the meter registry goes away
+     */
+    default void close() {
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics.addon.internal;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * The {@link MicrometerCacheMetrics} publishes the usage of the caches of a transformation service to the meter
+ * registry of openHAB. The meters are listed in the README of the metrics service.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class MicrometerCacheMetrics implements CacheMetrics {
+    private static final String GETS = "openhab.transform.cache.gets";
+    private static final String SIZE = "openhab.transform.cache.size";
+
+    private final MeterRegistry registry;
+    private final Tags tags;
+    private final List<Meter> meters = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param transformation the type of the transformation service, used as the transformation tag of the meters
+     */
+    public MicrometerCacheMetrics(MeterRegistry registry, String transformation) {
+        this.registry = registry;
+        this.tags = Tags.of("transformation", transformation);
+    }
+
+    @Override
+    public void registerCache(String cache, IntSupplier size, LongAdder hits, LongAdder misses) {
+        Tags cacheTags = tags.and("cache", cache);
+        meters.add(FunctionCounter.builder(GETS, hits, LongAdder::doubleValue)
+                .description("Number of cache lookups").tags(cacheTags).tag("result", "hit").register(registry));
+        meters.add(FunctionCounter.builder(GETS, misses, LongAdder::doubleValue)
+                .description("Number of cache lookups").tags(cacheTags).tag("result", "miss").register(registry));
+        meters.add(Gauge.builder(SIZE, size, IntSupplier::getAsInt).description("Number of entries in the cache")
+                .tags(cacheTags).strongReference(true).register(registry));
+    }
+
+    @Override
+    public void close() {
+        meters.forEach(registry::remove);
+        meters.clear();
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics.addon.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The {@link MicrometerPersistenceServiceMetrics} publishes the meters of a persistence service to the meter registry
+ * of openHAB. The meters are the same for all persistence services and are told apart by the service tag; they are
+ * listed in the README of the metrics service.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class MicrometerPersistenceServiceMetrics implements PersistenceServiceMetrics {
+    private final MeterRegistry registry;
+    private final List<Meter> meters = new ArrayList<>();
+    // the gauges only keep weak references to the functions they report
+    private final @Nullable LongSupplier queueSize;
+    private final @Nullable LongSupplier droppedValues;
+
+    private final Timer storeDuration;
+    private final Counter storeFailures;
+    private final Timer queryDuration;
+    private final DistributionSummary queryRows;
+
+    /**
+     * Register the meters of a service writing the values immediately
+     *
+     * @param serviceId the id of the persistence service, used as the service tag of the meters
+     */
+    public MicrometerPersistenceServiceMetrics(MeterRegistry registry, String serviceId) {
+        this(registry, serviceId, null, null);
+    }
+
+    /**
+     * Register the meters of a service queueing the values before writing them
+     *
+     * @param serviceId the id of the persistence service, used as the service tag of the meters
+     * @param queueSize returns the number of values waiting to be written
+     * @param droppedValues returns the number of values dropped because the queue was full, or null if the queue is
+     *            unbounded
+     */
+    public MicrometerPersistenceServiceMetrics(MeterRegistry registry, String serviceId,
+            @Nullable LongSupplier queueSize, @Nullable LongSupplier droppedValues) {
+        this.registry = registry;
+        this.queueSize = queueSize;
+        this.droppedValues = droppedValues;
+        Tags tags = Tags.of("service", serviceId);
+        storeDuration = add(Timer.builder("openhab.persistence.store.duration")
+                .description("Time to write values to the database").tags(tags).publishPercentileHistogram()
+                .register(registry));
+        storeFailures = add(Counter.builder("openhab.persistence.store.failures")
+                .description("Number of values that could not be written").tags(tags).register(registry));
+        queryDuration = add(Timer.builder("openhab.persistence.query.duration")
+                .description("Time to query values from the database").tags(tags).publishPercentileHistogram()
+                .register(registry));
+        queryRows = add(DistributionSummary.builder("openhab.persistence.query.rows")
+                .description("Number of values returned by a query").tags(tags).publishPercentileHistogram()
+                .register(registry));
+        if (queueSize != null) {
+            add(Gauge.builder("openhab.persistence.queue.size", queueSize, LongSupplier::getAsLong)
+                    .description("Number of values waiting to be written").tags(tags).register(registry));
+        }
+        if (droppedValues != null) {
+            add(FunctionCounter.builder("openhab.persistence.queue.dropped", droppedValues, LongSupplier::getAsLong)
+                    .description("Number of values dropped because the write queue was full").tags(tags)
+                    .register(registry));
+        }
+    }
+
+    private <M extends Meter> M add(M meter) {
+        meters.add(meter);
+        return meter;
+    }
+
+    @Override
+    public void recordStore(long startNanos, int failed) {
+        storeDuration.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        countFailedStores(failed);
+    }
+
+    @Override
+    public void countFailedStores(int failed) {
+        if (failed > 0) {
+            storeFailures.increment(failed);
+        }
+    }
+
+    @Override
+    public void recordQuery(long startNanos, int rows) {
+        queryDuration.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        queryRows.record(rows);
+    }
+
+    @Override
+    public void close() {
+        meters.forEach(registry::remove);
+    }
+}
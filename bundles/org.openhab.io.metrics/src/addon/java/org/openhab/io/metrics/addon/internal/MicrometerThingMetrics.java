@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics.addon.internal;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.thing.ThingUID;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The {@link MicrometerThingMetrics} publishes the meters of a thing to the meter registry of openHAB. The meters are
+ * the same for all bindings and are told apart by the binding and thing tags; they are listed in the README of the
+ * metrics service.
+ *
+ * A meter is registered when it is used first, so a thing only publishes the meters that apply to it.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class MicrometerThingMetrics implements ThingMetrics {
+    private static final String COMMAND_DURATION = "openhab.binding.command.duration";
+    private static final String POLL_DURATION = "openhab.binding.poll.duration";
+    private static final String CHANNEL_UPDATES = "openhab.binding.channel.updates";
+    private static final String RECONNECTS = "openhab.binding.reconnects";
+    private static final String QUEUE_SIZE = "openhab.binding.queue.size";
+    private static final String POLL_RESULTS = "openhab.binding.poll.results";
+
+    private final MeterRegistry registry;
+    private final Tags tags;
+    private final Map<String, Meter> meters = new ConcurrentHashMap<>();
+    private boolean open;
+
+    /**
+     * @param bindingId the id of the binding, used as the binding tag of the meters
+     * @param thingUID the thing the meters belong to, used as the thing tag of the meters
+     */
+    public MicrometerThingMetrics(MeterRegistry registry, String bindingId, ThingUID thingUID) {
+        this.registry = registry;
+        this.tags = Tags.of("binding", bindingId, "thing", thingUID.getAsString());
+    }
+
+    @Override
+    public synchronized void open() {
+        open = true;
+    }
+
+    @Override
+    public synchronized void close() {
+        open = false;
+        meters.values().forEach(registry::remove);
+        meters.clear();
+    }
+
+    @Override
+    public void recordCommand(long startNanos) {
+        Timer timer = meter(COMMAND_DURATION, () -> Timer.builder(COMMAND_DURATION)
+                .description("Time to handle a command").tags(tags).register(registry));
+        if (timer != null) {
+            timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void recordPoll(long startNanos) {
+        Timer timer = meter(POLL_DURATION, () -> Timer.builder(POLL_DURATION)
+                .description("Time to poll the device or process a poll result").tags(tags).register(registry));
+        if (timer != null) {
+            timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void countChannelUpdate() {
+        Counter counter = meter(CHANNEL_UPDATES, () -> Counter.builder(CHANNEL_UPDATES)
+                .description("Number of channel state updates").tags(tags).register(registry));
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    @Override
+    public void countReconnect() {
+        Counter counter = meter(RECONNECTS, () -> Counter.builder(RECONNECTS)
+                .description("Number of connections established to a device, bus or broker").tags(tags)
+                .register(registry));
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    @Override
+    public void registerQueueSize(String queue, IntSupplier size) {
+        meter(QUEUE_SIZE + "." + queue,
+                () -> Gauge.builder(QUEUE_SIZE, size, IntSupplier::getAsInt)
+                        .description("Number of requests waiting in a queue").tags(tags).tag("queue", queue)
+                        .strongReference(true).register(registry));
+    }
+
+    @Override
+    public void registerPollResults(LongAdder dispatched, LongAdder skipped) {
+        registerPollResult("dispatched", dispatched);
+        registerPollResult("skipped", skipped);
+    }
+
+    private void registerPollResult(String result, LongAdder count) {
+        meter(POLL_RESULTS + "." + result,
+                () -> FunctionCounter.builder(POLL_RESULTS, count, LongAdder::doubleValue)
+                        .description("Number of poll results").tags(tags).tag("result", result)
+                        .register(registry));
+    }
+
+    /**
+     * @return the meter registered under the key, or null if the thing is not open
+     */
+    @SuppressWarnings("unchecked")
+    private <M extends Meter> @Nullable M meter(String key, Supplier<M> factory) {
+        Meter meter = meters.get(key);
+        if (meter == null) {
+            synchronized (this) {
+                // a meter registered after close() would never be removed
+                if (!open) {
+                    return null;
+                }
+                meter = meters.computeIfAbsent(key, k -> factory.get());
+            }
+        }
+        return (M) meter;
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics.addon.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link PersistenceServiceMetrics} records the meters of a persistence service.
+ *
+ * A service starts with {@link #NOOP} and switches to a {@link MicrometerPersistenceServiceMetrics} when the meter
+ * registry of openHAB is bound, so Micrometer is only loaded if the monitor bundle is installed.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public interface PersistenceServiceMetrics {
+
+    /**
+     * Records nothing, used while no meter registry is bound
+     */
+    PersistenceServiceMetrics NOOP = new PersistenceServiceMetrics() {
+    };
+
+    /**
+     * @param startNanos {@link System#nanoTime()} when writing started
+     * @param failed the number of values that could not be written
+     */
+    default void recordStore(long startNanos, int failed) {
+    }
+
+    /**
+     * @param failed the number of values that could not be written
+     */
+    default void countFailedStores(int failed) {
+    }
+
+    /**
+     * @param startNanos {@link System#nanoTime()} when the query started
+     * @param rows the number of values returned
+     */
+    default void recordQuery(long startNanos, int rows) {
+    }
+
+    /**
+     * Remove the meters from the registry
+     */
+    default void close() {
+    }
+}
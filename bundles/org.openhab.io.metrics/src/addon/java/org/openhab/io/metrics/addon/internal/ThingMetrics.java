@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics.addon.internal;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link ThingMetrics} records the meters of a thing.
+ *
+ * A handler factory passes {@link #NOOP} to its handlers as long as no meter registry is bound and a
+ * {@link MicrometerThingMetrics} otherwise, so Micrometer is only loaded if the monitor bundle is installed. The
+ * handler calls {@link #open()} when it gets initialized and {@link #close()} when it gets disposed; nothing is
+ * recorded outside of these calls.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public interface ThingMetrics {
+
+    /**
+     * Records nothing, used while no meter registry is bound
+     */
+    ThingMetrics NOOP = new ThingMetrics() {
+    };
+
+    /**
+     * Start recording, called when the thing gets initialized
+     */
+    default void open() {
+    }
+
+    /**
+     * Remove the meters of the thing, called when the thing gets disposed
+     */
+    default void close() {
+    }
+
+    /**
+     * @param startNanos {@link System#nanoTime()} when the command was received
+     */
+    default void recordCommand(long startNanos) {
+    }
+
+    /**
+     * @param startNanos {@link System#nanoTime()} when the poll was started or its result was received
+     */
+    default void recordPoll(long startNanos) {
+    }
+
+    /**
+     * Count a state update of a channel
+     */
+    default void countChannelUpdate() {
+    }
+
+    /**
+     * Count a connection established to the device, bus or broker
+     */
+    default void countReconnect() {
+    }
+
+    /**
+     * Publish the size of a request queue of the thing
+     *
+     * @param queue the name of the queue, used as the queue tag
+     * @param size returns the number of requests waiting in the queue
+     */
+    default void registerQueueSize(String queue, IntSupplier size) {
+    }
+
+    /**
+     * Publish the number of poll results passed on and skipped since they had not changed
+     */
+    default void registerPollResults(LongAdder dispatched, LongAdder skipped) {
+    }
+}
@@ -31,11 +31,14 @@ public class MetricsConfiguration {
 
     public boolean jmxMetricsEnabled = false;
 
+    public Integer prometheusCacheTimeInMillis = 0;
+
     @Override
     public String toString() {
         return "MetricsConfiguration{" + "influxMetricsEnabled=" + influxMetricsEnabled + ", influxURL='" + influxURL
                 + '\'' + ", influxDB='" + influxDB + '\'' + ", influxPassword='" + influxPassword + '\''
                 + ", influxUsername='" + influxUsername + '\'' + ", influxUpdateIntervalInSeconds="
-                + influxUpdateIntervalInSeconds + ", jmxMetricsEnabled=" + jmxMetricsEnabled + '}';
+                + influxUpdateIntervalInSeconds + ", jmxMetricsEnabled=" + jmxMetricsEnabled
+                + ", prometheusCacheTimeInMillis=" + prometheusCacheTimeInMillis + '}';
     }
 }
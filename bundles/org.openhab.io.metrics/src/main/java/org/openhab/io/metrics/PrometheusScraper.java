@@ -0,0 +1,192 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.prometheus.client.CollectorRegistry;
+
+/**
+ * The {@link PrometheusScraper} renders the metrics of a Prometheus registry for a scrape request.
+ *
+ * Without a cache time the metrics are streamed to the response while they are collected. With a cache time the
+ * rendered metrics are kept for that time and served to all scrapers asking within it; concurrent scrapers wait for
+ * the one rendering the metrics instead of rendering them once more.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class PrometheusScraper {
+    public static final String MEDIA_TYPE_OPENMETRICS = "application/openmetrics-text";
+    public static final String CONTENT_TYPE_OPENMETRICS = MEDIA_TYPE_OPENMETRICS + "; version=1.0.0; charset=utf-8";
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Logger logger = LoggerFactory.getLogger(PrometheusScraper.class);
+    private final CollectorRegistry collectorRegistry;
+    private final CacheSlot textCache = new CacheSlot();
+    private final CacheSlot openMetricsCache = new CacheSlot();
+    private final AtomicInteger lastSeriesCount = new AtomicInteger();
+    private volatile long cacheTimeNanos;
+
+    private volatile @Nullable Timer textScrapeDuration;
+    private volatile @Nullable Timer openMetricsScrapeDuration;
+    private volatile @Nullable Counter cacheHits;
+
+    public PrometheusScraper(CollectorRegistry collectorRegistry) {
+        this.collectorRegistry = collectorRegistry;
+    }
+
+    /**
+     * @param cacheTimeMillis the time a rendered scrape is served again, 0 to render every scrape
+     */
+    public void setCacheTime(long cacheTimeMillis) {
+        cacheTimeNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, cacheTimeMillis));
+        if (cacheTimeNanos == 0) {
+            textCache.clear();
+            openMetricsCache.clear();
+        }
+    }
+
+    /**
+     * Register the meters of the scrapes themselves.
+     */
+    public void bindMeters(MeterRegistry registry) {
+        textScrapeDuration = scrapeDurationTimer(registry, "text");
+        openMetricsScrapeDuration = scrapeDurationTimer(registry, "openmetrics");
+        cacheHits = Counter.builder("openhab.metrics.scrape.cache.hits")
+                .description("Number of scrapes served from the scrape cache").register(registry);
+        Gauge.builder("openhab.metrics.scrape.series", lastSeriesCount, AtomicInteger::get)
+                .description("Number of series written by the last scrape").register(registry);
+    }
+
+    private Timer scrapeDurationTimer(MeterRegistry registry, String format) {
+        return Timer.builder("openhab.metrics.scrape.duration").description("Time to collect and write the metrics")
+                .tag("format", format).register(registry);
+    }
+
+    /**
+     * Write the metrics to the given stream, which is neither closed nor finished.
+     *
+     * @param openMetrics true to write the OpenMetrics format, false to write the Prometheus text format 0.0.4
+     * @param gzip true to compress the metrics with gzip
+     * @param out the stream to write to
+     */
+    public void scrape(boolean openMetrics, boolean gzip, OutputStream out) throws IOException {
+        long cacheTimeNanos = this.cacheTimeNanos;
+        if (cacheTimeNanos == 0) {
+            if (gzip) {
+                GZIPOutputStream gzipStream = new GZIPOutputStream(out, BUFFER_SIZE);
+                render(openMetrics, gzipStream);
+                gzipStream.finish();
+            } else {
+                render(openMetrics, out);
+            }
+            return;
+        }
+        CachedScrape scrape = getCachedScrape(openMetrics ? openMetricsCache : textCache, openMetrics, cacheTimeNanos);
+        out.write(gzip ? scrape.getGzipped() : scrape.text);
+    }
+
+    private CachedScrape getCachedScrape(CacheSlot slot, boolean openMetrics, long cacheTimeNanos)
+            throws IOException {
+        synchronized (slot) {
+            CachedScrape scrape = slot.scrape;
+            if (scrape != null && System.nanoTime() - scrape.createdNanos < cacheTimeNanos) {
+                Counter cacheHits = this.cacheHits;
+                if (cacheHits != null) {
+                    cacheHits.increment();
+                }
+                return scrape;
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+                    scrape == null ? BUFFER_SIZE : scrape.text.length + BUFFER_SIZE);
+            render(openMetrics, bytes);
+            scrape = new CachedScrape(bytes.toByteArray(), System.nanoTime());
+            slot.scrape = scrape;
+            return scrape;
+        }
+    }
+
+    private void render(boolean openMetrics, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        PrometheusTextWriter textWriter = new PrometheusTextWriter(writer, openMetrics);
+        textWriter.write(collectorRegistry.metricFamilySamples());
+        writer.flush();
+
+        long duration = System.nanoTime() - start;
+        Timer scrapeDuration = openMetrics ? openMetricsScrapeDuration : textScrapeDuration;
+        if (scrapeDuration != null) {
+            scrapeDuration.record(duration, TimeUnit.NANOSECONDS);
+        }
+        lastSeriesCount.set(textWriter.getSeriesCount());
+        if (logger.isDebugEnabled()) {
+            logger.debug("Scraped {} series in {} ms, slowest collectors: {}", textWriter.getSeriesCount(),
+                    TimeUnit.NANOSECONDS.toMillis(duration), textWriter.getSlowestCollectors());
+        }
+    }
+
+    private static class CacheSlot {
+        private @Nullable CachedScrape scrape;
+
+        private synchronized void clear() {
+            scrape = null;
+        }
+    }
+
+    private static class CachedScrape {
+        private final byte[] text;
+        private final long createdNanos;
+        private byte @Nullable [] gzipped;
+
+        private CachedScrape(byte[] text, long createdNanos) {
+            this.text = text;
+            this.createdNanos = createdNanos;
+        }
+
+        /**
+         * The metrics are only compressed once, when the first scraper asks for them compressed.
+         */
+        private synchronized byte[] getGzipped() throws IOException {
+            byte[] gzipped = this.gzipped;
+            if (gzipped == null) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(text.length / 4 + 64);
+                try (GZIPOutputStream gzipStream = new GZIPOutputStream(bytes, BUFFER_SIZE)) {
+                    gzipStream.write(text);
+                }
+                gzipped = bytes.toByteArray();
+                this.gzipped = gzipped;
+            }
+            return gzipped;
+        }
+    }
+}
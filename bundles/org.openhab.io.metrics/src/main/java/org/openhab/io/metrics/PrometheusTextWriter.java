@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import io.prometheus.client.Collector;
+import io.prometheus.client.Collector.MetricFamilySamples;
+import io.prometheus.client.Collector.MetricFamilySamples.Sample;
+
+/**
+ * The {@link PrometheusTextWriter} writes metric families in the Prometheus text format 0.0.4 or in the OpenMetrics
+ * text format 1.0.0. The families are written one by one while they are collected, so the scrape is never held in
+ * memory as a whole.
+ *
+ * The writer also counts the written series and keeps the collectors that took the longest to collect and write.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class PrometheusTextWriter {
+
+    /**
+     * The time it took to collect and write a metric family.
+     */
+    public record CollectorTiming(String name, long nanos) {
+        @Override
+        public String toString() {
+            return name + " (" + nanos / 1000 + " µs)";
+        }
+    }
+
+    private static final int SLOWEST_COLLECTORS = 5;
+
+    private final Writer writer;
+    private final boolean openMetrics;
+    private final List<CollectorTiming> slowestCollectors = new ArrayList<>(SLOWEST_COLLECTORS + 1);
+    private int series;
+
+    /**
+     * @param writer the writer to write to, it is neither flushed nor closed
+     * @param openMetrics true to write the OpenMetrics format, false to write the Prometheus text format 0.0.4
+     */
+    public PrometheusTextWriter(Writer writer, boolean openMetrics) {
+        this.writer = writer;
+        this.openMetrics = openMetrics;
+    }
+
+    public void write(Enumeration<MetricFamilySamples> families) throws IOException {
+        while (true) {
+            // the collectors are called lazily while iterating, so the timing includes collecting the samples
+            long start = System.nanoTime();
+            if (!families.hasMoreElements()) {
+                break;
+            }
+            MetricFamilySamples family = families.nextElement();
+            writeFamily(family);
+            track(family.name, System.nanoTime() - start);
+        }
+        if (openMetrics) {
+            writer.write("# EOF\n");
+        }
+    }
+
+    /**
+     * @return the number of samples written
+     */
+    public int getSeriesCount() {
+        return series;
+    }
+
+    /**
+     * @return the metric families that took the longest to collect and write, the slowest first
+     */
+    public List<CollectorTiming> getSlowestCollectors() {
+        return List.copyOf(slowestCollectors);
+    }
+
+    private void writeFamily(MetricFamilySamples family) throws IOException {
+        String name = family.name;
+        String type = typeName(family.type);
+        if (openMetrics && family.type == Collector.Type.COUNTER) {
+            // OpenMetrics names the family of a counter without the suffix of its samples
+            if (name.endsWith("_total")) {
+                name = name.substring(0, name.length() - "_total".length());
+            } else {
+                type = "unknown";
+            }
+        }
+        // the text format 0.0.4 is written exactly like the Prometheus client library does, including empty help
+        if (!openMetrics || !family.help.isEmpty()) {
+            writer.write("# HELP ");
+            writer.write(name);
+            writer.write(' ');
+            writeEscaped(family.help, openMetrics);
+            writer.write('\n');
+        }
+        writer.write("# TYPE ");
+        writer.write(name);
+        writer.write(' ');
+        writer.write(type);
+        writer.write('\n');
+
+        for (Sample sample : family.samples) {
+            writer.write(sample.name);
+            if (!sample.labelNames.isEmpty()) {
+                writer.write('{');
+                for (int i = 0; i < sample.labelNames.size(); i++) {
+                    if (i > 0 && openMetrics) {
+                        writer.write(',');
+                    }
+                    writer.write(sample.labelNames.get(i));
+                    writer.write("=\"");
+                    writeEscaped(sample.labelValues.get(i), true);
+                    // the text format terminates every label with a comma, OpenMetrics only separates them
+                    writer.write(openMetrics ? "\"" : "\",");
+                }
+                writer.write('}');
+            }
+            writer.write(' ');
+            writer.write(Collector.doubleToGoString(sample.value));
+            writer.write('\n');
+            series++;
+        }
+    }
+
+    private String typeName(Collector.Type type) {
+        return switch (type) {
+            case COUNTER -> "counter";
+            case GAUGE -> "gauge";
+            case SUMMARY -> "summary";
+            case HISTOGRAM -> "histogram";
+            default -> openMetrics ? "unknown" : "untyped";
+        };
+    }
+
+    private void writeEscaped(String text, boolean escapeQuotes) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\' -> writer.write("\\\\");
+                case '\n' -> writer.write("\\n");
+                case '"' -> writer.write(escapeQuotes ? "\\\"" : "\"");
+                default -> writer.write(c);
+            }
+        }
+    }
+
+    private void track(String name, long nanos) {
+        if (slowestCollectors.size() == SLOWEST_COLLECTORS
+                && slowestCollectors.get(SLOWEST_COLLECTORS - 1).nanos() >= nanos) {
+            return;
+        }
+        int index = 0;
+        while (index < slowestCollectors.size() && slowestCollectors.get(index).nanos() >= nanos) {
+            index++;
+        }
+        slowestCollectors.add(index, new CollectorTiming(name, nanos));
+        if (slowestCollectors.size() > SLOWEST_COLLECTORS) {
+            slowestCollectors.remove(SLOWEST_COLLECTORS);
+        }
+    }
+}
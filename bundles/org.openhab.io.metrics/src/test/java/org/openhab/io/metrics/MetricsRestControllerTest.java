@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link MetricsRestController}.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class MetricsRestControllerTest {
+
+    @Test
+    public void gzipIsAccepted() {
+        assertThat(MetricsRestController.acceptsGzip("gzip"), is(true));
+        assertThat(MetricsRestController.acceptsGzip("GZIP"), is(true));
+        assertThat(MetricsRestController.acceptsGzip("deflate, gzip"), is(true));
+        assertThat(MetricsRestController.acceptsGzip("br;q=1.0, gzip;q=0.8, *;q=0.1"), is(true));
+        assertThat(MetricsRestController.acceptsGzip("gzip;q=0.001"), is(true));
+        assertThat(MetricsRestController.acceptsGzip("gzip; q=1"), is(true));
+    }
+
+    @Test
+    public void gzipWithQualityZeroIsNotAccepted() {
+        assertThat(MetricsRestController.acceptsGzip("gzip;q=0"), is(false));
+        assertThat(MetricsRestController.acceptsGzip("gzip;q=0.0"), is(false));
+        assertThat(MetricsRestController.acceptsGzip("deflate, gzip ; q=0.000"), is(false));
+    }
+
+    @Test
+    public void otherEncodingsAreNotAccepted() {
+        assertThat(MetricsRestController.acceptsGzip(null), is(false));
+        assertThat(MetricsRestController.acceptsGzip(""), is(false));
+        assertThat(MetricsRestController.acceptsGzip("deflate, br"), is(false));
+        assertThat(MetricsRestController.acceptsGzip("x-gzip2"), is(false));
+    }
+}
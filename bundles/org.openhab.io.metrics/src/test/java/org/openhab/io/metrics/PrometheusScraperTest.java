@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.endsWith;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Gauge;
+
+/**
+ * Tests the {@link PrometheusScraper}.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class PrometheusScraperTest {
+
+    private final CollectorRegistry registry = new CollectorRegistry();
+    private final Gauge gauge = Gauge.build().name("value").help("Value").register(registry);
+    private final PrometheusScraper scraper = new PrometheusScraper(registry);
+
+    private String scrape(boolean openMetrics) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        scraper.scrape(openMetrics, false, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private String scrapeGzipped(boolean openMetrics) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        scraper.scrape(openMetrics, true, out);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    public void everyScrapeIsRenderedWithoutCacheTime() throws IOException {
+        gauge.set(1);
+        assertThat(scrape(false), containsString("value 1.0\n"));
+        gauge.set(2);
+        assertThat(scrape(false), containsString("value 2.0\n"));
+    }
+
+    @Test
+    public void scrapesAreServedFromCacheWithinCacheTime() throws IOException {
+        scraper.setCacheTime(60000);
+        gauge.set(1);
+        assertThat(scrape(false), containsString("value 1.0\n"));
+        gauge.set(2);
+        assertThat(scrape(false), containsString("value 1.0\n"));
+    }
+
+    @Test
+    public void cachedScrapeExpires() throws IOException, InterruptedException {
+        scraper.setCacheTime(20);
+        gauge.set(1);
+        assertThat(scrape(false), containsString("value 1.0\n"));
+        gauge.set(2);
+        Thread.sleep(50);
+        assertThat(scrape(false), containsString("value 2.0\n"));
+    }
+
+    @Test
+    public void disablingCacheTimeDropsCachedScrape() throws IOException {
+        scraper.setCacheTime(60000);
+        gauge.set(1);
+        scrape(false);
+        scraper.setCacheTime(0);
+        gauge.set(2);
+        assertThat(scrape(false), containsString("value 2.0\n"));
+    }
+
+    @Test
+    public void formatsAreCachedSeparately() throws IOException {
+        scraper.setCacheTime(60000);
+        assertThat(scrape(false), containsString("# TYPE value gauge\n"));
+        assertThat(scrape(true), endsWith("# EOF\n"));
+        assertThat(scrape(false).contains("# EOF"), is(false));
+    }
+
+    @Test
+    public void gzippedScrapeIsTheSameAsUncompressed() throws IOException {
+        gauge.set(1);
+        assertThat(scrapeGzipped(false), is(scrape(false)));
+
+        scraper.setCacheTime(60000);
+        assertThat(scrapeGzipped(true), is(scrape(true)));
+    }
+
+    @Test
+    public void cacheHitsAndSeriesAreMetered() throws IOException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        scraper.bindMeters(meterRegistry);
+        scraper.setCacheTime(60000);
+
+        scrape(false);
+        scrape(false);
+
+        assertThat(meterRegistry.get("openhab.metrics.scrape.cache.hits").counter().count(), is(1.0));
+        assertThat(meterRegistry.get("openhab.metrics.scrape.duration").tag("format", "text").timer().count(), is(1L));
+        assertThat(meterRegistry.get("openhab.metrics.scrape.series").gauge().value(), is(1.0));
+    }
+}
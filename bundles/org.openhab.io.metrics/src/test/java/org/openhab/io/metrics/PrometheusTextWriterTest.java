@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.endsWith;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.prometheus.client.Collector;
+import io.prometheus.client.Collector.MetricFamilySamples;
+import io.prometheus.client.Collector.MetricFamilySamples.Sample;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+import io.prometheus.client.Histogram;
+import io.prometheus.client.Summary;
+import io.prometheus.client.exporter.common.TextFormat;
+
+/**
+ * Tests the {@link PrometheusTextWriter}.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class PrometheusTextWriterTest {
+
+    private final CollectorRegistry registry = new CollectorRegistry();
+
+    @BeforeEach
+    public void setUp() {
+        Counter requests = Counter.build().name("requests_total").help("Number of requests").labelNames("path")
+                .register(registry);
+        requests.labels("/rest").inc(3);
+        requests.labels("/with \"quotes\", \\ and\nnewline").inc();
+        Gauge.build().name("temperature").help("Help with \"quotes\", \\ and\nnewline").register(registry).set(21.5);
+        Gauge.build().name("infinite").help("Infinite value").register(registry).set(Double.POSITIVE_INFINITY);
+        Histogram.build().name("latency_seconds").help("Latency").buckets(0.1, 1).register(registry).observe(0.5);
+        Summary.build().name("size_bytes").help("Size").register(registry).observe(42);
+        registry.register(new Collector() {
+            @Override
+            public List<MetricFamilySamples> collect() {
+                return List.of(new MetricFamilySamples("events", Type.COUNTER, "Events without suffix",
+                        List.of(new Sample("events", List.of(), List.of(), 7))),
+                        new MetricFamilySamples("custom", Type.UNTYPED, "Untyped value",
+                                List.of(new Sample("custom", List.of(), List.of(), 1))));
+            }
+        });
+    }
+
+    private String write(boolean openMetrics) throws IOException {
+        StringWriter writer = new StringWriter();
+        new PrometheusTextWriter(writer, openMetrics).write(registry.metricFamilySamples());
+        return writer.toString();
+    }
+
+    @Test
+    public void textFormatIsWrittenLikeTheClientLibrary() throws IOException {
+        StringWriter expected = new StringWriter();
+        TextFormat.write004(expected, registry.metricFamilySamples());
+
+        assertThat(write(false), is(expected.toString()));
+    }
+
+    @Test
+    public void seriesAndCollectorsAreCounted() throws IOException {
+        StringWriter writer = new StringWriter();
+        PrometheusTextWriter textWriter = new PrometheusTextWriter(writer, false);
+        textWriter.write(registry.metricFamilySamples());
+
+        long samples = writer.toString().lines().filter(line -> !line.startsWith("#")).count();
+        assertThat(textWriter.getSeriesCount(), is((int) samples));
+        assertThat(textWriter.getSlowestCollectors().size(), is(5));
+    }
+
+    @Test
+    public void emptyRegistryIsWrittenEmpty() throws IOException {
+        StringWriter writer = new StringWriter();
+        new PrometheusTextWriter(writer, false).write(Collections.emptyEnumeration());
+        assertThat(writer.toString(), is(""));
+
+        writer = new StringWriter();
+        new PrometheusTextWriter(writer, true).write(Collections.emptyEnumeration());
+        assertThat(writer.toString(), is("# EOF\n"));
+    }
+
+    @Test
+    public void openMetricsNamesCounterFamiliesWithoutSuffix() throws IOException {
+        String metrics = write(true);
+
+        assertThat(metrics, containsString("# HELP requests Number of requests\n# TYPE requests counter\n"));
+        assertThat(metrics, containsString("requests_total{path=\"/rest\"} 3.0\n"));
+        assertThat(metrics, endsWith("# EOF\n"));
+    }
+
+    @Test
+    public void openMetricsTypesCountersWithoutSuffixAndUntypedAsUnknown() throws IOException {
+        String metrics = write(true);
+
+        assertThat(metrics, containsString("# TYPE events unknown\nevents 7.0\n"));
+        assertThat(metrics, containsString("# TYPE custom unknown\ncustom 1.0\n"));
+        assertThat(metrics, not(containsString("untyped")));
+    }
+
+    @Test
+    public void textFormatTypesUntypedAsUntyped() throws IOException {
+        String metrics = write(false);
+
+        assertThat(metrics, containsString("# TYPE events counter\nevents 7.0\n"));
+        assertThat(metrics, containsString("# TYPE custom untyped\ncustom 1.0\n"));
+    }
+
+    @Test
+    public void helpIsEscapedPerFormat() throws IOException {
+        assertThat(write(false), containsString("# HELP temperature Help with \"quotes\", \\\\ and\\nnewline\n"));
+        assertThat(write(true), containsString("# HELP temperature Help with \\\"quotes\\\", \\\\ and\\nnewline\n"));
+    }
+
+    @Test
+    public void labelValuesAreEscapedInBothFormats() throws IOException {
+        String escaped = "requests_total{path=\"/with \\\"quotes\\\", \\\\ and\\nnewline\"";
+
+        assertThat(write(false), containsString(escaped + ",} 1.0\n"));
+        assertThat(write(true), containsString(escaped + "} 1.0\n"));
+    }
+
+    @Test
+    public void labelsAreSeparatedPerFormat() throws IOException {
+        assertThat(write(false), containsString("latency_seconds_bucket{le=\"0.1\",} 0.0\n"));
+        assertThat(write(true), containsString("latency_seconds_bucket{le=\"0.1\"} 0.0\n"));
+    }
+
+    @Test
+    public void specialValuesAreWrittenLikeGo() throws IOException {
+        assertThat(write(false), containsString("infinite +Inf\n"));
+    }
+}
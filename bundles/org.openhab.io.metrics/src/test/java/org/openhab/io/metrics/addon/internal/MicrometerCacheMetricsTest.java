@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics.addon.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests the {@link MicrometerCacheMetrics}.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class MicrometerCacheMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void cacheUsageIsReportedAndRemoved() {
+        CacheMetrics metrics = new MicrometerCacheMetrics(registry, "REGEX");
+        AtomicInteger size = new AtomicInteger();
+        LongAdder hits = new LongAdder();
+        LongAdder misses = new LongAdder();
+        metrics.registerCache("pattern", size::get, hits, misses);
+        size.set(2);
+        hits.add(5);
+        misses.add(2);
+
+        assertThat(registry.get("openhab.transform.cache.gets").tag("transformation", "REGEX").tag("cache", "pattern")
+                .tag("result", "hit").functionCounter().count(), is(5.0));
+        assertThat(registry.get("openhab.transform.cache.gets").tag("result", "miss").functionCounter().count(),
+                is(2.0));
+        assertThat(registry.get("openhab.transform.cache.size").gauge().value(), is(2.0));
+
+        metrics.close();
+        assertThat(registry.getMeters().isEmpty(), is(true));
+    }
+}
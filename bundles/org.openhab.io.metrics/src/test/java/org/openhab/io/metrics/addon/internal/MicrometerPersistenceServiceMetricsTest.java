@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics.addon.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests the {@link MicrometerPersistenceServiceMetrics}.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class MicrometerPersistenceServiceMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void storesAndQueriesAreRecordedWithServiceTag() {
+        PersistenceServiceMetrics metrics = new MicrometerPersistenceServiceMetrics(registry, "jdbc");
+
+        metrics.recordStore(System.nanoTime(), 0);
+        metrics.recordStore(System.nanoTime(), 2);
+        metrics.recordQuery(System.nanoTime(), 10);
+
+        assertThat(registry.get("openhab.persistence.store.duration").tag("service", "jdbc").timer().count(), is(2L));
+        assertThat(registry.get("openhab.persistence.store.failures").counter().count(), is(2.0));
+        assertThat(registry.get("openhab.persistence.query.duration").timer().count(), is(1L));
+        assertThat(registry.get("openhab.persistence.query.rows").summary().totalAmount(), is(10.0));
+        assertThat(registry.find("openhab.persistence.queue.size").gauge() == null, is(true));
+    }
+
+    @Test
+    void queueIsReported() {
+        AtomicLong queued = new AtomicLong(5);
+        AtomicLong dropped = new AtomicLong(3);
+        new MicrometerPersistenceServiceMetrics(registry, "influxdb", queued::get, dropped::get);
+        queued.set(7);
+
+        assertThat(registry.get("openhab.persistence.queue.size").gauge().value(), is(7.0));
+        assertThat(registry.get("openhab.persistence.queue.dropped").functionCounter().count(), is(3.0));
+    }
+
+    @Test
+    void closeRemovesMeters() {
+        PersistenceServiceMetrics metrics = new MicrometerPersistenceServiceMetrics(registry, "rrd4j", () -> 1, null);
+        metrics.close();
+
+        assertThat(registry.getMeters().isEmpty(), is(true));
+    }
+}
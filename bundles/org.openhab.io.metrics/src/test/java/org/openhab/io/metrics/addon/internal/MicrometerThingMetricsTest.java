@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics.addon.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.thing.ThingUID;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests the {@link MicrometerThingMetrics}.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class MicrometerThingMetricsTest {
+
+    private static final ThingUID THING_UID = new ThingUID("modbus", "poller", "test");
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ThingMetrics metrics = new MicrometerThingMetrics(registry, "modbus", THING_UID);
+
+    @Test
+    public void testMetersAreTaggedAndRemoved() {
+        metrics.open();
+        metrics.countChannelUpdate();
+        metrics.countChannelUpdate();
+        metrics.recordCommand(System.nanoTime());
+        LongAdder dispatched = new LongAdder();
+        LongAdder skipped = new LongAdder();
+        metrics.registerPollResults(dispatched, skipped);
+        dispatched.add(3);
+        skipped.increment();
+
+        assertThat(registry.get("openhab.binding.channel.updates").tag("binding", "modbus")
+                .tag("thing", THING_UID.getAsString()).counter().count(), is(equalTo(2.0)));
+        assertThat(registry.get("openhab.binding.command.duration").timer().count(), is(equalTo(1L)));
+        assertThat(registry.get("openhab.binding.poll.results").tag("result", "dispatched").functionCounter().count(),
+                is(equalTo(3.0)));
+        assertThat(registry.get("openhab.binding.poll.results").tag("result", "skipped").functionCounter().count(),
+                is(equalTo(1.0)));
+        assertThat(registry.find("openhab.binding.poll.duration").timer(), is(nullValue()));
+
+        metrics.close();
+        assertThat(registry.getMeters().isEmpty(), is(true));
+
+        // meters are registered again after the handler got initialized again
+        metrics.open();
+        metrics.countChannelUpdate();
+        assertThat(registry.get("openhab.binding.channel.updates").counter().count(), is(equalTo(1.0)));
+    }
+
+    @Test
+    public void testQueueSizeIsReported() {
+        AtomicInteger queued = new AtomicInteger(2);
+        metrics.open();
+        metrics.registerQueueSize("read", queued::get);
+        queued.set(5);
+
+        assertThat(registry.get("openhab.binding.queue.size").tag("queue", "read").gauge().value(), is(equalTo(5.0)));
+    }
+
+    @Test
+    public void testNothingIsRecordedWhenNotOpen() {
+        metrics.countChannelUpdate();
+        metrics.recordPoll(System.nanoTime());
+        metrics.countReconnect();
+
+        assertThat(registry.getMeters().isEmpty(), is(true));
+
+        metrics.open();
+        metrics.close();
+        metrics.recordCommand(System.nanoTime());
+
+        assertThat(registry.getMeters().isEmpty(), is(true));
+    }
+}
@@ -37,6 +37,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.i18n.UnitProvider;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.items.GenericItem;
 import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
@@ -52,12 +53,16 @@ import org.openhab.core.persistence.QueryablePersistenceService;
 import org.openhab.core.persistence.strategy.PersistenceStrategy;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
+import org.openhab.io.metrics.addon.internal.MicrometerPersistenceServiceMetrics;
+import org.openhab.io.metrics.addon.internal.PersistenceServiceMetrics;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
 import org.reactivestreams.Subscriber;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -113,6 +118,7 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
     private @Nullable DynamoDBConfig dbConfig;
     private @Nullable DynamoDBTableNameResolver tableNameResolver;
     private final ExecutorService executor = ThreadPoolManager.getPool(DYNAMODB_THREADPOOL_NAME);
+    private volatile PersistenceServiceMetrics metrics = PersistenceServiceMetrics.NOOP;
     private static final Duration TIMEOUT_API_CALL = Duration.ofSeconds(60);
     private static final Duration TIMEOUT_API_CALL_ATTEMPT = Duration.ofSeconds(5);
     private Map<Class<? extends DynamoDBItem<?>>, DynamoDbAsyncTable<? extends DynamoDBItem<?>>> tableCache = new ConcurrentHashMap<>(
@@ -352,6 +358,7 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
     public Iterable<HistoricItem> query(FilterCriteria filter) {
         logIfManyQueuedTasks();
         Instant start = Instant.now();
+        long startNanos = System.nanoTime();
         String filterDescription = filterToString(filter);
         logger.trace("Got a query with filter {}", filterDescription);
         DynamoDbEnhancedAsyncClient localClient = client;
@@ -446,6 +453,7 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
                 }).filter(value -> value != null).collect(Collectors.toList());
                 logger.debug("Query completed in {} ms. Filter was {}",
                         Duration.between(start, Instant.now()).toMillis(), filterDescription);
+                metrics.recordQuery(startNanos, results.size());
                 return results;
             } catch (InterruptedException e) {
                 logger.warn("Query interrupted. Filter was {}", filterDescription);
@@ -510,6 +518,7 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
         }
         if (!isReadyToStore()) {
             logger.warn("Not ready to store (config error?), not storing item {}.", item.getName());
+            metrics.countFailedStores(1);
             return;
         }
         // Get Item describing the real type of data
@@ -530,9 +539,11 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
         // We 'copy' the item for local use. copyItem also normalizes the unit with NumberItems.
         final GenericItem copiedItem = copyItem(itemTemplate, item, effectiveName, null, unitProvider);
 
+        long startNanos = System.nanoTime();
         resolveTableSchema().thenAcceptAsync(resolved -> {
             if (!resolved) {
                 logger.warn("Table schema not resolved, not storing item {}.", copiedItem.getName());
+                metrics.countFailedStores(1);
                 return;
             }
 
@@ -543,6 +554,7 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
             if (!isProperlyConfigured || localClient == null || localLowlevelClient == null || localConfig == null
                     || localTableNameResolver == null) {
                 logger.warn("Not ready to store (config error?), not storing item {}.", item.getName());
+                metrics.countFailedStores(1);
                 return;
             }
 
@@ -575,7 +587,7 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
                     return new TableCreatingPutItem<>(DynamoDBPersistenceService.this, dynamoStringItem,
                             getTable(DynamoDBStringItem.class));
                 }
-            }).putItemAsync();
+            }).putItemAsync().whenComplete((result, e) -> metrics.recordStore(startNanos, e == null ? 0 : 1));
         }, executor).exceptionally(e -> {
             logger.error("Unexcepted error", e);
             return null;
@@ -656,6 +668,21 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
         return copiedItem;
     }
 
+    int getQueuedTaskCount() {
+        return executor instanceof ThreadPoolExecutor localExecutor ? localExecutor.getQueue().size() : 0;
+    }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    public void setMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics = new MicrometerPersistenceServiceMetrics(meterRegistryProvider.getOHMeterRegistry(),
+                "dynamodb", this::getQueuedTaskCount, null);
+    }
+
+    public void unsetMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics.close();
+        metrics = PersistenceServiceMetrics.NOOP;
+    }
+
     private void logIfManyQueuedTasks() {
         if (executor instanceof ThreadPoolExecutor localExecutor) {
             if (localExecutor.getQueue().size() >= 5) {
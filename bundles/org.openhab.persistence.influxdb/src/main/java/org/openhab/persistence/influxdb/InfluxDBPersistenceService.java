@@ -14,10 +14,10 @@ package org.openhab.persistence.influxdb;
 
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 
+import java.io.File;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -25,17 +25,19 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigurableService;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemFactory;
 import org.openhab.core.items.ItemRegistry;
@@ -49,6 +51,8 @@ import org.openhab.core.persistence.QueryablePersistenceService;
 import org.openhab.core.persistence.strategy.PersistenceStrategy;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
+import org.openhab.io.metrics.addon.internal.MicrometerPersistenceServiceMetrics;
+import org.openhab.io.metrics.addon.internal.PersistenceServiceMetrics;
 import org.openhab.persistence.influxdb.internal.FilterCriteriaQueryCreator;
 import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
 import org.openhab.persistence.influxdb.internal.InfluxDBHistoricItem;
@@ -57,6 +61,8 @@ import org.openhab.persistence.influxdb.internal.InfluxDBPersistentItemInfo;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
 import org.openhab.persistence.influxdb.internal.InfluxDBStateConvertUtils;
 import org.openhab.persistence.influxdb.internal.InfluxPoint;
+import org.openhab.persistence.influxdb.internal.InfluxPointJournal;
+import org.openhab.persistence.influxdb.internal.InfluxPointQueue;
 import org.openhab.persistence.influxdb.internal.influx1.InfluxDB1RepositoryImpl;
 import org.openhab.persistence.influxdb.internal.influx2.InfluxDB2RepositoryImpl;
 import org.osgi.framework.Constants;
@@ -66,6 +72,7 @@ import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -99,6 +106,7 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
     private final Logger logger = LoggerFactory.getLogger(InfluxDBPersistenceService.class);
 
     private static final int COMMIT_INTERVAL = 3; // in s
+    private static final int MAX_BATCHES_PER_COMMIT = 10;
     protected static final String CONFIG_URI = "persistence:influxdb";
 
     // External dependencies
@@ -110,8 +118,25 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
     private boolean serviceActivated;
 
     // storage
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("org.openhab.influxdb");
     private final ScheduledFuture<?> storeJob;
-    private final BlockingQueue<InfluxPoint> pointsQueue = new LinkedBlockingQueue<>();
+    private final AtomicBoolean followUpCommitScheduled = new AtomicBoolean();
+    private final InfluxPointQueue pointsQueue;
+    private final @Nullable InfluxPointJournal journal;
+
+    // write retries, guarded by this
+    private long retryDelay; // in ms
+    private long nextWriteAttempt; // in ms since epoch
+
+    // write statistics, only modified while holding this
+    private volatile long writtenPoints;
+    private volatile long failedWrites;
+    private volatile long lastWriteLatency; // in ms
+    private volatile long totalWriteLatency; // in ms
+    private volatile long writes;
+
+    // meters published to the metrics service
+    private volatile PersistenceServiceMetrics metrics = PersistenceServiceMetrics.NOOP;
 
     // conversion
     private final Set<ItemFactory> itemFactories = new HashSet<>();
@@ -123,11 +148,20 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         this.itemRegistry = itemRegistry;
         this.influxDBMetadataService = influxDBMetadataService;
         this.configuration = new InfluxDBConfiguration(config);
+        if (configuration.isSpillOnOverflow()) {
+            File journalFile = new File(new File(OpenHAB.getUserDataFolder(), "persistence"),
+                    "influxdb" + File.separator + "journal.bin");
+            this.journal = new InfluxPointJournal(journalFile.toPath(),
+                    configuration.getMaxJournalSize() * 1024L * 1024L);
+        } else {
+            this.journal = null;
+        }
+        this.pointsQueue = new InfluxPointQueue(configuration.getQueueSize(), journal);
         if (configuration.isValid()) {
             this.influxDBRepository = createInfluxDBRepository();
             this.influxDBRepository.connect();
-            this.storeJob = ThreadPoolManager.getScheduledPool("org.openhab.influxdb")
-                    .scheduleWithFixedDelay(this::commit, COMMIT_INTERVAL, COMMIT_INTERVAL, TimeUnit.SECONDS);
+            this.storeJob = scheduler.scheduleWithFixedDelay(this::scheduledCommit, COMMIT_INTERVAL, COMMIT_INTERVAL,
+                    TimeUnit.SECONDS);
             serviceActivated = true;
         } else {
             throw new IllegalArgumentException("Configuration invalid.");
@@ -153,10 +187,21 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         serviceActivated = false;
 
         storeJob.cancel(false);
-        commit(); // ensure we at least tried to store the data;
-
-        if (!pointsQueue.isEmpty()) {
-            logger.warn("InfluxDB failed to finally store {} points.", pointsQueue.size());
+        synchronized (this) {
+            nextWriteAttempt = 0;
+        }
+        // ensure we at least tried to store the queued points, the journal is written after the next start
+        commit(Integer.MAX_VALUE, false);
+
+        int remaining = pointsQueue.spillAll();
+        if (remaining > 0) {
+            logger.warn("InfluxDB failed to finally store {} points.", remaining);
+        } else if (pointsQueue.getJournalBytes() > 0) {
+            logger.info("InfluxDB points not stored yet are kept in the journal and written after the next start.");
+        }
+        InfluxPointJournal journal = this.journal;
+        if (journal != null) {
+            journal.close();
         }
 
         influxDBRepository.disconnect();
@@ -210,11 +255,8 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
                 logger.trace("Ignoring item {}, conversion to an InfluxDB point failed.", item.getName());
                 return;
             }
-            if (pointsQueue.offer(point)) {
-                logger.trace("Queued {} for item {}", point, item);
-            } else {
-                logger.warn("Failed to queue {} for item {}", point, item);
-            }
+            pointsQueue.offer(point);
+            logger.trace("Queued {} for item {}", point, item);
         });
     }
 
@@ -244,8 +286,10 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
                 return List.of();
             }
 
+            long start = System.nanoTime();
             List<InfluxDBRepository.InfluxRow> results = influxDBRepository.query(filter,
                     configuration.getRetentionPolicy());
+            metrics.recordQuery(start, results.size());
             return results.stream().map(this::mapRowToHistoricItem).collect(Collectors.toList());
         } else {
             logger.debug("Query for persisted data ignored, InfluxDB is not connected");
@@ -279,18 +323,106 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         return false;
     }
 
-    private void commit() {
-        if (!pointsQueue.isEmpty() && checkConnection()) {
-            List<InfluxPoint> points = new ArrayList<>();
-            pointsQueue.drainTo(points);
-            if (!influxDBRepository.write(points)) {
-                logger.warn("Re-queuing {} elements, failed to write batch.", points.size());
-                pointsQueue.addAll(points);
+    /**
+     * Writes the next batches and continues right away if more points are waiting, so a long queue is written
+     * without holding the monitor until it is empty.
+     */
+    private void scheduledCommit() {
+        if (commit(MAX_BATCHES_PER_COMMIT, true) && serviceActivated
+                && followUpCommitScheduled.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                followUpCommitScheduled.set(false);
+                scheduledCommit();
+            });
+        }
+    }
+
+    /**
+     * Writes the queued points in batches of at most <code>batchSize</code> points. After a failure, further
+     * attempts are delayed with an exponential backoff up to <code>maxRetryDelay</code>.
+     *
+     * @param maxBatches the maximum number of batches to write
+     * @param includeJournal whether points spilled to the journal are written after the queued points
+     * @return true if all batches were written and more points are waiting
+     */
+    private synchronized boolean commit(int maxBatches, boolean includeJournal) {
+        boolean empty = includeJournal ? pointsQueue.isEmpty() : pointsQueue.size() == 0;
+        if (empty || System.currentTimeMillis() < nextWriteAttempt) {
+            return false;
+        }
+        if (!checkConnection()) {
+            scheduleRetry();
+            return false;
+        }
+        for (int batches = 0; batches < maxBatches; batches++) {
+            InfluxPointQueue.Batch batch = includeJournal ? pointsQueue.poll(configuration.getBatchSize())
+                    : pointsQueue.pollQueued(configuration.getBatchSize());
+            List<InfluxPoint> points = batch.points();
+            if (points.isEmpty()) {
+                pointsQueue.completed(batch);
+                return false;
+            }
+            long start = System.nanoTime();
+            boolean written = influxDBRepository.write(points);
+            lastWriteLatency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            totalWriteLatency += lastWriteLatency;
+            writes++;
+            metrics.recordStore(start, written ? 0 : points.size());
+            if (!written) {
+                pointsQueue.failed(batch);
+                failedWrites++;
                 influxDBRepository.disconnect();
-            } else {
-                logger.trace("Wrote {} elements to database", points.size());
+                scheduleRetry();
+                logger.warn("Failed to write batch of {} points, retrying in {} s ({} points queued, {} dropped).",
+                        points.size(), retryDelay / 1000, pointsQueue.size(), pointsQueue.getDroppedPoints());
+                return false;
+            }
+            pointsQueue.completed(batch);
+            writtenPoints += points.size();
+            if (retryDelay > 0) {
+                logger.info("Writing to InfluxDB succeeded again.");
+                retryDelay = 0;
+                nextWriteAttempt = 0;
             }
+            logger.trace("Wrote {} {}elements to database in {} ms", points.size(),
+                    batch.fromJournal() ? "journaled " : "", lastWriteLatency);
         }
+        return !pointsQueue.isEmpty();
+    }
+
+    private void scheduleRetry() {
+        long maxRetryDelay = TimeUnit.SECONDS.toMillis(configuration.getMaxRetryDelay());
+        retryDelay = retryDelay == 0 ? TimeUnit.SECONDS.toMillis(COMMIT_INTERVAL)
+                : Math.min(retryDelay * 2, maxRetryDelay);
+        nextWriteAttempt = System.currentTimeMillis() + retryDelay;
+    }
+
+    /**
+     * @return the current state of the write queue and the write statistics
+     */
+    public WriteStatistics getWriteStatistics() {
+        long writes = this.writes;
+        return new WriteStatistics(pointsQueue.size(), pointsQueue.getCapacity(), pointsQueue.getDroppedPoints(),
+                pointsQueue.getSpilledPoints(), pointsQueue.getJournalBytes(), writtenPoints, failedWrites,
+                lastWriteLatency, writes > 0 ? totalWriteLatency / writes : 0);
+    }
+
+    /**
+     * Statistics of the write queue.
+     *
+     * @param queuedPoints the number of points in the queue
+     * @param queueCapacity the maximum number of points in the queue
+     * @param droppedPoints the number of points dropped because the queue was full
+     * @param spilledPoints the number of points moved to the journal because the queue was full
+     * @param journalBytes the size of the points in the journal that have not been written yet
+     * @param writtenPoints the number of points written to the database
+     * @param failedWrites the number of failed write requests
+     * @param lastWriteLatency the duration of the last write request in milliseconds
+     * @param averageWriteLatency the average duration of the write requests in milliseconds
+     */
+    public record WriteStatistics(int queuedPoints, int queueCapacity, long droppedPoints, long spilledPoints,
+            long journalBytes, long writtenPoints, long failedWrites, long lastWriteLatency,
+            long averageWriteLatency) {
     }
 
     /**
@@ -351,6 +483,17 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         });
     }
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    public void setMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics = new MicrometerPersistenceServiceMetrics(meterRegistryProvider.getOHMeterRegistry(),
+                SERVICE_NAME, pointsQueue::size, pointsQueue::getDroppedPoints);
+    }
+
+    public void unsetMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics.close();
+        metrics = PersistenceServiceMetrics.NOOP;
+    }
+
     @Reference(cardinality = ReferenceCardinality.AT_LEAST_ONE, policy = ReferencePolicy.DYNAMIC)
     public void setItemFactory(ItemFactory itemFactory) {
         itemFactories.add(itemFactory);
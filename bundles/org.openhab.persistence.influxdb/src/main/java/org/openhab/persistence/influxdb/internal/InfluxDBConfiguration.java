@@ -40,6 +40,13 @@ public class InfluxDBConfiguration {
     public static final String ADD_CATEGORY_TAG_PARAM = "addCategoryTag";
     public static final String ADD_LABEL_TAG_PARAM = "addLabelTag";
     public static final String ADD_TYPE_TAG_PARAM = "addTypeTag";
+    public static final String QUEUE_SIZE_PARAM = "queueSize";
+    public static final String OVERFLOW_STRATEGY_PARAM = "overflowStrategy";
+    public static final String BATCH_SIZE_PARAM = "batchSize";
+    public static final String MAX_RETRY_DELAY_PARAM = "maxRetryDelay";
+    public static final String MAX_JOURNAL_SIZE_PARAM = "maxJournalSize";
+    public static final String OVERFLOW_STRATEGY_DROP = "drop";
+    public static final String OVERFLOW_STRATEGY_SPILL = "spill";
     private final Logger logger = LoggerFactory.getLogger(InfluxDBConfiguration.class);
     private final String url;
     private final String user;
@@ -52,6 +59,11 @@ public class InfluxDBConfiguration {
     private final boolean addCategoryTag;
     private final boolean addTypeTag;
     private final boolean addLabelTag;
+    private final int queueSize;
+    private final String overflowStrategy;
+    private final int batchSize;
+    private final int maxRetryDelay;
+    private final int maxJournalSize;
 
     public InfluxDBConfiguration(Map<String, Object> config) {
         url = ConfigParser.valueAsOrElse(config.get(URL_PARAM), String.class, "http://127.0.0.1:8086");
@@ -65,6 +77,13 @@ public class InfluxDBConfiguration {
         addCategoryTag = ConfigParser.valueAsOrElse(config.get(ADD_CATEGORY_TAG_PARAM), Boolean.class, false);
         addLabelTag = ConfigParser.valueAsOrElse(config.get(ADD_LABEL_TAG_PARAM), Boolean.class, false);
         addTypeTag = ConfigParser.valueAsOrElse(config.get(ADD_TYPE_TAG_PARAM), Boolean.class, false);
+        queueSize = Math.max(1, ConfigParser.valueAsOrElse(config.get(QUEUE_SIZE_PARAM), Integer.class, 100000));
+        overflowStrategy = ConfigParser.valueAsOrElse(config.get(OVERFLOW_STRATEGY_PARAM), String.class,
+                OVERFLOW_STRATEGY_DROP);
+        batchSize = Math.max(1, ConfigParser.valueAsOrElse(config.get(BATCH_SIZE_PARAM), Integer.class, 5000));
+        maxRetryDelay = Math.max(0, ConfigParser.valueAsOrElse(config.get(MAX_RETRY_DELAY_PARAM), Integer.class, 300));
+        maxJournalSize = Math.max(1,
+                ConfigParser.valueAsOrElse(config.get(MAX_JOURNAL_SIZE_PARAM), Integer.class, 256));
     }
 
     private InfluxDBVersion parseInfluxVersion(@Nullable String value) {
@@ -155,12 +174,40 @@ public class InfluxDBConfiguration {
         return version;
     }
 
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public boolean isSpillOnOverflow() {
+        return OVERFLOW_STRATEGY_SPILL.equalsIgnoreCase(overflowStrategy);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @return the maximum delay between two write attempts after failures in seconds
+     */
+    public int getMaxRetryDelay() {
+        return maxRetryDelay;
+    }
+
+    /**
+     * @return the maximum size of the file the points are spilled to in MB
+     */
+    public int getMaxJournalSize() {
+        return maxJournalSize;
+    }
+
     @Override
     public String toString() {
         return "InfluxDBConfiguration{url='" + url + "', user='" + user + "', password='" + password.length()
                 + " chars', token='" + token.length() + " chars', databaseName='" + databaseName
                 + "', retentionPolicy='" + retentionPolicy + "', version=" + version + ", replaceUnderscore="
                 + replaceUnderscore + ", addCategoryTag=" + addCategoryTag + ", addTypeTag=" + addTypeTag
-                + ", addLabelTag=" + addLabelTag + '}';
+                + ", addLabelTag=" + addLabelTag + ", queueSize=" + queueSize + ", overflowStrategy="
+                + overflowStrategy + ", batchSize=" + batchSize + ", maxRetryDelay=" + maxRetryDelay
+                + ", maxJournalSize=" + maxJournalSize + '}';
     }
 }
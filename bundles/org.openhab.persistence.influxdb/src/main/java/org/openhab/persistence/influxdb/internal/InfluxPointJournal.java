@@ -0,0 +1,277 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only file for points that do not fit into the write queue.
+ *
+ * Points are appended at the end of the file and read from a read position, which is advanced after the points have
+ * been written to the database. The file is deleted as soon as all points have been read. The read position is not
+ * persisted, so after a restart all points of the file are written again. This is harmless because InfluxDB
+ * replaces points with the same measurement, tags and timestamp.
+ *
+ * Each record consists of its length followed by the measurement name, timestamp, value and tags of the point.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxPointJournal {
+    private static final byte TYPE_STRING = 0;
+    private static final byte TYPE_DECIMAL = 1;
+    private static final byte TYPE_INTEGER = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_DOUBLE = 4;
+    private static final byte TYPE_BOOLEAN = 5;
+
+    private final Logger logger = LoggerFactory.getLogger(InfluxPointJournal.class);
+
+    private final Path file;
+    private final long maxSize;
+
+    private @Nullable FileChannel channel;
+    private long readPosition;
+
+    /**
+     * A chunk of points read from the journal.
+     *
+     * @param points the points read
+     * @param endPosition the position after the last point, to be passed to {@link #commit(long)}
+     */
+    public record Chunk(List<InfluxPoint> points, long endPosition) {
+    }
+
+    public InfluxPointJournal(Path file, long maxSize) {
+        this.file = file;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Appends a point to the journal.
+     *
+     * @return <code>false</code> if the journal is full or cannot be written
+     */
+    public synchronized boolean append(InfluxPoint point) {
+        try {
+            FileChannel channel = open();
+            byte[] record = serialize(point);
+            if (channel.size() + Integer.BYTES + record.length > maxSize) {
+                return false;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + record.length);
+            buffer.putInt(record.length).put(record).flip();
+            channel.write(buffer, channel.size());
+            return true;
+        } catch (IOException e) {
+            logger.warn("Failed to write point to journal '{}': {}", file, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Reads the next points after the read position without advancing it.
+     *
+     * @param maxPoints the maximum number of points to read
+     * @return the points read, empty if there are no more points
+     */
+    public synchronized Chunk read(int maxPoints) {
+        List<InfluxPoint> points = new ArrayList<>();
+        long position = readPosition;
+        try {
+            if (Files.notExists(file) && channel == null) {
+                return new Chunk(points, position);
+            }
+            FileChannel channel = open();
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+            while (points.size() < maxPoints && position + Integer.BYTES <= channel.size()) {
+                header.clear();
+                channel.read(header, position);
+                int length = header.flip().getInt();
+                if (length < 0 || position + Integer.BYTES + length > channel.size()) {
+                    logger.warn("Journal '{}' is corrupt at position {}, discarding the remaining points", file,
+                            position);
+                    channel.truncate(position);
+                    break;
+                }
+                ByteBuffer record = ByteBuffer.allocate(length);
+                channel.read(record, position + Integer.BYTES);
+                position += Integer.BYTES + length;
+                try {
+                    points.add(deserialize(record.array()));
+                } catch (IOException e) {
+                    logger.debug("Skipping unreadable point in journal '{}': {}", file, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to read points from journal '{}': {}", file, e.getMessage());
+        }
+        return new Chunk(points, position);
+    }
+
+    /**
+     * Advances the read position after the points of a chunk have been written. The file is deleted when all points
+     * have been read.
+     */
+    public synchronized void commit(long endPosition) {
+        readPosition = Math.max(readPosition, endPosition);
+        FileChannel channel = this.channel;
+        try {
+            if (channel != null && readPosition >= channel.size()) {
+                close();
+                Files.deleteIfExists(file);
+                readPosition = 0;
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to delete journal '{}': {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * @return the number of bytes not read yet
+     */
+    public synchronized long getPendingBytes() {
+        try {
+            FileChannel channel = this.channel;
+            long size = channel != null ? channel.size() : Files.exists(file) ? Files.size(file) : 0;
+            return Math.max(0, size - readPosition);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    public synchronized void close() {
+        FileChannel channel = this.channel;
+        this.channel = null;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.debug("Failed to close journal '{}': {}", file, e.getMessage());
+            }
+        }
+    }
+
+    private FileChannel open() throws IOException {
+        FileChannel channel = this.channel;
+        if (channel == null) {
+            Path parent = file.getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            this.channel = channel;
+        }
+        return channel;
+    }
+
+    // Visible for testing
+    static byte[] serialize(InfluxPoint point) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeString(out, point.getMeasurementName());
+            out.writeLong(point.getTime().getEpochSecond());
+            out.writeInt(point.getTime().getNano());
+            Object value = point.getValue();
+            if (value instanceof BigDecimal decimal) {
+                out.writeByte(TYPE_DECIMAL);
+                writeString(out, decimal.toString());
+            } else if (value instanceof Integer integer) {
+                out.writeByte(TYPE_INTEGER);
+                out.writeInt(integer);
+            } else if (value instanceof Long longValue) {
+                out.writeByte(TYPE_LONG);
+                out.writeLong(longValue);
+            } else if (value instanceof Double doubleValue) {
+                out.writeByte(TYPE_DOUBLE);
+                out.writeDouble(doubleValue);
+            } else if (value instanceof Boolean bool) {
+                out.writeByte(TYPE_BOOLEAN);
+                out.writeBoolean(bool);
+            } else if (value instanceof Number) {
+                out.writeByte(TYPE_DECIMAL);
+                writeString(out, new BigDecimal(value.toString()).toString());
+            } else {
+                out.writeByte(TYPE_STRING);
+                writeString(out, String.valueOf(value));
+            }
+            Map<String, String> tags = point.getTags();
+            out.writeInt(tags.size());
+            for (Map.Entry<String, String> tag : tags.entrySet()) {
+                writeString(out, tag.getKey());
+                writeString(out, tag.getValue());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    // Visible for testing
+    static InfluxPoint deserialize(byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            InfluxPoint.Builder builder = InfluxPoint.newBuilder(readString(in));
+            builder.withTime(Instant.ofEpochSecond(in.readLong(), in.readInt()));
+            byte type = in.readByte();
+            builder.withValue(switch (type) {
+                case TYPE_STRING -> readString(in);
+                case TYPE_DECIMAL -> new BigDecimal(readString(in));
+                case TYPE_INTEGER -> in.readInt();
+                case TYPE_LONG -> in.readLong();
+                case TYPE_DOUBLE -> in.readDouble();
+                case TYPE_BOOLEAN -> in.readBoolean();
+                default -> throw new IOException("Unknown value type " + type);
+            });
+            int tags = in.readInt();
+            for (int i = 0; i < tags; i++) {
+                builder.withTag(readString(in), readString(in));
+            }
+            return builder.build();
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > in.available()) {
+            throw new IOException("Invalid string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
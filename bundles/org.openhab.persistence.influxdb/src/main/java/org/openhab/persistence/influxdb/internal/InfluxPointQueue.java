@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Bounded queue of the points waiting to be written.
+ *
+ * If the queue is full, the oldest point is either dropped or, if a journal is configured, appended to the journal.
+ * Points from the journal are only written when the queue is empty, e.g. after the connection has been restored.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxPointQueue {
+
+    /**
+     * A batch of points taken from the queue or the journal.
+     */
+    public record Batch(List<InfluxPoint> points, boolean fromJournal, long journalPosition) {
+    }
+
+    private final int capacity;
+    private final @Nullable InfluxPointJournal journal;
+    private final Deque<InfluxPoint> points = new ArrayDeque<>();
+
+    private long droppedPoints;
+    private long spilledPoints;
+
+    /**
+     * @param capacity the maximum number of points kept in memory
+     * @param journal the journal to spill points to when the queue is full, or <code>null</code> to drop them
+     */
+    public InfluxPointQueue(int capacity, @Nullable InfluxPointJournal journal) {
+        this.capacity = Math.max(1, capacity);
+        this.journal = journal;
+    }
+
+    /**
+     * Adds a point at the end of the queue, making room by removing the oldest point if necessary.
+     */
+    public synchronized void offer(InfluxPoint point) {
+        points.addLast(point);
+        trim();
+    }
+
+    /**
+     * Takes the next batch of points to write, from the queue if it is not empty, otherwise from the journal.
+     *
+     * @param maxPoints the maximum number of points
+     * @return the batch, which must be passed to {@link #completed(Batch)} or {@link #failed(Batch)}
+     */
+    public Batch poll(int maxPoints) {
+        Batch queued = pollQueued(maxPoints);
+        if (!queued.points().isEmpty()) {
+            return queued;
+        }
+        InfluxPointJournal journal = this.journal;
+        if (journal != null) {
+            InfluxPointJournal.Chunk chunk = journal.read(maxPoints);
+            return new Batch(chunk.points(), true, chunk.endPosition());
+        }
+        return new Batch(List.of(), false, 0);
+    }
+
+    /**
+     * Takes the next batch of points to write from the queue only, leaving the journal untouched, e.g. before shutdown.
+     *
+     * @param maxPoints the maximum number of points
+     * @return the batch, empty if the queue is empty, which must be passed to {@link #completed(Batch)} or
+     *         {@link #failed(Batch)}
+     */
+    public synchronized Batch pollQueued(int maxPoints) {
+        List<InfluxPoint> batch = new ArrayList<>(Math.min(maxPoints, points.size()));
+        while (batch.size() < maxPoints && !points.isEmpty()) {
+            batch.add(points.removeFirst());
+        }
+        return new Batch(batch, false, 0);
+    }
+
+    /**
+     * Confirms that a batch has been written.
+     */
+    public void completed(Batch batch) {
+        InfluxPointJournal journal = this.journal;
+        if (batch.fromJournal() && journal != null) {
+            journal.commit(batch.journalPosition());
+        }
+    }
+
+    /**
+     * Returns the points of a batch that could not be written, so they are written again with the next batch.
+     */
+    public synchronized void failed(Batch batch) {
+        if (batch.fromJournal()) {
+            // the points are still in the journal
+            return;
+        }
+        List<InfluxPoint> failed = batch.points();
+        for (int i = failed.size() - 1; i >= 0; i--) {
+            points.addFirst(failed.get(i));
+        }
+        trim();
+    }
+
+    /**
+     * Moves all queued points to the journal, e.g. before shutdown.
+     *
+     * @return the number of points that could not be moved
+     */
+    public synchronized int spillAll() {
+        InfluxPointJournal journal = this.journal;
+        if (journal != null) {
+            Iterator<InfluxPoint> iterator = points.iterator();
+            while (iterator.hasNext()) {
+                if (journal.append(iterator.next())) {
+                    iterator.remove();
+                    spilledPoints++;
+                } else {
+                    break;
+                }
+            }
+        }
+        return points.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        InfluxPointJournal journal = this.journal;
+        return points.isEmpty() && (journal == null || journal.getPendingBytes() == 0);
+    }
+
+    public synchronized int size() {
+        return points.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized long getDroppedPoints() {
+        return droppedPoints;
+    }
+
+    public synchronized long getSpilledPoints() {
+        return spilledPoints;
+    }
+
+    public long getJournalBytes() {
+        InfluxPointJournal journal = this.journal;
+        return journal != null ? journal.getPendingBytes() : 0;
+    }
+
+    private void trim() {
+        InfluxPointJournal journal = this.journal;
+        while (points.size() > capacity) {
+            InfluxPoint oldest = points.removeFirst();
+            if (journal != null && journal.append(oldest)) {
+                spilledPoints++;
+            } else {
+                droppedPoints++;
+            }
+        }
+    }
+}
@@ -15,6 +15,7 @@ package org.openhab.persistence.influxdb;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
+import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.BATCH_SIZE_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.DATABASE_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.PASSWORD_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.RETENTION_POLICY_PARAM;
@@ -23,6 +24,7 @@ import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.UR
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.USER_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.VERSION_PARAM;
 
+import java.util.HashMap;
 import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -116,6 +118,20 @@ public class InfluxDBPersistenceServiceTest {
         verify(influxDBRepositoryMock, timeout(5000)).write(any());
     }
 
+    @Test
+    public void queueLongerThanOneCommitIsWrittenRightAway() throws UnexpectedConditionException {
+        Map<String, Object> config = new HashMap<>(VALID_V2_CONFIGURATION);
+        config.put(BATCH_SIZE_PARAM, 1);
+        InfluxDBPersistenceService instance = getService(config);
+        when(influxDBRepositoryMock.isConnected()).thenReturn(true);
+        when(influxDBRepositoryMock.write(any())).thenReturn(true);
+        for (int i = 0; i < 25; i++) {
+            instance.store(ItemTestHelper.createNumberItem("number" + i, i));
+        }
+        // one commit writes at most 10 batches, the remaining ones follow without waiting for the next interval
+        verify(influxDBRepositoryMock, timeout(5000).times(25)).write(any());
+    }
+
     @Test
     public void storeItemWithDisconnectedRepositoryIsIgnored() throws UnexpectedConditionException {
         InfluxDBPersistenceService instance = getService(VALID_V2_CONFIGURATION);
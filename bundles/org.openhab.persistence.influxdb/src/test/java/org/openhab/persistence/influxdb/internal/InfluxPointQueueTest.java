@@ -0,0 +1,168 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxPointQueueTest {
+
+    private @TempDir @NonNullByDefault({}) Path tempDir;
+
+    @Test
+    public void oldestPointsAreDroppedWhenFull() {
+        InfluxPointQueue queue = new InfluxPointQueue(3, null);
+        for (int i = 0; i < 5; i++) {
+            queue.offer(point(i));
+        }
+
+        assertThat(queue.size(), is(3));
+        assertThat(queue.getDroppedPoints(), is(2L));
+        assertThat(values(queue.poll(10)), contains(2, 3, 4));
+    }
+
+    @Test
+    public void pointsArePolledInBatches() {
+        InfluxPointQueue queue = new InfluxPointQueue(10, null);
+        for (int i = 0; i < 5; i++) {
+            queue.offer(point(i));
+        }
+
+        assertThat(values(queue.poll(2)), contains(0, 1));
+        InfluxPointQueue.Batch batch = queue.poll(2);
+        assertThat(values(batch), contains(2, 3));
+
+        // failed points are written first with the next batch
+        queue.failed(batch);
+        assertThat(values(queue.poll(10)), contains(2, 3, 4));
+        assertThat(queue.isEmpty(), is(true));
+    }
+
+    @Test
+    public void pointsAreSpilledToJournalAndReplayed() {
+        Path file = tempDir.resolve("journal.bin");
+        InfluxPointQueue queue = new InfluxPointQueue(2, new InfluxPointJournal(file, 1024 * 1024));
+        for (int i = 0; i < 5; i++) {
+            queue.offer(point(i));
+        }
+        assertThat(queue.getSpilledPoints(), is(3L));
+        assertThat(queue.getDroppedPoints(), is(0L));
+
+        // queued points are written first
+        InfluxPointQueue.Batch batch = queue.poll(10);
+        assertThat(batch.fromJournal(), is(false));
+        assertThat(values(batch), contains(3, 4));
+        queue.completed(batch);
+
+        batch = queue.poll(2);
+        assertThat(batch.fromJournal(), is(true));
+        assertThat(values(batch), contains(0, 1));
+
+        // failed points are read from the journal again
+        queue.failed(batch);
+        batch = queue.poll(10);
+        assertThat(values(batch), contains(0, 1, 2));
+        queue.completed(batch);
+
+        assertThat(queue.isEmpty(), is(true));
+        assertThat(values(queue.poll(10)), is(empty()));
+        assertThat(Files.exists(file), is(false));
+    }
+
+    @Test
+    public void pollQueuedSkipsJournal() {
+        Path file = tempDir.resolve("journal.bin");
+        InfluxPointQueue queue = new InfluxPointQueue(2, new InfluxPointJournal(file, 1024 * 1024));
+        for (int i = 0; i < 5; i++) {
+            queue.offer(point(i));
+        }
+
+        InfluxPointQueue.Batch batch = queue.pollQueued(10);
+        assertThat(values(batch), contains(3, 4));
+        queue.completed(batch);
+
+        assertThat(values(queue.pollQueued(10)), is(empty()));
+        assertThat(queue.getJournalBytes() > 0, is(true));
+        assertThat(values(queue.poll(10)), contains(0, 1, 2));
+    }
+
+    @Test
+    public void journalKeepsPointsAfterRestart() {
+        Path file = tempDir.resolve("journal.bin");
+        InfluxPointJournal journal = new InfluxPointJournal(file, 1024 * 1024);
+        InfluxPointQueue queue = new InfluxPointQueue(10, journal);
+        queue.offer(point(0));
+        queue.offer(point(1));
+        assertThat(queue.spillAll(), is(0));
+        journal.close();
+
+        InfluxPointQueue restarted = new InfluxPointQueue(10, new InfluxPointJournal(file, 1024 * 1024));
+        assertThat(restarted.isEmpty(), is(false));
+        assertThat(values(restarted.poll(10)), contains(0, 1));
+    }
+
+    @Test
+    public void pointsAreDroppedWhenJournalIsFull() {
+        InfluxPointQueue queue = new InfluxPointQueue(1, new InfluxPointJournal(tempDir.resolve("journal.bin"), 100));
+        for (int i = 0; i < 10; i++) {
+            queue.offer(point(i));
+        }
+
+        assertThat(queue.getSpilledPoints() + queue.getDroppedPoints(), is(9L));
+        assertThat(queue.getDroppedPoints() > 0, is(true));
+    }
+
+    @Test
+    public void pointSerializationRoundtrip() throws IOException {
+        InfluxPoint point = InfluxPoint.newBuilder("measurement").withTime(Instant.ofEpochSecond(1700000000, 123))
+                .withValue(new BigDecimal("12.34")).withTag("item", "test").withTag("floor", "first").build();
+
+        InfluxPoint actual = InfluxPointJournal.deserialize(InfluxPointJournal.serialize(point));
+
+        assertThat(actual.getMeasurementName(), is("measurement"));
+        assertThat(actual.getTime(), is(point.getTime()));
+        assertThat(actual.getValue(), is(new BigDecimal("12.34")));
+        assertThat(actual.getTags(), is(point.getTags()));
+
+        for (Object value : List.of("text", 1, 2L, 1.5, true)) {
+            point = InfluxPoint.newBuilder("m").withTime(Instant.EPOCH).withValue(value).build();
+            assertThat(InfluxPointJournal.deserialize(InfluxPointJournal.serialize(point)).getValue(), is(value));
+        }
+    }
+
+    private static InfluxPoint point(int value) {
+        return InfluxPoint.newBuilder("measurement").withTime(Instant.ofEpochSecond(value)).withValue(value)
+                .withTag("item", "test").build();
+    }
+
+    private static List<Integer> values(InfluxPointQueue.Batch batch) {
+        return batch.points().stream().map(point -> (Integer) point.getValue()).toList();
+    }
+}
@@ -12,8 +12,8 @@
  */
 package org.openhab.persistence.inmemory.internal;
 
-import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
@@ -21,16 +21,14 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.config.core.ConfigParser;
 import org.openhab.core.config.core.ConfigurableService;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.items.Item;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
@@ -40,11 +38,16 @@ import org.openhab.core.persistence.PersistenceService;
 import org.openhab.core.persistence.strategy.PersistenceStrategy;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
+import org.openhab.io.metrics.addon.internal.MicrometerPersistenceServiceMetrics;
+import org.openhab.io.metrics.addon.internal.PersistenceServiceMetrics;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -60,7 +63,7 @@ import org.slf4j.LoggerFactory;
 @ConfigurableService(category = "persistence", label = "InMemory Persistence Service", description_uri = InMemoryPersistenceService.CONFIG_URI)
 public class InMemoryPersistenceService implements ModifiablePersistenceService {
 
-    private static final String SERVICE_ID = "inmemory";
+    public static final String SERVICE_ID = "inmemory";
     private static final String SERVICE_LABEL = "In Memory";
 
     protected static final String CONFIG_URI = "persistence:inmemory";
@@ -69,9 +72,11 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
 
     private final Logger logger = LoggerFactory.getLogger(InMemoryPersistenceService.class);
 
-    private final Map<String, PersistItem> persistMap = new ConcurrentHashMap<>();
+    private final Map<String, TimeSeries> persistMap = new ConcurrentHashMap<>();
     private long maxEntries = MAX_ENTRIES_DEFAULT;
 
+    private volatile PersistenceServiceMetrics metrics = PersistenceServiceMetrics.NOOP;
+
     @Activate
     public void activate(Map<String, Object> config) {
         modified(config);
@@ -82,17 +87,7 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
     public void modified(Map<String, Object> config) {
         maxEntries = ConfigParser.valueAsOrElse(config.get(MAX_ENTRIES_CONFIG), Long.class, MAX_ENTRIES_DEFAULT);
 
-        persistMap.values().forEach(persistItem -> {
-            Lock lock = persistItem.lock();
-            lock.lock();
-            try {
-                while (persistItem.database().size() > maxEntries) {
-                    persistItem.database().pollFirst();
-                }
-            } finally {
-                lock.unlock();
-            }
-        });
+        persistMap.values().forEach(series -> series.trim(maxEntries));
     }
 
     @Deactivate
@@ -143,19 +138,12 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return false;
         }
 
-        PersistItem persistItem = persistMap.get(itemName);
-        if (persistItem == null) {
+        TimeSeries series = persistMap.get(itemName);
+        if (series == null) {
             return false;
         }
 
-        Lock lock = persistItem.lock();
-        lock.lock();
-        try {
-            List<PersistEntry> toRemove = persistItem.database().stream().filter(e -> applies(e, filter)).toList();
-            toRemove.forEach(persistItem.database()::remove);
-        } finally {
-            lock.unlock();
-        }
+        series.remove(filter);
         return true;
     }
 
@@ -166,24 +154,25 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return List.of();
         }
 
-        PersistItem persistItem = persistMap.get(itemName);
-        if (persistItem == null) {
+        TimeSeries series = persistMap.get(itemName);
+        if (series == null) {
             return List.of();
         }
 
-        Lock lock = persistItem.lock();
-        lock.lock();
+        long start = System.nanoTime();
+        Iterable<HistoricItem> result = series.query(itemName, filter);
+        metrics.recordQuery(start, result instanceof Collection<?> values ? values.size() : 0);
+        return result;
+    }
 
-        Comparator<PersistEntry> comparator = filter.getOrdering() == FilterCriteria.Ordering.ASCENDING
-                ? Comparator.comparing(PersistEntry::timestamp)
-                : Comparator.comparing(PersistEntry::timestamp).reversed();
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    public void setMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics = new MicrometerPersistenceServiceMetrics(meterRegistryProvider.getOHMeterRegistry(), SERVICE_ID);
+    }
 
-        try {
-            return persistItem.database().stream().filter(e -> applies(e, filter)).sorted(comparator)
-                    .map(e -> toHistoricItem(itemName, e)).toList();
-        } finally {
-            lock.unlock();
-        }
+    public void unsetMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics.close();
+        metrics = PersistenceServiceMetrics.NOOP;
     }
 
     @Override
@@ -192,56 +181,49 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         return List.of();
     }
 
-    private PersistenceItemInfo toItemInfo(Map.Entry<String, PersistItem> itemEntry) {
-        Lock lock = itemEntry.getValue().lock();
-        lock.lock();
-        try {
-            String name = itemEntry.getKey();
-            Integer count = itemEntry.getValue().database().size();
-            Instant earliest = itemEntry.getValue().database().first().timestamp().toInstant();
-            Instant latest = itemEntry.getValue().database.last().timestamp.toInstant();
-            return new PersistenceItemInfo() {
-
-                @Override
-                public String getName() {
-                    return name;
-                }
-
-                @Override
-                public @Nullable Integer getCount() {
-                    return count;
-                }
-
-                @Override
-                public @Nullable Date getEarliest() {
-                    return Date.from(earliest);
-                }
-
-                @Override
-                public @Nullable Date getLatest() {
-                    return Date.from(latest);
-                }
-            };
-        } finally {
-            lock.unlock();
-        }
+    /**
+     * Returns the storage statistics of all items, e.g. to estimate the memory needed for a given
+     * <code>maxEntries</code> value.
+     *
+     * @return the statistics of each item, ordered by name
+     */
+    public List<ItemStatistics> getItemStatistics() {
+        return persistMap.entrySet().stream()
+                .map(entry -> new ItemStatistics(entry.getKey(), entry.getValue().isNumeric(),
+                        entry.getValue().size(), entry.getValue().getMemoryFootprint()))
+                .sorted(Comparator.comparing(ItemStatistics::name)).toList();
     }
 
-    private HistoricItem toHistoricItem(String itemName, PersistEntry entry) {
-        return new HistoricItem() {
+    public long getMaxEntries() {
+        return maxEntries;
+    }
+
+    private PersistenceItemInfo toItemInfo(Map.Entry<String, TimeSeries> itemEntry) {
+        String name = itemEntry.getKey();
+        TimeSeries series = itemEntry.getValue();
+        Integer count = series.size();
+        ZonedDateTime earliest = series.getEarliest();
+        ZonedDateTime latest = series.getLatest();
+        return new PersistenceItemInfo() {
+
             @Override
-            public ZonedDateTime getTimestamp() {
-                return entry.timestamp();
+            public String getName() {
+                return name;
             }
 
             @Override
-            public State getState() {
-                return entry.state();
+            public @Nullable Integer getCount() {
+                return count;
             }
 
             @Override
-            public String getName() {
-                return itemName;
+            public @Nullable Date getEarliest() {
+                return earliest == null ? null : Date.from(earliest.toInstant());
+            }
+
+            @Override
+            public @Nullable Date getLatest() {
+                return latest == null ? null : Date.from(latest.toInstant());
             }
         };
     }
@@ -251,71 +233,29 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return;
         }
 
-        PersistItem persistItem = Objects.requireNonNull(persistMap.computeIfAbsent(itemName,
-                k -> new PersistItem(new TreeSet<>(Comparator.comparing(PersistEntry::timestamp)),
-                        new ReentrantLock())));
-
-        Lock lock = persistItem.lock();
-        lock.lock();
-        try {
-            persistItem.database().add(new PersistEntry(timestamp, state));
-
-            while (persistItem.database.size() > maxEntries) {
-                persistItem.database().pollFirst();
-            }
-        } finally {
-            lock.unlock();
-        }
-    }
-
-    @SuppressWarnings({ "rawType", "unchecked" })
-    private boolean applies(PersistEntry entry, FilterCriteria filter) {
-        ZonedDateTime beginDate = filter.getBeginDate();
-        if (beginDate != null && beginDate.isAfter(entry.timestamp())) {
-            return false;
-        }
-        ZonedDateTime endDate = filter.getEndDate();
-        if (endDate != null && endDate.isBefore(entry.timestamp())) {
-            return false;
-        }
-
-        State refState = filter.getState();
-        FilterCriteria.Operator operator = filter.getOperator();
-        if (refState == null) {
-            // no state filter
-            return true;
-        }
-
-        if (operator == FilterCriteria.Operator.EQ) {
-            return entry.state().equals(refState);
-        }
-
-        if (operator == FilterCriteria.Operator.NEQ) {
-            return !entry.state().equals(refState);
-        }
-
-        if (entry.state() instanceof Comparable comparableState && entry.state.getClass().equals(refState.getClass())) {
-            if (operator == FilterCriteria.Operator.GT) {
-                return comparableState.compareTo(refState) > 0;
-            }
-            if (operator == FilterCriteria.Operator.GTE) {
-                return comparableState.compareTo(refState) >= 0;
-            }
-            if (operator == FilterCriteria.Operator.LT) {
-                return comparableState.compareTo(refState) < 0;
+        long start = System.nanoTime();
+        while (true) {
+            TimeSeries series = Objects
+                    .requireNonNull(persistMap.computeIfAbsent(itemName, k -> TimeSeries.create(timestamp, state)));
+            if (series.add(timestamp, state, maxEntries)) {
+                metrics.recordStore(start, 0);
+                return;
             }
-            if (operator == FilterCriteria.Operator.LTE) {
-                return comparableState.compareTo(refState) <= 0;
-            }
-        } else {
-            logger.warn("Using operator {} but state {} is not comparable!", operator, refState);
+            // the value does not fit into the numeric series, switch to a series that can hold any state
+            logger.debug("Storing values of '{}' as objects, '{}' cannot be stored as number", itemName, state);
+            persistMap.computeIfPresent(itemName,
+                    (k, current) -> current == series ? series.toObjectTimeSeries() : current);
         }
-        return true;
-    }
-
-    private record PersistEntry(ZonedDateTime timestamp, State state) {
     }
 
-    private record PersistItem(TreeSet<PersistEntry> database, Lock lock) {
+    /**
+     * The storage statistics of a single item.
+     *
+     * @param name the name of the item
+     * @param numeric whether the values are stored in the compact numeric format
+     * @param count the number of stored values
+     * @param memoryFootprint the approximate memory used by the values in bytes
+     */
+    public record ItemStatistics(String name, boolean numeric, int count, long memoryFootprint) {
     }
 }
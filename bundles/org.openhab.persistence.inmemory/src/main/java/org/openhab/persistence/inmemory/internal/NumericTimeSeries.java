@@ -0,0 +1,514 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.StampedLock;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.core.types.State;
+
+/**
+ * The {@link NumericTimeSeries} stores numeric values in three parallel primitive arrays, one for the timestamps (in
+ * nanoseconds since the epoch), one for the values and one for the scales of the values, so a state is restored with
+ * exactly the digits it was stored with. The arrays are used as a ring buffer, so dropping the oldest value when
+ * <code>maxEntries</code> is reached does not move any data.
+ *
+ * Range lookups use a binary search. Queries do not block writers: the requested range is copied using an optimistic
+ * read, which is only repeated under a read lock if a write happened concurrently. The states and
+ * {@link HistoricItem}s are created while iterating over the result.
+ *
+ * All values of a series must have the same type, unit and time zone and must be representable as
+ * <code>double</code> without loss, see {@link StateCodec}.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class NumericTimeSeries extends TimeSeries {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    // object headers of the series and its three arrays
+    private static final long BYTES_OVERHEAD = 112;
+
+    /**
+     * Converts between states and their <code>double</code> representation. The scale of the decimal value is kept
+     * separately, as the <code>double</code> does not tell whether a state was e.g. <code>20</code> or
+     * <code>20.0</code>.
+     */
+    public record StateCodec(Class<? extends State> type, @Nullable Unit<?> unit, ZoneId zone) {
+
+        /**
+         * @return a codec for the given value, or <code>null</code> if it cannot be stored as a number
+         */
+        public static @Nullable StateCodec of(ZonedDateTime timestamp, State state) {
+            if (!isExact(state)) {
+                return null;
+            }
+            Unit<?> unit = state instanceof QuantityType<?> quantity ? quantity.getUnit() : null;
+            return new StateCodec(state.getClass(), unit, timestamp.getZone());
+        }
+
+        public boolean accepts(ZonedDateTime timestamp, State state) {
+            if (state.getClass() != type || !timestamp.getZone().equals(zone)) {
+                return false;
+            }
+            if (state instanceof QuantityType<?> quantity && !quantity.getUnit().equals(unit)) {
+                return false;
+            }
+            return isExact(state);
+        }
+
+        public double encode(State state) {
+            return ((Number) state).doubleValue();
+        }
+
+        public byte encodeScale(State state) {
+            return (byte) toBigDecimal(state).scale();
+        }
+
+        public State decode(double value, byte scale) {
+            // the value was checked to be exact when it was added, so setting its scale never rounds
+            BigDecimal decimal = BigDecimal.valueOf(value).setScale(scale, RoundingMode.UNNECESSARY);
+            Unit<?> unit = this.unit;
+            if (type == PercentType.class) {
+                return new PercentType(decimal);
+            } else if (type == QuantityType.class && unit != null) {
+                return toQuantityType(decimal, unit);
+            }
+            return new DecimalType(decimal);
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        private static State toQuantityType(BigDecimal value, Unit<?> unit) {
+            return new QuantityType(value, (Unit<? extends Quantity>) unit);
+        }
+
+        private static boolean isExact(State state) {
+            BigDecimal decimal;
+            if (state.getClass() == DecimalType.class || state.getClass() == PercentType.class
+                    || state.getClass() == QuantityType.class) {
+                decimal = toBigDecimal(state);
+            } else {
+                return false;
+            }
+            if (decimal.scale() < Byte.MIN_VALUE || decimal.scale() > Byte.MAX_VALUE) {
+                return false;
+            }
+            double value = decimal.doubleValue();
+            return Double.isFinite(value) && BigDecimal.valueOf(value).compareTo(decimal) == 0;
+        }
+
+        private static BigDecimal toBigDecimal(State state) {
+            return state instanceof QuantityType<?> quantity ? quantity.toBigDecimal()
+                    : ((DecimalType) state).toBigDecimal();
+        }
+    }
+
+    private final StateCodec codec;
+    private final StampedLock lock = new StampedLock();
+
+    // guarded by lock, the logical index i is stored at (head + i) % times.length
+    private long[] times = new long[0];
+    private double[] values = new double[0];
+    private byte[] scales = new byte[0];
+    private int head;
+    private int size;
+    private boolean closed;
+
+    public NumericTimeSeries(StateCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public boolean add(ZonedDateTime timestamp, State state, long maxEntries) {
+        if (!codec.accepts(timestamp, state)) {
+            return false;
+        }
+        long time;
+        try {
+            time = toNanos(timestamp);
+        } catch (ArithmeticException e) {
+            // out of the range of nanoseconds since the epoch
+            return false;
+        }
+        double value = codec.encode(state);
+        byte scale = codec.encodeScale(state);
+
+        long stamp = lock.writeLock();
+        try {
+            if (closed) {
+                return false;
+            }
+            int pos = upperBound(times, head, size, time);
+            if (pos > 0 && timeAt(times, head, pos - 1) == time) {
+                // keep the existing value
+                return true;
+            }
+            if (maxEntries > 0 && size >= maxEntries) {
+                if (pos == 0) {
+                    // older than all values of a full series, it would be dropped immediately
+                    return true;
+                }
+                removeFirst();
+                pos--;
+            }
+            ensureCapacity(maxEntries);
+            insert(pos, time, value, scale);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void trim(long maxEntries) {
+        long stamp = lock.writeLock();
+        try {
+            while (maxEntries > 0 && size > maxEntries) {
+                removeFirst();
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Iterable<HistoricItem> query(String itemName, FilterCriteria filter) {
+        Range range = range(filter);
+        if (range == null) {
+            return List.of();
+        }
+        boolean ascending = filter.getOrdering() == FilterCriteria.Ordering.ASCENDING;
+        // the size is known up front, so callers can tell the number of values without decoding them
+        Collection<HistoricItem> result = new AbstractCollection<>() {
+            @Override
+            public Iterator<HistoricItem> iterator() {
+                return new Iterator<>() {
+                    private int index = ascending ? 0 : range.times.length - 1;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index >= 0 && index < range.times.length;
+                    }
+
+                    @Override
+                    public HistoricItem next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        int i = index;
+                        index += ascending ? 1 : -1;
+                        return toHistoricItem(itemName, fromNanos(range.times[i]),
+                                codec.decode(range.values[i], range.scales[i]));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return range.times.length;
+            }
+        };
+        if (filter.getState() == null) {
+            return result;
+        }
+        List<HistoricItem> filtered = new ArrayList<>();
+        for (HistoricItem item : result) {
+            if (appliesToState(item.getState(), filter)) {
+                filtered.add(item);
+            }
+        }
+        return filtered;
+    }
+
+    @Override
+    public void remove(FilterCriteria filter) {
+        long stamp = lock.writeLock();
+        try {
+            int[] bounds = bounds(times, head, size, filter);
+            if (bounds == null) {
+                return;
+            }
+            // compact the values to keep in place
+            int target = bounds[0];
+            for (int i = bounds[0]; i < size; i++) {
+                int index = physicalIndex(i);
+                boolean remove = i < bounds[1] && appliesToState(codec.decode(values[index], scales[index]), filter);
+                if (!remove) {
+                    int targetIndex = physicalIndex(target++);
+                    times[targetIndex] = times[index];
+                    values[targetIndex] = values[index];
+                    scales[targetIndex] = scales[index];
+                }
+            }
+            size = target;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public TimeSeries toObjectTimeSeries() {
+        ObjectTimeSeries series = new ObjectTimeSeries();
+        long stamp = lock.writeLock();
+        try {
+            closed = true;
+            for (int i = 0; i < size; i++) {
+                int index = physicalIndex(i);
+                series.addUnchecked(fromNanos(times[index]), codec.decode(values[index], scales[index]));
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return series;
+    }
+
+    @Override
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return the number of values that can be stored without growing the arrays
+     */
+    public int capacity() {
+        long stamp = lock.readLock();
+        try {
+            return times.length;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public @Nullable ZonedDateTime getEarliest() {
+        long stamp = lock.readLock();
+        try {
+            return size == 0 ? null : fromNanos(timeAt(times, head, 0));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public @Nullable ZonedDateTime getLatest() {
+        long stamp = lock.readLock();
+        try {
+            return size == 0 ? null : fromNanos(timeAt(times, head, size - 1));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public long getMemoryFootprint() {
+        return BYTES_OVERHEAD + (long) capacity() * (Long.BYTES + Double.BYTES + Byte.BYTES);
+    }
+
+    @Override
+    public boolean isNumeric() {
+        return true;
+    }
+
+    private record Range(long[] times, double[] values, byte[] scales) {
+    }
+
+    private @Nullable Range range(FilterCriteria filter) {
+        long stamp = lock.tryOptimisticRead();
+        Range range = null;
+        if (stamp != 0) {
+            try {
+                range = copyRange(times, values, scales, head, size, filter);
+            } catch (RuntimeException e) {
+                // inconsistent state read during a concurrent write, validation fails below
+            }
+            if (lock.validate(stamp)) {
+                return range;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return copyRange(times, values, scales, head, size, filter);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private static @Nullable Range copyRange(long[] times, double[] values, byte[] scales, int head, int size,
+            FilterCriteria filter) {
+        if (size > times.length || times.length != values.length || times.length != scales.length) {
+            throw new IllegalStateException("inconsistent read");
+        }
+        int[] bounds = bounds(times, head, size, filter);
+        if (bounds == null) {
+            return null;
+        }
+        int length = bounds[1] - bounds[0];
+        long[] rangeTimes = new long[length];
+        double[] rangeValues = new double[length];
+        byte[] rangeScales = new byte[length];
+        int start = times.length == 0 ? 0 : (head + bounds[0]) % times.length;
+        // the range may wrap around the end of the arrays
+        int firstPart = Math.min(length, times.length - start);
+        System.arraycopy(times, start, rangeTimes, 0, firstPart);
+        System.arraycopy(values, start, rangeValues, 0, firstPart);
+        System.arraycopy(scales, start, rangeScales, 0, firstPart);
+        System.arraycopy(times, 0, rangeTimes, firstPart, length - firstPart);
+        System.arraycopy(values, 0, rangeValues, firstPart, length - firstPart);
+        System.arraycopy(scales, 0, rangeScales, firstPart, length - firstPart);
+        return new Range(rangeTimes, rangeValues, rangeScales);
+    }
+
+    /**
+     * @return the logical start (inclusive) and end (exclusive) index of the time range of the filter, or
+     *         <code>null</code> if the range is empty
+     */
+    private static int @Nullable [] bounds(long[] times, int head, int size, FilterCriteria filter) {
+        ZonedDateTime beginDate = filter.getBeginDate();
+        ZonedDateTime endDate = filter.getEndDate();
+        int from = beginDate == null ? 0 : lowerBound(times, head, size, toNanosSaturated(beginDate));
+        int to = endDate == null ? size : upperBound(times, head, size, toNanosSaturated(endDate));
+        return from < to ? new int[] { from, to } : null;
+    }
+
+    /**
+     * @return the first logical index with a time greater than or equal to the given time
+     */
+    private static int lowerBound(long[] times, int head, int size, long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timeAt(times, head, mid) < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return the first logical index with a time greater than the given time
+     */
+    private static int upperBound(long[] times, int head, int size, long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timeAt(times, head, mid) <= time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long timeAt(long[] times, int head, int index) {
+        return times[(head + index) % times.length];
+    }
+
+    private int physicalIndex(int index) {
+        return (head + index) % times.length;
+    }
+
+    private void removeFirst() {
+        head = (head + 1) % times.length;
+        size--;
+    }
+
+    private void ensureCapacity(long maxEntries) {
+        if (size < times.length) {
+            return;
+        }
+        long limit = maxEntries > 0 ? Math.min(maxEntries, MAX_CAPACITY) : MAX_CAPACITY;
+        int capacity = (int) Math.min(Math.max(INITIAL_CAPACITY, 2L * times.length), limit);
+        if (capacity <= size) {
+            throw new IllegalStateException("Maximum capacity of " + MAX_CAPACITY + " values reached");
+        }
+        long[] newTimes = new long[capacity];
+        double[] newValues = new double[capacity];
+        byte[] newScales = new byte[capacity];
+        for (int i = 0; i < size; i++) {
+            int index = physicalIndex(i);
+            newTimes[i] = times[index];
+            newValues[i] = values[index];
+            newScales[i] = scales[index];
+        }
+        times = newTimes;
+        values = newValues;
+        scales = newScales;
+        head = 0;
+    }
+
+    private void insert(int pos, long time, double value, byte scale) {
+        // values are usually appended, only older values need to be shifted
+        for (int i = size; i > pos; i--) {
+            int to = physicalIndex(i);
+            int from = physicalIndex(i - 1);
+            times[to] = times[from];
+            values[to] = values[from];
+            scales[to] = scales[from];
+        }
+        int index = physicalIndex(pos);
+        times[index] = time;
+        values[index] = value;
+        scales[index] = scale;
+        size++;
+    }
+
+    private ZonedDateTime fromNanos(long nanos) {
+        return Instant.ofEpochSecond(Math.floorDiv(nanos, NANOS_PER_SECOND), Math.floorMod(nanos, NANOS_PER_SECOND))
+                .atZone(codec.zone());
+    }
+
+    private static long toNanos(ZonedDateTime timestamp) {
+        Instant instant = timestamp.toInstant();
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), NANOS_PER_SECOND), instant.getNano());
+    }
+
+    private static long toNanosSaturated(ZonedDateTime timestamp) {
+        try {
+            return toNanos(timestamp);
+        } catch (ArithmeticException e) {
+            return timestamp.toInstant().getEpochSecond() < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+}
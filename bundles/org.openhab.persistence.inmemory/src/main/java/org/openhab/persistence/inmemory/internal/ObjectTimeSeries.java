@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.time.ZonedDateTime;
+import java.time.chrono.ChronoZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.core.types.State;
+import org.openhab.core.types.UnDefType;
+
+/**
+ * The {@link ObjectTimeSeries} can hold values of any type. Each value is stored as an object together with its
+ * timestamp.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class ObjectTimeSeries extends TimeSeries {
+
+    // rough size of a tree node with timestamp and state object
+    private static final long BYTES_PER_ENTRY = 200;
+
+    private record PersistEntry(ZonedDateTime timestamp, State state) {
+    }
+
+    private final TreeSet<PersistEntry> database = new TreeSet<>(
+            Comparator.comparing(PersistEntry::timestamp, ChronoZonedDateTime.timeLineOrder()));
+    private final Lock lock = new ReentrantLock();
+
+    @Override
+    public boolean add(ZonedDateTime timestamp, State state, long maxEntries) {
+        lock.lock();
+        try {
+            database.add(new PersistEntry(timestamp, state));
+            trimLocked(maxEntries);
+        } finally {
+            lock.unlock();
+        }
+        return true;
+    }
+
+    @Override
+    public void trim(long maxEntries) {
+        lock.lock();
+        try {
+            trimLocked(maxEntries);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void trimLocked(long maxEntries) {
+        while (maxEntries > 0 && database.size() > maxEntries) {
+            database.pollFirst();
+        }
+    }
+
+    @Override
+    public Iterable<HistoricItem> query(String itemName, FilterCriteria filter) {
+        lock.lock();
+        try {
+            NavigableSet<PersistEntry> range = range(filter);
+            if (filter.getOrdering() == FilterCriteria.Ordering.DESCENDING) {
+                range = range.descendingSet();
+            }
+            List<HistoricItem> result = new ArrayList<>(range.size());
+            for (PersistEntry entry : range) {
+                if (appliesToState(entry.state(), filter)) {
+                    result.add(toHistoricItem(itemName, entry.timestamp(), entry.state()));
+                }
+            }
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void remove(FilterCriteria filter) {
+        lock.lock();
+        try {
+            range(filter).removeIf(entry -> appliesToState(entry.state(), filter));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private NavigableSet<PersistEntry> range(FilterCriteria filter) {
+        ZonedDateTime beginDate = filter.getBeginDate();
+        ZonedDateTime endDate = filter.getEndDate();
+        if (beginDate != null && endDate != null) {
+            if (beginDate.isAfter(endDate)) {
+                return new TreeSet<>();
+            }
+            return database.subSet(probe(beginDate), true, probe(endDate), true);
+        } else if (beginDate != null) {
+            return database.tailSet(probe(beginDate), true);
+        } else if (endDate != null) {
+            return database.headSet(probe(endDate), true);
+        }
+        return database;
+    }
+
+    private static PersistEntry probe(ZonedDateTime timestamp) {
+        // entries are compared by timestamp only
+        return new PersistEntry(timestamp, UnDefType.NULL);
+    }
+
+    /**
+     * Adds a value without trimming, used when converting a series.
+     */
+    void addUnchecked(ZonedDateTime timestamp, State state) {
+        lock.lock();
+        try {
+            database.add(new PersistEntry(timestamp, state));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public TimeSeries toObjectTimeSeries() {
+        return this;
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return database.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public @Nullable ZonedDateTime getEarliest() {
+        lock.lock();
+        try {
+            return database.isEmpty() ? null : database.first().timestamp();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public @Nullable ZonedDateTime getLatest() {
+        lock.lock();
+        try {
+            return database.isEmpty() ? null : database.last().timestamp();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long getMemoryFootprint() {
+        return size() * BYTES_PER_ENTRY;
+    }
+
+    @Override
+    public boolean isNumeric() {
+        return false;
+    }
+}
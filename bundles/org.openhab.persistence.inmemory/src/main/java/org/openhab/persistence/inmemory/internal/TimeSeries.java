@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.time.ZonedDateTime;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.core.types.State;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link TimeSeries} holds the values of a single item, ordered by timestamp.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public abstract class TimeSeries {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimeSeries.class);
+
+    /**
+     * Creates the most compact series able to hold the given state.
+     *
+     * @param timestamp the timestamp of the first value
+     * @param state the first value
+     * @return a new, empty series
+     */
+    public static TimeSeries create(ZonedDateTime timestamp, State state) {
+        NumericTimeSeries.StateCodec codec = NumericTimeSeries.StateCodec.of(timestamp, state);
+        return codec != null ? new NumericTimeSeries(codec) : new ObjectTimeSeries();
+    }
+
+    /**
+     * Adds a value. If a value with the same timestamp exists, it is kept.
+     *
+     * @param timestamp the timestamp of the value
+     * @param state the value
+     * @param maxEntries the maximum number of values to keep, the oldest values are dropped (0 = infinite)
+     * @return false if the value cannot be stored in this series, it has to be converted first
+     */
+    public abstract boolean add(ZonedDateTime timestamp, State state, long maxEntries);
+
+    /**
+     * Drops the oldest values until at most <code>maxEntries</code> values are left.
+     *
+     * @param maxEntries the maximum number of values to keep (0 = infinite)
+     */
+    public abstract void trim(long maxEntries);
+
+    /**
+     * Queries the values matching the filter in the order requested by the filter.
+     */
+    public abstract Iterable<HistoricItem> query(String itemName, FilterCriteria filter);
+
+    /**
+     * Removes the values matching the filter.
+     */
+    public abstract void remove(FilterCriteria filter);
+
+    /**
+     * Converts this series into one that can hold any state. Values added afterwards are rejected by this series.
+     */
+    public abstract TimeSeries toObjectTimeSeries();
+
+    public abstract int size();
+
+    public abstract @Nullable ZonedDateTime getEarliest();
+
+    public abstract @Nullable ZonedDateTime getLatest();
+
+    /**
+     * @return the approximate number of bytes used by the values of this series
+     */
+    public abstract long getMemoryFootprint();
+
+    public abstract boolean isNumeric();
+
+    protected static HistoricItem toHistoricItem(String itemName, ZonedDateTime timestamp, State state) {
+        return new HistoricItem() {
+            @Override
+            public ZonedDateTime getTimestamp() {
+                return timestamp;
+            }
+
+            @Override
+            public State getState() {
+                return state;
+            }
+
+            @Override
+            public String getName() {
+                return itemName;
+            }
+        };
+    }
+
+    protected static boolean appliesToTime(ZonedDateTime timestamp, FilterCriteria filter) {
+        ZonedDateTime beginDate = filter.getBeginDate();
+        if (beginDate != null && beginDate.isAfter(timestamp)) {
+            return false;
+        }
+        ZonedDateTime endDate = filter.getEndDate();
+        return endDate == null || !endDate.isBefore(timestamp);
+    }
+
+    @SuppressWarnings({ "rawType", "unchecked" })
+    protected static boolean appliesToState(State state, FilterCriteria filter) {
+        State refState = filter.getState();
+        FilterCriteria.Operator operator = filter.getOperator();
+        if (refState == null) {
+            // no state filter
+            return true;
+        }
+
+        if (operator == FilterCriteria.Operator.EQ) {
+            return state.equals(refState);
+        }
+
+        if (operator == FilterCriteria.Operator.NEQ) {
+            return !state.equals(refState);
+        }
+
+        if (state instanceof Comparable comparableState && state.getClass().equals(refState.getClass())) {
+            if (operator == FilterCriteria.Operator.GT) {
+                return comparableState.compareTo(refState) > 0;
+            }
+            if (operator == FilterCriteria.Operator.GTE) {
+                return comparableState.compareTo(refState) >= 0;
+            }
+            if (operator == FilterCriteria.Operator.LT) {
+                return comparableState.compareTo(refState) < 0;
+            }
+            if (operator == FilterCriteria.Operator.LTE) {
+                return comparableState.compareTo(refState) <= 0;
+            }
+        } else {
+            LOGGER.warn("Using operator {} but state {} is not comparable!", operator, refState);
+        }
+        return true;
+    }
+}
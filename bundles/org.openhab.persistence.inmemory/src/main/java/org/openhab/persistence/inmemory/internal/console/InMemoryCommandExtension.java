@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal.console;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.console.Console;
+import org.openhab.core.io.console.ConsoleCommandCompleter;
+import org.openhab.core.io.console.StringsCompleter;
+import org.openhab.core.io.console.extensions.AbstractConsoleCommandExtension;
+import org.openhab.core.io.console.extensions.ConsoleCommandExtension;
+import org.openhab.core.persistence.PersistenceService;
+import org.openhab.core.persistence.PersistenceServiceRegistry;
+import org.openhab.persistence.inmemory.internal.InMemoryPersistenceService;
+import org.openhab.persistence.inmemory.internal.InMemoryPersistenceService.ItemStatistics;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * The {@link InMemoryCommandExtension} is responsible for handling console commands
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ConsoleCommandExtension.class)
+public class InMemoryCommandExtension extends AbstractConsoleCommandExtension implements ConsoleCommandCompleter {
+
+    private static final String CMD_STATS = "stats";
+    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(List.of(CMD_STATS), false);
+
+    private final PersistenceServiceRegistry persistenceServiceRegistry;
+
+    @Activate
+    public InMemoryCommandExtension(final @Reference PersistenceServiceRegistry persistenceServiceRegistry) {
+        super(InMemoryPersistenceService.SERVICE_ID, "Interact with the InMemory persistence service.");
+        this.persistenceServiceRegistry = persistenceServiceRegistry;
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        InMemoryPersistenceService persistenceService = getPersistenceService();
+        if (persistenceService == null) {
+            console.println("No InMemory persistence service installed.");
+            return;
+        }
+        if (args.length == 1 && CMD_STATS.equalsIgnoreCase(args[0])) {
+            printStatistics(persistenceService, console);
+            return;
+        }
+        printUsage(console);
+    }
+
+    private void printStatistics(InMemoryPersistenceService persistenceService, Console console) {
+        List<ItemStatistics> statistics = persistenceService.getItemStatistics();
+        long maxEntries = persistenceService.getMaxEntries();
+        console.println("Stored values (maxEntries = " + (maxEntries > 0 ? maxEntries : "infinite") + ")...");
+        long totalCount = 0;
+        long totalBytes = 0;
+        for (ItemStatistics item : statistics) {
+            console.println(String.format("  - %s: %d values, %s storage, ~%d bytes", item.name(), item.count(),
+                    item.numeric() ? "numeric" : "object", item.memoryFootprint()));
+            totalCount += item.count();
+            totalBytes += item.memoryFootprint();
+        }
+        console.println(statistics.size() + " items, " + totalCount + " values, ~" + totalBytes + " bytes.");
+    }
+
+    private @Nullable InMemoryPersistenceService getPersistenceService() {
+        for (PersistenceService persistenceService : persistenceServiceRegistry.getAll()) {
+            if (persistenceService instanceof InMemoryPersistenceService service) {
+                return service;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return List.of(buildCommandUsage(CMD_STATS, "list the number of stored values and memory usage per item"));
+    }
+
+    @Override
+    public @Nullable ConsoleCommandCompleter getCompleter() {
+        return this;
+    }
+
+    @Override
+    public boolean complete(String[] args, int cursorArgumentIndex, int cursorPosition, List<String> candidates) {
+        if (cursorArgumentIndex <= 0) {
+            return CMD_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
+        }
+        return false;
+    }
+}
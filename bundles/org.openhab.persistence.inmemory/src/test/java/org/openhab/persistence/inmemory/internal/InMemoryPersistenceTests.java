@@ -21,6 +21,7 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.TreeSet;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -31,6 +32,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.items.GenericItem;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.HSBType;
@@ -40,6 +42,9 @@ import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.types.State;
 
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 /**
  * The {@link InMemoryPersistenceTests} contains tests for the {@link InMemoryPersistenceService}
  *
@@ -275,4 +280,69 @@ public class InMemoryPersistenceTests {
 
         // begin date is before first date is already covered by case #1
     }
+
+    @Test
+    public void maxEntriesObserved() {
+        service.modified(Map.of("maxEntries", 2L));
+
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        service.store(item, start, new DecimalType(1));
+        service.store(item, start.plusHours(1), new DecimalType(2));
+        service.store(item, start.plusHours(2), new DecimalType(3));
+
+        List<Integer> resultSet = new ArrayList<>();
+        service.query(filterCriteria).forEach(h -> resultSet.add(((DecimalType) h.getState()).intValue()));
+
+        assertThat(resultSet, contains(2, 3));
+    }
+
+    @Test
+    public void mixedStatesAreStored() {
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        service.store(item, start, new DecimalType(1));
+        service.store(item, start.plusHours(1), new StringType("value"));
+        assertThat(service.getItemStatistics().get(0).numeric(), is(false));
+
+        service.store(item, start.plusHours(2), new DecimalType(3));
+
+        List<State> resultSet = new ArrayList<>();
+        service.query(filterCriteria).forEach(h -> resultSet.add(h.getState()));
+
+        assertThat(resultSet, contains(new DecimalType(1), new StringType("value"), new DecimalType(3)));
+    }
+
+    @Test
+    public void itemStatisticsReported() {
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        service.store(item, start, new DecimalType(1));
+        service.store(item, start.plusHours(1), new DecimalType(2));
+
+        assertThat(service.getItemStatistics(), hasSize(1));
+        InMemoryPersistenceService.ItemStatistics statistics = service.getItemStatistics().get(0);
+        assertThat(statistics.name(), is(ITEM_NAME));
+        assertThat(statistics.numeric(), is(true));
+        assertThat(statistics.count(), is(2));
+        assertThat(statistics.memoryFootprint(), is(greaterThan(0L)));
+    }
+
+    @Test
+    public void metersArePublished() {
+        CompositeMeterRegistry registry = new CompositeMeterRegistry();
+        registry.add(new SimpleMeterRegistry());
+        MeterRegistryProvider provider = () -> registry;
+        service.setMeterRegistryProvider(provider);
+
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        service.store(item, start, new DecimalType(1));
+        service.store(item, start.plusHours(1), new DecimalType(2));
+        service.query(filterCriteria);
+
+        assertThat(registry.get("openhab.persistence.store.duration").tag("service", "inmemory").timer().count(),
+                is(2L));
+        assertThat(registry.get("openhab.persistence.query.duration").timer().count(), is(1L));
+        assertThat(registry.get("openhab.persistence.query.rows").summary().totalAmount(), is(2.0));
+
+        service.unsetMeterRegistryProvider(provider);
+        assertThat(registry.getMeters(), is(empty()));
+    }
 }
@@ -0,0 +1,190 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.unit.SIUnits;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.HistoricItem;
+
+/**
+ * The {@link NumericTimeSeriesTest} contains tests for the {@link NumericTimeSeries}
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class NumericTimeSeriesTest {
+    private static final String ITEM_NAME = "testItem";
+    private static final ZonedDateTime START = ZonedDateTime.of(2022, 5, 31, 10, 0, 0, 0, ZoneId.systemDefault());
+
+    private @NonNullByDefault({}) NumericTimeSeries series;
+
+    @BeforeEach
+    public void setup() {
+        series = new NumericTimeSeries(
+                Objects.requireNonNull(NumericTimeSeries.StateCodec.of(START, DecimalType.ZERO)));
+    }
+
+    @Test
+    public void oldestValuesAreOverwrittenWhenFull() {
+        for (int i = 0; i < 10; i++) {
+            series.add(START.plusMinutes(i), new DecimalType(i), 4);
+        }
+
+        assertThat(values(new FilterCriteria()), contains(6, 7, 8, 9));
+        assertThat(series.capacity(), is(4));
+        assertThat(series.getEarliest(), is(START.plusMinutes(6)));
+        assertThat(series.getLatest(), is(START.plusMinutes(9)));
+    }
+
+    @Test
+    public void outOfOrderValuesAreInserted() {
+        series.add(START.plusMinutes(2), new DecimalType(2), 0);
+        series.add(START, new DecimalType(0), 0);
+        series.add(START.plusMinutes(1), new DecimalType(1), 0);
+        // existing values are kept
+        series.add(START.plusMinutes(1), new DecimalType(5), 0);
+
+        assertThat(values(new FilterCriteria()), contains(0, 1, 2));
+    }
+
+    @Test
+    public void rangeAndOrderingAreObserved() {
+        for (int i = 0; i < 100; i++) {
+            series.add(START.plusMinutes(i), new DecimalType(i), 20);
+        }
+
+        FilterCriteria filter = new FilterCriteria();
+        filter.setBeginDate(START.plusMinutes(90));
+        filter.setEndDate(START.plusMinutes(93));
+        assertThat(values(filter), contains(90, 91, 92, 93));
+
+        filter.setOrdering(FilterCriteria.Ordering.DESCENDING);
+        assertThat(values(filter), contains(93, 92, 91, 90));
+
+        filter.setBeginDate(START);
+        filter.setEndDate(START.plusMinutes(50));
+        assertThat(values(filter), is(empty()));
+    }
+
+    @Test
+    public void stateFilterIsApplied() {
+        for (int i = 0; i < 10; i++) {
+            series.add(START.plusMinutes(i), new DecimalType(i), 0);
+        }
+
+        FilterCriteria filter = new FilterCriteria();
+        filter.setState(new DecimalType(6));
+        filter.setOperator(FilterCriteria.Operator.GTE);
+        assertThat(values(filter), contains(6, 7, 8, 9));
+
+        series.remove(filter);
+        assertThat(values(new FilterCriteria()), contains(0, 1, 2, 3, 4, 5));
+    }
+
+    @Test
+    public void unsupportedValuesAreRejected() {
+        assertThat(series.add(START, new StringType("1"), 0), is(false));
+        assertThat(series.add(START, new QuantityType<>(1, SIUnits.CELSIUS), 0), is(false));
+        assertThat(series.add(START, new DecimalType("0.1000000000000000000001"), 0), is(false));
+        assertThat(series.add(START.withZoneSameInstant(ZoneId.of("UTC-11")), new DecimalType(1), 0), is(false));
+        assertThat(series.add(START, new DecimalType("0.1"), 0), is(true));
+    }
+
+    @Test
+    public void quantitiesKeepTheirUnit() {
+        QuantityType<?> state = new QuantityType<>("21.5 °C");
+        NumericTimeSeries quantities = new NumericTimeSeries(
+                Objects.requireNonNull(NumericTimeSeries.StateCodec.of(START, state)));
+        quantities.add(START, state, 0);
+
+        List<HistoricItem> result = new ArrayList<>();
+        quantities.query(ITEM_NAME, new FilterCriteria()).forEach(result::add);
+        assertThat(result, hasSize(1));
+        assertThat(result.get(0).getState(), is(state));
+        assertThat(result.get(0).getTimestamp(), is(START));
+    }
+
+    @Test
+    public void valuesKeepTheirScale() {
+        List<String> stored = List.of("20", "20.0", "1.50", "-0.125");
+        for (int i = 0; i < stored.size(); i++) {
+            assertThat(series.add(START.plusMinutes(i), new DecimalType(stored.get(i)), 0), is(true));
+        }
+
+        List<String> result = new ArrayList<>();
+        series.query(ITEM_NAME, new FilterCriteria()).forEach(h -> result.add(h.getState().toFullString()));
+        assertThat(result, is(stored));
+
+        List<String> converted = new ArrayList<>();
+        series.toObjectTimeSeries().query(ITEM_NAME, new FilterCriteria())
+                .forEach(h -> converted.add(h.getState().toFullString()));
+        assertThat(converted, is(stored));
+    }
+
+    @Test
+    public void quantitiesKeepTheirScale() {
+        QuantityType<?> state = new QuantityType<>("21.50 °C");
+        NumericTimeSeries quantities = new NumericTimeSeries(
+                Objects.requireNonNull(NumericTimeSeries.StateCodec.of(START, state)));
+        quantities.add(START, state, 0);
+
+        List<String> result = new ArrayList<>();
+        quantities.query(ITEM_NAME, new FilterCriteria()).forEach(h -> result.add(h.getState().toFullString()));
+        assertThat(result, contains("21.50 °C"));
+    }
+
+    @Test
+    public void conversionKeepsValues() {
+        for (int i = 0; i < 3; i++) {
+            series.add(START.plusMinutes(i), new DecimalType(i), 0);
+        }
+
+        TimeSeries objects = series.toObjectTimeSeries();
+        assertThat(objects.isNumeric(), is(false));
+        assertThat(objects.size(), is(3));
+        // the converted series does not accept values anymore
+        assertThat(series.add(START.plusMinutes(3), new DecimalType(3), 0), is(false));
+    }
+
+    @Test
+    public void memoryFootprintGrowsWithCapacity() {
+        long empty = series.getMemoryFootprint();
+        for (int i = 0; i < 1000; i++) {
+            series.add(START.plusSeconds(i), new DecimalType(i), 0);
+        }
+
+        assertThat(series.capacity(), is(1024));
+        assertThat(series.getMemoryFootprint() - empty, is(1024L * 17));
+    }
+
+    private List<Integer> values(FilterCriteria filter) {
+        List<Integer> values = new ArrayList<>();
+        series.query(ITEM_NAME, filter).forEach(h -> values.add(((DecimalType) h.getState()).intValue()));
+        return values;
+    }
+}
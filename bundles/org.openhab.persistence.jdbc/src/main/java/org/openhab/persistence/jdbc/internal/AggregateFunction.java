@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * This enum defines the aggregations which are calculated by the database instead of loading all values of a
+ * filter window.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public enum AggregateFunction {
+    MIN,
+    MAX,
+    AVG,
+    SUM,
+    /**
+     * Number of values, supported for all item types.
+     */
+    COUNT;
+
+    /**
+     * Whether the aggregation can only be calculated for numeric values.
+     */
+    public boolean isNumeric() {
+        return this != COUNT;
+    }
+}
@@ -0,0 +1,36 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * This enum defines how the {@link JdbcBatchWriter} behaves when its queue is full.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public enum BackpressurePolicy {
+    /**
+     * Block the storing thread until there is room in the queue (bounded by a timeout).
+     */
+    BLOCK,
+    /**
+     * Discard the oldest queued value to make room for the new one.
+     */
+    DROP_OLDEST,
+    /**
+     * Discard the new value.
+     */
+    DROP_NEWEST
+}
@@ -0,0 +1,193 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.persistence.jdbc.internal.dto.PersistEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link JdbcBatchWriter} collects values to be stored in a bounded queue and hands them over to the database
+ * in batches, either when {@code batchSize} values are pending or when {@code batchInterval} has elapsed.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcBatchWriter {
+    private static final long BLOCK_TIMEOUT_MS = 10000;
+
+    private final Logger logger = LoggerFactory.getLogger(JdbcBatchWriter.class);
+
+    private final BlockingDeque<PersistEntry> queue;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final long batchInterval;
+    private final BackpressurePolicy backpressurePolicy;
+    private final ScheduledExecutorService scheduler;
+    private final Consumer<List<PersistEntry>> flushHandler;
+
+    private final AtomicBoolean flushPending = new AtomicBoolean(false);
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong flushedCount = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong flushTimeTotal = new AtomicLong();
+    private volatile long lastFlushTime = 0;
+    private volatile long maxFlushTime = 0;
+
+    private @Nullable ScheduledFuture<?> flushJob;
+
+    public JdbcBatchWriter(JdbcConfiguration conf, ScheduledExecutorService scheduler,
+            Consumer<List<PersistEntry>> flushHandler) {
+        this.queueCapacity = conf.getQueueSize();
+        this.queue = new LinkedBlockingDeque<>(queueCapacity);
+        this.batchSize = conf.getBatchSize();
+        this.batchInterval = conf.getBatchInterval();
+        this.backpressurePolicy = conf.getBackpressurePolicy();
+        this.scheduler = scheduler;
+        this.flushHandler = flushHandler;
+    }
+
+    public void start() {
+        logger.debug("JDBC::JdbcBatchWriter: starting with batchSize={}, batchInterval={} ms, queueSize={}, policy={}",
+                batchSize, batchInterval, queueCapacity, backpressurePolicy);
+        flushJob = scheduler.scheduleWithFixedDelay(this::flush, batchInterval, batchInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic flushing and writes all values still pending.
+     */
+    public void stop() {
+        ScheduledFuture<?> flushJob = this.flushJob;
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            this.flushJob = null;
+        }
+        flush();
+    }
+
+    /**
+     * Adds a value to the queue, applying the configured {@link BackpressurePolicy} if the queue is full.
+     *
+     * @param entry value to be stored
+     * @return true if the value was queued, false if it has been dropped
+     */
+    public boolean enqueue(PersistEntry entry) {
+        boolean queued = queue.offer(entry);
+        if (!queued) {
+            switch (backpressurePolicy) {
+                case BLOCK:
+                    try {
+                        queued = queue.offer(entry, BLOCK_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    break;
+                case DROP_OLDEST:
+                    while (!queued) {
+                        if (queue.pollFirst() != null) {
+                            droppedCount.incrementAndGet();
+                        }
+                        queued = queue.offer(entry);
+                    }
+                    break;
+                case DROP_NEWEST:
+                default:
+                    break;
+            }
+            if (!queued) {
+                droppedCount.incrementAndGet();
+                logger.warn("JDBC::enqueue: Write queue is full ({} values), dropping state '{}' of item '{}'",
+                        queueCapacity, entry.state(), entry.item().getName());
+            }
+        }
+        if (queue.size() >= batchSize && flushPending.compareAndSet(false, true)) {
+            scheduler.execute(this::flush);
+        }
+        return queued;
+    }
+
+    /**
+     * Drains the queue and hands the values over to the flush handler in chunks of at most {@code batchSize}.
+     */
+    public synchronized void flush() {
+        flushPending.set(false);
+        List<PersistEntry> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            long timerStart = System.currentTimeMillis();
+            try {
+                flushHandler.accept(batch);
+            } catch (RuntimeException e) {
+                logger.warn("JDBC::flush: Unable to store {} values", batch.size(), e);
+            }
+            long flushTime = System.currentTimeMillis() - timerStart;
+            lastFlushTime = flushTime;
+            maxFlushTime = Math.max(maxFlushTime, flushTime);
+            flushTimeTotal.addAndGet(flushTime);
+            flushCount.incrementAndGet();
+            flushedCount.addAndGet(batch.size());
+            logger.debug("JDBC::flush: Flushed {} values in {} ms, {} values still queued", batch.size(), flushTime,
+                    queue.size());
+            batch.clear();
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public BackpressurePolicy getBackpressurePolicy() {
+        return backpressurePolicy;
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getFlushedCount() {
+        return flushedCount.get();
+    }
+
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    public long getLastFlushTime() {
+        return lastFlushTime;
+    }
+
+    public long getMaxFlushTime() {
+        return maxFlushTime;
+    }
+
+    public long getAverageFlushTime() {
+        long count = flushCount.get();
+        return count == 0 ? 0 : flushTimeTotal.get() / count;
+    }
+}
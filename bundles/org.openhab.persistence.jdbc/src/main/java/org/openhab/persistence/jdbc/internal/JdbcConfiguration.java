@@ -58,6 +58,8 @@ public class JdbcConfiguration {
     private int numberDecimalcount = 3;
     private boolean tableUseRealItemNames = false;
     private boolean tableCaseSensitiveItemNames = false;
+    // tableCaseSensitiveItemNames as configured, before it is ignored for the wide table layout
+    private boolean legacyTableCaseSensitiveItemNames = false;
     private String itemsManageTable = "items";
     private String tableNamePrefix = "item";
     private int tableIdDigitCount = 4;
@@ -65,6 +67,13 @@ public class JdbcConfiguration {
 
     private int errReconnectThreshold = 0;
 
+    private int batchSize = 0;
+    private long batchInterval = 1000;
+    private int queueSize = 10000;
+    private BackpressurePolicy backpressurePolicy = BackpressurePolicy.BLOCK;
+    private int fetchSize = 0;
+    private StorageLayout storageLayout = StorageLayout.TABLE_PER_ITEM;
+
     public int timerCount = 0;
     public int time1000Statements = 0;
     public long timer1000 = 0;
@@ -189,6 +198,64 @@ public class JdbcConfiguration {
             logger.debug("JDBC::updateConfig: rebuildTableNames={}", rebuildTableNames);
         }
 
+        String bs = (String) configuration.get("batchSize");
+        if (bs != null && !bs.isBlank() && isNumericPattern.matcher(bs).matches()) {
+            batchSize = Integer.parseInt(bs);
+            logger.debug("JDBC::updateConfig: batchSize={}", batchSize);
+        }
+
+        String bi = (String) configuration.get("batchInterval");
+        if (bi != null && !bi.isBlank() && isNumericPattern.matcher(bi).matches()) {
+            batchInterval = Math.max(Long.parseLong(bi), 10);
+            logger.debug("JDBC::updateConfig: batchInterval={}", batchInterval);
+        }
+
+        String qs = (String) configuration.get("queueSize");
+        if (qs != null && !qs.isBlank() && isNumericPattern.matcher(qs).matches()) {
+            queueSize = Math.max(Integer.parseInt(qs), 1);
+            logger.debug("JDBC::updateConfig: queueSize={}", queueSize);
+        }
+
+        String fs = (String) configuration.get("fetchSize");
+        if (fs != null && !fs.isBlank() && isNumericPattern.matcher(fs).matches()) {
+            fetchSize = Integer.parseInt(fs);
+            logger.debug("JDBC::updateConfig: fetchSize={}", fetchSize);
+        }
+
+        String bp = (String) configuration.get("backpressurePolicy");
+        if (bp != null && !bp.isBlank()) {
+            try {
+                backpressurePolicy = BackpressurePolicy.valueOf(bp.trim().toUpperCase());
+                logger.debug("JDBC::updateConfig: backpressurePolicy={}", backpressurePolicy);
+            } catch (IllegalArgumentException e) {
+                logger.warn("JDBC::updateConfig: Invalid backpressurePolicy '{}', using {}", bp, backpressurePolicy);
+            }
+        }
+
+        String sl = (String) configuration.get("storageLayout");
+        if (sl != null && !sl.isBlank()) {
+            try {
+                storageLayout = StorageLayout.valueOf(sl.trim().toUpperCase());
+                logger.debug("JDBC::updateConfig: storageLayout={}", storageLayout);
+            } catch (IllegalArgumentException e) {
+                logger.warn("JDBC::updateConfig: Invalid storageLayout '{}', using {}", sl, storageLayout);
+            }
+        }
+        if (storageLayout == StorageLayout.WIDE_TABLE) {
+            if (!dBDAO.isWideTableSupported()) {
+                logger.error("JDBC::updateConfig: storageLayout {} is not supported for {}, please use {}",
+                        storageLayout, serviceName, StorageLayout.TABLE_PER_ITEM);
+                return false;
+            } else if (tableUseRealItemNames && tableCaseSensitiveItemNames) {
+                // the wide table references items by the ids of the items manage table
+                logger.warn(
+                        "JDBC::updateConfig: tableCaseSensitiveItemNames is ignored for storageLayout {}, items are indexed in '{}'",
+                        storageLayout, itemsManageTable);
+                legacyTableCaseSensitiveItemNames = true;
+                tableCaseSensitiveItemNames = false;
+            }
+        }
+
         // undocumented
         String ac = (String) configuration.get("maximumPoolSize");
         if (ac != null && !ac.isBlank()) {
@@ -394,6 +461,69 @@ public class JdbcConfiguration {
         return tableUseRealItemNames && tableCaseSensitiveItemNames;
     }
 
+    /**
+     * Checks if the item tables of the table per item layout are named with the real item names, while the wide table
+     * layout ignores this setting. Such item tables have no entries in the items manage table.
+     *
+     * @return true if both tableUseRealItemNames and tableCaseSensitiveItemNames are configured.
+     */
+    public boolean getLegacyTableUseRealCaseSensitiveItemNames() {
+        return tableUseRealItemNames && legacyTableCaseSensitiveItemNames;
+    }
+
+    /**
+     * Checks if values are written in batches instead of one statement per value.
+     *
+     * @return true if batchSize is greater than 1.
+     */
+    public boolean isBatchingEnabled() {
+        return batchSize > 1;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public long getBatchInterval() {
+        return batchInterval;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public BackpressurePolicy getBackpressurePolicy() {
+        return backpressurePolicy;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public StorageLayout getStorageLayout() {
+        return storageLayout;
+    }
+
+    /**
+     * Checks if the values of all items are stored in one table.
+     *
+     * @return true if storageLayout is WIDE_TABLE.
+     */
+    public boolean isWideTableLayout() {
+        return storageLayout == StorageLayout.WIDE_TABLE;
+    }
+
+    /**
+     * Name of the table holding the values of all items, if {@link #isWideTableLayout()}.
+     */
+    public String getWideTableName() {
+        return tableNamePrefix + "_values";
+    }
+
+    public boolean isStreamingEnabled() {
+        return fetchSize > 0;
+    }
+
     public int getTableIdDigitCount() {
         return tableIdDigitCount;
     }
@@ -421,6 +551,8 @@ public class JdbcConfiguration {
         dBDAO.initAfterFirstDbConnection();
         // Running once again to prior external configured SqlTypes!
         setSqlTypes();
+        // SQL generated so far may be based on outdated templates or types
+        dBDAO.getStatementCache().clear();
         this.dbConnected = dbConnected;
     }
 
@@ -16,6 +16,7 @@ import java.sql.SQLInvalidAuthorizationSpecException;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -29,15 +30,20 @@ import org.openhab.core.i18n.TimeZoneProvider;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemUtil;
 import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.PersistenceItemInfo;
 import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.db.StreamingHistoricItems;
+import org.openhab.persistence.jdbc.internal.db.StreamingHistoricItems.StreamingIterator;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.dto.JdbcPersistenceItemInfo;
+import org.openhab.persistence.jdbc.internal.dto.PersistEntry;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcStreamingException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,6 +57,7 @@ import com.zaxxer.hikari.pool.HikariPool.PoolInitializationException;
 @NonNullByDefault
 public class JdbcMapper {
     private static final int MIGRATION_PERCENTAGE_THRESHOLD = 50;
+    private static final int MIGRATION_CHUNK_SIZE = 1000;
 
     private final Logger logger = LoggerFactory.getLogger(JdbcMapper.class);
     private final TimeZoneProvider timeZoneProvider;
@@ -60,6 +67,7 @@ public class JdbcMapper {
     protected boolean initialized = false;
     protected @NonNullByDefault({}) JdbcConfiguration conf;
     protected final Map<String, String> itemNameToTableNameMap = new HashMap<>();
+    protected final Map<String, Integer> itemNameToItemIdMap = new HashMap<>();
     protected @NonNullByDefault({}) NamingStrategy namingStrategy;
     private long afterAccessMin = 10000;
     private long afterAccessMax = 0;
@@ -204,6 +212,13 @@ public class JdbcMapper {
         return vo;
     }
 
+    private void createWideTableIfNot() throws JdbcSQLException {
+        logger.debug("JDBC::createWideTableIfNot");
+        long timerStart = System.currentTimeMillis();
+        conf.getDBDAO().doCreateWideTableIfNot(conf.getWideTableName());
+        logTime("doCreateWideTableIfNot", timerStart, System.currentTimeMillis());
+    }
+
     protected void alterTableColumn(String tableName, String columnName, String columnType, boolean nullable)
             throws JdbcSQLException {
         logger.debug("JDBC::alterTableColumn");
@@ -216,7 +231,10 @@ public class JdbcMapper {
         logger.debug("JDBC::storeItemValue: item={} state={} date={}", item, itemState, date);
         String tableName = getTable(item);
         long timerStart = System.currentTimeMillis();
-        if (date == null) {
+        if (conf.isWideTableLayout()) {
+            conf.getDBDAO().doStoreWideItemValues(item, getItemId(item.getName()), tableName,
+                    List.of(new PersistEntry(item, itemState, date != null ? date : ZonedDateTime.now())));
+        } else if (date == null) {
             conf.getDBDAO().doStoreItemValue(item, itemState, new ItemVO(tableName, null));
         } else {
             conf.getDBDAO().doStoreItemValue(item, itemState, new ItemVO(tableName, null), date);
@@ -225,27 +243,121 @@ public class JdbcMapper {
         errCnt = 0;
     }
 
+    /**
+     * Store values of several items, falling back to storing them one by one if a batch fails.
+     *
+     * @return the number of values that could not be stored
+     */
+    protected int storeItemValues(List<PersistEntry> entries) {
+        logger.debug("JDBC::storeItemValues: {} values", entries.size());
+        int failed = 0;
+        // group values by item, keeping only the last value per item and timestamp
+        Map<String, Map<Long, PersistEntry>> entriesByItem = new LinkedHashMap<>();
+        for (PersistEntry entry : entries) {
+            entriesByItem.computeIfAbsent(entry.item().getName(), k -> new LinkedHashMap<>())
+                    .put(entry.date().toInstant().toEpochMilli(), entry);
+        }
+        for (Map<Long, PersistEntry> itemEntries : entriesByItem.values()) {
+            List<PersistEntry> values = new ArrayList<>(itemEntries.values());
+            Item item = values.get(0).item();
+            long timerStart = System.currentTimeMillis();
+            String tableName;
+            try {
+                tableName = getTable(item);
+            } catch (JdbcException e) {
+                logger.warn("JDBC::storeItemValues: Unable to store {} values for item '{}'", values.size(),
+                        item.getName(), e);
+                failed += values.size();
+                continue;
+            }
+            try {
+                if (conf.isWideTableLayout()) {
+                    conf.getDBDAO().doStoreWideItemValues(item, getItemId(item.getName()), tableName, values);
+                } else {
+                    conf.getDBDAO().doStoreItemValues(item, new ItemVO(tableName, null), values);
+                }
+                errCnt = 0;
+            } catch (JdbcException e) {
+                // one bad value must not prevent the others from being stored
+                logger.debug("JDBC::storeItemValues: Batch for item '{}' failed, storing values one by one: {}",
+                        item.getName(), e.getMessage());
+                for (PersistEntry entry : values) {
+                    try {
+                        if (conf.isWideTableLayout()) {
+                            conf.getDBDAO().doStoreWideItemValues(item, getItemId(item.getName()), tableName,
+                                    List.of(entry));
+                        } else {
+                            conf.getDBDAO().doStoreItemValue(item, entry.state(), new ItemVO(tableName, null),
+                                    entry.date());
+                        }
+                    } catch (JdbcException e1) {
+                        logger.warn("JDBC::storeItemValues: Unable to store state '{}' for item '{}'", entry.state(),
+                                item.getName(), e1);
+                        failed++;
+                    }
+                }
+            }
+            logTime("storeItemValues", timerStart, System.currentTimeMillis());
+        }
+        return failed;
+    }
+
     public long getRowCount(String tableName) throws JdbcSQLException {
         return conf.getDBDAO().doGetRowCount(tableName);
     }
 
     protected List<HistoricItem> getHistItemFilterQuery(FilterCriteria filter, int numberDecimalcount, String table,
-            Item item) throws JdbcSQLException {
+            Item item) throws JdbcException {
         logger.debug(
                 "JDBC::getHistItemFilterQuery filter='{}' numberDecimalcount='{}' table='{}' item='{}' itemName='{}'",
                 true, numberDecimalcount, table, item, item.getName());
         long timerStart = System.currentTimeMillis();
-        List<HistoricItem> result = conf.getDBDAO().doGetHistItemFilterQuery(item, filter, numberDecimalcount, table,
-                item.getName(), timeZoneProvider.getTimeZone());
+        List<HistoricItem> result = conf.isWideTableLayout()
+                ? conf.getDBDAO().doGetWideHistItemFilterQuery(item, filter, numberDecimalcount, table,
+                        getItemId(item.getName()), timeZoneProvider.getTimeZone())
+                : conf.getDBDAO().doGetHistItemFilterQuery(item, filter, numberDecimalcount, table, item.getName(),
+                        timeZoneProvider.getTimeZone());
         logTime("getHistItemFilterQuery", timerStart, System.currentTimeMillis());
         errCnt = 0;
         return result;
     }
 
-    protected void deleteItemValues(FilterCriteria filter, String table) throws JdbcSQLException {
+    protected StreamingHistoricItems getHistItemFilterQueryStream(FilterCriteria filter, int numberDecimalcount,
+            String table, Item item) throws JdbcException {
+        logger.debug("JDBC::getHistItemFilterQueryStream filter='{}' numberDecimalcount='{}' table='{}' itemName='{}'",
+                true, numberDecimalcount, table, item.getName());
+        if (conf.isWideTableLayout()) {
+            return conf.getDBDAO().doGetWideHistItemFilterQueryStream(item, filter, numberDecimalcount, table,
+                    getItemId(item.getName()), timeZoneProvider.getTimeZone(), conf.getFetchSize());
+        }
+        return conf.getDBDAO().doGetHistItemFilterQueryStream(item, filter, numberDecimalcount, table, item.getName(),
+                timeZoneProvider.getTimeZone(), conf.getFetchSize());
+    }
+
+    protected @Nullable State getAggregate(FilterCriteria filter, String table, Item item, AggregateFunction aggregate)
+            throws JdbcException {
+        logger.debug("JDBC::getAggregate filter='{}' table='{}' itemName='{}' aggregate='{}'", true, table,
+                item.getName(), aggregate);
+        long timerStart = System.currentTimeMillis();
+        State result = conf.isWideTableLayout()
+                ? conf.getDBDAO().doGetWideAggregate(item, filter, table, getItemId(item.getName()), aggregate,
+                        timeZoneProvider.getTimeZone())
+                : conf.getDBDAO().doGetAggregate(item, filter, table, aggregate, timeZoneProvider.getTimeZone());
+        logTime("getAggregate", timerStart, System.currentTimeMillis());
+        errCnt = 0;
+        return result;
+    }
+
+    protected void deleteItemValues(FilterCriteria filter, String table) throws JdbcException {
         logger.debug("JDBC::deleteItemValues filter='{}' table='{}' itemName='{}'", true, table, filter.getItemName());
         long timerStart = System.currentTimeMillis();
-        conf.getDBDAO().doDeleteItemValues(filter, table, timeZoneProvider.getTimeZone());
+        if (conf.isWideTableLayout()) {
+            String itemName = filter.getItemName();
+            conf.getDBDAO().doDeleteWideItemValues(filter, table, getItemId(itemName == null ? "" : itemName),
+                    timeZoneProvider.getTimeZone());
+        } else {
+            conf.getDBDAO().doDeleteItemValues(filter, table, timeZoneProvider.getTimeZone());
+        }
         logTime("deleteItemValues", timerStart, System.currentTimeMillis());
         errCnt = 0;
     }
@@ -320,6 +432,9 @@ public class JdbcMapper {
         if (!conf.getTableUseRealCaseSensitiveItemNames()) {
             createItemsTableIfNot(vo);
         }
+        if (conf.isWideTableLayout()) {
+            createWideTableIfNot();
+        }
         if (conf.getRebuildTableNames()) {
             formatTableNames();
 
@@ -332,10 +447,46 @@ public class JdbcMapper {
             errCnt = 0;
         }
         populateItemNameToTableNameMap();
+        if (conf.isWideTableLayout() && conf.getLegacyTableUseRealCaseSensitiveItemNames()) {
+            indexLegacyItemTables();
+        }
+    }
+
+    /**
+     * Item tables named with the case sensitive item names have no entries in the items manage table, but the wide
+     * table references items by these entries. Entries are created for them, so that they can be migrated.
+     */
+    private void indexLegacyItemTables() throws JdbcSQLException {
+        String wideTableName = conf.getWideTableName();
+        for (ItemsVO vo : getItemTables()) {
+            String itemName = vo.getTableName();
+            if (itemName.equalsIgnoreCase(wideTableName) || !ItemUtil.isValidItemName(itemName)
+                    || itemNameToItemIdMap.containsKey(itemName)) {
+                continue;
+            }
+            logger.info("JDBC::indexLegacyItemTables: creating items entry for table '{}'", itemName);
+            if (createItemsEntry(itemName) != 0) {
+                itemNameToTableNameMap.put(itemName, wideTableName);
+            }
+        }
+    }
+
+    private int createItemsEntry(String itemName) throws JdbcSQLException {
+        ItemsVO isvo = new ItemsVO();
+        isvo.setItemName(itemName);
+        isvo.setItemsManageTable(conf.getItemsManageTable());
+        isvo = createNewEntryInItemsTable(isvo);
+        int itemId = isvo.getItemId();
+        if (itemId == 0) {
+            logger.error("JDBC::createItemsEntry: Creating items entry for item '{}' failed.", itemName);
+        }
+        itemNameToItemIdMap.put(itemName, itemId);
+        return itemId;
     }
 
     public void populateItemNameToTableNameMap() throws JdbcSQLException {
         itemNameToTableNameMap.clear();
+        itemNameToItemIdMap.clear();
         if (conf.getTableUseRealCaseSensitiveItemNames()) {
             for (String itemName : getItemTables().stream().map(t -> t.getTableName()).collect(Collectors.toList())) {
                 itemNameToTableNameMap.put(itemName, itemName);
@@ -347,8 +498,9 @@ public class JdbcMapper {
                     logger.warn("Skipping invalid item name {}", itemName);
                     continue;
                 }
-                itemNameToTableNameMap.put(vo.getItemName(),
-                        namingStrategy.getTableName(vo.getItemId(), vo.getItemName()));
+                itemNameToItemIdMap.put(itemName, vo.getItemId());
+                itemNameToTableNameMap.put(vo.getItemName(), conf.isWideTableLayout() ? conf.getWideTableName()
+                        : namingStrategy.getTableName(vo.getItemId(), vo.getItemName()));
             }
         }
     }
@@ -371,14 +523,14 @@ public class JdbcMapper {
 
         if (!conf.getTableUseRealCaseSensitiveItemNames()) {
             // Create a new entry in items table
-            ItemsVO isvo = new ItemsVO();
-            isvo.setItemName(itemName);
-            isvo.setItemsManageTable(conf.getItemsManageTable());
-            isvo = createNewEntryInItemsTable(isvo);
-            itemId = isvo.getItemId();
-            if (itemId == 0) {
-                logger.error("JDBC::getTable: Creating items entry for item '{}' failed.", itemName);
-            }
+            itemId = createItemsEntry(itemName);
+        }
+
+        if (conf.isWideTableLayout()) {
+            // values of all items are stored in the same table
+            tableName = conf.getWideTableName();
+            itemNameToTableNameMap.put(itemName, tableName);
+            return tableName;
         }
 
         // Create the table name
@@ -398,6 +550,78 @@ public class JdbcMapper {
         return tableName;
     }
 
+    /**
+     * Copies the values of an item from its own table into the wide table. Values are read in chunks, so the
+     * migration can run while the service keeps writing new values to the wide table. Rows already present in the
+     * wide table are overwritten, so an interrupted migration can simply be repeated.
+     *
+     * @param item the item to migrate
+     * @param dropLegacyTable if true, the item table is dropped after all rows have been copied
+     * @return number of copied rows, or -1 if there is no item table
+     */
+    protected long migrateToWideTable(Item item, boolean dropLegacyTable) throws JdbcException {
+        String itemName = item.getName();
+        Integer indexedItemId = itemNameToItemIdMap.get(itemName);
+        if (indexedItemId == null && !conf.getLegacyTableUseRealCaseSensitiveItemNames()) {
+            // item tables are named after the items entries
+            logger.debug("JDBC::migrateToWideTable: no items entry found for item '{}'", itemName);
+            return -1;
+        }
+        String legacyTableName = namingStrategy.getLegacyTableName(indexedItemId == null ? 0 : indexedItemId,
+                itemName);
+        if (!ifTableExists(legacyTableName)) {
+            logger.debug("JDBC::migrateToWideTable: no table '{}' found for item '{}'", legacyTableName, itemName);
+            return -1;
+        }
+        // the wide table references the items entry, which does not exist for tables named after the item
+        int itemId = indexedItemId != null ? indexedItemId : createItemsEntry(itemName);
+        if (itemId == 0) {
+            throw new JdbcException("Unable to create items entry for item " + itemName);
+        }
+        itemNameToTableNameMap.put(itemName, conf.getWideTableName());
+        long timerStart = System.currentTimeMillis();
+        String wideTableName = conf.getWideTableName();
+        FilterCriteria filter = new FilterCriteria().setItemName(itemName).setOrdering(Ordering.ASCENDING);
+        List<PersistEntry> chunk = new ArrayList<>(MIGRATION_CHUNK_SIZE);
+        long count = 0;
+        try (StreamingIterator legacyValues = conf.getDBDAO().doGetHistItemFilterQueryStream(item, filter, -1,
+                legacyTableName, itemName, timeZoneProvider.getTimeZone(), MIGRATION_CHUNK_SIZE).iterator()) {
+            while (legacyValues.hasNext()) {
+                HistoricItem historicItem = legacyValues.next();
+                chunk.add(new PersistEntry(item, historicItem.getState(), historicItem.getTimestamp()));
+                if (chunk.size() == MIGRATION_CHUNK_SIZE) {
+                    conf.getDBDAO().doStoreWideItemValues(item, itemId, wideTableName, chunk);
+                    count += chunk.size();
+                    chunk.clear();
+                }
+            }
+        } catch (JdbcStreamingException e) {
+            // the legacy table is kept, the rows copied so far are copied again by the next migration
+            throw new JdbcException("Unable to read table " + legacyTableName + " after copying " + count + " rows",
+                    e);
+        }
+        if (!chunk.isEmpty()) {
+            conf.getDBDAO().doStoreWideItemValues(item, itemId, wideTableName, chunk);
+            count += chunk.size();
+        }
+        logTime("migrateToWideTable", timerStart, System.currentTimeMillis());
+        logger.info("JDBC::migrateToWideTable: copied {} rows of item '{}' from table '{}' to '{}'", count, itemName,
+                legacyTableName, wideTableName);
+
+        if (dropLegacyTable) {
+            dropTable(legacyTableName);
+        }
+        return count;
+    }
+
+    private int getItemId(String itemName) throws JdbcException {
+        Integer itemId = itemNameToItemIdMap.get(itemName);
+        if (itemId == null) {
+            throw new JdbcException("No items entry found for item " + itemName);
+        }
+        return itemId;
+    }
+
     private void formatTableNames() throws JdbcSQLException {
         boolean tmpinit = initialized;
         if (tmpinit) {
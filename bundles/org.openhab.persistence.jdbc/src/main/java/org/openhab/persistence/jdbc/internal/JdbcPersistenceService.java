@@ -30,10 +30,14 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.common.NamedThreadFactory;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.i18n.TimeZoneProvider;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.library.items.DimmerItem;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.items.RollershutterItem;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.ModifiablePersistenceService;
@@ -43,17 +47,24 @@ import org.openhab.core.persistence.QueryablePersistenceService;
 import org.openhab.core.persistence.strategy.PersistenceStrategy;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
+import org.openhab.io.metrics.addon.internal.MicrometerPersistenceServiceMetrics;
+import org.openhab.io.metrics.addon.internal.PersistenceServiceMetrics;
 import org.openhab.persistence.jdbc.internal.db.JdbcBaseDAO;
+import org.openhab.persistence.jdbc.internal.db.StreamingHistoricItems;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
+import org.openhab.persistence.jdbc.internal.dto.PersistEntry;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
+import org.openhab.persistence.jdbc.internal.utils.StatementCache;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -77,6 +88,10 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1,
             new NamedThreadFactory(JdbcPersistenceServiceConstants.SERVICE_ID));
 
+    private volatile @Nullable JdbcBatchWriter batchWriter;
+
+    private volatile PersistenceServiceMetrics metrics = PersistenceServiceMetrics.NOOP;
+
     @Activate
     public JdbcPersistenceService(final @Reference ItemRegistry itemRegistry,
             final @Reference TimeZoneProvider timeZoneProvider) {
@@ -121,6 +136,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     public void deactivate(final int reason) {
         logger.debug("JDBC::deactivate:  persistence bundle stopping. Disconnecting from database. reason={}", reason);
         // closeConnection();
+        stopBatchWriter();
         initialized = false;
     }
 
@@ -137,24 +153,39 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
     @Override
     public void store(Item item) {
-        scheduler.execute(() -> internalStore(item, null, item.getState()));
+        scheduleStore(item, null, item.getState());
     }
 
     @Override
     public void store(Item item, @Nullable String alias) {
         // alias is not supported
-        scheduler.execute(() -> internalStore(item, null, item.getState()));
+        scheduleStore(item, null, item.getState());
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state) {
-        scheduler.execute(() -> internalStore(item, date, state));
+        scheduleStore(item, date, state);
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state, @Nullable String alias) {
         // alias is not supported
-        scheduler.execute(() -> internalStore(item, null, item.getState()));
+        scheduleStore(item, null, item.getState());
+    }
+
+    private void scheduleStore(Item item, @Nullable ZonedDateTime date, State state) {
+        JdbcBatchWriter batchWriter = this.batchWriter;
+        if (batchWriter == null) {
+            scheduler.execute(() -> internalStore(item, date, state));
+            return;
+        }
+        // Do not store undefined/uninitialized data
+        if (state instanceof UnDefType) {
+            logger.debug("JDBC::store: ignore Item '{}' because it is UnDefType", item.getName());
+            return;
+        }
+        // the time is taken now, since the value may be written considerably later
+        batchWriter.enqueue(new PersistEntry(item, state, date != null ? date : ZonedDateTime.now()));
     }
 
     private synchronized void internalStore(Item item, @Nullable ZonedDateTime date, State state) {
@@ -167,8 +198,10 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
             logger.warn(
                     "JDBC::store: No connection to database. Cannot persist state '{}' for item '{}'! Will retry connecting to database when error count:{} equals errReconnectThreshold:{}",
                     state, item, errCnt, conf.getErrReconnectThreshold());
+            metrics.countFailedStores(1);
             return;
         }
+        long start = System.nanoTime();
         try {
             long timerStart = System.currentTimeMillis();
             storeItemValue(item, state, date);
@@ -176,8 +209,28 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
                 logger.debug("JDBC: Stored item '{}' as '{}' in SQL database at {} in {} ms.", item.getName(), state,
                         new Date(), System.currentTimeMillis() - timerStart);
             }
+            metrics.recordStore(start, 0);
         } catch (JdbcException e) {
             logger.warn("JDBC::store: Unable to store item", e);
+            metrics.recordStore(start, 1);
+        }
+    }
+
+    private synchronized void internalStoreBatch(List<PersistEntry> entries) {
+        if (!checkDBAccessability()) {
+            logger.warn(
+                    "JDBC::store: No connection to database. Cannot persist {} queued values! Will retry connecting to database when error count:{} equals errReconnectThreshold:{}",
+                    entries.size(), errCnt, conf.getErrReconnectThreshold());
+            metrics.countFailedStores(entries.size());
+            return;
+        }
+        long start = System.nanoTime();
+        long timerStart = System.currentTimeMillis();
+        int failed = storeItemValues(entries);
+        metrics.recordStore(start, failed);
+        if (logger.isDebugEnabled()) {
+            logger.debug("JDBC: Stored {} values in SQL database at {} in {} ms.", entries.size(), new Date(),
+                    System.currentTimeMillis() - timerStart);
         }
     }
 
@@ -203,43 +256,44 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
         // Get the item name from the filter
         // Also get the Item object so we can determine the type
-        Item item = null;
         String itemName = filter.getItemName();
         if (itemName == null) {
             logger.warn("Item name is missing in filter {}", filter);
             return List.of();
         }
         logger.debug("JDBC::query: item is {}", itemName);
-        try {
-            item = itemRegistry.getItem(itemName);
-        } catch (ItemNotFoundException e1) {
-            logger.error("JDBC::query: unable to get item for itemName: '{}'. Ignore and give up!", itemName);
+        Item item = getQueryItem(itemName);
+        if (item == null) {
             return List.of();
         }
 
-        if (item instanceof GroupItem) {
-            // For Group Item is BaseItem needed to get correct Type of Value.
-            item = GroupItem.class.cast(item).getBaseItem();
-            logger.debug("JDBC::query: item is instanceof GroupItem '{}'", itemName);
-            if (item == null) {
-                logger.debug("JDBC::query: BaseItem of GroupItem is null. Ignore and give up!");
-                return List.of();
-            }
-            if (item instanceof GroupItem) {
-                logger.debug("JDBC::query: BaseItem of GroupItem is a GroupItem too. Ignore and give up!");
-                return List.of();
-            }
-        }
-
         String table = itemNameToTableNameMap.get(itemName);
         if (table == null) {
             logger.debug("JDBC::query: unable to find table for item with name: '{}', no data in database.", itemName);
             return List.of();
         }
 
+        if (conf.isStreamingEnabled() && filter.getPageSize() == Integer.MAX_VALUE) {
+            // rows are fetched while the result is iterated, so large time ranges are never held in memory at once
+            logger.debug("JDBC::query: streaming rows for item '{}' with fetch size {}", itemName,
+                    conf.getFetchSize());
+            try {
+                StreamingHistoricItems items = getHistItemFilterQueryStream(filter, conf.getNumberDecimalcount(),
+                        table, item);
+                // the query is done when the caller completed or closed the iteration
+                items.setQueryListener(metrics::recordQuery);
+                return items;
+            } catch (JdbcException e) {
+                logger.warn("JDBC::query: Unable to query item", e);
+                return List.of();
+            }
+        }
+
         try {
+            long start = System.nanoTime();
             long timerStart = System.currentTimeMillis();
             List<HistoricItem> items = getHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, item);
+            metrics.recordQuery(start, items.size());
             if (logger.isDebugEnabled()) {
                 logger.debug("JDBC: Query for item '{}' returned {} rows in {} ms", itemName, items.size(),
                         System.currentTimeMillis() - timerStart);
@@ -247,23 +301,100 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
             // Success
             errCnt = 0;
             return items;
-        } catch (JdbcSQLException e) {
+        } catch (JdbcException e) {
             logger.warn("JDBC::query: Unable to query item", e);
             return List.of();
         }
     }
 
+    /**
+     * Calculates an aggregation over the values of an item within the time window of the filter. The calculation is
+     * done by the database, so the values of large time ranges are not transferred.
+     *
+     * Ordering and paging of the filter are ignored.
+     *
+     * @param filter the filter providing item name and time window
+     * @param aggregate the aggregation to calculate
+     * @return the aggregated value, or <code>null</code> if there are no values or the aggregation is not available
+     */
+    public @Nullable State aggregate(FilterCriteria filter, AggregateFunction aggregate) {
+        if (!checkDBAccessability()) {
+            logger.warn("JDBC::aggregate: database not connected, query aborted for item '{}'", filter.getItemName());
+            return null;
+        }
+        String itemName = filter.getItemName();
+        if (itemName == null) {
+            logger.warn("Item name is missing in filter {}", filter);
+            return null;
+        }
+        Item item = getQueryItem(itemName);
+        if (item == null) {
+            return null;
+        }
+        if (aggregate.isNumeric() && !(item instanceof NumberItem || item instanceof DimmerItem
+                || item instanceof RollershutterItem)) {
+            logger.debug("JDBC::aggregate: {} is not available for non-numeric item '{}'", aggregate, itemName);
+            return null;
+        }
+        String table = itemNameToTableNameMap.get(itemName);
+        if (table == null) {
+            logger.debug("JDBC::aggregate: unable to find table for item with name: '{}', no data in database.",
+                    itemName);
+            return null;
+        }
+        try {
+            return getAggregate(filter, table, item, aggregate);
+        } catch (JdbcException e) {
+            logger.warn("JDBC::aggregate: Unable to query item", e);
+            return null;
+        }
+    }
+
+    /**
+     * Get the item to use for a query. For groups, this is the base item.
+     */
+    private @Nullable Item getQueryItem(String itemName) {
+        Item item;
+        try {
+            item = itemRegistry.getItem(itemName);
+        } catch (ItemNotFoundException e1) {
+            logger.error("JDBC::query: unable to get item for itemName: '{}'. Ignore and give up!", itemName);
+            return null;
+        }
+
+        if (item instanceof GroupItem) {
+            // For Group Item is BaseItem needed to get correct Type of Value.
+            item = GroupItem.class.cast(item).getBaseItem();
+            logger.debug("JDBC::query: item is instanceof GroupItem '{}'", itemName);
+            if (item == null) {
+                logger.debug("JDBC::query: BaseItem of GroupItem is null. Ignore and give up!");
+                return null;
+            }
+            if (item instanceof GroupItem) {
+                logger.debug("JDBC::query: BaseItem of GroupItem is a GroupItem too. Ignore and give up!");
+                return null;
+            }
+        }
+        return item;
+    }
+
     public void updateConfig(Map<Object, Object> configuration) {
         logger.debug("JDBC::updateConfig");
 
+        stopBatchWriter();
         conf = new JdbcConfiguration(configuration);
+        if (conf.valid && conf.isBatchingEnabled()) {
+            JdbcBatchWriter batchWriter = new JdbcBatchWriter(conf, scheduler, this::internalStoreBatch);
+            batchWriter.start();
+            this.batchWriter = batchWriter;
+        }
         if (conf.valid && checkDBAccessability()) {
             namingStrategy = new NamingStrategy(conf);
             try {
                 checkDBSchema();
                 // connection has been established ... initialization completed!
                 initialized = true;
-            } catch (JdbcSQLException e) {
+            } catch (JdbcException e) {
                 logger.error("Failed to check database schema", e);
                 initialized = false;
             }
@@ -274,6 +405,49 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         logger.debug("JDBC::updateConfig: configuration complete for service={}.", getId());
     }
 
+    private void stopBatchWriter() {
+        JdbcBatchWriter batchWriter = this.batchWriter;
+        if (batchWriter != null) {
+            this.batchWriter = null;
+            batchWriter.stop();
+        }
+    }
+
+    /**
+     * Get the batch writer, if writing values in batches is enabled.
+     */
+    public @Nullable JdbcBatchWriter getBatchWriter() {
+        return batchWriter;
+    }
+
+    /**
+     * Get the cache of generated SQL statements, if the service is configured.
+     */
+    public @Nullable StatementCache getStatementCache() {
+        return conf == null ? null : conf.getDBDAO().getStatementCache();
+    }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    public void setMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics = new MicrometerPersistenceServiceMetrics(meterRegistryProvider.getOHMeterRegistry(),
+                JdbcPersistenceServiceConstants.SERVICE_ID, this::getQueueDepth, this::getDroppedCount);
+    }
+
+    private long getQueueDepth() {
+        JdbcBatchWriter batchWriter = getBatchWriter();
+        return batchWriter == null ? 0 : batchWriter.getQueueDepth();
+    }
+
+    private long getDroppedCount() {
+        JdbcBatchWriter batchWriter = getBatchWriter();
+        return batchWriter == null ? 0 : batchWriter.getDroppedCount();
+    }
+
+    public void unsetMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics.close();
+        metrics = PersistenceServiceMetrics.NOOP;
+    }
+
     @Override
     public List<PersistenceStrategy> getDefaultStrategies() {
         return List.of(PersistenceStrategy.Globals.CHANGE);
@@ -308,7 +482,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
                         System.currentTimeMillis() - timerStart);
             }
             return true;
-        } catch (JdbcSQLException e) {
+        } catch (JdbcException e) {
             logger.debug("JDBC::remove: Unable to remove values for item", e);
             return false;
         }
@@ -532,6 +706,11 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
             logger.warn("JDBC::cleanupItem: database not connected");
             return false;
         }
+        if (conf.isWideTableLayout()) {
+            // all items share one table, which must never be dropped
+            logger.warn("JDBC::cleanupItem: not available with wide table layout");
+            return false;
+        }
 
         ItemTableCheckEntryStatus status = entry.getStatus();
         String tableName = entry.getTableName();
@@ -559,4 +738,38 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
                 return false;
         }
     }
+
+    /**
+     * Check if all items are stored in a single wide table.
+     *
+     * @return true if the wide table layout is configured
+     */
+    public boolean isWideTableLayout() {
+        return conf != null && conf.isWideTableLayout();
+    }
+
+    /**
+     * Copy the values of an item from its own table into the wide table. The migration can be repeated, already
+     * copied values are overwritten.
+     *
+     * @param itemName Name of item to migrate
+     * @param dropTable If true, the item table is dropped once all rows have been copied
+     * @return number of copied rows, or -1 if the item was skipped
+     * @throws JdbcException
+     */
+    public long migrateToWideTable(String itemName, boolean dropTable) throws JdbcException {
+        if (!checkDBAccessability()) {
+            logger.warn("JDBC::migrateToWideTable: database not connected");
+            return -1;
+        }
+        if (!conf.isWideTableLayout()) {
+            logger.warn("JDBC::migrateToWideTable: wide table layout is not configured");
+            return -1;
+        }
+        Item item = getQueryItem(itemName);
+        if (item == null) {
+            return -1;
+        }
+        return migrateToWideTable(item, dropTable);
+    }
 }
@@ -52,6 +52,20 @@ public class NamingStrategy {
         }
     }
 
+    /**
+     * Returns the name of the item table in the table per item layout, using the naming configured for it. It differs
+     * from {@link #getTableName(int, String)} when the wide table layout ignores case sensitive item names.
+     */
+    public String getLegacyTableName(int itemId, String itemName) {
+        if (configuration.getLegacyTableUseRealCaseSensitiveItemNames()) {
+            if (!ItemUtil.isValidItemName(itemName)) {
+                throw new IllegalArgumentException(itemName + " is not a valid item name");
+            }
+            return itemName;
+        }
+        return getTableName(itemId, itemName);
+    }
+
     private String formatTableName(String itemName, int itemId) {
         if (configuration.getTableCaseSensitiveItemNames()) {
             return itemName;
@@ -0,0 +1,33 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * This enum defines how the values of items are stored in the database.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public enum StorageLayout {
+    /**
+     * One table per item with columns <code>time</code> and <code>value</code>.
+     */
+    TABLE_PER_ITEM,
+    /**
+     * One table for all items with columns <code>item_id</code>, <code>time</code>, <code>value_num</code> and
+     * <code>value_str</code>.
+     */
+    WIDE_TABLE
+}
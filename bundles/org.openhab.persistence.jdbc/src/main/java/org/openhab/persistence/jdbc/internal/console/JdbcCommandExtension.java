@@ -12,10 +12,12 @@
  */
 package org.openhab.persistence.jdbc.internal.console;
 
+import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.stream.Collectors;
@@ -28,13 +30,19 @@ import org.openhab.core.io.console.ConsoleCommandCompleter;
 import org.openhab.core.io.console.StringsCompleter;
 import org.openhab.core.io.console.extensions.AbstractConsoleCommandExtension;
 import org.openhab.core.io.console.extensions.ConsoleCommandExtension;
+import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.PersistenceService;
 import org.openhab.core.persistence.PersistenceServiceRegistry;
+import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.AggregateFunction;
 import org.openhab.persistence.jdbc.internal.ItemTableCheckEntry;
 import org.openhab.persistence.jdbc.internal.ItemTableCheckEntryStatus;
+import org.openhab.persistence.jdbc.internal.JdbcBatchWriter;
 import org.openhab.persistence.jdbc.internal.JdbcPersistenceService;
 import org.openhab.persistence.jdbc.internal.JdbcPersistenceServiceConstants;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
+import org.openhab.persistence.jdbc.internal.utils.StatementCache;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
@@ -51,18 +59,24 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
     private static final String CMD_SCHEMA = "schema";
     private static final String CMD_TABLES = "tables";
     private static final String CMD_RELOAD = "reload";
+    private static final String CMD_STATS = "stats";
+    private static final String CMD_MIGRATE = "migrate";
+    private static final String CMD_AGGREGATE = "aggregate";
     private static final String SUBCMD_SCHEMA_CHECK = "check";
     private static final String SUBCMD_SCHEMA_FIX = "fix";
     private static final String SUBCMD_TABLES_LIST = "list";
     private static final String SUBCMD_TABLES_CLEAN = "clean";
     private static final String PARAMETER_ALL = "all";
     private static final String PARAMETER_FORCE = "force";
+    private static final String PARAMETER_DROP = "drop";
     private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(
-            List.of(CMD_SCHEMA, CMD_TABLES, CMD_RELOAD), false);
+            List.of(CMD_SCHEMA, CMD_TABLES, CMD_RELOAD, CMD_STATS, CMD_MIGRATE, CMD_AGGREGATE), false);
     private static final StringsCompleter SUBCMD_SCHEMA_COMPLETER = new StringsCompleter(
             List.of(SUBCMD_SCHEMA_CHECK, SUBCMD_SCHEMA_FIX), false);
     private static final StringsCompleter SUBCMD_TABLES_COMPLETER = new StringsCompleter(
             List.of(SUBCMD_TABLES_LIST, SUBCMD_TABLES_CLEAN), false);
+    private static final StringsCompleter AGGREGATE_FUNCTION_COMPLETER = new StringsCompleter(
+            Stream.of(AggregateFunction.values()).map(f -> f.name().toLowerCase(Locale.ROOT)).toList(), false);
 
     private final PersistenceServiceRegistry persistenceServiceRegistry;
 
@@ -87,7 +101,7 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
                 printUsage(console);
                 return;
             }
-        } catch (JdbcSQLException e) {
+        } catch (JdbcException e) {
             console.println(e.toString());
         }
     }
@@ -102,7 +116,12 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
     }
 
     private boolean execute(JdbcPersistenceService persistenceService, String[] args, Console console)
-            throws JdbcSQLException {
+            throws JdbcException {
+        if ((CMD_TABLES.equalsIgnoreCase(args[0]) || CMD_SCHEMA.equalsIgnoreCase(args[0]))
+                && persistenceService.isWideTableLayout()) {
+            console.println("Command '" + args[0] + "' is not available with wide table layout.");
+            return true;
+        }
         if (args.length > 1 && CMD_TABLES.equalsIgnoreCase(args[0])) {
             if (SUBCMD_TABLES_LIST.equalsIgnoreCase(args[1])) {
                 listTables(persistenceService, console, args.length == 3 && PARAMETER_ALL.equalsIgnoreCase(args[2]));
@@ -135,6 +154,21 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
         } else if (args.length == 1 && CMD_RELOAD.equalsIgnoreCase(args[0])) {
             reload(persistenceService, console);
             return true;
+        } else if (args.length == 1 && CMD_STATS.equalsIgnoreCase(args[0])) {
+            printStatistics(persistenceService, console);
+            return true;
+        } else if (CMD_MIGRATE.equalsIgnoreCase(args[0])) {
+            boolean drop = PARAMETER_DROP.equalsIgnoreCase(args[args.length - 1]);
+            if (args.length == 1 || (args.length == 2 && drop)) {
+                migrateItems(persistenceService, console, drop);
+                return true;
+            } else if (args.length == 2 || (args.length == 3 && drop)) {
+                migrateItem(persistenceService, console, args[1], drop);
+                return true;
+            }
+        } else if ((args.length == 3 || args.length == 4) && CMD_AGGREGATE.equalsIgnoreCase(args[0])) {
+            aggregate(persistenceService, console, args[1], args[2], args.length == 4 ? args[3] : null);
+            return true;
         }
         return false;
     }
@@ -247,11 +281,87 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
         }
     }
 
+    private void migrateItems(JdbcPersistenceService persistenceService, Console console, boolean drop)
+            throws JdbcException {
+        if (!persistenceService.isWideTableLayout()) {
+            console.println("Wide table layout is not configured.");
+            return;
+        }
+        console.println("Migrating all items to wide table...");
+        for (String itemName : persistenceService.getItemNames().stream().sorted().toList()) {
+            migrateItem(persistenceService, console, itemName, drop);
+        }
+    }
+
+    private void migrateItem(JdbcPersistenceService persistenceService, Console console, String itemName,
+            boolean drop) throws JdbcException {
+        if (!persistenceService.isWideTableLayout()) {
+            console.println("Wide table layout is not configured.");
+            return;
+        }
+        console.print(itemName + " -> ");
+        long count = persistenceService.migrateToWideTable(itemName, drop);
+        if (count >= 0) {
+            console.println(count + " rows copied.");
+        } else {
+            console.println("skipped.");
+        }
+    }
+
+    private void aggregate(JdbcPersistenceService persistenceService, Console console, String itemName,
+            String function, @Nullable String hours) {
+        AggregateFunction aggregate;
+        try {
+            aggregate = AggregateFunction.valueOf(function.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            console.println("Unknown aggregation '" + function + "'");
+            return;
+        }
+        FilterCriteria filter = new FilterCriteria().setItemName(itemName);
+        if (hours != null) {
+            try {
+                filter.setBeginDate(ZonedDateTime.now().minusHours(Integer.parseUnsignedInt(hours)));
+            } catch (NumberFormatException e) {
+                console.println("Invalid number of hours '" + hours + "'");
+                return;
+            }
+        }
+        State result = persistenceService.aggregate(filter, aggregate);
+        console.println(itemName + " " + aggregate.name().toLowerCase(Locale.ROOT) + ": "
+                + (result == null ? "no values" : result.toFullString()));
+    }
+
     private void reload(JdbcPersistenceService persistenceService, Console console) throws JdbcSQLException {
         persistenceService.populateItemNameToTableNameMap();
         console.println("Item index reloaded.");
     }
 
+    private void printStatistics(JdbcPersistenceService persistenceService, Console console) {
+        StatementCache statementCache = persistenceService.getStatementCache();
+        if (statementCache != null) {
+            long hits = statementCache.getHits();
+            long lookups = hits + statementCache.getMisses();
+            console.println("Statement cache:");
+            console.println(String.format("  Entries:           %d", statementCache.size()));
+            console.println(String.format("  Hits/misses:       %d/%d (%.1f%% hit rate)", hits,
+                    statementCache.getMisses(), lookups == 0 ? 0.0 : 100.0 * hits / lookups));
+        }
+        JdbcBatchWriter batchWriter = persistenceService.getBatchWriter();
+        if (batchWriter == null) {
+            console.println("Batched writes: disabled");
+            return;
+        }
+        console.println("Batched writes: enabled");
+        console.println(String.format("  Queue depth:       %d/%d", batchWriter.getQueueDepth(),
+                batchWriter.getQueueCapacity()));
+        console.println(String.format("  Policy when full:  %s", batchWriter.getBackpressurePolicy()));
+        console.println(String.format("  Dropped values:    %d", batchWriter.getDroppedCount()));
+        console.println(String.format("  Flushed values:    %d in %d flushes", batchWriter.getFlushedCount(),
+                batchWriter.getFlushCount()));
+        console.println(String.format("  Flush time:        %d ms last, %d ms average, %d ms max",
+                batchWriter.getLastFlushTime(), batchWriter.getAverageFlushTime(), batchWriter.getMaxFlushTime()));
+    }
+
     @Override
     public List<String> getUsages() {
         return Arrays.asList(buildCommandUsage(CMD_SCHEMA + " " + SUBCMD_SCHEMA_CHECK, "check schema integrity"),
@@ -261,7 +371,12 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
                 buildCommandUsage(
                         CMD_TABLES + " " + SUBCMD_TABLES_CLEAN + " [<itemName>]" + " [" + PARAMETER_FORCE + "]",
                         "clean inconsistent items (remove from index and drop tables)"),
-                buildCommandUsage(CMD_RELOAD, "reload item index/schema"));
+                buildCommandUsage(CMD_RELOAD, "reload item index/schema"),
+                buildCommandUsage(CMD_STATS, "show statement cache and write queue statistics"),
+                buildCommandUsage(CMD_MIGRATE + " [<itemName>] [" + PARAMETER_DROP + "]",
+                        "copy item tables into the wide table (drop = drop item tables afterwards)"),
+                buildCommandUsage(CMD_AGGREGATE + " <itemName> <min|max|avg|sum|count> [<hours>]",
+                        "let the database aggregate the values of an item (hours = only the last hours)"));
     }
 
     @Override
@@ -278,6 +393,12 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
                 return SUBCMD_TABLES_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
             } else if (CMD_SCHEMA.equalsIgnoreCase(args[0])) {
                 return SUBCMD_SCHEMA_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
+            } else if (CMD_MIGRATE.equalsIgnoreCase(args[0]) || CMD_AGGREGATE.equalsIgnoreCase(args[0])) {
+                JdbcPersistenceService persistenceService = getPersistenceService();
+                if (persistenceService != null) {
+                    return new StringsCompleter(persistenceService.getItemNames(), true).complete(args,
+                            cursorArgumentIndex, cursorPosition, candidates);
+                }
             }
         } else if (cursorArgumentIndex == 2) {
             if (CMD_TABLES.equalsIgnoreCase(args[0])) {
@@ -291,6 +412,8 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
                     new StringsCompleter(List.of(PARAMETER_ALL), false).complete(args, cursorArgumentIndex,
                             cursorPosition, candidates);
                 }
+            } else if (CMD_AGGREGATE.equalsIgnoreCase(args[0])) {
+                return AGGREGATE_FUNCTION_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
             } else if (CMD_SCHEMA.equalsIgnoreCase(args[0])) {
                 if (SUBCMD_SCHEMA_FIX.equalsIgnoreCase(args[1])) {
                     JdbcPersistenceService persistenceService = getPersistenceService();
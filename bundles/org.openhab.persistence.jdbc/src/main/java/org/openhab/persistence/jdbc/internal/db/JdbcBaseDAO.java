@@ -13,11 +13,14 @@
 package org.openhab.persistence.jdbc.internal.db;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -56,12 +59,15 @@ import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.types.State;
 import org.openhab.core.types.TypeParser;
+import org.openhab.persistence.jdbc.internal.AggregateFunction;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.dto.JdbcHistoricItem;
+import org.openhab.persistence.jdbc.internal.dto.PersistEntry;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.openhab.persistence.jdbc.internal.utils.DbMetaData;
+import org.openhab.persistence.jdbc.internal.utils.StatementCache;
 import org.openhab.persistence.jdbc.internal.utils.StringUtilsExt;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -97,6 +103,22 @@ public class JdbcBaseDAO {
     protected String sqlAlterTableColumn = "ALTER TABLE #tableName# MODIFY COLUMN #columnName# #columnType#";
     protected String sqlInsertItemValue = "INSERT INTO #tableName# (time, value) VALUES( #tablePrimaryValue#, ? ) ON DUPLICATE KEY UPDATE VALUE= ?";
     protected String sqlGetRowCount = "SELECT COUNT(*) FROM #tableName#";
+    // Multi-row insert, used for batched writes when set by the database specific DAO. Otherwise, the single row
+    // insert sqlInsertItemValue is executed as a JDBC batch.
+    protected @Nullable String sqlInsertItemValues = null;
+    protected String sqlInsertItemValuesRow = "( ?, ? )";
+    protected int maxRowsPerInsert = 1000;
+    // Placeholder for time filter values, databases not converting string parameters implicitly need a cast
+    protected String sqlTimeFilterParam = "?";
+
+    // Single table for all items, see StorageLayout.WIDE_TABLE. Databases not supporting it set the templates to null.
+    protected String sqlCreateWideTable = "CREATE TABLE IF NOT EXISTS #tableName# (item_id INT NOT NULL, time #tablePrimaryKey# NOT NULL, value_num #numberType#, value_str #stringType#, PRIMARY KEY(item_id, time))";
+    protected String sqlInsertWideValue = "INSERT INTO #tableName# (item_id, time, value_num, value_str) VALUES( ?, ?, ?, ? ) ON DUPLICATE KEY UPDATE value_num=VALUES(value_num), value_str=VALUES(value_str)";
+    // used for value_num unless sqltype.NUMBER is a DECIMAL or NUMERIC type with the precision to use
+    protected String sqlWideNumberType = "DECIMAL(38,10)";
+
+    private static final int STATEMENT_CACHE_SIZE = 10000;
+    protected final StatementCache statementCache = new StatementCache(STATEMENT_CACHE_SIZE);
 
     /********
      * INIT *
@@ -430,9 +452,10 @@ public class JdbcBaseDAO {
 
     public void doStoreItemValue(Item item, State itemState, ItemVO vo) throws JdbcSQLException {
         ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#tablePrimaryValue#" },
-                new String[] { storedVO.getTableName(), sqlTypes.get("tablePrimaryValue") });
+        String sql = statementCache.get(StatementCache.key("insert", storedVO.getTableName()),
+                () -> StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                        new String[] { "#tableName#", "#tablePrimaryValue#" },
+                        new String[] { storedVO.getTableName(), sqlTypes.get("tablePrimaryValue") }));
         Object[] params = { storedVO.getValue(), storedVO.getValue() };
         logger.debug("JDBC::doStoreItemValue sql={} value='{}'", sql, storedVO.getValue());
         try {
@@ -444,8 +467,10 @@ public class JdbcBaseDAO {
 
     public void doStoreItemValue(Item item, State itemState, ItemVO vo, ZonedDateTime date) throws JdbcSQLException {
         ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#tablePrimaryValue#" }, new String[] { storedVO.getTableName(), "?" });
+        String sql = statementCache.get(StatementCache.key("insertAt", storedVO.getTableName()),
+                () -> StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                        new String[] { "#tableName#", "#tablePrimaryValue#" },
+                        new String[] { storedVO.getTableName(), "?" }));
         java.sql.Timestamp timestamp = new java.sql.Timestamp(date.toInstant().toEpochMilli());
         Object[] params = { timestamp, storedVO.getValue(), storedVO.getValue() };
         logger.debug("JDBC::doStoreItemValue sql={} timestamp={} value='{}'", sql, timestamp, storedVO.getValue());
@@ -456,13 +481,73 @@ public class JdbcBaseDAO {
         }
     }
 
+    /**
+     * Stores several values of one item at once. If the DAO provides a multi-row insert statement, values are written
+     * with as few statements as possible, otherwise the single row insert statement is executed as a JDBC batch.
+     *
+     * @param item the item the values belong to
+     * @param vo item value object containing the table name
+     * @param entries values to be stored, at most one per timestamp
+     * @throws JdbcSQLException on SQL errors
+     */
+    public void doStoreItemValues(Item item, ItemVO vo, List<PersistEntry> entries) throws JdbcSQLException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<ItemVO> storedVOs = new ArrayList<>(entries.size());
+        List<java.sql.Timestamp> timestamps = new ArrayList<>(entries.size());
+        for (PersistEntry entry : entries) {
+            storedVOs.add(storeItemValueProvider(item, entry.state(), new ItemVO(vo.getTableName(), null)));
+            timestamps.add(new java.sql.Timestamp(entry.date().toInstant().toEpochMilli()));
+        }
+        String dbType = storedVOs.get(0).getDbType();
+        String sqlInsertItemValues = this.sqlInsertItemValues;
+        try {
+            if (sqlInsertItemValues != null) {
+                String template = sqlInsertItemValues;
+                for (int from = 0; from < storedVOs.size(); from += maxRowsPerInsert) {
+                    int to = Math.min(from + maxRowsPerInsert, storedVOs.size());
+                    int rowCount = to - from;
+                    String sql = statementCache.get(
+                            StatementCache.key("insertRows", vo.getTableName(), dbType, rowCount),
+                            () -> template.replace("#tableName#", vo.getTableName())
+                                    .replace("#valueRows#",
+                                            String.join(",", Collections.nCopies(rowCount, sqlInsertItemValuesRow)))
+                                    .replace("#dbType#", dbType));
+                    List<Object> params = new ArrayList<>(2 * (to - from));
+                    for (int i = from; i < to; i++) {
+                        params.add(timestamps.get(i));
+                        params.add(storedVOs.get(i).getValue());
+                    }
+                    logger.debug("JDBC::doStoreItemValues sql={} rows={}", sql, to - from);
+                    Yank.execute(sql, params.toArray());
+                }
+            } else {
+                // some templates reference the table more than once, so replace all occurrences
+                String sql = statementCache.get(StatementCache.key("insertBatch", vo.getTableName(), dbType),
+                        () -> sqlInsertItemValue.replace("#tableName#", vo.getTableName()).replace("#dbType#", dbType)
+                                .replace("#tablePrimaryValue#", "?"));
+                Object[][] params = new Object[storedVOs.size()][];
+                for (int i = 0; i < storedVOs.size(); i++) {
+                    params[i] = storeItemValueParams(timestamps.get(i), storedVOs.get(i));
+                }
+                logger.debug("JDBC::doStoreItemValues sql={} batchSize={}", sql, params.length);
+                Yank.executeBatch(sql, params);
+            }
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+    }
+
     public List<HistoricItem> doGetHistItemFilterQuery(Item item, FilterCriteria filter, int numberDecimalcount,
             String table, String name, ZoneId timeZone) throws JdbcSQLException {
-        String sql = histItemFilterQueryProvider(filter, numberDecimalcount, table, name, timeZone);
-        logger.debug("JDBC::doGetHistItemFilterQuery sql={}", sql);
+        String sql = statementCache.get(histItemFilterQueryKey(filter, numberDecimalcount, table, name),
+                () -> histItemFilterQueryProvider(filter, numberDecimalcount, table, name));
+        Object[] params = histItemFilterParams(filter, timeZone);
+        logger.debug("JDBC::doGetHistItemFilterQuery sql={} params={}", sql, params);
         List<Object[]> m;
         try {
-            m = Yank.queryObjectArrays(sql, null);
+            m = Yank.queryObjectArrays(sql, params);
         } catch (YankSQLException e) {
             throw new JdbcSQLException(e);
         }
@@ -478,11 +563,59 @@ public class JdbcBaseDAO {
                 .collect(Collectors.<HistoricItem> toList());
     }
 
+    /**
+     * Queries the values of an item lazily, see {@link StreamingHistoricItems}.
+     */
+    public StreamingHistoricItems doGetHistItemFilterQueryStream(Item item, FilterCriteria filter,
+            int numberDecimalcount, String table, String name, ZoneId timeZone, int fetchSize) {
+        String sql = statementCache.get(histItemFilterQueryKey(filter, numberDecimalcount, table, name),
+                () -> histItemFilterQueryProvider(filter, numberDecimalcount, table, name));
+        Object[] params = histItemFilterParams(filter, timeZone);
+        logger.debug("JDBC::doGetHistItemFilterQueryStream sql={} params={} fetchSize={}", sql, params, fetchSize);
+        // we already retrieve the unit here once as it is a very costly operation
+        String itemName = item.getName();
+        Unit<? extends Quantity<?>> unit = item instanceof NumberItem numberItem ? numberItem.getUnit() : null;
+        return new StreamingHistoricItems(Yank.getDefaultConnectionPool(), sql, params, streamingFetchSize(fetchSize),
+                (time, value) -> new JdbcHistoricItem(itemName, objectAsState(item, unit, value),
+                        objectAsZonedDateTime(time)));
+    }
+
+    public @Nullable State doGetAggregate(Item item, FilterCriteria filter, String table, AggregateFunction aggregate,
+            ZoneId timeZone) throws JdbcSQLException {
+        String sql = statementCache.get(
+                StatementCache.key("aggregate", table, aggregate, filter.getBeginDate() != null,
+                        filter.getEndDate() != null),
+                () -> histItemAggregateProvider(filter, table, aggregate));
+        Object[] params = histItemFilterParams(filter, timeZone);
+        logger.debug("JDBC::doGetAggregate sql={} params={}", sql, params);
+        try {
+            return aggregateAsState(item, aggregate, Yank.queryObjectArrays(sql, params));
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+    }
+
+    private @Nullable State aggregateAsState(Item item, AggregateFunction aggregate, @Nullable List<Object[]> m) {
+        // aggregates other than COUNT are NULL if there are no values within the filter window
+        if (m == null || m.isEmpty() || m.get(0).length == 0 || !(m.get(0)[0] instanceof Number value)) {
+            return null;
+        }
+        if (aggregate == AggregateFunction.COUNT) {
+            return new DecimalType(value.longValue());
+        }
+        Unit<? extends Quantity<?>> unit = item instanceof NumberItem numberItem ? numberItem.getUnit() : null;
+        if (unit != null) {
+            return QuantityType.valueOf(value.doubleValue(), unit);
+        }
+        return new DecimalType(value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString()));
+    }
+
     public void doDeleteItemValues(FilterCriteria filter, String table, ZoneId timeZone) throws JdbcSQLException {
-        String sql = histItemFilterDeleteProvider(filter, table, timeZone);
-        logger.debug("JDBC::doDeleteItemValues sql={}", sql);
+        String sql = histItemFilterDeleteProvider(filter, table);
+        Object[] params = histItemFilterParams(filter, timeZone);
+        logger.debug("JDBC::doDeleteItemValues sql={} params={}", sql, params);
         try {
-            Yank.execute(sql, null);
+            Yank.execute(sql, params);
         } catch (YankSQLException e) {
             throw new JdbcSQLException(e);
         }
@@ -500,18 +633,145 @@ public class JdbcBaseDAO {
         }
     }
 
+    /*******************
+     * WIDE TABLE DAOs *
+     *******************/
+
+    /**
+     * @return whether the database supports the wide table layout, checked when the configuration is read
+     */
+    public boolean isWideTableSupported() {
+        return true;
+    }
+
+    public void doCreateWideTableIfNot(String tableName) throws JdbcSQLException {
+        String sql = StringUtilsExt.replaceArrayMerge(sqlCreateWideTable,
+                new String[] { "#tableName#", "#tablePrimaryKey#", "#numberType#", "#stringType#" },
+                new String[] { tableName, sqlTypes.get("tablePrimaryKey"), getWideNumberType(),
+                        sqlTypes.get("STRINGITEM") });
+        logger.debug("JDBC::doCreateWideTableIfNot sql={}", sql);
+        try {
+            Yank.execute(sql, null);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+    }
+
+    public void doStoreWideItemValues(Item item, int itemId, String tableName, List<PersistEntry> entries)
+            throws JdbcSQLException {
+        String sql = statementCache.get(StatementCache.key("insertWide", tableName),
+                () -> sqlInsertWideValue.replace("#tableName#", tableName));
+        Object[][] params = new Object[entries.size()][];
+        for (int i = 0; i < entries.size(); i++) {
+            PersistEntry entry = entries.get(i);
+            params[i] = wideValueParams(itemId, new java.sql.Timestamp(entry.date().toInstant().toEpochMilli()),
+                    wideValue(item, entry.state(), tableName));
+        }
+        logger.debug("JDBC::doStoreWideItemValues sql={} itemId={} batchSize={}", sql, itemId, params.length);
+        try {
+            if (params.length == 1) {
+                Yank.execute(sql, params[0]);
+            } else {
+                Yank.executeBatch(sql, params);
+            }
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+    }
+
+    public List<HistoricItem> doGetWideHistItemFilterQuery(Item item, FilterCriteria filter, int numberDecimalcount,
+            String tableName, int itemId, ZoneId timeZone) throws JdbcSQLException {
+        String sql = wideHistItemFilterQuery(item, filter, tableName);
+        Object[] params = wideFilterParams(itemId, filter, timeZone);
+        logger.debug("JDBC::doGetWideHistItemFilterQuery sql={} params={}", sql, params);
+        List<Object[]> m;
+        try {
+            m = Yank.queryObjectArrays(sql, params);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+        if (m == null) {
+            logger.debug("JDBC::doGetWideHistItemFilterQuery Query failed. Returning an empty list.");
+            return List.of();
+        }
+        String itemName = item.getName();
+        Unit<? extends Quantity<?>> unit = item instanceof NumberItem numberItem ? numberItem.getUnit() : null;
+        return m.stream().map(o -> new JdbcHistoricItem(itemName,
+                wideObjectAsState(item, unit, o[1], numberDecimalcount), objectAsZonedDateTime(o[0])))
+                .collect(Collectors.<HistoricItem> toList());
+    }
+
+    public StreamingHistoricItems doGetWideHistItemFilterQueryStream(Item item, FilterCriteria filter,
+            int numberDecimalcount, String tableName, int itemId, ZoneId timeZone, int fetchSize) {
+        String sql = wideHistItemFilterQuery(item, filter, tableName);
+        Object[] params = wideFilterParams(itemId, filter, timeZone);
+        logger.debug("JDBC::doGetWideHistItemFilterQueryStream sql={} params={} fetchSize={}", sql, params,
+                fetchSize);
+        String itemName = item.getName();
+        Unit<? extends Quantity<?>> unit = item instanceof NumberItem numberItem ? numberItem.getUnit() : null;
+        return new StreamingHistoricItems(Yank.getDefaultConnectionPool(), sql, params, streamingFetchSize(fetchSize),
+                (time, value) -> new JdbcHistoricItem(itemName,
+                        wideObjectAsState(item, unit, value, numberDecimalcount), objectAsZonedDateTime(time)));
+    }
+
+    public @Nullable State doGetWideAggregate(Item item, FilterCriteria filter, String tableName, int itemId,
+            AggregateFunction aggregate, ZoneId timeZone) throws JdbcSQLException {
+        String sql = statementCache.get(
+                StatementCache.key("aggregateWide", tableName, aggregate, filter.getBeginDate() != null,
+                        filter.getEndDate() != null),
+                () -> wideHistItemAggregateProvider(filter, tableName, aggregate));
+        Object[] params = wideFilterParams(itemId, filter, timeZone);
+        logger.debug("JDBC::doGetWideAggregate sql={} params={}", sql, params);
+        try {
+            return aggregateAsState(item, aggregate, Yank.queryObjectArrays(sql, params));
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+    }
+
+    public void doDeleteWideItemValues(FilterCriteria filter, String tableName, int itemId, ZoneId timeZone)
+            throws JdbcSQLException {
+        String sql = "DELETE FROM " + tableName + resolveWideFilter(filter);
+        Object[] params = wideFilterParams(itemId, filter, timeZone);
+        logger.debug("JDBC::doDeleteWideItemValues sql={} params={}", sql, params);
+        try {
+            Yank.execute(sql, params);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+    }
+
+    private String wideHistItemFilterQuery(Item item, FilterCriteria filter, String tableName) {
+        String valueColumn = isNumericItemType(getItemType(item)) ? "value_num" : "value_str";
+        return statementCache.get(
+                StatementCache.key("selectWide", tableName, valueColumn, filter.getBeginDate() != null,
+                        filter.getEndDate() != null, filter.getOrdering(), filter.getPageNumber(),
+                        filter.getPageSize()),
+                () -> wideHistItemFilterQueryProvider(filter, tableName, valueColumn));
+    }
+
     /*************
      * Providers *
      *************/
     static final DateTimeFormatter JDBC_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
+    /**
+     * Provides the key identifying the shape of a filter query in the {@link StatementCache}. All parts of the filter
+     * which are not bound as parameters must be part of the key.
+     */
+    protected String histItemFilterQueryKey(FilterCriteria filter, int numberDecimalcount, String table,
+            String simpleName) {
+        return StatementCache.key("select", table, simpleName, numberDecimalcount, filter.getBeginDate() != null,
+                filter.getEndDate() != null, filter.getOrdering(), filter.getPageNumber(), filter.getPageSize());
+    }
+
     protected String histItemFilterQueryProvider(FilterCriteria filter, int numberDecimalcount, String table,
-            String simpleName, ZoneId timeZone) {
+            String simpleName) {
         logger.debug(
                 "JDBC::getHistItemFilterQueryProvider filter = {}, numberDecimalcount = {}, table = {}, simpleName = {}",
                 filter, numberDecimalcount, table, simpleName);
 
-        String filterString = resolveTimeFilter(filter, timeZone);
+        String filterString = resolveTimeFilter(filter);
         filterString += (filter.getOrdering() == Ordering.ASCENDING) ? " ORDER BY time ASC" : " ORDER BY time DESC";
         if (filter.getPageSize() != Integer.MAX_VALUE) {
             filterString += " LIMIT " + filter.getPageNumber() * filter.getPageSize() + "," + filter.getPageSize();
@@ -528,29 +788,138 @@ public class JdbcBaseDAO {
         return queryString;
     }
 
-    protected String histItemFilterDeleteProvider(FilterCriteria filter, String table, ZoneId timeZone) {
+    protected String histItemAggregateProvider(FilterCriteria filter, String table, AggregateFunction aggregate) {
+        logger.debug("JDBC::histItemAggregateProvider filter = {}, table = {}, aggregate = {}", filter, table,
+                aggregate);
+
+        String expression = aggregate == AggregateFunction.COUNT ? "COUNT(*)" : aggregate.name() + "(value)";
+        return "SELECT " + expression + " FROM " + table + resolveTimeFilter(filter);
+    }
+
+    protected String wideHistItemFilterQueryProvider(FilterCriteria filter, String table, String valueColumn) {
+        logger.debug("JDBC::wideHistItemFilterQueryProvider filter = {}, table = {}, valueColumn = {}", filter, table,
+                valueColumn);
+
+        String queryString = "SELECT time, " + valueColumn + " FROM " + table + resolveWideFilter(filter);
+        queryString += (filter.getOrdering() == Ordering.ASCENDING) ? " ORDER BY time ASC" : " ORDER BY time DESC";
+        if (filter.getPageSize() != Integer.MAX_VALUE) {
+            queryString += " LIMIT " + filter.getPageSize() + " OFFSET "
+                    + filter.getPageNumber() * filter.getPageSize();
+        }
+        logger.debug("JDBC::query queryString = {}", queryString);
+        return queryString;
+    }
+
+    protected String wideHistItemAggregateProvider(FilterCriteria filter, String table, AggregateFunction aggregate) {
+        String expression = aggregate == AggregateFunction.COUNT ? "COUNT(*)" : aggregate.name() + "(value_num)";
+        return "SELECT " + expression + " FROM " + table + resolveWideFilter(filter);
+    }
+
+    protected String resolveWideFilter(FilterCriteria filter) {
+        String filterString = " WHERE item_id=?";
+        if (filter.getBeginDate() != null) {
+            filterString += " AND TIME>=" + sqlTimeFilterParam;
+        }
+        if (filter.getEndDate() != null) {
+            filterString += " AND TIME<=" + sqlTimeFilterParam;
+        }
+        return filterString;
+    }
+
+    /**
+     * Provides the parameters for the placeholders created by {@link #resolveWideFilter(FilterCriteria)}.
+     */
+    protected Object[] wideFilterParams(int itemId, FilterCriteria filter, ZoneId timeZone) {
+        Object[] timeParams = histItemFilterParams(filter, timeZone);
+        Object[] params = new Object[timeParams.length + 1];
+        params[0] = itemId;
+        System.arraycopy(timeParams, 0, params, 1, timeParams.length);
+        return params;
+    }
+
+    /**
+     * Provides the type of the <code>value_num</code> column of the wide table.
+     *
+     * @return <code>sqltype.NUMBER</code> if it is a DECIMAL or NUMERIC type, {@link #sqlWideNumberType} otherwise
+     */
+    protected String getWideNumberType() {
+        String numberType = sqlTypes.get("NUMBERITEM");
+        if (numberType != null
+                && (numberType.toUpperCase().contains("DECIMAL") || numberType.toUpperCase().contains("NUMERIC"))) {
+            return numberType;
+        }
+        return sqlWideNumberType;
+    }
+
+    /**
+     * Provides the value to store in the wide table. The values of number items are taken from the state, so their
+     * digits are not lost by converting them to the <code>sqltype.NUMBER</code> of the item tables.
+     */
+    private @Nullable Object wideValue(Item item, State state, String tableName) {
+        Object value = storeItemValueProvider(item, state, new ItemVO(tableName, null)).getValue();
+        if (item instanceof NumberItem numberItem && value instanceof Number) {
+            Unit<? extends Quantity<?>> unit = numberItem.getUnit();
+            if (state instanceof QuantityType<?> quantityState) {
+                QuantityType<?> convertedState = unit != null && !Units.ONE.equals(unit) ? quantityState.toUnit(unit)
+                        : null;
+                return (convertedState != null ? convertedState : quantityState).toBigDecimal();
+            } else if (state instanceof DecimalType decimalState) {
+                return decimalState.toBigDecimal();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Provides the parameters for inserting a value into the wide table. Numbers are stored as {@link BigDecimal} in
+     * <code>value_num</code>, all other values in <code>value_str</code>.
+     */
+    protected Object[] wideValueParams(int itemId, java.sql.Timestamp timestamp, @Nullable Object value) {
+        if (value instanceof Number number) {
+            BigDecimal decimal = number instanceof BigDecimal bigDecimal ? bigDecimal
+                    : new BigDecimal(number.toString());
+            return new Object[] { itemId, timestamp, decimal, null };
+        }
+        return new Object[] { itemId, timestamp, null, String.valueOf(value) };
+    }
+
+    protected String histItemFilterDeleteProvider(FilterCriteria filter, String table) {
         logger.debug("JDBC::histItemFilterDeleteProvider filter = {}, table = {}", filter, table);
 
-        String filterString = resolveTimeFilter(filter, timeZone);
+        String filterString = resolveTimeFilter(filter);
         String deleteString = filterString.isEmpty() ? "TRUNCATE TABLE " + table
                 : "DELETE FROM " + table + filterString;
         logger.debug("JDBC::delete deleteString = {}", deleteString);
         return deleteString;
     }
 
-    protected String resolveTimeFilter(FilterCriteria filter, ZoneId timeZone) {
+    protected String resolveTimeFilter(FilterCriteria filter) {
         String filterString = "";
+        if (filter.getBeginDate() != null) {
+            filterString += filterString.isEmpty() ? " WHERE" : " AND";
+            filterString += " TIME>=" + sqlTimeFilterParam;
+        }
+        if (filter.getEndDate() != null) {
+            filterString += filterString.isEmpty() ? " WHERE" : " AND";
+            filterString += " TIME<=" + sqlTimeFilterParam;
+        }
+        return filterString;
+    }
+
+    /**
+     * Provides the parameters for the placeholders created by {@link #resolveTimeFilter(FilterCriteria)}.
+     */
+    protected Object[] histItemFilterParams(FilterCriteria filter, ZoneId timeZone) {
+        List<Object> params = new ArrayList<>(2);
         ZonedDateTime beginDate = filter.getBeginDate();
         if (beginDate != null) {
-            filterString += filterString.isEmpty() ? " WHERE" : " AND";
-            filterString += " TIME>='" + JDBC_DATE_FORMAT.format(beginDate.withZoneSameInstant(timeZone)) + "'";
+            params.add(JDBC_DATE_FORMAT.format(beginDate.withZoneSameInstant(timeZone)));
         }
         ZonedDateTime endDate = filter.getEndDate();
         if (endDate != null) {
-            filterString += filterString.isEmpty() ? " WHERE" : " AND";
-            filterString += " TIME<='" + JDBC_DATE_FORMAT.format(endDate.withZoneSameInstant(timeZone)) + "'";
+            params.add(JDBC_DATE_FORMAT.format(endDate.withZoneSameInstant(timeZone)));
         }
-        return filterString;
+        return params.toArray();
     }
 
     private String updateItemTableNamesProvider(ItemVO itemTable) {
@@ -559,6 +928,13 @@ public class JdbcBaseDAO {
         return queryString;
     }
 
+    /**
+     * Provides the parameters for a single row of {@link #sqlInsertItemValue} with an explicit timestamp.
+     */
+    protected Object[] storeItemValueParams(java.sql.Timestamp timestamp, ItemVO storedVO) {
+        return new Object[] { timestamp, storedVO.getValue(), storedVO.getValue() };
+    }
+
     protected ItemVO storeItemValueProvider(Item item, State itemState, ItemVO vo) {
         String itemType = getItemType(item);
 
@@ -657,6 +1033,38 @@ public class JdbcBaseDAO {
     /*****************
      * H E L P E R S *
      *****************/
+
+    /**
+     * Provides the fetch size to use for streaming queries. Drivers needing a special value to stream rows should
+     * override this.
+     */
+    protected int streamingFetchSize(int fetchSize) {
+        return fetchSize;
+    }
+
+    protected boolean isNumericItemType(String itemType) {
+        return "NUMBERITEM".equals(itemType) || "DIMMERITEM".equals(itemType) || "ROLLERSHUTTERITEM".equals(itemType);
+    }
+
+    /**
+     * Converts a value read from the wide table, which stores all numbers as DECIMAL values.
+     */
+    protected State wideObjectAsState(Item item, @Nullable Unit<? extends Quantity<?>> unit, Object v,
+            int numberDecimalcount) {
+        if (v instanceof Number number) {
+            if (item instanceof DimmerItem || item instanceof RollershutterItem) {
+                return new PercentType(number.intValue());
+            }
+            BigDecimal value = number instanceof BigDecimal decimal ? decimal
+                    : BigDecimal.valueOf(number.doubleValue());
+            if (numberDecimalcount > -1) {
+                value = value.setScale(numberDecimalcount, RoundingMode.HALF_UP);
+            }
+            return unit == null ? new DecimalType(value) : QuantityType.valueOf(value.doubleValue(), unit);
+        }
+        return objectAsState(item, unit, v);
+    }
+
     protected State objectAsState(Item item, @Nullable Unit<? extends Quantity<?>> unit, Object v) {
         logger.debug(
                 "JDBC::ItemResultHandler::handleResult getState value = '{}', unit = '{}', getClass = '{}', clazz = '{}'",
@@ -792,6 +1200,10 @@ public class JdbcBaseDAO {
         return sqlTypes;
     }
 
+    public StatementCache getStatementCache() {
+        return statementCache;
+    }
+
     public String getDataType(Item item) {
         String dataType = sqlTypes.get(getItemType(item));
         if (dataType == null) {
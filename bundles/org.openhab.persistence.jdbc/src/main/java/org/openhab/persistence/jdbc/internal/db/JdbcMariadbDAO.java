@@ -49,6 +49,8 @@ public class JdbcMariadbDAO extends JdbcBaseDAO {
 
     private void initSqlQueries() {
         logger.debug("JDBC::initSqlQueries: '{}'", this.getClass().getSimpleName());
+        // Multi-row insert for batched writes, see: https://dev.mysql.com/doc/refman/8.0/en/insert-optimization.html
+        sqlInsertItemValues = "INSERT INTO #tableName# (time, value) VALUES #valueRows# ON DUPLICATE KEY UPDATE VALUE=VALUES(VALUE)";
     }
 
     /**
@@ -53,6 +53,8 @@ public class JdbcMysqlDAO extends JdbcBaseDAO {
 
     private void initSqlQueries() {
         logger.debug("JDBC::initSqlQueries: '{}'", this.getClass().getSimpleName());
+        // Multi-row insert for batched writes, see: https://dev.mysql.com/doc/refman/8.0/en/insert-optimization.html
+        sqlInsertItemValues = "INSERT INTO #tableName# (time, value) VALUES #valueRows# ON DUPLICATE KEY UPDATE VALUE=VALUES(VALUE)";
     }
 
     /**
@@ -124,6 +126,12 @@ public class JdbcMysqlDAO extends JdbcBaseDAO {
      * H E L P E R S *
      *****************/
 
+    @Override
+    protected int streamingFetchSize(int fetchSize) {
+        // Connector/J only streams rows one by one with this special value, all other values read the complete result
+        return Integer.MIN_VALUE;
+    }
+
     /******************************
      * public Getters and Setters *
      ******************************/
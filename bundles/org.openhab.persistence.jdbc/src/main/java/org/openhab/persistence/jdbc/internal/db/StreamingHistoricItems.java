@@ -0,0 +1,279 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.db;
+
+import java.lang.ref.Cleaner;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import javax.sql.DataSource;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcStreamingException;
+
+/**
+ * Lazily evaluated result of a history query.
+ *
+ * Every call to {@link #iterator()} executes the query on its own connection with a forward-only cursor and maps the
+ * rows while they are fetched, so only {@code fetchSize} rows are held in memory at a time. The connection is
+ * returned to the pool as soon as the iteration is completed, fails or {@link StreamingIterator#close()} is called.
+ * An iteration which is not advanced for {@link #DEFAULT_MAX_IDLE_MILLIS} is closed as well, so an abandoned
+ * iterator holds its connection for a bounded time. If it is advanced afterwards, it throws a
+ * {@link JdbcStreamingException}, as it does when the query or fetching the rows fails.
+ *
+ * The {@link QueryListener} is told about every iteration when its connection is released, which is when the query
+ * is done from the perspective of the database.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class StreamingHistoricItems implements Iterable<HistoricItem> {
+
+    /**
+     * Time an iteration may pause before its connection is returned to the pool
+     */
+    public static final long DEFAULT_MAX_IDLE_MILLIS = 30_000;
+
+    /**
+     * Listener for the completion of an iteration.
+     */
+    @FunctionalInterface
+    public interface QueryListener {
+        /**
+         * @param startNanos {@link System#nanoTime()} when the query was executed
+         * @param rows the number of rows fetched
+         */
+        void queryCompleted(long startNanos, int rows);
+    }
+
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final DataSource dataSource;
+    private final String sql;
+    private final Object[] params;
+    private final int fetchSize;
+    private final BiFunction<Object, Object, HistoricItem> rowMapper;
+    private final ScheduledExecutorService scheduler;
+    private final long maxIdleMillis;
+    private volatile @Nullable QueryListener queryListener;
+
+    /**
+     * @param dataSource provides the connection for the query
+     * @param sql query returning the time in the first and the value in the second column
+     * @param params parameters of the query
+     * @param fetchSize number of rows fetched from the database at once
+     * @param rowMapper maps time and value of a row to a {@link HistoricItem}
+     */
+    public StreamingHistoricItems(DataSource dataSource, String sql, Object[] params, int fetchSize,
+            BiFunction<Object, Object, HistoricItem> rowMapper) {
+        this(dataSource, sql, params, fetchSize, rowMapper, ThreadPoolManager.getScheduledPool("jdbc"),
+                DEFAULT_MAX_IDLE_MILLIS);
+    }
+
+    /**
+     * @param scheduler checks whether an iteration has been paused for too long
+     * @param maxIdleMillis time an iteration may pause before its connection is returned to the pool
+     */
+    StreamingHistoricItems(DataSource dataSource, String sql, Object[] params, int fetchSize,
+            BiFunction<Object, Object, HistoricItem> rowMapper, ScheduledExecutorService scheduler,
+            long maxIdleMillis) {
+        this.dataSource = dataSource;
+        this.sql = sql;
+        this.params = params;
+        this.fetchSize = fetchSize;
+        this.rowMapper = rowMapper;
+        this.scheduler = scheduler;
+        this.maxIdleMillis = maxIdleMillis;
+    }
+
+    /**
+     * @param queryListener the listener to notify when an iteration is completed or closed
+     */
+    public void setQueryListener(@Nullable QueryListener queryListener) {
+        this.queryListener = queryListener;
+    }
+
+    /**
+     * Executes the query. The returned iterator should be closed if it is not iterated to its end, so that the
+     * connection is returned to the pool immediately.
+     *
+     * @throws JdbcStreamingException if the query can not be executed
+     */
+    @Override
+    public StreamingIterator iterator() {
+        Cursor cursor = new Cursor(System.nanoTime(), TimeUnit.MILLISECONDS.toNanos(maxIdleMillis));
+        try {
+            Connection connection = dataSource.getConnection();
+            cursor.connection = connection;
+            // some drivers (e.g. PostgreSQL) only use a cursor within a transaction
+            connection.setAutoCommit(false);
+            PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            cursor.statement = statement;
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+            cursor.resultSet = statement.executeQuery();
+        } catch (SQLException e) {
+            cursor.run();
+            throw new JdbcStreamingException("Unable to execute query '" + sql + "'", e);
+        }
+        synchronized (cursor) {
+            // the check can not run before it is known to the cursor, which cancels it when closed
+            cursor.queryListener = queryListener;
+            cursor.idleCheck = scheduler.scheduleWithFixedDelay(cursor::closeIfIdle, maxIdleMillis, maxIdleMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+        return new StreamingIterator(cursor);
+    }
+
+    /**
+     * Iterator over the rows of an open cursor.
+     */
+    public class StreamingIterator implements Iterator<HistoricItem>, AutoCloseable {
+
+        private final Cursor cursor;
+        private final Cleaner.Cleanable cleanable;
+        private @Nullable HistoricItem next;
+        private boolean closed = false;
+
+        private StreamingIterator(Cursor cursor) {
+            this.cursor = cursor;
+            // the cleaning action must not reference the iterator, otherwise it never becomes unreachable
+            this.cleanable = CLEANER.register(this, cursor);
+        }
+
+        /**
+         * @throws JdbcStreamingException if the rows can not be fetched or the iteration has been paused too long
+         */
+        @Override
+        public boolean hasNext() {
+            if (next == null && !closed) {
+                next = fetchNext();
+            }
+            return next != null;
+        }
+
+        @Override
+        public HistoricItem next() {
+            HistoricItem item = hasNext() ? next : null;
+            if (item == null) {
+                throw new NoSuchElementException();
+            }
+            next = null;
+            return item;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            cleanable.clean();
+        }
+
+        private @Nullable HistoricItem fetchNext() {
+            try {
+                synchronized (cursor) {
+                    ResultSet resultSet = cursor.resultSet;
+                    if (resultSet == null && cursor.timedOut) {
+                        throw new JdbcStreamingException("Iteration of query '" + sql + "' paused for more than "
+                                + maxIdleMillis + " ms, its connection has been returned to the pool");
+                    }
+                    if (resultSet != null && resultSet.next()) {
+                        cursor.rows++;
+                        cursor.lastUsedNanos = System.nanoTime();
+                        return rowMapper.apply(resultSet.getObject(1), resultSet.getObject(2));
+                    }
+                }
+            } catch (SQLException e) {
+                close();
+                throw new JdbcStreamingException("Unable to fetch rows of query '" + sql + "'", e);
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+            close();
+            return null;
+        }
+    }
+
+    /**
+     * Holds the JDBC resources of an iteration and closes them when run.
+     */
+    private static class Cursor implements Runnable {
+        private final long startNanos;
+        private final long maxIdleNanos;
+        private @Nullable Connection connection;
+        private @Nullable PreparedStatement statement;
+        private @Nullable ResultSet resultSet;
+        private @Nullable QueryListener queryListener;
+        private @Nullable ScheduledFuture<?> idleCheck;
+        private long lastUsedNanos;
+        private boolean timedOut;
+        private int rows;
+
+        private Cursor(long startNanos, long maxIdleNanos) {
+            this.startNanos = startNanos;
+            this.maxIdleNanos = maxIdleNanos;
+            this.lastUsedNanos = startNanos;
+        }
+
+        private synchronized void closeIfIdle() {
+            if (resultSet != null && System.nanoTime() - lastUsedNanos >= maxIdleNanos) {
+                timedOut = true;
+                run();
+            }
+        }
+
+        @Override
+        public synchronized void run() {
+            ScheduledFuture<?> idleCheck = this.idleCheck;
+            this.idleCheck = null;
+            if (idleCheck != null) {
+                idleCheck.cancel(false);
+            }
+            closeQuietly(resultSet);
+            closeQuietly(statement);
+            closeQuietly(connection);
+            resultSet = null;
+            statement = null;
+            connection = null;
+            QueryListener queryListener = this.queryListener;
+            this.queryListener = null;
+            if (queryListener != null) {
+                queryListener.queryCompleted(startNanos, rows);
+            }
+        }
+
+        private static void closeQuietly(@Nullable AutoCloseable closeable) {
+            if (closeable != null) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    // nothing to do, resource is discarded anyway
+                }
+            }
+        }
+    }
+}
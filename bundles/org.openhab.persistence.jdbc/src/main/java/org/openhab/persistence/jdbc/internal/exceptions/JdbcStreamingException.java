@@ -0,0 +1,34 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.exceptions;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Thrown while iterating a streamed query result, when the rows can not be fetched completely.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcStreamingException extends RuntimeException {
+
+    private static final long serialVersionUID = 6373985103573582441L;
+
+    public JdbcStreamingException(String message) {
+        super(message);
+    }
+
+    public JdbcStreamingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Bounded LRU cache of generated SQL statements, keyed by table and query shape.
+ *
+ * Since filter values are bound as parameters, the SQL text for a given table and shape never changes. This avoids
+ * rebuilding it for every store or query, and allows the JDBC drivers to reuse their per-connection prepared
+ * statements.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class StatementCache {
+
+    private final Map<String, String> cache;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public StatementCache(int maxSize) {
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Creates a cache key from the given parts.
+     */
+    public static String key(Object... parts) {
+        StringBuilder key = new StringBuilder();
+        for (Object part : parts) {
+            key.append(part).append('|');
+        }
+        return key.toString();
+    }
+
+    /**
+     * Returns the cached SQL for the key, or generates and caches it.
+     *
+     * @param key cache key, see {@link #key(Object...)}
+     * @param sqlProvider generates the SQL on cache miss
+     * @return SQL statement
+     */
+    public String get(String key, Supplier<String> sqlProvider) {
+        synchronized (cache) {
+            String sql = cache.get(key);
+            if (sql != null) {
+                hits.incrementAndGet();
+                return sql;
+            }
+        }
+        misses.incrementAndGet();
+        String sql = sqlProvider.get();
+        synchronized (cache) {
+            cache.put(key, sql);
+        }
+        return sql;
+    }
+
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+}
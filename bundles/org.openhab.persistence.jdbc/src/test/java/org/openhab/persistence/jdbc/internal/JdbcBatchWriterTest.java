@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.persistence.jdbc.internal.dto.PersistEntry;
+
+/**
+ * Tests the {@link JdbcBatchWriter}.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcBatchWriterTest {
+
+    private final NumberItem item = new NumberItem("TestItem");
+    private final List<List<PersistEntry>> flushedBatches = new ArrayList<>();
+    private @NonNullByDefault({}) JdbcConfiguration conf;
+    private @NonNullByDefault({}) ScheduledExecutorService scheduler;
+
+    @BeforeEach
+    void setup() {
+        conf = mock(JdbcConfiguration.class);
+        when(conf.getBatchSize()).thenReturn(2);
+        when(conf.getBatchInterval()).thenReturn(1000L);
+        when(conf.getQueueSize()).thenReturn(3);
+        when(conf.getBackpressurePolicy()).thenReturn(BackpressurePolicy.DROP_NEWEST);
+        scheduler = mock(ScheduledExecutorService.class);
+        flushedBatches.clear();
+    }
+
+    private JdbcBatchWriter createWriter() {
+        return new JdbcBatchWriter(conf, scheduler, batch -> flushedBatches.add(new ArrayList<>(batch)));
+    }
+
+    private PersistEntry entry(int value) {
+        return new PersistEntry(item, new DecimalType(value), ZonedDateTime.now().plusSeconds(value));
+    }
+
+    @Test
+    void flushHandsOverValuesInBatchesOfBatchSize() {
+        when(conf.getQueueSize()).thenReturn(10);
+        JdbcBatchWriter writer = createWriter();
+        for (int i = 0; i < 5; i++) {
+            writer.enqueue(entry(i));
+        }
+
+        writer.flush();
+
+        assertThat(flushedBatches.size(), is(3));
+        assertThat(flushedBatches.get(0).size(), is(2));
+        assertThat(flushedBatches.get(2).size(), is(1));
+        assertThat(writer.getFlushedCount(), is(5L));
+        assertThat(writer.getQueueDepth(), is(0));
+    }
+
+    @Test
+    void enqueueSchedulesFlushWhenBatchSizeIsReached() {
+        JdbcBatchWriter writer = createWriter();
+
+        writer.enqueue(entry(1));
+        verify(scheduler, never()).execute(any());
+
+        writer.enqueue(entry(2));
+        writer.enqueue(entry(3));
+        verify(scheduler, times(1)).execute(any());
+    }
+
+    @Test
+    void dropNewestDiscardsNewValueWhenQueueIsFull() {
+        JdbcBatchWriter writer = createWriter();
+        for (int i = 0; i < 3; i++) {
+            assertThat(writer.enqueue(entry(i)), is(true));
+        }
+
+        assertThat(writer.enqueue(entry(3)), is(false));
+        assertThat(writer.getDroppedCount(), is(1L));
+
+        writer.flush();
+        assertThat(flushedBatches.get(0).get(0).state(), is(new DecimalType(0)));
+    }
+
+    @Test
+    void dropOldestDiscardsOldestValueWhenQueueIsFull() {
+        when(conf.getBackpressurePolicy()).thenReturn(BackpressurePolicy.DROP_OLDEST);
+        JdbcBatchWriter writer = createWriter();
+        for (int i = 0; i < 4; i++) {
+            assertThat(writer.enqueue(entry(i)), is(true));
+        }
+
+        assertThat(writer.getDroppedCount(), is(1L));
+        assertThat(writer.getQueueDepth(), is(3));
+
+        writer.flush();
+        assertThat(flushedBatches.get(0).get(0).state(), is(new DecimalType(1)));
+    }
+}
@@ -101,6 +101,23 @@ public class NamingStrategyTest {
         assertThat(namingStrategy.getTableName(12345, "Test"), is("Item12345"));
     }
 
+    @Test
+    public void getLegacyTableNameWhenCaseSensitiveNamesAreIgnoredForWideTableIsItemName() {
+        Mockito.doReturn(true).when(configurationMock).getLegacyTableUseRealCaseSensitiveItemNames();
+        Mockito.doReturn(true).when(configurationMock).getTableUseRealItemNames();
+        Mockito.doReturn(false).when(configurationMock).getTableCaseSensitiveItemNames();
+        assertThat(namingStrategy.getLegacyTableName(1, "Camel"), is("Camel"));
+    }
+
+    @Test
+    public void getLegacyTableNameWhenNotCaseSensitiveIsTableName() {
+        Mockito.doReturn(false).when(configurationMock).getLegacyTableUseRealCaseSensitiveItemNames();
+        Mockito.doReturn(true).when(configurationMock).getTableUseRealItemNames();
+        Mockito.doReturn(false).when(configurationMock).getTableCaseSensitiveItemNames();
+        Mockito.doReturn(4).when(configurationMock).getTableIdDigitCount();
+        assertThat(namingStrategy.getLegacyTableName(1, "Camel"), is("camel_0001"));
+    }
+
     @Test
     public void prepareMigrationFromNumberedToRealNames() {
         final int itemId = 1;
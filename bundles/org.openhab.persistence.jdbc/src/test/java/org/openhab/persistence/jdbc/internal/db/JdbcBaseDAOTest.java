@@ -18,12 +18,12 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Objects;
 import java.util.stream.Stream;
 
 import javax.measure.Quantity;
@@ -66,6 +66,7 @@ import org.openhab.core.library.unit.SIUnits;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.AggregateFunction;
 
 /**
  * Tests the {@link JdbcBaseDAO}.
@@ -162,7 +163,7 @@ public class JdbcBaseDAOTest {
 
     @Test
     void testHistItemFilterQueryProviderReturnsSelectQueryWithoutWhereClauseDescendingOrder() {
-        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST", UTC_ZONE_ID);
+        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST");
         assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " ORDER BY time DESC"));
     }
 
@@ -170,7 +171,7 @@ public class JdbcBaseDAOTest {
     void testHistItemFilterQueryProviderReturnsSelectQueryWithoutWhereClauseAscendingOrder() {
         filter.setOrdering(Ordering.ASCENDING);
 
-        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST", UTC_ZONE_ID);
+        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST");
         assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " ORDER BY time ASC"));
     }
 
@@ -179,24 +180,22 @@ public class JdbcBaseDAOTest {
         filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
         filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
 
-        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST", UTC_ZONE_ID);
-        assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " WHERE TIME>='" //
-                + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getBeginDate())) + "'" //
-                + " AND TIME<='" + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getEndDate()))
-                + "' ORDER BY time DESC"));
+        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST");
+        assertThat(sql,
+                is("SELECT time, value FROM " + DB_TABLE_NAME + " WHERE TIME>=? AND TIME<=? ORDER BY time DESC"));
     }
 
     @Test
     void testHistItemFilterQueryProviderReturnsSelectQueryWithoutWhereClauseDescendingOrderAndLimit() {
         filter.setPageSize(1);
 
-        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST", UTC_ZONE_ID);
+        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST");
         assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " ORDER BY time DESC LIMIT 0,1"));
     }
 
     @Test
     void testHistItemFilterDeleteProviderReturnsDeleteQueryWithoutWhereClause() {
-        String sql = jdbcBaseDAO.histItemFilterDeleteProvider(filter, DB_TABLE_NAME, UTC_ZONE_ID);
+        String sql = jdbcBaseDAO.histItemFilterDeleteProvider(filter, DB_TABLE_NAME);
         assertThat(sql, is("TRUNCATE TABLE " + DB_TABLE_NAME));
     }
 
@@ -205,16 +204,28 @@ public class JdbcBaseDAOTest {
         filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
         filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
 
-        String sql = jdbcBaseDAO.histItemFilterDeleteProvider(filter, DB_TABLE_NAME, UTC_ZONE_ID);
-        assertThat(sql, is("DELETE FROM " + DB_TABLE_NAME + " WHERE TIME>='" //
-                + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getBeginDate())) + "'" //
-                + " AND TIME<='" + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getEndDate()))
-                + "'"));
+        String sql = jdbcBaseDAO.histItemFilterDeleteProvider(filter, DB_TABLE_NAME);
+        assertThat(sql, is("DELETE FROM " + DB_TABLE_NAME + " WHERE TIME>=? AND TIME<=?"));
+    }
+
+    @Test
+    void testHistItemAggregateProviderWithoutDatesReturnsAggregateOverTable() {
+        String sql = jdbcBaseDAO.histItemAggregateProvider(filter, DB_TABLE_NAME, AggregateFunction.MAX);
+        assertThat(sql, is("SELECT MAX(value) FROM " + DB_TABLE_NAME));
+    }
+
+    @Test
+    void testHistItemAggregateProviderWithStartAndEndDateReturnsAggregateWithWhereClause() {
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+        filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
+
+        String sql = jdbcBaseDAO.histItemAggregateProvider(filter, DB_TABLE_NAME, AggregateFunction.COUNT);
+        assertThat(sql, is("SELECT COUNT(*) FROM " + DB_TABLE_NAME + " WHERE TIME>=? AND TIME<=?"));
     }
 
     @Test
     void testResolveTimeFilterWithNoDatesReturnsEmptyString() {
-        String sql = jdbcBaseDAO.resolveTimeFilter(filter, UTC_ZONE_ID);
+        String sql = jdbcBaseDAO.resolveTimeFilter(filter);
         assertThat(sql, is(""));
     }
 
@@ -222,18 +233,16 @@ public class JdbcBaseDAOTest {
     void testResolveTimeFilterWithStartDateOnlyReturnsWhereClause() {
         filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
 
-        String sql = jdbcBaseDAO.resolveTimeFilter(filter, UTC_ZONE_ID);
-        assertThat(sql, is(" WHERE TIME>='"
-                + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getBeginDate())) + "'"));
+        String sql = jdbcBaseDAO.resolveTimeFilter(filter);
+        assertThat(sql, is(" WHERE TIME>=?"));
     }
 
     @Test
     void testResolveTimeFilterWithEndDateOnlyReturnsWhereClause() {
         filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
 
-        String sql = jdbcBaseDAO.resolveTimeFilter(filter, UTC_ZONE_ID);
-        assertThat(sql, is(" WHERE TIME<='"
-                + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getEndDate())) + "'"));
+        String sql = jdbcBaseDAO.resolveTimeFilter(filter);
+        assertThat(sql, is(" WHERE TIME<=?"));
     }
 
     @Test
@@ -241,12 +250,84 @@ public class JdbcBaseDAOTest {
         filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
         filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
 
-        String sql = jdbcBaseDAO.resolveTimeFilter(filter, UTC_ZONE_ID);
-        assertThat(sql,
-                is(" WHERE TIME>='" + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getBeginDate()))
-                        + "'" //
-                        + " AND TIME<='"
-                        + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getEndDate())) + "'"));
+        String sql = jdbcBaseDAO.resolveTimeFilter(filter);
+        assertThat(sql, is(" WHERE TIME>=? AND TIME<=?"));
+    }
+
+    @Test
+    void testHistItemFilterParamsWithNoDatesReturnsEmptyArray() {
+        Object[] params = jdbcBaseDAO.histItemFilterParams(filter, UTC_ZONE_ID);
+        assertThat(params.length, is(0));
+    }
+
+    @Test
+    void testHistItemFilterParamsWithStartAndEndDateReturnsFormattedDates() {
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+        filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
+
+        Object[] params = jdbcBaseDAO.histItemFilterParams(filter, ZoneId.of("Europe/Berlin"));
+        assertThat(params, is(new Object[] { "2022-01-10 16:01:44", "2022-01-15 16:01:44" }));
+    }
+
+    @Test
+    void testHistItemFilterQueryKeyDiffersByFilterShape() {
+        String key = jdbcBaseDAO.histItemFilterQueryKey(filter, 0, DB_TABLE_NAME, "TEST");
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+        assertThat(jdbcBaseDAO.histItemFilterQueryKey(filter, 0, DB_TABLE_NAME, "TEST").equals(key), is(false));
+
+        String keyWithBegin = jdbcBaseDAO.histItemFilterQueryKey(filter, 0, DB_TABLE_NAME, "TEST");
+        filter.setBeginDate(parseDateTimeString("2023-05-01T00:00:00"));
+        assertThat(jdbcBaseDAO.histItemFilterQueryKey(filter, 0, DB_TABLE_NAME, "TEST"), is(keyWithBegin));
+    }
+
+    @Test
+    void testWideHistItemFilterQueryProviderWithoutDatesFiltersByItemId() {
+        String sql = jdbcBaseDAO.wideHistItemFilterQueryProvider(filter, "item_values", "value_num");
+        assertThat(sql, is("SELECT time, value_num FROM item_values WHERE item_id=? ORDER BY time DESC"));
+    }
+
+    @Test
+    void testWideHistItemFilterQueryProviderWithStartDateAndPageReturnsLimitAndOffset() {
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+        filter.setOrdering(Ordering.ASCENDING);
+        filter.setPageNumber(2);
+        filter.setPageSize(10);
+
+        String sql = jdbcBaseDAO.wideHistItemFilterQueryProvider(filter, "item_values", "value_str");
+        assertThat(sql, is(
+                "SELECT time, value_str FROM item_values WHERE item_id=? AND TIME>=? ORDER BY time ASC LIMIT 10 OFFSET 20"));
+    }
+
+    @Test
+    void testWideHistItemAggregateProviderUsesNumericColumn() {
+        String sql = jdbcBaseDAO.wideHistItemAggregateProvider(filter, "item_values", AggregateFunction.AVG);
+        assertThat(sql, is("SELECT AVG(value_num) FROM item_values WHERE item_id=?"));
+    }
+
+    @Test
+    void testWideFilterParamsStartWithItemId() {
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+        filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
+
+        Object[] params = jdbcBaseDAO.wideFilterParams(42, filter, UTC_ZONE_ID);
+        assertThat(params, is(new Object[] { 42, "2022-01-10 15:01:44", "2022-01-15 15:01:44" }));
+    }
+
+    @Test
+    void testWideValueParamsStoresNumbersAndStringsInSeparateColumns() {
+        java.sql.Timestamp timestamp = new java.sql.Timestamp(0);
+
+        assertThat(jdbcBaseDAO.wideValueParams(1, timestamp, 23),
+                is(new Object[] { 1, timestamp, new BigDecimal("23"), null }));
+        assertThat(jdbcBaseDAO.wideValueParams(1, timestamp, "ON"), is(new Object[] { 1, timestamp, null, "ON" }));
+    }
+
+    @Test
+    void testWideNumberTypeUsesConfiguredDecimalPrecision() {
+        assertThat(jdbcBaseDAO.getWideNumberType(), is("DECIMAL(38,10)"));
+
+        jdbcBaseDAO.sqlTypes.put("NUMBERITEM", "NUMERIC(20,4)");
+        assertThat(jdbcBaseDAO.getWideNumberType(), is("NUMERIC(20,4)"));
     }
 
     private ZonedDateTime parseDateTimeString(String dts) {
@@ -0,0 +1,217 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.db;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.persistence.jdbc.internal.dto.JdbcHistoricItem;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcStreamingException;
+
+/**
+ * Tests the {@link StreamingHistoricItems}.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class StreamingHistoricItemsTest {
+
+    private static final String SQL = "SELECT time, value FROM item0001 WHERE TIME>=? ORDER BY time ASC";
+    private static final ZonedDateTime TIME = ZonedDateTime.parse("2024-01-01T00:00:00Z");
+
+    private @NonNullByDefault({}) DataSource dataSource;
+    private @NonNullByDefault({}) Connection connection;
+    private @NonNullByDefault({}) PreparedStatement statement;
+    private @NonNullByDefault({}) ResultSet resultSet;
+    private @NonNullByDefault({}) ScheduledExecutorService scheduler;
+    private @NonNullByDefault({}) ScheduledFuture<?> idleCheck;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        scheduler = mock(ScheduledExecutorService.class);
+        idleCheck = mock(ScheduledFuture.class);
+        when(scheduler.scheduleWithFixedDelay(any(), anyLong(), anyLong(), any())).thenAnswer(i -> idleCheck);
+        dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        statement = mock(PreparedStatement.class);
+        resultSet = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getObject(1)).thenReturn(TIME, TIME.plusMinutes(1));
+        when(resultSet.getObject(2)).thenReturn(1, 2);
+    }
+
+    private StreamingHistoricItems createItems() {
+        return createItems(StreamingHistoricItems.DEFAULT_MAX_IDLE_MILLIS);
+    }
+
+    private StreamingHistoricItems createItems(long maxIdleMillis) {
+        return new StreamingHistoricItems(dataSource, SQL, new Object[] { "2024-01-01 00:00:00" }, 500,
+                (time, value) -> new JdbcHistoricItem("Test", new DecimalType((Integer) value), (ZonedDateTime) time),
+                scheduler, maxIdleMillis);
+    }
+
+    @Test
+    void queryIsNotExecutedBeforeIteration() throws SQLException {
+        createItems();
+
+        verify(dataSource, never()).getConnection();
+    }
+
+    @Test
+    void iteratorUsesForwardOnlyCursorWithFetchSize() throws SQLException {
+        createItems().iterator();
+
+        verify(connection).prepareStatement(SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        verify(statement).setFetchSize(500);
+        verify(statement).setObject(1, "2024-01-01 00:00:00");
+    }
+
+    @Test
+    void rowsAreMappedWhileIteratingAndResourcesClosedAtEnd() throws SQLException {
+        Iterator<HistoricItem> iterator = createItems().iterator();
+
+        assertThat(iterator.next().getState(), is(new DecimalType(1)));
+        verify(resultSet, times(1)).next();
+        assertThat(iterator.next().getTimestamp(), is(TIME.plusMinutes(1)));
+        verify(connection, never()).close();
+
+        assertThat(iterator.hasNext(), is(false));
+        verify(resultSet).close();
+        verify(statement).close();
+        verify(connection).close();
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    void closeReleasesConnectionOfAbandonedIteration() throws SQLException {
+        Iterator<HistoricItem> iterator = createItems().iterator();
+        iterator.next();
+
+        ((StreamingHistoricItems.StreamingIterator) iterator).close();
+
+        verify(connection).close();
+        assertThat(iterator.hasNext(), is(false));
+    }
+
+    @Test
+    void listenerIsNotifiedOnceWhenIterationIsCompleted() {
+        List<Integer> completedRows = new ArrayList<>();
+        StreamingHistoricItems items = createItems();
+        items.setQueryListener((startNanos, rows) -> completedRows.add(rows));
+
+        Iterator<HistoricItem> iterator = items.iterator();
+        iterator.next();
+        assertThat(completedRows.isEmpty(), is(true));
+        iterator.next();
+        assertThat(iterator.hasNext(), is(false));
+        ((StreamingHistoricItems.StreamingIterator) iterator).close();
+
+        assertThat(completedRows, is(List.of(2)));
+    }
+
+    @Test
+    void listenerIsNotifiedWhenIterationIsClosedEarly() {
+        List<Integer> completedRows = new ArrayList<>();
+        StreamingHistoricItems items = createItems();
+        items.setQueryListener((startNanos, rows) -> completedRows.add(rows));
+
+        Iterator<HistoricItem> iterator = items.iterator();
+        iterator.next();
+        ((StreamingHistoricItems.StreamingIterator) iterator).close();
+
+        assertThat(completedRows, is(List.of(1)));
+    }
+
+    @Test
+    void failingQueryThrowsAndReleasesConnection() throws SQLException {
+        when(statement.executeQuery()).thenThrow(new SQLException("failed"));
+
+        assertThrows(JdbcStreamingException.class, () -> createItems().iterator());
+        verify(connection).close();
+        verify(scheduler, never()).scheduleWithFixedDelay(any(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void failingFetchThrowsAndReleasesConnection() throws SQLException {
+        when(resultSet.next()).thenReturn(true).thenThrow(new SQLException("connection lost"));
+
+        Iterator<HistoricItem> iterator = createItems().iterator();
+        iterator.next();
+
+        assertThrows(JdbcStreamingException.class, iterator::hasNext);
+        verify(connection).close();
+        verify(idleCheck).cancel(false);
+    }
+
+    @Test
+    void pausedIterationIsClosedAndThrows() throws SQLException {
+        Iterator<HistoricItem> iterator = createItems(0).iterator();
+        iterator.next();
+        ArgumentCaptor<Runnable> check = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).scheduleWithFixedDelay(check.capture(), eq(0L), eq(0L), eq(TimeUnit.MILLISECONDS));
+
+        check.getValue().run();
+
+        verify(connection).close();
+        verify(idleCheck).cancel(false);
+        assertThrows(JdbcStreamingException.class, iterator::hasNext);
+    }
+
+    @Test
+    void activeIterationIsNotClosed() throws SQLException {
+        Iterator<HistoricItem> iterator = createItems().iterator();
+        iterator.next();
+        ArgumentCaptor<Runnable> check = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).scheduleWithFixedDelay(check.capture(), anyLong(), anyLong(), any());
+
+        check.getValue().run();
+
+        verify(connection, never()).close();
+        assertThat(iterator.next().getState(), is(new DecimalType(2)));
+    }
+}
@@ -28,6 +28,7 @@ import javax.persistence.Query;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.config.core.ConfigurableService;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
@@ -39,6 +40,8 @@ import org.openhab.core.persistence.PersistenceService;
 import org.openhab.core.persistence.QueryablePersistenceService;
 import org.openhab.core.persistence.strategy.PersistenceStrategy;
 import org.openhab.core.types.UnDefType;
+import org.openhab.io.metrics.addon.internal.MicrometerPersistenceServiceMetrics;
+import org.openhab.io.metrics.addon.internal.PersistenceServiceMetrics;
 import org.openhab.persistence.jpa.internal.model.JpaPersistentItem;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.Constants;
@@ -46,6 +49,8 @@ import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -75,6 +80,8 @@ public class JpaPersistenceService implements QueryablePersistenceService {
 
     private boolean initialized;
 
+    private volatile PersistenceServiceMetrics metrics = PersistenceServiceMetrics.NOOP;
+
     @Activate
     public JpaPersistenceService(BundleContext context, Map<String, @Nullable Object> properties,
             final @Reference ItemRegistry itemRegistry) {
@@ -156,6 +163,8 @@ public class JpaPersistenceService implements QueryablePersistenceService {
         pItem.setRealName(item.getName());
         pItem.setTimestamp(new Date());
 
+        long start = System.nanoTime();
+        int failed = 0;
         EntityManager em = getEntityManagerFactory().createEntityManager();
         try {
             logger.debug("Persisting item...");
@@ -171,11 +180,13 @@ public class JpaPersistenceService implements QueryablePersistenceService {
                 logger.debug("Failed to persist item {} because of duplicate timestamp", name);
             } else {
                 logger.error("Error while persisting item! Rolling back!", e);
+                failed = 1;
             }
             em.getTransaction().rollback();
         } finally {
             em.close();
         }
+        metrics.recordStore(start, failed);
 
         logger.debug("Storing item...done");
     }
@@ -228,6 +239,7 @@ public class JpaPersistenceService implements QueryablePersistenceService {
 
         logger.debug("The query: {}", queryString);
 
+        long start = System.nanoTime();
         EntityManager em = getEntityManagerFactory().createEntityManager();
         try {
             // In RESOURCE_LOCAL calls to EntityManager require a begin/commit
@@ -256,6 +268,7 @@ public class JpaPersistenceService implements QueryablePersistenceService {
             logger.debug("Convert to HistoricItem: {}", historicList.size());
 
             em.getTransaction().commit();
+            metrics.recordQuery(start, historicList.size());
 
             return historicList;
         } catch (Exception e) {
@@ -343,6 +356,16 @@ public class JpaPersistenceService implements QueryablePersistenceService {
         return null;
     }
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    public void setMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics = new MicrometerPersistenceServiceMetrics(meterRegistryProvider.getOHMeterRegistry(), SERVICE_ID);
+    }
+
+    public void unsetMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics.close();
+        metrics = PersistenceServiceMetrics.NOOP;
+    }
+
     @Override
     public List<PersistenceStrategy> getDefaultStrategies() {
         return List.of();
@@ -0,0 +1,224 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DateTimeType;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.PlayPauseType;
+import org.openhab.core.library.types.PointType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.RawType;
+import org.openhab.core.library.types.RewindFastforwardType;
+import org.openhab.core.library.types.StringListType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.types.UpDownType;
+import org.openhab.core.library.unit.Units;
+import org.openhab.core.types.State;
+import org.openhab.core.types.TypeParser;
+import org.openhab.core.types.util.UnitUtils;
+
+/**
+ * The {@link BinaryItemSerializer} stores a {@link MapDbItem} in a compact binary format.
+ *
+ * The format consists of a version byte, the timestamp in milliseconds, a type byte and the value of the state. Common
+ * state types are identified by their index in {@link #TYPES}, other types by their class name. Numbers, percentages
+ * and quantities are stored as the scale and unscaled value of their decimal value, followed by the unit of a
+ * quantity; all other states are stored as their full string representation. The item name is not included, it is
+ * the key of the stored value.
+ *
+ * Values of version 1, which stored all states as strings, can still be read.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class BinaryItemSerializer {
+
+    private static final byte VERSION = 2;
+    private static final byte VERSION_TEXT = 1;
+    private static final byte TYPE_BY_NAME = 0;
+
+    // the index + 1 is stored, only append new types
+    private static final List<Class<? extends State>> TYPES = List.of(DecimalType.class, QuantityType.class,
+            OnOffType.class, OpenClosedType.class, PercentType.class, HSBType.class, StringType.class,
+            DateTimeType.class, UpDownType.class, PlayPauseType.class, RewindFastforwardType.class, PointType.class,
+            StringListType.class, RawType.class);
+
+    private BinaryItemSerializer() {
+        // prevent instantiation
+    }
+
+    public static byte[] serialize(MapDbItem item) throws IOException {
+        State state = item.getState();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeLong(item.getTimestamp().toInstant().toEpochMilli());
+            int index = TYPES.indexOf(state.getClass());
+            boolean numeric = isNumeric(state.getClass());
+            if (index >= 0 && numeric && canWriteDecimal(toBigDecimal(state))) {
+                out.writeByte(index + 1);
+                writeDecimal(out, toBigDecimal(state));
+                if (state instanceof QuantityType<?> quantity) {
+                    Unit<?> unit = quantity.getUnit();
+                    out.writeUTF(Units.ONE.equals(unit) ? "" : unit.toString());
+                }
+            } else if (index >= 0 && !numeric) {
+                out.writeByte(index + 1);
+                writeString(out, state.toFullString());
+            } else {
+                // numbers out of the range of the binary format are stored as string by name, like unknown types
+                out.writeByte(TYPE_BY_NAME);
+                writeString(out, state.getClass().getName());
+                writeString(out, state.toFullString());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return the item, or <code>null</code> if the state type is unknown or the value cannot be parsed
+     * @throws IOException if the data is not in the expected format
+     */
+    public static @Nullable MapDbItem deserialize(String name, byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            if (version != VERSION && version != VERSION_TEXT) {
+                throw new IOException("Unsupported format version " + version);
+            }
+            long timestamp = in.readLong();
+            int type = in.readUnsignedByte();
+            Class<? extends State> stateType;
+            if (type == TYPE_BY_NAME) {
+                stateType = getStateType(readString(in));
+            } else if (type <= TYPES.size()) {
+                stateType = TYPES.get(type - 1);
+            } else {
+                throw new IOException("Unknown state type " + type);
+            }
+            State state;
+            if (version != VERSION_TEXT && type != TYPE_BY_NAME && isNumeric(stateType)) {
+                state = readNumber(in, stateType);
+            } else {
+                String value = readString(in);
+                state = stateType == null ? null : TypeParser.parseState(List.of(stateType), value);
+            }
+            if (state == null) {
+                return null;
+            }
+
+            MapDbItem item = new MapDbItem();
+            item.setName(name);
+            item.setState(state);
+            item.setTimestamp(new Date(timestamp));
+            return item;
+        }
+    }
+
+    private static boolean isNumeric(@Nullable Class<? extends State> type) {
+        return type == DecimalType.class || type == PercentType.class || type == QuantityType.class;
+    }
+
+    private static BigDecimal toBigDecimal(State state) {
+        return state instanceof QuantityType<?> quantity ? quantity.toBigDecimal()
+                : ((DecimalType) state).toBigDecimal();
+    }
+
+    private static @Nullable State readNumber(DataInputStream in, @Nullable Class<? extends State> type)
+            throws IOException {
+        BigDecimal value = readDecimal(in);
+        if (type == PercentType.class) {
+            return new PercentType(value);
+        } else if (type == QuantityType.class) {
+            String symbol = in.readUTF();
+            Unit<?> unit = symbol.isEmpty() ? Units.ONE : UnitUtils.parseUnit(symbol);
+            return unit == null ? null : toQuantityType(value, unit);
+        }
+        return new DecimalType(value);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static State toQuantityType(BigDecimal value, Unit<?> unit) {
+        return new QuantityType(value, (Unit<? extends Quantity>) unit);
+    }
+
+    private static boolean canWriteDecimal(BigDecimal value) {
+        return value.scale() >= Byte.MIN_VALUE && value.scale() <= Byte.MAX_VALUE
+                && value.unscaledValue().bitLength() < 8 * 255;
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        // the scale is kept, so e.g. 20.0 is read as 20.0 and not as 20
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeByte(value.scale());
+        out.writeByte(unscaled.length);
+        out.write(unscaled);
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        int scale = in.readByte();
+        int length = in.readUnsignedByte();
+        if (length == 0) {
+            throw new IOException("Invalid number length " + length);
+        }
+        byte[] unscaled = new byte[length];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static @Nullable Class<? extends State> getStateType(String className) {
+        try {
+            Class<?> type = Class.forName(className);
+            return State.class.isAssignableFrom(type) ? (Class<? extends State>) type : null;
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        // writeUTF is limited to 64k, which is too small for raw values
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > in.available()) {
+            throw new IOException("Invalid string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
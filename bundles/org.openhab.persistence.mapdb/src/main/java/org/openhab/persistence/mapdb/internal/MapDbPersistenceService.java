@@ -18,13 +18,15 @@ import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -34,6 +36,9 @@ import org.mapdb.DB;
 import org.mapdb.DBMaker;
 import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.config.core.ConfigParser;
+import org.openhab.core.config.core.ConfigurableService;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.items.Item;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.persistence.FilterCriteria;
@@ -44,10 +49,16 @@ import org.openhab.core.persistence.QueryablePersistenceService;
 import org.openhab.core.persistence.strategy.PersistenceStrategy;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
+import org.openhab.io.metrics.addon.internal.MicrometerPersistenceServiceMetrics;
+import org.openhab.io.metrics.addon.internal.PersistenceServiceMetrics;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -62,32 +73,47 @@ import com.google.gson.GsonBuilder;
  * @author Martin Kühl - Port to 3.x
  */
 @NonNullByDefault
-@Component(service = { PersistenceService.class, QueryablePersistenceService.class }, property = Constants.SERVICE_PID
-        + "=org.openhab.mapdb")
+@Component(service = { PersistenceService.class,
+        QueryablePersistenceService.class }, configurationPid = "org.openhab.mapdb", //
+        property = Constants.SERVICE_PID + "=org.openhab.mapdb")
+@ConfigurableService(category = "persistence", label = "MapDB Persistence Service", description_uri = MapDbPersistenceService.CONFIG_URI)
 public class MapDbPersistenceService implements QueryablePersistenceService {
 
     private static final String SERVICE_ID = "mapdb";
     private static final String SERVICE_LABEL = "MapDB";
+    protected static final String CONFIG_URI = "persistence:mapdb";
+    private static final String COMMIT_INTERVAL_CONFIG = "commitInterval";
+    private static final long COMMIT_INTERVAL_DEFAULT = 5;
+    private static final String COMMIT_COUNT_CONFIG = "commitCount";
+    private static final int COMMIT_COUNT_DEFAULT = 100;
+    private static final String ENCODING_CONFIG = "encoding";
+    private static final String ENCODING_BINARY = "binary";
     private static final Path DB_DIR = new File(OpenHAB.getUserDataFolder(), "persistence").toPath().resolve("mapdb");
     private static final Path BACKUP_DIR = DB_DIR.resolve("backup");
     private static final String DB_FILE_NAME = "storage.mapdb";
 
     private final Logger logger = LoggerFactory.getLogger(MapDbPersistenceService.class);
 
-    private final ExecutorService threadPool = ThreadPoolManager.getPool(getClass().getSimpleName());
+    private final ScheduledExecutorService threadPool = ThreadPoolManager
+            .getScheduledPool(getClass().getSimpleName());
 
     /**
      * holds the local instance of the MapDB database
      */
 
     private @NonNullByDefault({}) DB db;
-    private @NonNullByDefault({}) Map<String, String> map;
+    // values are JSON strings or binary serialized items, depending on the encoding used when storing them
+    private @NonNullByDefault({}) Map<String, Object> map;
+    private volatile @Nullable MapDbWriteCoalescer coalescer;
+    private volatile boolean binaryEncoding;
+
+    private volatile PersistenceServiceMetrics metrics = PersistenceServiceMetrics.NOOP;
 
     private transient Gson mapper = new GsonBuilder().setDateFormat(DateTimeType.DATE_PATTERN_JSON_COMPAT)
             .registerTypeHierarchyAdapter(State.class, new StateTypeAdapter()).create();
 
     @Activate
-    public void activate() {
+    public void activate(Map<String, Object> config) {
         logger.debug("MapDB persistence service is being activated");
 
         try {
@@ -137,14 +163,46 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
             } else {
                 logger.warn("Failed to create or open the MapDB: {}", re.getMessage());
                 logger.warn("MapDB persistence service activation has failed.");
+                return;
             }
         }
+        modified(config);
         logger.debug("MapDB persistence service is now activated");
     }
 
+    @Modified
+    public void modified(Map<String, Object> config) {
+        if (db == null) {
+            return;
+        }
+        long commitInterval = ConfigParser.valueAsOrElse(config.get(COMMIT_INTERVAL_CONFIG), Long.class,
+                COMMIT_INTERVAL_DEFAULT);
+        int commitCount = ConfigParser.valueAsOrElse(config.get(COMMIT_COUNT_CONFIG), Integer.class,
+                COMMIT_COUNT_DEFAULT);
+        binaryEncoding = ENCODING_BINARY
+                .equalsIgnoreCase(ConfigParser.valueAsOrElse(config.get(ENCODING_CONFIG), String.class, ""));
+
+        MapDbWriteCoalescer newCoalescer = new MapDbWriteCoalescer(threadPool, this::write, commitInterval * 1000,
+                commitCount);
+        MapDbWriteCoalescer oldCoalescer = coalescer;
+        coalescer = newCoalescer;
+        newCoalescer.start();
+        if (oldCoalescer != null) {
+            // items added to the old coalescer in the meantime are written by stop()
+            oldCoalescer.stop();
+        }
+        logger.debug("MapDB commits every {} s or {} items using {} encoding", commitInterval, commitCount,
+                binaryEncoding ? "binary" : "JSON");
+    }
+
     @Deactivate
     public void deactivate() {
         logger.debug("MapDB persistence service deactivated");
+        MapDbWriteCoalescer coalescer = this.coalescer;
+        if (coalescer != null) {
+            coalescer.stop();
+            this.coalescer = null;
+        }
         if (db != null) {
             db.close();
         }
@@ -162,8 +220,15 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
 
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
-        return map.values().stream().map(this::deserialize).flatMap(MapDbPersistenceService::streamOptional)
-                .collect(Collectors.<PersistenceItemInfo> toUnmodifiableSet());
+        Map<String, PersistenceItemInfo> items = map.entrySet().stream()
+                .map(entry -> deserialize(entry.getKey(), entry.getValue()))
+                .flatMap(MapDbPersistenceService::streamOptional)
+                .collect(Collectors.toMap(MapDbItem::getName, item -> item, (a, b) -> a, HashMap::new));
+        MapDbWriteCoalescer coalescer = this.coalescer;
+        if (coalescer != null) {
+            coalescer.getPendingItems().forEach(item -> items.put(item.getName(), item));
+        }
+        return Set.copyOf(items.values());
     }
 
     @Override
@@ -186,28 +251,91 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         mItem.setName(localAlias);
         mItem.setState(state);
         mItem.setTimestamp(new Date());
-        threadPool.submit(() -> {
-            String json = serialize(mItem);
-            map.put(localAlias, json);
-            db.commit();
-            logger.debug("Stored '{}' with state '{}' as '{}' in MapDB database", localAlias, state, json);
-        });
+        MapDbWriteCoalescer coalescer = this.coalescer;
+        if (coalescer == null) {
+            logger.debug("MapDB persistence service is not active, '{}' not stored", localAlias);
+            return;
+        }
+        coalescer.add(mItem);
     }
 
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
-        String json = map.get(filter.getItemName());
-        if (json == null) {
+        String itemName = filter.getItemName();
+        if (itemName == null) {
+            return List.of();
+        }
+        MapDbWriteCoalescer coalescer = this.coalescer;
+        MapDbItem pending = coalescer == null ? null : coalescer.getPending(itemName);
+        if (pending != null) {
+            return List.of(pending);
+        }
+        long start = System.nanoTime();
+        Object value = map.get(itemName);
+        if (value == null) {
+            metrics.recordQuery(start, 0);
             return List.of();
         }
-        Optional<MapDbItem> item = deserialize(json);
+        Optional<MapDbItem> item = deserialize(itemName, value);
+        metrics.recordQuery(start, item.isPresent() ? 1 : 0);
         return item.isPresent() ? List.of(item.get()) : List.of();
     }
 
-    private String serialize(MapDbItem item) {
+    private void write(Collection<MapDbItem> items) {
+        long start = System.nanoTime();
+        boolean binary = binaryEncoding;
+        try {
+            for (MapDbItem item : items) {
+                Object value = serialize(item, binary);
+                map.put(item.getName(), value);
+                logger.debug("Storing '{}' with state '{}' as '{}' in MapDB database", item.getName(),
+                        item.getState(), value);
+            }
+            db.commit();
+        } catch (RuntimeException e) {
+            // the coalescer retries the items with the next group
+            metrics.recordStore(start, items.size());
+            throw e;
+        }
+        metrics.recordStore(start, 0);
+    }
+
+    int getPendingCount() {
+        MapDbWriteCoalescer coalescer = this.coalescer;
+        return coalescer == null ? 0 : coalescer.getPendingCount();
+    }
+
+    private Object serialize(MapDbItem item, boolean binary) {
+        if (binary) {
+            try {
+                return BinaryItemSerializer.serialize(item);
+            } catch (IOException e) {
+                logger.debug("Failed to serialize '{}' in binary format, using JSON: {}", item.getName(),
+                        e.getMessage());
+            }
+        }
         return mapper.toJson(item);
     }
 
+    private Optional<MapDbItem> deserialize(String name, Object value) {
+        if (value instanceof byte[] data) {
+            try {
+                MapDbItem item = BinaryItemSerializer.deserialize(name, data);
+                if (item == null) {
+                    logger.warn("Deserialized invalid item: {}", name);
+                }
+                return Optional.ofNullable(item);
+            } catch (IOException e) {
+                logger.warn("Couldn't deserialize item '{}': {}", name, e.getMessage());
+                return Optional.empty();
+            }
+        } else if (value instanceof String json) {
+            return deserialize(json);
+        }
+        logger.warn("Unexpected value type {} for item '{}'", value.getClass().getName(), name);
+        return Optional.empty();
+    }
+
     @SuppressWarnings("null")
     private Optional<MapDbItem> deserialize(String json) {
         MapDbItem item = mapper.fromJson(json, MapDbItem.class);
@@ -225,6 +353,17 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         return opt.isPresent() ? Stream.of(opt.get()) : Stream.empty();
     }
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    public void setMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics = new MicrometerPersistenceServiceMetrics(meterRegistryProvider.getOHMeterRegistry(),
+                SERVICE_ID, this::getPendingCount, null);
+    }
+
+    public void unsetMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics.close();
+        metrics = PersistenceServiceMetrics.NOOP;
+    }
+
     @Override
     public List<PersistenceStrategy> getDefaultStrategies() {
         return List.of(PersistenceStrategy.Globals.RESTORE, PersistenceStrategy.Globals.CHANGE);
@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link MapDbWriteCoalescer} collects the items to store and writes them in groups.
+ *
+ * Only the latest item per name is kept until the next write, so frequently changing items are written once per
+ * group. A group is written when the commit interval has elapsed or when the number of pending items reaches the
+ * commit count, whatever happens first.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbWriteCoalescer {
+
+    /**
+     * Writes a group of items and commits them in a single transaction.
+     */
+    @FunctionalInterface
+    public interface BatchWriter {
+        void write(Collection<MapDbItem> items);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(MapDbWriteCoalescer.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final BatchWriter writer;
+    private final long commitIntervalMillis;
+    private final int commitCount;
+
+    private final Map<String, MapDbItem> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private @Nullable ScheduledFuture<?> job;
+
+    /**
+     * @param scheduler the scheduler used to write the items in the background
+     * @param writer the writer for the groups of items
+     * @param commitIntervalMillis the maximum time an item stays pending (0 = write immediately)
+     * @param commitCount the number of pending items that causes an immediate write
+     */
+    public MapDbWriteCoalescer(ScheduledExecutorService scheduler, BatchWriter writer, long commitIntervalMillis,
+            int commitCount) {
+        this.scheduler = scheduler;
+        this.writer = writer;
+        this.commitIntervalMillis = commitIntervalMillis;
+        this.commitCount = Math.max(1, commitCount);
+    }
+
+    public synchronized void start() {
+        if (commitIntervalMillis > 0 && job == null) {
+            job = scheduler.scheduleWithFixedDelay(this::flush, commitIntervalMillis, commitIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the periodic writes and synchronously writes all pending items.
+     */
+    public void stop() {
+        synchronized (this) {
+            ScheduledFuture<?> job = this.job;
+            if (job != null) {
+                job.cancel(false);
+                this.job = null;
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Adds an item to be written, replacing a pending item with the same name.
+     */
+    public void add(MapDbItem item) {
+        pending.put(item.getName(), item);
+        if ((commitIntervalMillis <= 0 || pending.size() >= commitCount) && flushScheduled.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                flushScheduled.set(false);
+                logger.debug("Could not schedule write of pending items: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return the pending item with the given name, which is newer than the stored one
+     */
+    public @Nullable MapDbItem getPending(String name) {
+        return pending.get(name);
+    }
+
+    public Collection<MapDbItem> getPendingItems() {
+        return List.copyOf(pending.values());
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Writes all pending items.
+     */
+    public synchronized void flush() {
+        flushScheduled.set(false);
+        List<MapDbItem> items = new ArrayList<>(pending.size());
+        for (String name : pending.keySet()) {
+            MapDbItem item = pending.remove(name);
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        if (items.isEmpty()) {
+            return;
+        }
+        try {
+            writer.write(items);
+            logger.debug("Stored {} items in MapDB database", items.size());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to store {} items in MapDB database: {}", items.size(), e.getMessage());
+            // retry with the next group unless a newer item is pending already
+            items.forEach(item -> pending.putIfAbsent(item.getName(), item));
+        }
+    }
+}
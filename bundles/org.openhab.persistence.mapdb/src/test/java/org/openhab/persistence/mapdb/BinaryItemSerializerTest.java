@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.unit.SIUnits;
+import org.openhab.core.library.unit.Units;
+import org.openhab.core.types.State;
+import org.openhab.core.types.UnDefType;
+import org.openhab.persistence.mapdb.internal.BinaryItemSerializer;
+import org.openhab.persistence.mapdb.internal.MapDbItem;
+
+/**
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class BinaryItemSerializerTest {
+
+    @ParameterizedTest
+    @MethodSource
+    public void readWriteRoundtripShouldRecreateTheWrittenItem(State state) throws IOException {
+        MapDbItem item = new MapDbItem();
+        item.setName("item");
+        item.setState(state);
+        item.setTimestamp(new Date(1_700_000_000_123L));
+
+        byte[] data = BinaryItemSerializer.serialize(item);
+        MapDbItem actual = Objects.requireNonNull(BinaryItemSerializer.deserialize("item", data));
+
+        assertThat(actual.getName(), is("item"));
+        assertThat(actual.getState(), is(equalTo(state)));
+        assertThat(actual.getTimestamp(), is(item.getTimestamp()));
+    }
+
+    public static Stream<State> readWriteRoundtripShouldRecreateTheWrittenItem() {
+        return Stream.of(DecimalType.ZERO, new DecimalType(1.123), HSBType.fromRGB(11, 22, 33), OnOffType.ON,
+                PercentType.valueOf("99.999"), new QuantityType<>(new BigDecimal("21.23"), SIUnits.CELSIUS),
+                new QuantityType<>(new BigDecimal("-1.5E+20"), Units.KILOWATT_HOUR), new QuantityType<>(7, Units.ONE),
+                new DecimalType(new BigDecimal("123456789012345678901234567890.123456789")),
+                // scale out of the range of the binary format
+                new DecimalType(new BigDecimal("1E-200")),
+                StringType.valueOf("a b c 1 2 3"), StringType.valueOf(""),
+                // stored by class name
+                UnDefType.UNDEF);
+    }
+
+    @Test
+    public void numbersShouldKeepTheirScale() throws IOException {
+        assertThat(roundtrip(new DecimalType(new BigDecimal("20.0"))).toFullString(), is("20.0"));
+        assertThat(roundtrip(new DecimalType(new BigDecimal("1.50"))).toFullString(), is("1.50"));
+        assertThat(roundtrip(new QuantityType<>("21.50 °C")).toFullString(), is("21.50 °C"));
+    }
+
+    @Test
+    public void numbersShouldBeStoredAsBinaryValue() throws IOException {
+        MapDbItem item = new MapDbItem();
+        item.setState(new DecimalType(new BigDecimal("21.5")));
+        item.setTimestamp(new Date(0));
+
+        // version, timestamp, type, scale, length of the unscaled value and the unscaled value 215
+        assertThat(BinaryItemSerializer.serialize(item).length, is(1 + 8 + 1 + 1 + 1 + 1));
+    }
+
+    @Test
+    public void textFormatShouldStillBeRead() throws IOException {
+        byte[] value = "21.23 °C".getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            // version 1, timestamp, type QuantityType and the full string of the state
+            out.writeByte(1);
+            out.writeLong(1_700_000_000_123L);
+            out.writeByte(2);
+            out.writeInt(value.length);
+            out.write(value);
+        }
+
+        MapDbItem actual = Objects.requireNonNull(BinaryItemSerializer.deserialize("item", bytes.toByteArray()));
+
+        assertThat(actual.getState(), is(new QuantityType<>(new BigDecimal("21.23"), SIUnits.CELSIUS)));
+        assertThat(actual.getTimestamp(), is(new Date(1_700_000_000_123L)));
+    }
+
+    @Test
+    public void invalidDataShouldBeRejected() {
+        assertThrows(IOException.class, () -> BinaryItemSerializer.deserialize("item", new byte[] { 42 }));
+        assertThrows(IOException.class, () -> BinaryItemSerializer.deserialize("item", new byte[] { 1, 0 }));
+        // a number without its unscaled value
+        assertThrows(IOException.class,
+                () -> BinaryItemSerializer.deserialize("item", new byte[] { 2, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 1 }));
+    }
+
+    private State roundtrip(State state) throws IOException {
+        MapDbItem item = new MapDbItem();
+        item.setState(state);
+        item.setTimestamp(new Date(0));
+        return Objects.requireNonNull(BinaryItemSerializer.deserialize("item", BinaryItemSerializer.serialize(item)))
+                .getState();
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.persistence.mapdb.internal.MapDbItem;
+import org.openhab.persistence.mapdb.internal.MapDbWriteCoalescer;
+
+/**
+ *
+ * @author pre-martin - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@NonNullByDefault
+public class MapDbWriteCoalescerTest {
+
+    private @NonNullByDefault({}) @Mock ScheduledExecutorService scheduler;
+
+    private final List<List<String>> batches = new ArrayList<>();
+    private boolean failWrite;
+
+    private @NonNullByDefault({}) MapDbWriteCoalescer coalescer;
+
+    @BeforeEach
+    public void setup() {
+        coalescer = new MapDbWriteCoalescer(scheduler, items -> {
+            if (failWrite) {
+                throw new IllegalStateException("write failed");
+            }
+            batches.add(items.stream().map(item -> item.getName() + "=" + item.getState()).toList());
+        }, 5000, 3);
+    }
+
+    @Test
+    public void onlyLatestStateIsWritten() {
+        coalescer.add(item("a", 1));
+        coalescer.add(item("a", 2));
+        coalescer.add(item("b", 3));
+        coalescer.add(item("a", 4));
+
+        assertThat(Objects.requireNonNull(coalescer.getPending("a")).getState(), is(new DecimalType(4)));
+        coalescer.flush();
+
+        assertThat(batches.size(), is(1));
+        assertThat(batches.get(0), containsInAnyOrder("a=4", "b=3"));
+        assertThat(coalescer.getPendingCount(), is(0));
+    }
+
+    @Test
+    public void writeIsScheduledWhenCommitCountIsReached() {
+        coalescer.add(item("a", 1));
+        coalescer.add(item("b", 1));
+        verify(scheduler, never()).execute(any());
+
+        coalescer.add(item("c", 1));
+        coalescer.add(item("d", 1));
+        verify(scheduler, times(1)).execute(any());
+    }
+
+    @Test
+    public void failedWriteIsRetried() {
+        failWrite = true;
+        coalescer.add(item("a", 1));
+        coalescer.flush();
+        assertThat(batches.size(), is(0));
+
+        failWrite = false;
+        coalescer.flush();
+        assertThat(batches, is(List.of(List.of("a=1"))));
+    }
+
+    @Test
+    public void stopWritesPendingItems() {
+        coalescer.start();
+        coalescer.add(item("a", 1));
+        coalescer.stop();
+
+        assertThat(batches, is(List.of(List.of("a=1"))));
+    }
+
+    private static MapDbItem item(String name, int value) {
+        MapDbItem item = new MapDbItem();
+        item.setName(name);
+        item.setState(new DecimalType(value));
+        item.setTimestamp(new Date());
+        return item;
+    }
+}
@@ -21,11 +21,20 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
+import org.bson.BsonMaximumSizeExceededException;
 import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.config.core.ConfigParser;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
@@ -41,6 +50,8 @@ import org.openhab.core.persistence.QueryablePersistenceService;
 import org.openhab.core.persistence.strategy.PersistenceStrategy;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
+import org.openhab.io.metrics.addon.internal.MicrometerPersistenceServiceMetrics;
+import org.openhab.io.metrics.addon.internal.PersistenceServiceMetrics;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
@@ -48,13 +59,24 @@ import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.ConfigurationPolicy;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoException;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.CreateCollectionOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.TimeSeriesGranularity;
+import com.mongodb.client.model.TimeSeriesOptions;
 import com.mongodb.client.result.DeleteResult;
 
 /**
@@ -72,10 +94,29 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
     private final Logger logger = LoggerFactory.getLogger(MongoDBPersistenceService.class);
 
+    private static final int DEFAULT_WRITE_BUFFER_INTERVAL = 5;
+    // documents kept while the database is not reachable, in multiples of the buffer size
+    private static final int MAX_PENDING_FACTOR = 10;
+
+    // only the fields needed to restore the state
+    private static final Bson QUERY_PROJECTION = Projections.fields(
+            Projections.include(MongoDBFields.FIELD_TIMESTAMP, MongoDBFields.FIELD_VALUE, MongoDBFields.FIELD_UNIT,
+                    MongoDBFields.FIELD_REALNAME),
+            Projections.excludeId());
+
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("persistence");
+    private final Map<String, MongoCollection<Document>> collections = new ConcurrentHashMap<>();
+
     private String url = "";
     private String db = "";
     private String collection = "";
     private boolean collectionPerItem;
+    private boolean timeSeries;
+
+    private volatile @Nullable MongoDBWriteBuffer writeBuffer;
+    private @Nullable ScheduledFuture<?> writeBufferJob;
+
+    private volatile PersistenceServiceMetrics metrics = PersistenceServiceMetrics.NOOP;
 
     private boolean initialized = false;
 
@@ -114,6 +155,25 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         collection = dbCollection == null ? "" : dbCollection;
         collectionPerItem = dbCollection == null || dbCollection.isBlank();
 
+        timeSeries = ConfigParser.valueAsOrElse(config.get("timeSeries"), Boolean.class, false);
+        if (timeSeries && collectionPerItem) {
+            logger.warn("A time series collection requires the mongodb:collection parameter, ignoring timeSeries.");
+            timeSeries = false;
+        }
+
+        int writeBufferSize = ConfigParser.valueAsOrElse(config.get("writeBufferSize"), Integer.class, 0);
+        int writeBufferInterval = ConfigParser.valueAsOrElse(config.get("writeBufferInterval"), Integer.class,
+                DEFAULT_WRITE_BUFFER_INTERVAL);
+        logger.debug("MongoDB write buffer size {}, interval {}s, time series {}", writeBufferSize, writeBufferInterval,
+                timeSeries);
+        if (writeBufferSize > 1) {
+            writeBuffer = new MongoDBWriteBuffer(writeBufferSize, writeBufferSize * MAX_PENDING_FACTOR);
+            if (writeBufferInterval > 0) {
+                writeBufferJob = scheduler.scheduleWithFixedDelay(this::flushWriteBuffer, writeBufferInterval,
+                        writeBufferInterval, TimeUnit.SECONDS);
+            }
+        }
+
         if (!tryConnectToDatabase()) {
             logger.warn("Failed to connect to MongoDB server. Trying to reconnect later.");
         }
@@ -124,6 +184,19 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("MongoDB persistence bundle stopping. Disconnecting from database.");
+        ScheduledFuture<?> writeBufferJob = this.writeBufferJob;
+        if (writeBufferJob != null) {
+            writeBufferJob.cancel(false);
+            this.writeBufferJob = null;
+        }
+        MongoDBWriteBuffer writeBuffer = this.writeBuffer;
+        if (writeBuffer != null) {
+            flushWriteBuffer();
+            if (writeBuffer.size() > 0) {
+                logger.warn("{} documents could not be written to MongoDB before shutdown.", writeBuffer.size());
+            }
+            this.writeBuffer = null;
+        }
         disconnectFromDatabase();
     }
 
@@ -207,11 +280,18 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
     }
 
     /**
-     * Connects to the Collection
+     * Connects to the Collection.
+     * The collection and its index are created on first use, afterwards the collection object is reused until the
+     * connection is closed.
      *
      * @return The collection object when collection creation was successful. Null otherwise.
      */
     private @Nullable MongoCollection<Document> connectToCollection(String collectionName) {
+        MongoCollection<Document> cached = collections.get(collectionName);
+        if (cached != null) {
+            return cached;
+        }
+
         try {
             @Nullable
             MongoClient db = getDatabase();
@@ -221,12 +301,21 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
                 return null;
             }
 
-            MongoCollection<Document> mongoCollection = db.getDatabase(this.db).getCollection(collectionName);
+            MongoDatabase database = db.getDatabase(this.db);
+            if (timeSeries) {
+                createTimeSeriesCollection(database, collectionName);
+            }
 
-            Document idx = new Document();
-            idx.append(MongoDBFields.FIELD_ITEM, 1).append(MongoDBFields.FIELD_TIMESTAMP, 1);
-            mongoCollection.createIndex(idx);
+            MongoCollection<Document> mongoCollection = database.getCollection(collectionName);
 
+            if (!timeSeries) {
+                // time series collections are clustered by the meta field and the time
+                Document idx = new Document();
+                idx.append(MongoDBFields.FIELD_ITEM, 1).append(MongoDBFields.FIELD_TIMESTAMP, 1);
+                mongoCollection.createIndex(idx);
+            }
+
+            collections.put(collectionName, mongoCollection);
             return mongoCollection;
         } catch (Exception e) {
             logger.error("Failed to connect to collection {}: {}", collectionName, e.getMessage(), e);
@@ -234,10 +323,27 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         }
     }
 
+    /**
+     * Creates a time series collection with the item name as meta field, if the collection does not exist yet.
+     */
+    private void createTimeSeriesCollection(MongoDatabase database, String collectionName) {
+        for (String name : database.listCollectionNames()) {
+            if (name.equals(collectionName)) {
+                return;
+            }
+        }
+
+        logger.debug("Creating time series collection {}", collectionName);
+        TimeSeriesOptions options = new TimeSeriesOptions(MongoDBFields.FIELD_TIMESTAMP)
+                .metaField(MongoDBFields.FIELD_ITEM).granularity(TimeSeriesGranularity.SECONDS);
+        database.createCollection(collectionName, new CreateCollectionOptions().timeSeriesOptions(options));
+    }
+
     /**
      * Disconnects from the database
      */
     private synchronized void disconnectFromDatabase() {
+        collections.clear();
         MongoClient localCl = cl;
         if (localCl != null) {
             localCl.close();
@@ -276,10 +382,15 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
         logger.debug("Query: {}", query);
 
+        // make buffered documents visible to the query
+        flushWriteBuffer(collection.getNamespace().getCollectionName());
+
         Integer sortDir = (filter.getOrdering() == Ordering.ASCENDING) ? 1 : -1;
+        long start = System.nanoTime();
         MongoCursor<Document> cursor = null;
         try {
-            cursor = collection.find(query).sort(new Document(MongoDBFields.FIELD_TIMESTAMP, sortDir))
+            cursor = collection.find(query).projection(QUERY_PROJECTION)
+                    .sort(new Document(MongoDBFields.FIELD_TIMESTAMP, sortDir))
                     .skip(filter.getPageNumber() * filter.getPageSize()).limit(filter.getPageSize()).iterator();
 
             while (cursor.hasNext()) {
@@ -295,6 +406,7 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
                 cursor.close();
             }
         }
+        metrics.recordQuery(start, items.size());
 
         return items;
     }
@@ -352,6 +464,7 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             logger.warn(
                     "mongodb: No connection to database. Cannot persist item '{}'! Will retry connecting to database next time.",
                     item);
+            metrics.countFailedStores(1);
             return;
         }
 
@@ -378,15 +491,123 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         if (item instanceof NumberItem && state instanceof QuantityType<?>) {
             obj.put(MongoDBFields.FIELD_UNIT, ((QuantityType<?>) state).getUnit().toString());
         }
+
+        MongoDBWriteBuffer writeBuffer = this.writeBuffer;
+        if (writeBuffer != null) {
+            if (writeBuffer.add(collectionName, obj)) {
+                flushWriteBuffer();
+            }
+            logger.debug("MongoDB buffered {}={}", name, value);
+            return;
+        }
+
+        long start = System.nanoTime();
         try {
             collection.insertOne(obj);
-        } catch (org.bson.BsonMaximumSizeExceededException e) {
+        } catch (BsonMaximumSizeExceededException e) {
             logger.error("Document size exceeds maximum size of 16MB. Item {} not persisted.", name);
+            metrics.recordStore(start, 1);
             throw e;
         }
+        metrics.recordStore(start, 0);
         logger.debug("MongoDB save {}={}", name, value);
     }
 
+    /**
+     * Writes the buffered documents of all collections.
+     */
+    private void flushWriteBuffer() {
+        MongoDBWriteBuffer writeBuffer = this.writeBuffer;
+        if (writeBuffer == null) {
+            return;
+        }
+        for (String collectionName : writeBuffer.getCollectionNames()) {
+            flushWriteBuffer(collectionName);
+        }
+    }
+
+    /**
+     * Writes the buffered documents of a collection with a single ordered bulk write.
+     * If the write fails, the documents are kept for the next attempt.
+     */
+    private synchronized void flushWriteBuffer(String collectionName) {
+        MongoDBWriteBuffer writeBuffer = this.writeBuffer;
+        if (writeBuffer == null) {
+            return;
+        }
+        List<Document> documents = writeBuffer.drain(collectionName);
+        if (documents.isEmpty()) {
+            return;
+        }
+
+        MongoCollection<Document> collection = tryConnectToDatabase() ? connectToCollection(collectionName) : null;
+        if (collection == null) {
+            logger.warn("mongodb: No connection to database. Keeping {} documents for collection {}.",
+                    documents.size(), collectionName);
+            writeBuffer.requeue(collectionName, documents);
+            return;
+        }
+
+        List<InsertOneModel<Document>> requests = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            requests.add(new InsertOneModel<>(document));
+        }
+        long start = System.nanoTime();
+        int failed = 0;
+        try {
+            collection.bulkWrite(requests, new BulkWriteOptions().ordered(true));
+            logger.debug("MongoDB saved {} documents to collection {}", documents.size(), collectionName);
+        } catch (BsonMaximumSizeExceededException e) {
+            // write the documents one by one, so only the oversized ones are lost
+            for (Document document : documents) {
+                try {
+                    collection.insertOne(document);
+                } catch (BsonMaximumSizeExceededException e1) {
+                    logger.error("Document size exceeds maximum size of 16MB. Item {} not persisted.",
+                            document.get(MongoDBFields.FIELD_ITEM));
+                    failed++;
+                }
+            }
+        } catch (MongoBulkWriteException e) {
+            // the documents before the first write error have been written, the failed document would fail again
+            int next = e.getWriteErrors().isEmpty() ? documents.size() : e.getWriteErrors().get(0).getIndex() + 1;
+            logger.warn("Bulk write to collection {} failed, retrying {} documents: {}", collectionName,
+                    Math.max(0, documents.size() - next), e.getMessage());
+            if (next < documents.size()) {
+                writeBuffer.requeue(collectionName, documents.subList(next, documents.size()));
+            }
+            failed = e.getWriteErrors().isEmpty() ? 0 : 1;
+        } catch (MongoException e) {
+            logger.warn("Failed to write {} documents to collection {}: {}", documents.size(), collectionName,
+                    e.getMessage());
+            // the _id of each document is fixed, so documents written before the failure are rejected as duplicates
+            writeBuffer.requeue(collectionName, documents);
+            failed = documents.size();
+        }
+        metrics.recordStore(start, failed);
+    }
+
+    int getBufferedCount() {
+        MongoDBWriteBuffer writeBuffer = this.writeBuffer;
+        return writeBuffer == null ? 0 : writeBuffer.size();
+    }
+
+    long getDroppedCount() {
+        MongoDBWriteBuffer writeBuffer = this.writeBuffer;
+        return writeBuffer == null ? 0 : writeBuffer.getDroppedDocuments();
+    }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    public void setMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics = new MicrometerPersistenceServiceMetrics(meterRegistryProvider.getOHMeterRegistry(),
+                "mongodb", this::getBufferedCount, this::getDroppedCount);
+    }
+
+    public void unsetMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics.close();
+        metrics = PersistenceServiceMetrics.NOOP;
+    }
+
     @Nullable
     public MongoCollection<Document> prepareCollection(FilterCriteria filter) {
         if (!initialized || !tryConnectToDatabase()) {
@@ -481,6 +702,9 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
         logger.debug("Query: {}", query);
 
+        // buffered documents must be deleted as well
+        flushWriteBuffer(collection.getNamespace().getCollectionName());
+
         DeleteResult result = collection.deleteMany(query);
 
         logger.debug("Deleted {} documents", result.getDeletedCount());
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mongodb.internal;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bson.Document;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * This class buffers the documents to insert per collection, so they can be written with a single bulk write.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class MongoDBWriteBuffer {
+
+    private final int bufferSize;
+    private final int maxPending;
+    private final Map<String, List<Document>> pending = new LinkedHashMap<>();
+    private int size;
+    private long droppedDocuments;
+
+    /**
+     * @param bufferSize The number of documents that triggers a write.
+     * @param maxPending The maximum number of documents kept when writes fail. The oldest documents are dropped.
+     */
+    public MongoDBWriteBuffer(int bufferSize, int maxPending) {
+        this.bufferSize = bufferSize;
+        this.maxPending = Math.max(bufferSize, maxPending);
+    }
+
+    /**
+     * Adds a document to the buffer.
+     *
+     * @param collectionName The collection the document has to be written to.
+     * @param document The document to insert.
+     * @return true if the buffer is full and should be written.
+     */
+    public synchronized boolean add(String collectionName, Document document) {
+        pending.computeIfAbsent(collectionName, k -> new ArrayList<>()).add(document);
+        size++;
+        trim();
+        return size >= bufferSize;
+    }
+
+    /**
+     * Removes and returns the buffered documents of a collection, in the order they were added.
+     *
+     * @param collectionName The name of the collection.
+     * @return The buffered documents, which may be empty.
+     */
+    public synchronized List<Document> drain(String collectionName) {
+        List<Document> documents = pending.remove(collectionName);
+        if (documents == null) {
+            return List.of();
+        }
+        size -= documents.size();
+        return documents;
+    }
+
+    /**
+     * Puts back documents that could not be written, in front of the documents added in the meantime.
+     *
+     * @param collectionName The name of the collection.
+     * @param documents The documents to put back.
+     */
+    public synchronized void requeue(String collectionName, List<Document> documents) {
+        List<Document> newer = pending.remove(collectionName);
+        List<Document> all = new ArrayList<>(documents);
+        if (newer != null) {
+            all.addAll(newer);
+            size -= newer.size();
+        }
+        // keep the order of the collections, the requeued ones are written first next time
+        Map<String, List<Document>> others = new LinkedHashMap<>(pending);
+        pending.clear();
+        pending.put(collectionName, all);
+        pending.putAll(others);
+        size += all.size();
+        trim();
+    }
+
+    public synchronized Set<String> getCollectionNames() {
+        return Set.copyOf(pending.keySet());
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized long getDroppedDocuments() {
+        return droppedDocuments;
+    }
+
+    private void trim() {
+        while (size > maxPending && !pending.isEmpty()) {
+            String first = pending.keySet().iterator().next();
+            List<Document> documents = pending.get(first);
+            if (documents == null || documents.isEmpty()) {
+                pending.remove(first);
+                continue;
+            }
+            documents.remove(0);
+            size--;
+            droppedDocuments++;
+            if (documents.isEmpty()) {
+                pending.remove(first);
+            }
+        }
+    }
+}
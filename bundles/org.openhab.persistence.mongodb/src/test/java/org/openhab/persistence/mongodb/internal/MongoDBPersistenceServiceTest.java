@@ -339,6 +339,91 @@ public class MongoDBPersistenceServiceTest {
         }
     }
 
+    /**
+     * Tests the store method of MongoDBPersistenceService with a write buffer.
+     *
+     * This test checks if the buffered documents are written with a bulk write when the buffer is full and when the
+     * service is deactivated.
+     * It uses different database backends provided by the provideDatabaseBackends method.
+     *
+     * @param dbContainer The container running the MongoDB instance.
+     */
+    @ParameterizedTest
+    @MethodSource("org.openhab.persistence.mongodb.internal.DataCreationHelper#provideDatabaseBackends")
+    public void testStoreWithWriteBuffer(DatabaseTestContainer dbContainer) {
+        try {
+            // Preparation
+            SetupResult setupResult = DataCreationHelper.setupMongoDB("testCollection", dbContainer);
+            MongoDBPersistenceService service = setupResult.service;
+            MongoDatabase database = setupResult.database;
+            setupResult.config.put("writeBufferSize", 3);
+            setupResult.config.put("writeBufferInterval", 0);
+
+            service.activate(setupResult.bundleContext, setupResult.config);
+
+            MongoCollection<Document> collection = database.getCollection("testCollection");
+
+            // Execution and verification
+            service.store(DataCreationHelper.createStringItem("TestItem1", "TestValue1"), null);
+            service.store(DataCreationHelper.createStringItem("TestItem2", "TestValue2"), null);
+            assertEquals(0, collection.countDocuments()); // Assert that the documents are buffered
+
+            service.store(DataCreationHelper.createStringItem("TestItem3", "TestValue3"), null);
+            service.store(DataCreationHelper.createStringItem("TestItem4", "TestValue4"), null);
+            assertEquals(3, collection.countDocuments()); // Assert that the full buffer has been written
+
+            service.deactivate(1);
+            List<Document> documents = (ArrayList<Document>) collection.find().into(new ArrayList<>());
+            assertEquals(4, documents.size()); // Assert that the remaining document has been written
+
+            for (int i = 0; i < documents.size(); i++) {
+                VerificationHelper.verifyDocument(documents.get(i), "TestItem" + (i + 1), "TestValue" + (i + 1));
+            }
+        } finally {
+            dbContainer.stop();
+        }
+    }
+
+    /**
+     * Tests the query method of MongoDBPersistenceService with a write buffer.
+     *
+     * This test checks if the query method returns documents which are still buffered.
+     * It uses different database backends provided by the provideDatabaseBackends method.
+     *
+     * @param dbContainer The container running the MongoDB instance.
+     */
+    @ParameterizedTest
+    @MethodSource("org.openhab.persistence.mongodb.internal.DataCreationHelper#provideDatabaseBackends")
+    public void testQueryWithWriteBuffer(DatabaseTestContainer dbContainer) {
+        try {
+            // Preparation
+            SetupResult setupResult = DataCreationHelper.setupMongoDB("testCollection", dbContainer);
+            MongoDBPersistenceService service = setupResult.service;
+            setupResult.config.put("writeBufferSize", 100);
+
+            NumberItem itemReg = DataCreationHelper.createNumberItem("TestItem", 0);
+            try {
+                Mockito.when(setupResult.itemRegistry.getItem("TestItem")).thenReturn(itemReg);
+            } catch (ItemNotFoundException e) {
+            }
+
+            service.activate(setupResult.bundleContext, setupResult.config);
+
+            for (int i = 0; i < 10; i++) {
+                service.store(DataCreationHelper.createNumberItem("TestItem", i), null);
+            }
+
+            // Execution
+            Iterable<HistoricItem> result = service.query(DataCreationHelper.createFilterCriteria("TestItem"));
+
+            // Verification
+            VerificationHelper.verifyQueryResult(result, 0, 1, 10);
+            service.deactivate(1);
+        } finally {
+            dbContainer.stop();
+        }
+    }
+
     /**
      * Tests the store method of MongoDBPersistenceService with a StringItem and an alias.
      *
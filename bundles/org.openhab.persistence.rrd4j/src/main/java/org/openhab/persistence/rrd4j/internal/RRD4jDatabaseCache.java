@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.RrdDbPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the most recently written {@link RrdDb} instances open.
+ *
+ * Instances are requested from a {@link RrdDbPool}, which counts the references to each file and closes it when the
+ * last reference is released. This cache holds one reference for each of the most recently used files, so the file
+ * stays open between two writes and requesting it again from the pool does not cause any file I/O. When more than
+ * <code>capacity</code> files are held, the reference to the least recently used one is released.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jDatabaseCache {
+
+    private final Logger logger = LoggerFactory.getLogger(RRD4jDatabaseCache.class);
+
+    private final int capacity;
+    private final Map<String, RrdDb> databases = new LinkedHashMap<>(16, 0.75f, true);
+
+    public RRD4jDatabaseCache(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns a database reference obtained from the pool. Instead of closing it, the reference is kept open if
+     * there is none for this file yet, otherwise it is closed.
+     *
+     * The pool hands out the same instance for every request of an open file and counts each request, so the
+     * reference has to be closed even if it is the cached instance itself.
+     *
+     * @param name the name of the database
+     * @param db the database reference, which must not be used by the caller afterwards
+     */
+    public void release(String name, RrdDb db) {
+        List<RrdDb> toClose = new ArrayList<>(2);
+        synchronized (databases) {
+            RrdDb cached = databases.get(name);
+            if (cached == null) {
+                databases.put(name, db);
+            } else {
+                // the file is kept open by the cached reference already
+                toClose.add(db);
+            }
+            Iterator<RrdDb> iterator = databases.values().iterator();
+            while (databases.size() > capacity && iterator.hasNext()) {
+                toClose.add(iterator.next());
+                iterator.remove();
+            }
+        }
+        // closing only releases a reference, files still used by other threads stay open
+        toClose.forEach(this::close);
+    }
+
+    /**
+     * Releases all references held by this cache.
+     */
+    public void clear() {
+        List<RrdDb> toClose;
+        synchronized (databases) {
+            toClose = new ArrayList<>(databases.values());
+            databases.clear();
+        }
+        toClose.forEach(this::close);
+    }
+
+    public int size() {
+        synchronized (databases) {
+            return databases.size();
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private void close(RrdDb db) {
+        try {
+            db.close();
+        } catch (IOException e) {
+            logger.debug("Error closing rrd4j database: {}", e.getMessage());
+        }
+    }
+}
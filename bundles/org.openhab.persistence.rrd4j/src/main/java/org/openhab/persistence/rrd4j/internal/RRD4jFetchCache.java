@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.rrd4j.ConsolFun;
+import org.rrd4j.core.FetchData;
+import org.rrd4j.core.RrdDb;
+
+/**
+ * Caches the results of fetch requests, so repeated queries and charts over the same time range do not read the
+ * database file again.
+ *
+ * The requested time range is widened to whole buckets of the database step (or of the requested resolution, if
+ * larger), so requests whose boundaries differ by less than one bucket share the same entry. The cached data may
+ * therefore contain rows outside of the requested range, which have to be filtered by the caller. All entries of a
+ * database are dropped when a value is written to it.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jFetchCache {
+
+    private record Key(String name, ConsolFun consolFun, long resolution, long start, long end) {
+    }
+
+    private final int capacity;
+    private final Map<Key, FetchData> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Long> generations = new HashMap<>();
+
+    private long hits;
+    private long misses;
+
+    public RRD4jFetchCache(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Fetches data from the database or returns the cached result of an earlier request.
+     *
+     * @param db the database to fetch from
+     * @param name the name of the database, used for invalidation
+     * @param consolFun the consolidation function
+     * @param start start of the time range in seconds
+     * @param end end of the time range in seconds
+     * @param resolution the requested resolution in seconds
+     * @return the fetched data, which must not be modified
+     * @throws IOException if reading from the database fails
+     */
+    public FetchData fetch(RrdDb db, String name, ConsolFun consolFun, long start, long end, long resolution)
+            throws IOException {
+        long fetchStart = start;
+        long fetchEnd = end;
+        if (start < end) {
+            long bucket = Math.max(resolution, db.getRrdDef().getStep());
+            fetchStart = Math.floorDiv(start, bucket) * bucket;
+            fetchEnd = Math.floorDiv(end + bucket - 1, bucket) * bucket;
+        }
+        Key key = new Key(name, consolFun, resolution, fetchStart, fetchEnd);
+        long generation;
+        synchronized (this) {
+            FetchData cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+            generation = generations.getOrDefault(name, 0L);
+        }
+
+        FetchData data = db.createFetchRequest(consolFun, fetchStart, fetchEnd, resolution).fetchData();
+
+        synchronized (this) {
+            // do not cache data that may have been read before a concurrent write
+            if (generation == generations.getOrDefault(name, 0L)) {
+                entries.put(key, data);
+                if (entries.size() > capacity) {
+                    entries.remove(entries.keySet().iterator().next());
+                }
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Drops all cached results of a database. Must be called after a value has been written to it.
+     *
+     * @param name the name of the database
+     */
+    public synchronized void invalidate(String name) {
+        generations.merge(name, 1L, Long::sum);
+        entries.keySet().removeIf(key -> key.name().equals(name));
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+}
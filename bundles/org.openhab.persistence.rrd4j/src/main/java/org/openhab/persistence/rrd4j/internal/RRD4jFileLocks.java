@@ -0,0 +1,47 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Serializes the writes to each database file, while different files can be written in parallel.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jFileLocks {
+
+    private final Map<String, Lock> locks = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the action while holding the lock of the given database file.
+     *
+     * @param name the name of the database
+     * @param action the action to run
+     */
+    public void runLocked(String name, Runnable action) {
+        Lock lock = locks.computeIfAbsent(name, n -> new ReentrantLock());
+        lock.lock();
+        try {
+            action.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
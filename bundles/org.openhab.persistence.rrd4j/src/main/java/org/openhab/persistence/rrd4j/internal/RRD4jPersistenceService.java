@@ -22,13 +22,17 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
@@ -45,6 +49,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.OpenHAB;
 import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
@@ -71,6 +76,8 @@ import org.openhab.core.persistence.QueryablePersistenceService;
 import org.openhab.core.persistence.strategy.PersistenceCronStrategy;
 import org.openhab.core.persistence.strategy.PersistenceStrategy;
 import org.openhab.core.types.State;
+import org.openhab.io.metrics.addon.internal.MicrometerPersistenceServiceMetrics;
+import org.openhab.io.metrics.addon.internal.PersistenceServiceMetrics;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -78,14 +85,18 @@ import org.osgi.service.component.annotations.ConfigurationPolicy;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
 import org.rrd4j.ConsolFun;
 import org.rrd4j.DsType;
 import org.rrd4j.core.FetchData;
-import org.rrd4j.core.FetchRequest;
+import org.rrd4j.core.RrdBackendFactory;
 import org.rrd4j.core.RrdDb;
 import org.rrd4j.core.RrdDb.Builder;
 import org.rrd4j.core.RrdDbPool;
 import org.rrd4j.core.RrdDef;
+import org.rrd4j.core.RrdNioBackendFactory;
+import org.rrd4j.core.RrdRandomAccessFileBackendFactory;
 import org.rrd4j.core.Sample;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -105,7 +116,7 @@ import org.slf4j.LoggerFactory;
                 + "=org.openhab.rrd4j")
 public class RRD4jPersistenceService implements QueryablePersistenceService {
 
-    private record Key(long timestamp, String name) implements Comparable<Key> {
+    record Key(long timestamp, String name) implements Comparable<Key> {
         @Override
         public int compareTo(Key other) {
             int c = Long.compare(timestamp, other.timestamp);
@@ -114,6 +125,9 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         }
     }
 
+    record Point(long timestamp, double value) {
+    }
+
     public static final String SERVICE_ID = "rrd4j";
 
     private static final String DEFAULT_OTHER = "default_other";
@@ -126,16 +140,40 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1,
             new NamedThreadFactory("RRD4j"));
 
+    private final ExecutorService writer = Executors.newFixedThreadPool(WRITER_THREADS,
+            new NamedThreadFactory("RRD4j-writer"));
+
+    private final RRD4jDatabaseCache openDatabases = new RRD4jDatabaseCache(MAX_OPEN_DATABASES);
+
+    private final RRD4jFileLocks fileLocks = new RRD4jFileLocks();
+
     private final Map<String, RrdDefConfig> rrdDefs = new ConcurrentHashMap<>();
 
     private final ConcurrentSkipListMap<Key, Double> storageMap = new ConcurrentSkipListMap<>(Key::compareTo);
 
+    private volatile PersistenceServiceMetrics metrics = PersistenceServiceMetrics.NOOP;
+
     private static final String DATASOURCE_STATE = "state";
 
     private static final Path DB_FOLDER = Path.of(OpenHAB.getUserDataFolder(), "persistence", "rrd4j").toAbsolutePath();
 
     private static final RrdDbPool DATABASE_POOL = new RrdDbPool();
 
+    private static final RRD4jFetchCache FETCH_CACHE = new RRD4jFetchCache(64);
+
+    private static final String CONFIG_BACKEND = "backend";
+    private static final String BACKEND_FILE = "file";
+    private static final String BACKEND_NIO = "nio";
+
+    private static final RrdBackendFactory FILE_BACKEND_FACTORY = new RrdRandomAccessFileBackendFactory();
+    private static @Nullable RrdBackendFactory nioBackendFactory;
+    private static volatile RrdBackendFactory backendFactory = FILE_BACKEND_FACTORY;
+
+    // leave room in the pool for files opened by queries and charts
+    private static final int MAX_OPEN_DATABASES = DATABASE_POOL.getCapacity() * 3 / 4;
+
+    private static final int WRITER_THREADS = Math.min(4, Runtime.getRuntime().availableProcessors());
+
     private final Logger logger = LoggerFactory.getLogger(RRD4jPersistenceService.class);
     private final ItemRegistry itemRegistry;
     private boolean active = false;
@@ -148,6 +186,14 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return DATABASE_POOL;
     }
 
+    public static RrdBackendFactory getBackendFactory() {
+        return backendFactory;
+    }
+
+    public static RRD4jFetchCache getFetchCache() {
+        return FETCH_CACHE;
+    }
+
     private final ScheduledFuture<?> storeJob;
 
     @Activate
@@ -163,6 +209,8 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         // clean existing definitions
         rrdDefs.clear();
 
+        setBackend(config.get(CONFIG_BACKEND));
+
         // add default configurations
 
         RrdDefConfig defaultNumeric = new RrdDefConfig(DEFAULT_NUMERIC);
@@ -211,8 +259,8 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         while (keys.hasNext()) {
             String key = keys.next();
 
-            if ("service.pid".equals(key) || "component.name".equals(key)) {
-                // ignore service.pid and name
+            if ("service.pid".equals(key) || "component.name".equals(key) || CONFIG_BACKEND.equals(key)) {
+                // ignore service.pid and name, the backend has already been set
                 continue;
             }
 
@@ -266,6 +314,36 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         }
     }
 
+    private void setBackend(@Nullable Object backend) {
+        String name = backend instanceof String value ? value.trim() : "";
+        RrdBackendFactory factory;
+        if (backend == null || name.isEmpty() || BACKEND_FILE.equalsIgnoreCase(name)) {
+            factory = FILE_BACKEND_FACTORY;
+        } else if (BACKEND_NIO.equalsIgnoreCase(name)) {
+            factory = getNioBackendFactory();
+        } else {
+            logger.warn("Ignoring unknown backend '{}', using '{}'", backend, BACKEND_FILE);
+            factory = FILE_BACKEND_FACTORY;
+        }
+        if (factory != backendFactory) {
+            logger.debug("Using rrd4j backend {}", factory.getName());
+            // release the databases opened with the previous backend
+            openDatabases.clear();
+            FETCH_CACHE.clear();
+            backendFactory = factory;
+        }
+    }
+
+    private static synchronized RrdBackendFactory getNioBackendFactory() {
+        RrdBackendFactory factory = nioBackendFactory;
+        if (factory == null) {
+            // memory mapped files, changes are synced to disk periodically and when the file is closed
+            factory = new RrdNioBackendFactory();
+            nioBackendFactory = factory;
+        }
+        return factory;
+    }
+
     @Deactivate
     protected void deactivate() {
         active = false;
@@ -273,6 +351,27 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
         // make sure we really store everything
         doStore(true);
+        writer.shutdown();
+        openDatabases.clear();
+        FETCH_CACHE.clear();
+        closeNioBackendFactory();
+    }
+
+    private void closeNioBackendFactory() {
+        synchronized (RRD4jPersistenceService.class) {
+            RrdBackendFactory factory = nioBackendFactory;
+            if (factory == null) {
+                return;
+            }
+            // stops the thread syncing the memory mapped files, the next activation creates a new factory
+            backendFactory = FILE_BACKEND_FACTORY;
+            nioBackendFactory = null;
+            try {
+                factory.close();
+            } catch (IOException e) {
+                logger.debug("Failed to close the nio backend: {}", e.getMessage());
+            }
+        }
     }
 
     @Override
@@ -339,31 +438,91 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     }
 
     private void doStore(boolean force) {
-        long now = System.currentTimeMillis() / 1000;
+        Map<String, List<Point>> duePoints = pollDuePoints(storageMap, System.currentTimeMillis() / 1000, force);
+        if (duePoints.isEmpty()) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        if (duePoints.size() == 1 || writer.isShutdown()) {
+            duePoints.forEach(this::writePointsToDatabase);
+            metrics.recordStore(startNanos, 0);
+            return;
+        }
+        // unrelated files are written in parallel
+        List<Callable<@Nullable Void>> tasks = new ArrayList<>(duePoints.size());
+        duePoints.forEach((name, points) -> tasks.add(() -> {
+            writePointsToDatabase(name, points);
+            return null;
+        }));
+        try {
+            writer.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RejectedExecutionException e) {
+            // this happens if the system is shut down
+            logger.debug("Could not write values to rrd4j databases: {}", e.getMessage());
+        }
+        metrics.recordStore(startNanos, 0);
+    }
+
+    /**
+     * Removes all values that are due for writing from the storage map and groups them by database file, so each
+     * file is locked and opened only once.
+     *
+     * @param storageMap the values waiting to be written
+     * @param now the current time in seconds
+     * @param force true to return all values, even those of the current second
+     * @return the due values of each database file in the order of their timestamps
+     */
+    static Map<String, List<Point>> pollDuePoints(NavigableMap<Key, Double> storageMap, long now, boolean force) {
+        Map<String, List<Point>> duePoints = new LinkedHashMap<>();
         while (!storageMap.isEmpty()) {
             Key key = storageMap.firstKey();
             if (now > key.timestamp || force) {
                 // no new elements can be added for this timestamp because we are already past that time or the service
                 // requires forced storing
-                Double value = storageMap.pollFirstEntry().getValue();
-                writePointToDatabase(key.name, value, key.timestamp);
+                Map.Entry<Key, Double> entry = storageMap.pollFirstEntry();
+                if (entry == null) {
+                    break;
+                }
+                duePoints.computeIfAbsent(entry.getKey().name, name -> new ArrayList<>())
+                        .add(new Point(entry.getKey().timestamp, entry.getValue()));
             } else {
-                return;
+                break;
             }
         }
+        return duePoints;
     }
 
-    private synchronized void writePointToDatabase(String name, double value, long timestamp) {
-        RrdDb db = null;
-        try {
-            db = getDB(name, true);
-        } catch (Exception e) {
-            logger.warn("Failed to open rrd4j database '{}' to store data ({})", name, e.toString());
-        }
-        if (db == null) {
-            return;
-        }
+    private void writePointsToDatabase(String name, List<Point> points) {
+        fileLocks.runLocked(name, () -> {
+            RrdDb db = null;
+            try {
+                db = getDB(name, true);
+            } catch (Exception e) {
+                logger.warn("Failed to open rrd4j database '{}' to store data ({})", name, e.toString());
+            }
+            if (db == null) {
+                metrics.countFailedStores(points.size());
+                return;
+            }
+            try {
+                int failed = 0;
+                for (Point point : points) {
+                    if (!writePointToDatabase(db, name, point.value(), point.timestamp())) {
+                        failed++;
+                    }
+                }
+                metrics.countFailedStores(failed);
+            } finally {
+                // the database is kept open for the next values instead of being closed
+                openDatabases.release(name, db);
+                FETCH_CACHE.invalidate(name);
+            }
+        });
+    }
 
+    private boolean writePointToDatabase(RrdDb db, String name, double value, long timestamp) {
         ConsolFun function = getConsolidationFunction(db);
         if (function != ConsolFun.AVERAGE) {
             try {
@@ -397,13 +556,10 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
             sample.setValue(DATASOURCE_STATE, storeValue);
             sample.update();
             logger.debug("Stored '{}' as value '{}' with timestamp {} in rrd4j database", name, storeValue, timestamp);
+            return true;
         } catch (Exception e) {
             logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
-        }
-        try {
-            db.close();
-        } catch (IOException e) {
-            logger.debug("Error closing rrd4j database: {}", e.getMessage());
+            return false;
         }
     }
 
@@ -426,6 +582,7 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
             return List.of();
         }
         logger.trace("Querying rrd4j database for item '{}'", itemName);
+        long startNanos = System.nanoTime();
 
         RrdDb db = null;
         try {
@@ -473,6 +630,7 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
                             HistoricItem rrd4jItem = new RRD4jItem(itemName, toState.apply(lastValue),
                                     ZonedDateTime.ofInstant(Instant.ofEpochSecond(db.getLastArchiveUpdateTime()),
                                             ZoneId.systemDefault()));
+                            metrics.recordQuery(startNanos, 1);
                             return List.of(rrd4jItem);
                         } else {
                             return List.of();
@@ -496,8 +654,8 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
                 return List.of();
             }
 
-            FetchRequest request = db.createFetchRequest(getConsolidationFunction(db), start, end, 1);
-            FetchData result = request.fetchData();
+            // repeated queries, e.g. from charts, are served from the cache until the next value is written
+            FetchData result = FETCH_CACHE.fetch(db, itemName, getConsolidationFunction(db), start, end, 1);
 
             List<HistoricItem> items = new ArrayList<>();
             long ts = result.getFirstTimestamp();
@@ -523,6 +681,7 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
                 zdt = zdt.plusSeconds(step);
                 ts += step;
             }
+            metrics.recordQuery(startNanos, items.size());
             return items;
         } catch (IOException e) {
             logger.warn("Could not query rrd4j database for item '{}': {}", itemName, e.getMessage());
@@ -536,17 +695,29 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         }
     }
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    public void setMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics = new MicrometerPersistenceServiceMetrics(meterRegistryProvider.getOHMeterRegistry(),
+                SERVICE_ID, storageMap::size, null);
+    }
+
+    public void unsetMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics.close();
+        metrics = PersistenceServiceMetrics.NOOP;
+    }
+
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
         return Set.of();
     }
 
-    protected synchronized @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
+    protected @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
         RrdDb db = null;
         Path path = getDatabasePath(alias);
         try {
             Builder builder = RrdDb.getBuilder();
             builder.setPool(DATABASE_POOL);
+            builder.setBackendFactory(backendFactory);
 
             if (Files.exists(path)) {
                 // recreate the RrdDb instance from the file
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.rrd4j.core.RrdDb;
+
+/**
+ * Tests the {@link RRD4jDatabaseCache}.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jDatabaseCacheTest {
+
+    @Test
+    public void firstReferenceIsKeptOpen() throws IOException {
+        RRD4jDatabaseCache cache = new RRD4jDatabaseCache(2);
+        RrdDb db = mock(RrdDb.class);
+
+        cache.release("item", db);
+
+        verify(db, never()).close();
+        assertThat(cache.size(), is(1));
+    }
+
+    @Test
+    public void sameInstanceFromPoolIsClosedAgain() throws IOException {
+        RRD4jDatabaseCache cache = new RRD4jDatabaseCache(2);
+        RrdDb db = mock(RrdDb.class);
+
+        // the pool returns the same instance for every request and counts each of them
+        cache.release("item", db);
+        cache.release("item", db);
+        cache.release("item", db);
+
+        // only the first reference is kept
+        verify(db, times(2)).close();
+        assertThat(cache.size(), is(1));
+    }
+
+    @Test
+    public void otherInstanceOfCachedFileIsClosed() throws IOException {
+        RRD4jDatabaseCache cache = new RRD4jDatabaseCache(2);
+        RrdDb cached = mock(RrdDb.class);
+        RrdDb other = mock(RrdDb.class);
+
+        cache.release("item", cached);
+        cache.release("item", other);
+
+        verify(cached, never()).close();
+        verify(other).close();
+    }
+
+    @Test
+    public void leastRecentlyUsedReferenceIsReleased() throws IOException {
+        RRD4jDatabaseCache cache = new RRD4jDatabaseCache(2);
+        RrdDb db1 = mock(RrdDb.class);
+        RrdDb db2 = mock(RrdDb.class);
+        RrdDb db3 = mock(RrdDb.class);
+
+        cache.release("item1", db1);
+        cache.release("item2", db2);
+        // item1 is used again, so item2 is the least recently used one
+        cache.release("item1", db1);
+        cache.release("item3", db3);
+
+        verify(db1, times(1)).close();
+        verify(db2, times(1)).close();
+        verify(db3, never()).close();
+        assertThat(cache.size(), is(2));
+    }
+
+    @Test
+    public void clearReleasesAllReferences() throws IOException {
+        RRD4jDatabaseCache cache = new RRD4jDatabaseCache(2);
+        RrdDb db1 = mock(RrdDb.class);
+        RrdDb db2 = mock(RrdDb.class);
+        cache.release("item1", db1);
+        cache.release("item2", db2);
+
+        cache.clear();
+
+        verify(db1).close();
+        verify(db2).close();
+        assertThat(cache.size(), is(0));
+    }
+}
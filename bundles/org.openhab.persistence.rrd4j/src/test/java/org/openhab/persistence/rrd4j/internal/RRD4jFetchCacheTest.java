@@ -0,0 +1,164 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.rrd4j.ConsolFun;
+import org.rrd4j.core.FetchData;
+import org.rrd4j.core.FetchRequest;
+import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.RrdDef;
+
+/**
+ * Tests the {@link RRD4jFetchCache}.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jFetchCacheTest {
+
+    private static final long STEP = 10;
+
+    private RrdDb mockDatabase() throws IOException {
+        RrdDb db = mock(RrdDb.class);
+        RrdDef rrdDef = mock(RrdDef.class);
+        when(rrdDef.getStep()).thenReturn(STEP);
+        when(db.getRrdDef()).thenReturn(rrdDef);
+        when(db.createFetchRequest(any(), anyLong(), anyLong(), anyLong())).thenAnswer(invocation -> {
+            FetchRequest request = mock(FetchRequest.class);
+            when(request.fetchData()).thenReturn(mock(FetchData.class));
+            return request;
+        });
+        return db;
+    }
+
+    @Test
+    public void requestsWithinSameBucketShareEntry() throws IOException {
+        RRD4jFetchCache cache = new RRD4jFetchCache(4);
+        RrdDb db = mockDatabase();
+
+        FetchData first = cache.fetch(db, "item", ConsolFun.AVERAGE, 1003, 2005, 1);
+        FetchData second = cache.fetch(db, "item", ConsolFun.AVERAGE, 1001, 2009, 1);
+
+        assertThat(second, is(sameInstance(first)));
+        verify(db, times(1)).createFetchRequest(ConsolFun.AVERAGE, 1000, 2010, 1);
+        assertThat(cache.size(), is(1));
+        assertThat(cache.getHits(), is(1L));
+        assertThat(cache.getMisses(), is(1L));
+    }
+
+    @Test
+    public void requestsInOtherBucketsAreFetchedAgain() throws IOException {
+        RRD4jFetchCache cache = new RRD4jFetchCache(4);
+        RrdDb db = mockDatabase();
+
+        cache.fetch(db, "item", ConsolFun.AVERAGE, 1003, 2005, 1);
+        cache.fetch(db, "item", ConsolFun.AVERAGE, 1013, 2005, 1);
+        cache.fetch(db, "item", ConsolFun.MAX, 1003, 2005, 1);
+
+        verify(db).createFetchRequest(ConsolFun.AVERAGE, 1000, 2010, 1);
+        verify(db).createFetchRequest(ConsolFun.AVERAGE, 1010, 2010, 1);
+        verify(db).createFetchRequest(ConsolFun.MAX, 1000, 2010, 1);
+        assertThat(cache.size(), is(3));
+        assertThat(cache.getHits(), is(0L));
+        assertThat(cache.getMisses(), is(3L));
+    }
+
+    @Test
+    public void resolutionLargerThanStepIsUsedAsBucket() throws IOException {
+        RRD4jFetchCache cache = new RRD4jFetchCache(4);
+        RrdDb db = mockDatabase();
+
+        cache.fetch(db, "item", ConsolFun.AVERAGE, 1003, 2005, 60);
+
+        verify(db).createFetchRequest(ConsolFun.AVERAGE, 960, 2040, 60);
+    }
+
+    @Test
+    public void singlePointInTimeIsNotWidened() throws IOException {
+        RRD4jFetchCache cache = new RRD4jFetchCache(4);
+        RrdDb db = mockDatabase();
+
+        cache.fetch(db, "item", ConsolFun.AVERAGE, 1003, 1003, 1);
+
+        verify(db).createFetchRequest(ConsolFun.AVERAGE, 1003, 1003, 1);
+    }
+
+    @Test
+    public void invalidateDropsEntriesOfDatabaseOnly() throws IOException {
+        RRD4jFetchCache cache = new RRD4jFetchCache(4);
+        RrdDb db1 = mockDatabase();
+        RrdDb db2 = mockDatabase();
+        cache.fetch(db1, "item1", ConsolFun.AVERAGE, 1000, 2000, 1);
+        cache.fetch(db2, "item2", ConsolFun.AVERAGE, 1000, 2000, 1);
+
+        cache.invalidate("item1");
+        cache.fetch(db1, "item1", ConsolFun.AVERAGE, 1000, 2000, 1);
+        cache.fetch(db2, "item2", ConsolFun.AVERAGE, 1000, 2000, 1);
+
+        verify(db1, times(2)).createFetchRequest(ConsolFun.AVERAGE, 1000, 2000, 1);
+        verify(db2, times(1)).createFetchRequest(ConsolFun.AVERAGE, 1000, 2000, 1);
+        assertThat(cache.getHits(), is(1L));
+    }
+
+    @Test
+    public void dataReadBeforeConcurrentWriteIsNotCached() throws IOException {
+        RRD4jFetchCache cache = new RRD4jFetchCache(4);
+        RrdDb db = mock(RrdDb.class);
+        RrdDef rrdDef = mock(RrdDef.class);
+        when(rrdDef.getStep()).thenReturn(STEP);
+        when(db.getRrdDef()).thenReturn(rrdDef);
+        when(db.createFetchRequest(any(), anyLong(), anyLong(), anyLong())).thenAnswer(invocation -> {
+            // a value is written while the data is read
+            cache.invalidate("item");
+            FetchRequest request = mock(FetchRequest.class);
+            when(request.fetchData()).thenReturn(mock(FetchData.class));
+            return request;
+        });
+
+        cache.fetch(db, "item", ConsolFun.AVERAGE, 1000, 2000, 1);
+
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    public void leastRecentlyUsedEntryIsEvicted() throws IOException {
+        RRD4jFetchCache cache = new RRD4jFetchCache(2);
+        RrdDb db = mockDatabase();
+
+        cache.fetch(db, "item", ConsolFun.AVERAGE, 1000, 2000, 1);
+        cache.fetch(db, "item", ConsolFun.AVERAGE, 3000, 4000, 1);
+        // the first range is used again, so the second one is the least recently used one
+        cache.fetch(db, "item", ConsolFun.AVERAGE, 1000, 2000, 1);
+        cache.fetch(db, "item", ConsolFun.AVERAGE, 5000, 6000, 1);
+        cache.fetch(db, "item", ConsolFun.AVERAGE, 1000, 2000, 1);
+        cache.fetch(db, "item", ConsolFun.AVERAGE, 3000, 4000, 1);
+
+        verify(db, times(1)).createFetchRequest(ConsolFun.AVERAGE, 1000, 2000, 1);
+        verify(db, times(2)).createFetchRequest(ConsolFun.AVERAGE, 3000, 4000, 1);
+        assertThat(cache.size(), is(2));
+    }
+}
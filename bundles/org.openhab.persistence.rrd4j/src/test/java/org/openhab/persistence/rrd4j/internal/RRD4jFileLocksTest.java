@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link RRD4jFileLocks}.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jFileLocksTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void writesToSameFileAreSerialized() throws Exception {
+        RRD4jFileLocks locks = new RRD4jFileLocks();
+        CountDownLatch firstEntered = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+
+        Future<?> first = executor.submit(() -> locks.runLocked("item", () -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            firstEntered.countDown();
+            await(releaseFirst);
+            concurrent.decrementAndGet();
+        }));
+        assertThat(firstEntered.await(5, TimeUnit.SECONDS), is(true));
+        Future<?> second = executor.submit(() -> locks.runLocked("item", () -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            concurrent.decrementAndGet();
+        }));
+
+        // the second writer waits for the first one
+        Thread.sleep(100);
+        assertThat(second.isDone(), is(false));
+
+        releaseFirst.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        assertThat(maxConcurrent.get(), is(1));
+    }
+
+    @Test
+    public void differentFilesAreWrittenInParallel() throws Exception {
+        RRD4jFileLocks locks = new RRD4jFileLocks();
+        CountDownLatch bothEntered = new CountDownLatch(2);
+
+        Future<?> first = executor.submit(() -> locks.runLocked("item1", () -> {
+            bothEntered.countDown();
+            await(bothEntered);
+        }));
+        Future<?> second = executor.submit(() -> locks.runLocked("item2", () -> {
+            bothEntered.countDown();
+            await(bothEntered);
+        }));
+
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.persistence.rrd4j.internal.RRD4jPersistenceService.Key;
+import org.openhab.persistence.rrd4j.internal.RRD4jPersistenceService.Point;
+
+/**
+ * Tests how the {@link RRD4jPersistenceService} groups the values waiting to be written.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jPersistenceServiceTest {
+
+    private final ConcurrentSkipListMap<Key, Double> storageMap = new ConcurrentSkipListMap<>(Key::compareTo);
+
+    @Test
+    public void duePointsAreGroupedByFileInTimestampOrder() {
+        storageMap.put(new Key(10, "item1"), 1.0);
+        storageMap.put(new Key(10, "item2"), 2.0);
+        storageMap.put(new Key(11, "item1"), 3.0);
+        storageMap.put(new Key(12, "item2"), 4.0);
+
+        Map<String, List<Point>> duePoints = RRD4jPersistenceService.pollDuePoints(storageMap, 20, false);
+
+        assertThat(duePoints.keySet().stream().toList(), is(List.of("item1", "item2")));
+        assertThat(duePoints.get("item1"), is(List.of(new Point(10, 1.0), new Point(11, 3.0))));
+        assertThat(duePoints.get("item2"), is(List.of(new Point(10, 2.0), new Point(12, 4.0))));
+        assertThat(storageMap.isEmpty(), is(true));
+    }
+
+    @Test
+    public void valuesOfCurrentSecondAreKeptUnlessForced() {
+        storageMap.put(new Key(10, "item1"), 1.0);
+        storageMap.put(new Key(20, "item1"), 2.0);
+
+        Map<String, List<Point>> duePoints = RRD4jPersistenceService.pollDuePoints(storageMap, 20, false);
+
+        assertThat(duePoints.get("item1"), is(List.of(new Point(10, 1.0))));
+        assertThat(storageMap.size(), is(1));
+
+        duePoints = RRD4jPersistenceService.pollDuePoints(storageMap, 20, true);
+
+        assertThat(duePoints.get("item1"), is(List.of(new Point(20, 2.0))));
+        assertThat(storageMap.isEmpty(), is(true));
+    }
+}
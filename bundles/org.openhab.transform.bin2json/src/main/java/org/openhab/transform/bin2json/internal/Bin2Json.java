@@ -16,12 +16,14 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 import org.openhab.core.util.HexUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
 import com.igormaznitsa.jbbp.JBBPParser;
@@ -66,6 +68,9 @@ import com.igormaznitsa.jbbp.model.JBBPFieldUShort;
  * json.toString() = {"a":3,"b":-6,"c":255}}
  * </pre>
  *
+ * <p>
+ * The prepared parser is immutable, so an instance can be reused to convert any number of inputs.
+ *
  * @author Pauli Anttila - Initial contribution
  *
  */
@@ -84,7 +89,7 @@ public class Bin2Json {
         try {
             parser = JBBPParser.prepare(parserRule);
         } catch (JBBPException e) {
-            throw new ConversionException(String.format("Illegal parser rule, reason: %s", e.getMessage(), e));
+            throw new ConversionException(String.format("Illegal parser rule, reason: %s", e.getMessage()), e);
         }
     }
 
@@ -99,7 +104,7 @@ public class Bin2Json {
         try {
             return convert(HexUtils.hexToBytes(hexString));
         } catch (IllegalArgumentException e) {
-            throw new ConversionException(String.format("Illegal hexstring , reason: %s", e.getMessage(), e));
+            throw new ConversionException(String.format("Illegal hexstring , reason: %s", e.getMessage()), e);
         }
     }
 
@@ -114,9 +119,9 @@ public class Bin2Json {
         try {
             return convert(parser.parse(data));
         } catch (IOException e) {
-            throw new ConversionException(String.format("Unexpected error, reason: %s", e.getMessage(), e));
+            throw new ConversionException(String.format("Unexpected error, reason: %s", e.getMessage()), e);
         } catch (JBBPException e) {
-            throw new ConversionException(String.format("Unexpected error, reason: %s", e.getMessage(), e));
+            throw new ConversionException(String.format("Unexpected error, reason: %s", e.getMessage()), e);
         }
     }
 
@@ -131,9 +136,43 @@ public class Bin2Json {
         try {
             return convert(parser.parse(inputStream));
         } catch (IOException e) {
-            throw new ConversionException(String.format("Unexpected error, reason: %s", e.getMessage(), e));
+            throw new ConversionException(String.format("Unexpected error, reason: %s", e.getMessage()), e);
+        } catch (JBBPException e) {
+            throw new ConversionException(String.format("Unexpected error, reason: %s", e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Extracts a single field from data in hexadecimal string format, without converting the other fields.
+     *
+     * @param hexString Data in hexadecimal string format. Example data: 03FAFF
+     * @param fieldPath Name of the field, fields of structures are separated by dots. Example: header.length
+     * @return The value of a single field, or the JSON representation of an array or structure
+     * @throws ConversionException
+     */
+    public String extract(String hexString, String fieldPath) throws ConversionException {
+        JBBPFieldStruct data;
+        try {
+            data = parser.parse(HexUtils.hexToBytes(hexString));
+        } catch (IllegalArgumentException e) {
+            throw new ConversionException(String.format("Illegal hexstring , reason: %s", e.getMessage()), e);
+        } catch (IOException e) {
+            throw new ConversionException(String.format("Unexpected error, reason: %s", e.getMessage()), e);
+        } catch (JBBPException e) {
+            throw new ConversionException(String.format("Unexpected error, reason: %s", e.getMessage()), e);
+        }
+
+        // JBBP field names are case insensitive and stored in lower case
+        JBBPAbstractField field = data.findFieldForPath(fieldPath.toLowerCase(Locale.ROOT));
+        if (field == null) {
+            throw new ConversionException(String.format("Field '%s' not found", fieldPath));
+        }
+        try {
+            JsonObject json = convertToJSon(new JsonObject(), field);
+            JsonElement value = json.get(field.getFieldName() == null ? "nonamed" : field.getFieldName());
+            return value.isJsonPrimitive() ? value.getAsString() : value.toString();
         } catch (JBBPException e) {
-            throw new ConversionException(String.format("Unexpected error, reason: %s", e.getMessage(), e));
+            throw new ConversionException(String.format("Unexpected error, reason: %s", e.getMessage()), e);
         }
     }
 
@@ -147,7 +186,7 @@ public class Bin2Json {
             }
             return json;
         } catch (JBBPException e) {
-            throw new ConversionException(String.format("Unexpected error, reason: %s", e.getMessage(), e));
+            throw new ConversionException(String.format("Unexpected error, reason: %s", e.getMessage()), e);
         }
     }
 
@@ -12,6 +12,12 @@
  */
 package org.openhab.transform.bin2json.internal;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.transform.TransformationException;
@@ -24,18 +30,33 @@ import org.slf4j.LoggerFactory;
  * The implementation of {@link TransformationService} which transforms the
  * hexa string formatted binary data by Binary Block Parser syntax to JSON format.
  *
+ * If the syntax is prefixed with <code>@field:</code>, only the value of the given field is returned.
+ * Prepared parsers are cached, so the syntax is compiled only once.
+ *
  * @author Pauli Anttila - Initial contribution
  */
 @NonNullByDefault
 @Component(property = { "openhab.transform=BIN2JSON" })
 public class Bin2JsonTransformationService implements TransformationService {
 
+    private static final int MAX_CACHED_PARSERS = 64;
+    private static final Pattern FIELD_SYNTAX = Pattern.compile("^@([\\w.]+):(.*)$", Pattern.DOTALL);
+
     private Logger logger = LoggerFactory.getLogger(Bin2JsonTransformationService.class);
 
+    private final Map<String, Bin2Json> parsers = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Bin2Json> eldest) {
+            return size() > MAX_CACHED_PARSERS;
+        }
+    });
+
     /**
      * Transforms the input <code>source</code> by Java Binary Block Parser syntax.
      *
-     * @param syntax Java Binary Block Parser syntax.
+     * @param syntax Java Binary Block Parser syntax, optionally prefixed with <code>@field:</code>
      * @param source the input to transform
      */
     @Override
@@ -46,7 +67,12 @@ public class Bin2JsonTransformationService implements TransformationService {
         String result = "";
 
         try {
-            result = String.valueOf(new Bin2Json(syntax).convert(source));
+            Matcher fieldMatcher = FIELD_SYNTAX.matcher(syntax);
+            if (fieldMatcher.matches()) {
+                result = getParser(fieldMatcher.group(2)).extract(source, fieldMatcher.group(1));
+            } else {
+                result = String.valueOf(getParser(syntax).convert(source));
+            }
             logger.debug("transformation resulted '{}'", result);
             return result;
         } catch (ConversionException e) {
@@ -56,4 +82,13 @@ public class Bin2JsonTransformationService implements TransformationService {
                     result);
         }
     }
+
+    private Bin2Json getParser(String parserRule) throws ConversionException {
+        Bin2Json parser = parsers.get(parserRule);
+        if (parser == null) {
+            parser = new Bin2Json(parserRule);
+            parsers.put(parserRule, parser);
+        }
+        return parser;
+    }
 }
@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.bin2json.internal;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+import com.igormaznitsa.jbbp.exceptions.JBBPException;
+
+/**
+ * Tests the {@link Bin2Json}.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class Bin2JsonTest {
+
+    private static final String RULE = "byte a; header { ubyte len; ushort id; } ubyte [3] data;";
+    private static final String DATA = "FA020003010203";
+
+    @Test
+    public void convertReturnsAllFields() throws ConversionException {
+        assertThat(new Bin2Json("byte a; byte b; ubyte c;").convert("03FAFF").toString(),
+                is("{\"a\":3,\"b\":-6,\"c\":255}"));
+    }
+
+    @Test
+    public void extractReturnsValueOfField() throws ConversionException {
+        assertThat(new Bin2Json(RULE).extract(DATA, "a"), is("-6"));
+    }
+
+    @Test
+    public void extractReturnsValueOfNestedField() throws ConversionException {
+        Bin2Json bin2Json = new Bin2Json(RULE);
+
+        assertThat(bin2Json.extract(DATA, "header.len"), is("2"));
+        assertThat(bin2Json.extract(DATA, "header.id"), is("3"));
+    }
+
+    @Test
+    public void extractIgnoresCaseOfFieldPath() throws ConversionException {
+        assertThat(new Bin2Json(RULE).extract(DATA, "Header.ID"), is("3"));
+    }
+
+    @Test
+    public void extractReturnsJsonOfStruct() throws ConversionException {
+        assertThat(new Bin2Json(RULE).extract(DATA, "header"), is("{\"len\":2,\"id\":3}"));
+    }
+
+    @Test
+    public void extractReturnsJsonOfArray() throws ConversionException {
+        assertThat(new Bin2Json(RULE).extract(DATA, "data"), is("[1,2,3]"));
+    }
+
+    @Test
+    public void extractOfMissingFieldFails() throws ConversionException {
+        Bin2Json bin2Json = new Bin2Json(RULE);
+
+        ConversionException e = assertThrows(ConversionException.class, () -> bin2Json.extract(DATA, "missing"));
+        assertThat(e.getMessage(), is("Field 'missing' not found"));
+        assertThrows(ConversionException.class, () -> bin2Json.extract(DATA, "header.missing"));
+    }
+
+    @Test
+    public void illegalHexStringKeepsCause() throws ConversionException {
+        Bin2Json bin2Json = new Bin2Json(RULE);
+
+        ConversionException e = assertThrows(ConversionException.class, () -> bin2Json.extract("XYZ", "a"));
+        assertThat(e.getCause(), instanceOf(IllegalArgumentException.class));
+        e = assertThrows(ConversionException.class, () -> bin2Json.convert("XYZ"));
+        assertThat(e.getCause(), instanceOf(IllegalArgumentException.class));
+    }
+
+    @Test
+    public void illegalParserRuleKeepsCause() {
+        ConversionException e = assertThrows(ConversionException.class, () -> new Bin2Json("unknowntype a;"));
+        assertThat(e.getCause(), instanceOf(JBBPException.class));
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.bin2json.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.transform.TransformationException;
+
+/**
+ * Tests the {@link Bin2JsonTransformationService}.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class Bin2JsonTransformationServiceTest {
+
+    private static final String RULE = "byte a; header { ubyte len; ushort id; } ubyte [3] data;";
+    private static final String DATA = "FA020003010203";
+
+    private final Bin2JsonTransformationService service = new Bin2JsonTransformationService();
+
+    @Test
+    public void syntaxWithoutFieldReturnsJson() throws TransformationException {
+        assertThat(service.transform(RULE, DATA),
+                is("{\"a\":-6,\"header\":{\"len\":2,\"id\":3},\"data\":[1,2,3]}"));
+    }
+
+    @Test
+    public void fieldSyntaxReturnsValueOfField() throws TransformationException {
+        assertThat(service.transform("@a:" + RULE, DATA), is("-6"));
+        assertThat(service.transform("@header.id:" + RULE, DATA), is("3"));
+        assertThat(service.transform("@data:" + RULE, DATA), is("[1,2,3]"));
+    }
+
+    @Test
+    public void fieldSyntaxAllowsMultiLineRules() throws TransformationException {
+        assertThat(service.transform("@header.len:byte a;\nheader {\n ubyte len;\n ushort id;\n}\nubyte [3] data;",
+                DATA), is("2"));
+    }
+
+    @Test
+    public void cachedParserIsReusedForFieldsAndJson() throws TransformationException {
+        assertThat(service.transform("@a:" + RULE, DATA), is("-6"));
+        assertThat(service.transform("@a:" + RULE, "05020003010203"), is("5"));
+        assertThat(service.transform(RULE, "05020003010203"),
+                is("{\"a\":5,\"header\":{\"len\":2,\"id\":3},\"data\":[1,2,3]}"));
+    }
+
+    @Test
+    public void missingFieldFails() {
+        assertThrows(TransformationException.class, () -> service.transform("@missing:" + RULE, DATA));
+    }
+
+    @Test
+    public void invalidFieldSyntaxIsParsedAsRule() {
+        assertThrows(TransformationException.class, () -> service.transform("@:" + RULE, DATA));
+    }
+}
@@ -14,40 +14,110 @@ package org.openhab.transform.jinja.internal;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.config.core.ConfigParser;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
+import org.openhab.io.metrics.addon.internal.CacheMetrics;
+import org.openhab.io.metrics.addon.internal.MicrometerCacheMetrics;
+import org.osgi.framework.Constants;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.interpret.Context;
 import com.hubspot.jinjava.interpret.FatalTemplateErrorsException;
+import com.hubspot.jinjava.interpret.InterpreterException;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.TemplateError;
+import com.hubspot.jinjava.interpret.TemplateError.ErrorType;
+import com.hubspot.jinjava.tree.Node;
 
 /**
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by Jinja2 Expressions.
  *
+ * <p>
+ * Templates are parsed once and the resulting node trees are kept in a cache, together with the render times of the
+ * template.
+ *
  * @author Jochen Klein - Initial contribution
  *
  */
 @NonNullByDefault
-@Component(property = { "openhab.transform=JINJA" })
+@Component(configurationPid = JinjaTransformationService.CONFIGURATION_PID, property = { "openhab.transform=JINJA",
+        Constants.SERVICE_PID + "=" + JinjaTransformationService.CONFIGURATION_PID })
 public class JinjaTransformationService implements TransformationService {
 
+    public static final String CONFIGURATION_PID = "org.openhab.jinja";
+
+    private static final int DEFAULT_TEMPLATE_CACHE_SIZE = 512;
+
+    // ObjectMapper is thread-safe once configured
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
     private final Logger logger = LoggerFactory.getLogger(JinjaTransformationService.class);
 
     private final Jinjava jinjava = new Jinjava();
 
+    private volatile Map<String, CompiledTemplate> templateCache = createCache(DEFAULT_TEMPLATE_CACHE_SIZE);
+    private final LongAdder templateHits = new LongAdder();
+    private final LongAdder templateMisses = new LongAdder();
+    private volatile CacheMetrics metrics = CacheMetrics.NOOP;
+
+    /**
+     * A parsed template. The node tree is not modified while rendering, so it can be shared between threads.
+     */
+    private record CompiledTemplate(Node root, TemplateStatistics statistics) {
+    }
+
+    public JinjaTransformationService() {
+    }
+
+    @Activate
+    public JinjaTransformationService(Map<String, Object> config) {
+        modified(config);
+    }
+
+    @Modified
+    protected void modified(Map<String, Object> config) {
+        int templateCacheSize = ConfigParser.valueAsOrElse(config.get("templateCacheSize"), Integer.class,
+                DEFAULT_TEMPLATE_CACHE_SIZE);
+        logger.debug("Using template cache size {}", templateCacheSize);
+        templateCache = createCache(templateCacheSize);
+    }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    protected void setMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        CacheMetrics metrics = new MicrometerCacheMetrics(meterRegistryProvider.getOHMeterRegistry(), "JINJA");
+        metrics.registerCache("template", () -> templateCache.size(), templateHits, templateMisses);
+        this.metrics = metrics;
+    }
+
+    protected void unsetMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics.close();
+        metrics = CacheMetrics.NOOP;
+    }
+
     /**
      * Transforms the input <code>value</code> by Jinja template.
      *
@@ -65,15 +135,18 @@ public class JinjaTransformationService implements TransformationService {
         bindings.put("value", value);
 
         try {
-            JsonNode tree = new ObjectMapper().readTree(value);
+            JsonNode tree = MAPPER.readTree(value);
             bindings.put("value_json", toObject(tree));
         } catch (IOException e) {
             // ok, then value_json is null...
         }
 
         try {
-            transformationResult = jinjava.render(template, bindings);
-        } catch (FatalTemplateErrorsException e) {
+            CompiledTemplate compiledTemplate = getCompiledTemplate(template);
+            long start = System.nanoTime();
+            transformationResult = render(template, compiledTemplate.root(), bindings);
+            compiledTemplate.statistics().record(System.nanoTime() - start);
+        } catch (FatalTemplateErrorsException | InterpreterException e) {
             throw new TransformationException("An error occurred while transformation. " + e.getMessage(), e);
         }
 
@@ -82,6 +155,82 @@ public class JinjaTransformationService implements TransformationService {
         return transformationResult;
     }
 
+    /**
+     * @return the render statistics of the cached templates
+     */
+    public List<TemplateStatistics.Snapshot> getTemplateStatistics() {
+        Map<String, CompiledTemplate> templateCache = this.templateCache;
+        synchronized (templateCache) {
+            return templateCache.values().stream().map(compiledTemplate -> compiledTemplate.statistics().getSnapshot())
+                    .toList();
+        }
+    }
+
+    private CompiledTemplate getCompiledTemplate(String template) {
+        CompiledTemplate compiledTemplate = templateCache.get(template);
+        if (compiledTemplate == null) {
+            templateMisses.increment();
+            compiledTemplate = compile(template);
+            templateCache.put(template, compiledTemplate);
+        } else {
+            templateHits.increment();
+        }
+        return compiledTemplate;
+    }
+
+    private static Map<String, CompiledTemplate> createCache(int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledTemplate> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /*
+     * The following two methods split Jinjava.renderForResult into parsing and rendering, so the parsed tree can be
+     * reused. Templates with fatal errors are not cached.
+     */
+
+    private CompiledTemplate compile(String template) {
+        JinjavaInterpreter interpreter = createInterpreter(Map.of());
+        JinjavaInterpreter.pushCurrent(interpreter);
+        try {
+            Node root = interpreter.parse(template);
+            checkForFatalErrors(template, interpreter);
+            return new CompiledTemplate(root, new TemplateStatistics(template));
+        } finally {
+            JinjavaInterpreter.popCurrent();
+        }
+    }
+
+    private String render(String template, Node root, Map<String, @Nullable Object> bindings) {
+        JinjavaInterpreter interpreter = createInterpreter(bindings);
+        JinjavaInterpreter.pushCurrent(interpreter);
+        try {
+            String result = interpreter.render(root);
+            checkForFatalErrors(template, interpreter);
+            return result;
+        } finally {
+            JinjavaInterpreter.popCurrent();
+        }
+    }
+
+    private JinjavaInterpreter createInterpreter(Map<String, @Nullable Object> bindings) {
+        Context context = new Context(jinjava.getGlobalContext(), bindings, jinjava.getGlobalConfig().getDisabled());
+        return new JinjavaInterpreter(jinjava, context, jinjava.getGlobalConfig());
+    }
+
+    private static void checkForFatalErrors(String template, JinjavaInterpreter interpreter) {
+        List<TemplateError> fatalErrors = interpreter.getErrorsCopy().stream()
+                .filter(error -> error.getSeverity() == ErrorType.FATAL).toList();
+        if (!fatalErrors.isEmpty()) {
+            throw new FatalTemplateErrorsException(template, fatalErrors);
+        }
+    }
+
     private static @Nullable Object toObject(JsonNode node) {
         switch (node.getNodeType()) {
             case ARRAY: {
@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.jinja.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Histogram of the render times of a template.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class TemplateStatistics {
+
+    /**
+     * Upper bounds of the histogram buckets in microseconds. The last bucket counts all slower renderings.
+     */
+    public static final long[] BUCKET_BOUNDS_MICROS = { 100, 1_000, 10_000, 100_000 };
+
+    /**
+     * Snapshot of the statistics of a template.
+     *
+     * @param buckets the number of renderings per bucket, see {@link #BUCKET_BOUNDS_MICROS}
+     */
+    public record Snapshot(String template, long count, long totalNanos, long maxNanos, long[] buckets) {
+        public long averageNanos() {
+            return count == 0 ? 0 : totalNanos / count;
+        }
+    }
+
+    private final String template;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_MICROS.length + 1);
+
+    public TemplateStatistics(String template) {
+        this.template = template;
+    }
+
+    public void record(long nanos) {
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+        long micros = nanos / 1_000;
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS_MICROS.length && micros >= BUCKET_BOUNDS_MICROS[bucket]) {
+            bucket++;
+        }
+        buckets.incrementAndGet(bucket);
+    }
+
+    public Snapshot getSnapshot() {
+        long[] counts = new long[buckets.length()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets.get(i);
+        }
+        return new Snapshot(template, count.sum(), totalNanos.sum(), maxNanos.get(), counts);
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.jinja.internal.console;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.console.Console;
+import org.openhab.core.io.console.ConsoleCommandCompleter;
+import org.openhab.core.io.console.StringsCompleter;
+import org.openhab.core.io.console.extensions.AbstractConsoleCommandExtension;
+import org.openhab.core.io.console.extensions.ConsoleCommandExtension;
+import org.openhab.core.transform.TransformationService;
+import org.openhab.transform.jinja.internal.JinjaTransformationService;
+import org.openhab.transform.jinja.internal.TemplateStatistics;
+import org.openhab.transform.jinja.internal.TemplateStatistics.Snapshot;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * The {@link JinjaCommandExtension} is responsible for handling console commands
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ConsoleCommandExtension.class)
+public class JinjaCommandExtension extends AbstractConsoleCommandExtension implements ConsoleCommandCompleter {
+
+    private static final String CMD_STATS = "stats";
+    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(List.of(CMD_STATS), false);
+
+    private static final int MAX_TEMPLATES = 20;
+    private static final int MAX_TEMPLATE_LENGTH = 60;
+
+    private final TransformationService transformationService;
+
+    @Activate
+    public JinjaCommandExtension(
+            final @Reference(target = "(openhab.transform=JINJA)") TransformationService transformationService) {
+        super("jinja", "Interact with the JINJA transformation service.");
+        this.transformationService = transformationService;
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length == 1 && CMD_STATS.equalsIgnoreCase(args[0])
+                && transformationService instanceof JinjaTransformationService service) {
+            printTemplates(console, service.getTemplateStatistics());
+            return;
+        }
+        printUsage(console);
+    }
+
+    private void printTemplates(Console console, List<Snapshot> templates) {
+        if (templates.isEmpty()) {
+            console.println("No templates rendered.");
+            return;
+        }
+        String buckets = Arrays.stream(TemplateStatistics.BUCKET_BOUNDS_MICROS).mapToObj(bound -> "<" + bound + "µs")
+                .collect(Collectors.joining(" "));
+        console.println(String.format("Most expensive templates (render count, total/avg/max µs, histogram %s >):",
+                buckets));
+        templates.stream().sorted(Comparator.comparingLong(Snapshot::totalNanos).reversed()).limit(MAX_TEMPLATES)
+                .forEach(template -> console.println(String.format("%8d %10d %8d %8d  [%s]  %s", template.count(),
+                        template.totalNanos() / 1_000, template.averageNanos() / 1_000, template.maxNanos() / 1_000,
+                        Arrays.stream(template.buckets()).mapToObj(Long::toString).collect(Collectors.joining(" ")),
+                        abbreviate(template.template()))));
+    }
+
+    private String abbreviate(String template) {
+        String singleLine = template.replaceAll("\\s+", " ").trim();
+        return singleLine.length() <= MAX_TEMPLATE_LENGTH ? singleLine
+                : singleLine.substring(0, MAX_TEMPLATE_LENGTH - 3) + "...";
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return List.of(buildCommandUsage(CMD_STATS, "show the render times of the cached templates"));
+    }
+
+    @Override
+    public @Nullable ConsoleCommandCompleter getCompleter() {
+        return this;
+    }
+
+    @Override
+    public boolean complete(String[] args, int cursorArgumentIndex, int cursorPosition, List<String> candidates) {
+        if (cursorArgumentIndex <= 0) {
+            return CMD_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
+        }
+        return false;
+    }
+}
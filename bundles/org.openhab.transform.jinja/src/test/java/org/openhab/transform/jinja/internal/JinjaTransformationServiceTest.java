@@ -14,20 +14,33 @@ package org.openhab.transform.jinja.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.transform.TransformationException;
+import org.openhab.transform.jinja.internal.TemplateStatistics.Snapshot;
+
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 /**
  * @author Jochen Klein - Initial contribution
  */
 public class JinjaTransformationServiceTest {
 
+    private final CompositeMeterRegistry registry = new CompositeMeterRegistry();
+    private final MeterRegistryProvider meterRegistryProvider = () -> registry;
     private JinjaTransformationService processor;
 
     @BeforeEach
     public void init() {
+        registry.add(new SimpleMeterRegistry());
         processor = new JinjaTransformationService();
+        processor.setMeterRegistryProvider(meterRegistryProvider);
     }
 
     @Test
@@ -113,4 +126,55 @@ public class JinjaTransformationServiceTest {
         // then map key is defined
         assertEquals("true", transformedResponse);
     }
+
+    @Test
+    public void testTemplateIsParsedOnce() throws TransformationException {
+        assertEquals("Hello world!", processor.transform("Hello {{ value }}!", "world"));
+        assertEquals("Hello moon!", processor.transform("Hello {{ value }}!", "moon"));
+
+        assertEquals(1, cacheSize());
+        assertEquals(1, cacheGets("hit"));
+        assertEquals(1, cacheGets("miss"));
+    }
+
+    @Test
+    public void testTemplateStatistics() throws TransformationException {
+        processor.transform("{{ value_json.a }}", "{\"a\": 1}");
+        processor.transform("{{ value_json.a }}", "{\"a\": 2}");
+
+        List<Snapshot> templates = processor.getTemplateStatistics();
+        assertEquals(1, templates.size());
+        Snapshot snapshot = templates.get(0);
+        assertEquals("{{ value_json.a }}", snapshot.template());
+        assertEquals(2, snapshot.count());
+        assertEquals(2, Arrays.stream(snapshot.buckets()).sum());
+        assertTrue(snapshot.maxNanos() <= snapshot.totalNanos());
+    }
+
+    @Test
+    public void testTemplateErrorIsNotCached() {
+        assertThrows(TransformationException.class,
+                () -> processor.transform("Hello {% unknown %}!", "{\"string\": \"world\"}"));
+        assertEquals(0, cacheSize());
+    }
+
+    @Test
+    public void testDisabledCache() throws TransformationException {
+        processor.unsetMeterRegistryProvider(meterRegistryProvider);
+        processor = new JinjaTransformationService(Map.of("templateCacheSize", 0));
+        processor.setMeterRegistryProvider(meterRegistryProvider);
+
+        assertEquals("Hello world!", processor.transform("Hello {{ value }}!", "world"));
+        assertEquals(0, cacheSize());
+        assertTrue(processor.getTemplateStatistics().isEmpty());
+    }
+
+    private double cacheGets(String result) {
+        return registry.get("openhab.transform.cache.gets").tag("cache", "template").tag("result", result)
+                .functionCounter().count();
+    }
+
+    private double cacheSize() {
+        return registry.get("openhab.transform.cache.size").tag("cache", "template").gauge().value();
+    }
 }
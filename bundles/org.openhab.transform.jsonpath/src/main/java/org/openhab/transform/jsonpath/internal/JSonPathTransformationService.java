@@ -12,18 +12,34 @@
  */
 package org.openhab.transform.jsonpath.internal;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.config.core.ConfigParser;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
 import org.openhab.core.types.UnDefType;
+import org.openhab.io.metrics.addon.internal.CacheMetrics;
+import org.openhab.io.metrics.addon.internal.MicrometerCacheMetrics;
+import org.osgi.framework.Constants;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.JsonPath;
@@ -32,15 +48,69 @@ import com.jayway.jsonpath.PathNotFoundException;
 /**
  * The implementation of a {@link TransformationService} which transforms the input by JSonPath Expressions.
  *
+ * Compiled expressions are kept in a cache. Parsed documents are kept for a short time, so several channels
+ * extracting values from the same payload share a single parse.
+ *
  * @author Gaël L'hopital - Initial contribution
  * @author Sebastian Janzen - Initial contribution
  */
 @NonNullByDefault
-@Component(property = { "openhab.transform=JSONPATH" })
+@Component(configurationPid = JSonPathTransformationService.CONFIGURATION_PID, property = {
+        "openhab.transform=JSONPATH", Constants.SERVICE_PID + "=" + JSonPathTransformationService.CONFIGURATION_PID })
 public class JSonPathTransformationService implements TransformationService {
 
+    public static final String CONFIGURATION_PID = "org.openhab.jsonpath";
+
+    private static final int DEFAULT_PATH_CACHE_SIZE = 256;
+    private static final int DEFAULT_DOCUMENT_CACHE_SIZE = 16;
+    // the channels of one message are transformed right after each other
+    private static final long DOCUMENT_CACHE_MAX_AGE_NANOS = TimeUnit.SECONDS.toNanos(2);
+
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    private volatile Map<String, JsonPath> pathCache = createCache(DEFAULT_PATH_CACHE_SIZE);
+    private volatile Map<String, ParsedDocument> documentCache = createCache(DEFAULT_DOCUMENT_CACHE_SIZE);
+    private final LongAdder pathHits = new LongAdder();
+    private final LongAdder pathMisses = new LongAdder();
+    private final LongAdder documentHits = new LongAdder();
+    private final LongAdder documentMisses = new LongAdder();
+    private volatile CacheMetrics metrics = CacheMetrics.NOOP;
+
+    private record ParsedDocument(DocumentContext context, long parsedNanos) {
+    }
+
+    public JSonPathTransformationService() {
+    }
+
+    @Activate
+    public JSonPathTransformationService(Map<String, Object> config) {
+        modified(config);
+    }
+
+    @Modified
+    protected void modified(Map<String, Object> config) {
+        int pathCacheSize = ConfigParser.valueAsOrElse(config.get("pathCacheSize"), Integer.class,
+                DEFAULT_PATH_CACHE_SIZE);
+        int documentCacheSize = ConfigParser.valueAsOrElse(config.get("documentCacheSize"), Integer.class,
+                DEFAULT_DOCUMENT_CACHE_SIZE);
+        logger.debug("Using cache sizes {} for expressions and {} for documents", pathCacheSize, documentCacheSize);
+        pathCache = createCache(pathCacheSize);
+        documentCache = createCache(documentCacheSize);
+    }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    protected void setMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        CacheMetrics metrics = new MicrometerCacheMetrics(meterRegistryProvider.getOHMeterRegistry(), "JSONPATH");
+        metrics.registerCache("expression", () -> pathCache.size(), pathHits, pathMisses);
+        metrics.registerCache("document", () -> documentCache.size(), documentHits, documentMisses);
+        this.metrics = metrics;
+    }
+
+    protected void unsetMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics.close();
+        metrics = CacheMetrics.NOOP;
+    }
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
@@ -62,7 +132,8 @@ public class JSonPathTransformationService implements TransformationService {
             return null;
         }
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
+            JsonPath jsonPath = getPath(jsonPathExpression);
+            Object transformationResult = getDocument(source).read(jsonPath);
             logger.debug("transformation resulted in '{}'", transformationResult);
             if (transformationResult == null) {
                 return null;
@@ -78,6 +149,42 @@ public class JSonPathTransformationService implements TransformationService {
         }
     }
 
+    private JsonPath getPath(String jsonPathExpression) {
+        JsonPath jsonPath = pathCache.get(jsonPathExpression);
+        if (jsonPath == null) {
+            pathMisses.increment();
+            jsonPath = JsonPath.compile(jsonPathExpression);
+            pathCache.put(jsonPathExpression, jsonPath);
+        } else {
+            pathHits.increment();
+        }
+        return jsonPath;
+    }
+
+    private DocumentContext getDocument(String source) {
+        long now = System.nanoTime();
+        ParsedDocument document = documentCache.get(source);
+        if (document == null || now - document.parsedNanos() > DOCUMENT_CACHE_MAX_AGE_NANOS) {
+            documentMisses.increment();
+            document = new ParsedDocument(JsonPath.parse(source), now);
+            documentCache.put(source, document);
+        } else {
+            documentHits.increment();
+        }
+        return document.context();
+    }
+
+    private static <V> Map<String, V> createCache(int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
     private String flattenList(List<?> list) {
         if (list.size() == 1) {
             return list.get(0).toString();
@@ -14,22 +14,32 @@ package org.openhab.transform.jsonpath.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Map;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.transform.TransformationException;
 
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 /**
  * @author Gaël L'hopital - Initial contribution
  */
 @NonNullByDefault
 public class JSonPathTransformationServiceTest {
 
+    private final CompositeMeterRegistry registry = new CompositeMeterRegistry();
+    private final MeterRegistryProvider meterRegistryProvider = () -> registry;
     private @NonNullByDefault({}) JSonPathTransformationService processor;
 
     @BeforeEach
     public void init() {
+        registry.add(new SimpleMeterRegistry());
         processor = new JSonPathTransformationService();
+        processor.setMeterRegistryProvider(meterRegistryProvider);
     }
 
     @Test
@@ -129,4 +139,50 @@ public class JSonPathTransformationServiceTest {
         String transformedResponse = processor.transform("$.data", json);
         assertEquals(list, transformedResponse);
     }
+
+    @Test
+    public void testDocumentIsParsedOnce() throws TransformationException {
+        assertEquals("bob", processor.transform("$[0].name", JSON_ARRAY));
+        assertEquals("2", processor.transform("$[1].id", JSON_ARRAY));
+        assertEquals("bob", processor.transform("$[0].name", new String(JSON_ARRAY)));
+
+        assertEquals(1, gets("document", "miss"));
+        assertEquals(2, gets("document", "hit"));
+        assertEquals(2, gets("expression", "miss"));
+        assertEquals(1, gets("expression", "hit"));
+    }
+
+    @Test
+    public void testCachesCanBeDisabled() throws TransformationException {
+        processor.unsetMeterRegistryProvider(meterRegistryProvider);
+        processor = new JSonPathTransformationService(Map.of("pathCacheSize", 0, "documentCacheSize", 0));
+        processor.setMeterRegistryProvider(meterRegistryProvider);
+
+        assertEquals("bob", processor.transform("$[0].name", JSON_ARRAY));
+        assertEquals("alice", processor.transform("$[1].name", JSON_ARRAY));
+        assertEquals(0, size("document"));
+        assertEquals(0, gets("expression", "hit"));
+    }
+
+    @Test
+    public void testInvalidJsonIsNotCached() {
+        assertThrows(TransformationException.class, () -> processor.transform("$", "{id:"));
+        assertThrows(TransformationException.class, () -> processor.transform("$", "{id:"));
+        assertEquals(0, size("document"));
+    }
+
+    @Test
+    public void testMetersAreRemoved() {
+        processor.unsetMeterRegistryProvider(meterRegistryProvider);
+        assertTrue(registry.getMeters().isEmpty());
+    }
+
+    private double gets(String cache, String result) {
+        return registry.get("openhab.transform.cache.gets").tag("cache", cache).tag("result", result)
+                .functionCounter().count();
+    }
+
+    private double size(String cache) {
+        return registry.get("openhab.transform.cache.size").tag("cache", cache).gauge().value();
+    }
 }
@@ -12,14 +12,28 @@
  */
 package org.openhab.transform.regex.internal;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.config.core.ConfigParser;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
+import org.openhab.io.metrics.addon.internal.CacheMetrics;
+import org.openhab.io.metrics.addon.internal.MicrometerCacheMetrics;
+import org.osgi.framework.Constants;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,16 +44,68 @@ import org.slf4j.LoggerFactory;
  * <p>
  * <b>Note:</b> the given Regular Expression must contain exactly one group!
  *
+ * <p>
+ * The compiled patterns are kept in a cache, so transforming many values with the same expression compiles it only
+ * once.
+ *
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
  */
 @NonNullByDefault
-@Component(property = { "openhab.transform=REGEX" })
+@Component(configurationPid = RegExTransformationService.CONFIGURATION_PID, property = { "openhab.transform=REGEX",
+        Constants.SERVICE_PID + "=" + RegExTransformationService.CONFIGURATION_PID })
 public class RegExTransformationService implements TransformationService {
 
+    public static final String CONFIGURATION_PID = "org.openhab.regex";
+
+    private static final int DEFAULT_PATTERN_CACHE_SIZE = 256;
+
     private final Logger logger = LoggerFactory.getLogger(RegExTransformationService.class);
 
     private static final Pattern SUBSTR_PATTERN = Pattern.compile("^s/(.*?[^\\\\])/(.*?[^\\\\])/(.*)$");
 
+    /**
+     * A compiled expression, either in substitution form or to be matched against the whole source.
+     *
+     * @param pattern the pattern to apply
+     * @param substitution the replacement in substitution form, <code>null</code> otherwise
+     * @param global whether all occurrences are replaced in substitution form
+     */
+    private record CompiledRegex(Pattern pattern, @Nullable String substitution, boolean global) {
+    }
+
+    private volatile Map<String, CompiledRegex> patternCache = createCache(DEFAULT_PATTERN_CACHE_SIZE);
+    private final LongAdder patternHits = new LongAdder();
+    private final LongAdder patternMisses = new LongAdder();
+    private volatile CacheMetrics metrics = CacheMetrics.NOOP;
+
+    public RegExTransformationService() {
+    }
+
+    @Activate
+    public RegExTransformationService(Map<String, Object> config) {
+        modified(config);
+    }
+
+    @Modified
+    protected void modified(Map<String, Object> config) {
+        int patternCacheSize = ConfigParser.valueAsOrElse(config.get("patternCacheSize"), Integer.class,
+                DEFAULT_PATTERN_CACHE_SIZE);
+        logger.debug("Using pattern cache size {}", patternCacheSize);
+        patternCache = createCache(patternCacheSize);
+    }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    protected void setMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        CacheMetrics metrics = new MicrometerCacheMetrics(meterRegistryProvider.getOHMeterRegistry(), "REGEX");
+        metrics.registerCache("pattern", () -> patternCache.size(), patternHits, patternMisses);
+        this.metrics = metrics;
+    }
+
+    protected void unsetMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics.close();
+        metrics = CacheMetrics.NOOP;
+    }
+
     @Override
     public @Nullable String transform(String regExpression, String source) throws TransformationException {
         if (regExpression == null || source == null) {
@@ -50,23 +116,16 @@ public class RegExTransformationService implements TransformationService {
 
         String result = "";
 
-        Matcher substMatcher = SUBSTR_PATTERN.matcher(regExpression);
-        if (substMatcher.matches()) {
+        CompiledRegex compiledRegex = getCompiledRegex(regExpression);
+        String substitution = compiledRegex.substitution();
+        if (substitution != null) {
             logger.debug("Using substitution form of regex transformation");
-            String regex = substMatcher.group(1);
-            String substitution = substMatcher.group(2);
-            String options = substMatcher.group(3);
-            if ("g".equals(options)) {
-                result = source.trim().replaceAll(regex, substitution);
-            } else {
-                result = source.trim().replaceFirst(regex, substitution);
-            }
-            if (result != null) {
-                return result;
-            }
+            Matcher substMatcher = compiledRegex.pattern().matcher(source.trim());
+            return compiledRegex.global() ? substMatcher.replaceAll(substitution)
+                    : substMatcher.replaceFirst(substitution);
         }
 
-        Matcher matcher = Pattern.compile("^" + regExpression + "$", Pattern.DOTALL).matcher(source.trim());
+        Matcher matcher = compiledRegex.pattern().matcher(source.trim());
         if (!matcher.matches()) {
             logger.debug(
                     "the given regex '^{}$' doesn't match the given content '{}' -> couldn't compute transformation",
@@ -94,4 +153,36 @@ public class RegExTransformationService implements TransformationService {
 
         return result;
     }
+
+    private CompiledRegex getCompiledRegex(String regExpression) {
+        CompiledRegex compiledRegex = patternCache.get(regExpression);
+        if (compiledRegex == null) {
+            patternMisses.increment();
+            compiledRegex = compile(regExpression);
+            patternCache.put(regExpression, compiledRegex);
+        } else {
+            patternHits.increment();
+        }
+        return compiledRegex;
+    }
+
+    private CompiledRegex compile(String regExpression) {
+        Matcher substMatcher = SUBSTR_PATTERN.matcher(regExpression);
+        if (substMatcher.matches()) {
+            return new CompiledRegex(Pattern.compile(substMatcher.group(1)), substMatcher.group(2),
+                    "g".equals(substMatcher.group(3)));
+        }
+        return new CompiledRegex(Pattern.compile("^" + regExpression + "$", Pattern.DOTALL), null, false);
+    }
+
+    private static Map<String, CompiledRegex> createCache(int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledRegex> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
 }
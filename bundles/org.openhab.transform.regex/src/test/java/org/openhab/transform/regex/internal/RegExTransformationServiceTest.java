@@ -14,20 +14,30 @@ package org.openhab.transform.regex.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Map;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.transform.TransformationException;
 
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 /**
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
  */
 public class RegExTransformationServiceTest extends AbstractTransformationServiceTest {
 
+    private final CompositeMeterRegistry registry = new CompositeMeterRegistry();
+    private final MeterRegistryProvider meterRegistryProvider = () -> registry;
     private RegExTransformationService processor;
 
     @BeforeEach
     public void init() {
+        registry.add(new SimpleMeterRegistry());
         processor = new RegExTransformationService();
+        processor.setMeterRegistryProvider(meterRegistryProvider);
     }
 
     @Test
@@ -75,4 +85,38 @@ public class RegExTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("varX=12 varY=54 ", transformedResponse);
     }
+
+    @Test
+    public void testPatternIsCompiledOnce() throws TransformationException {
+        assertEquals("8", processor.transform(".*?<temp_c data=\"(.*?)\".*", source));
+        assertEquals("8", processor.transform(".*?<temp_c data=\"(.*?)\".*", source));
+        assertEquals("abc", processor.transform("s/x/b/g", "axc"));
+        assertEquals("abc", processor.transform("s/x/b/g", "axc"));
+
+        assertEquals(2, cacheSize());
+        assertEquals(2, cacheGets("miss"));
+        assertEquals(2, cacheGets("hit"));
+    }
+
+    @Test
+    public void testPatternCacheIsBounded() throws TransformationException {
+        processor.unsetMeterRegistryProvider(meterRegistryProvider);
+        processor = new RegExTransformationService(Map.of("patternCacheSize", 2));
+        processor.setMeterRegistryProvider(meterRegistryProvider);
+
+        assertEquals("1", processor.transform("a(\\d)", "a1"));
+        assertEquals("2", processor.transform("b(\\d)", "b2"));
+        assertEquals("3", processor.transform("c(\\d)", "c3"));
+
+        assertEquals(2, cacheSize());
+    }
+
+    private double cacheGets(String result) {
+        return registry.get("openhab.transform.cache.gets").tag("cache", "pattern").tag("result", result)
+                .functionCounter().count();
+    }
+
+    private double cacheSize() {
+        return registry.get("openhab.transform.cache.size").tag("cache", "pattern").gauge().value();
+    }
 }
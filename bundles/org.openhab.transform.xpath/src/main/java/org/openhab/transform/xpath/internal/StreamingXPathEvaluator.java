@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.xpath.internal;
+
+import java.io.StringReader;
+import java.util.regex.Pattern;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Evaluates simple absolute XPath expressions like <code>/a/b/c</code> or <code>/a/b/@c</code> while reading the
+ * document with StAX, without building a DOM tree. Reading stops at the first match.
+ *
+ * The result is the same as the string value of the expression: the text of the first matching element including
+ * all descendants, or the value of the attribute of the first matching element that has this attribute. Like in
+ * XPath, the names only match elements and attributes without a namespace.
+ *
+ * @author pre-martin - Initial contribution
+ */
+@NonNullByDefault
+public class StreamingXPathEvaluator {
+
+    private static final Pattern SIMPLE_PATH = Pattern.compile("(/[A-Za-z_][\\w.-]*)+(/@[A-Za-z_][\\w.-]*)?");
+
+    private final XMLInputFactory inputFactory;
+
+    public StreamingXPathEvaluator() {
+        inputFactory = XMLInputFactory.newFactory();
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        inputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+    }
+
+    /**
+     * @return true if the expression can be evaluated by {@link #evaluate(String, String)}
+     */
+    public static boolean isSimplePath(String expression) {
+        return SIMPLE_PATH.matcher(expression).matches();
+    }
+
+    /**
+     * Evaluates a simple path.
+     *
+     * @param expression the expression, which must be accepted by {@link #isSimplePath(String)}
+     * @param source the XML document
+     * @return the string value of the first match, an empty string if nothing matches
+     * @throws XMLStreamException if the document cannot be read up to the first match
+     */
+    public String evaluate(String expression, String source) throws XMLStreamException {
+        String[] steps = expression.substring(1).split("/");
+        int elementSteps = steps.length;
+        String attribute = null;
+        if (steps[elementSteps - 1].startsWith("@")) {
+            elementSteps--;
+            attribute = steps[elementSteps].substring(1);
+        }
+
+        XMLStreamReader reader = inputFactory.createXMLStreamReader(new StringReader(source));
+        try {
+            int depth = 0;
+            // the number of steps matched by the current element and its ancestors
+            int matched = 0;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                    if (matched == depth - 1 && matched < elementSteps && isName(reader, steps[matched])) {
+                        matched++;
+                        if (matched == elementSteps) {
+                            if (attribute == null) {
+                                return readText(reader);
+                            }
+                            String value = getAttributeValue(reader, attribute);
+                            if (value != null) {
+                                return value;
+                            }
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if (matched == depth) {
+                        matched--;
+                    }
+                    depth--;
+                }
+            }
+            return "";
+        } finally {
+            reader.close();
+        }
+    }
+
+    private boolean isName(XMLStreamReader reader, String name) {
+        String namespace = reader.getNamespaceURI();
+        return (namespace == null || namespace.isEmpty()) && name.equals(reader.getLocalName());
+    }
+
+    private @Nullable String getAttributeValue(XMLStreamReader reader, String name) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String namespace = reader.getAttributeNamespace(i);
+            if ((namespace == null || namespace.isEmpty()) && name.equals(reader.getAttributeLocalName(i))) {
+                return reader.getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+
+    private String readText(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT -> depth++;
+                case XMLStreamConstants.END_ELEMENT -> depth--;
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE ->
+                    text.append(reader.getText());
+                default -> {
+                }
+            }
+        }
+        return text.toString();
+    }
+}
@@ -12,79 +12,197 @@
  */
 package org.openhab.transform.xpath.internal;
 
+import java.io.IOException;
 import java.io.StringReader;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.xpath.XPath;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.config.core.ConfigParser;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
+import org.openhab.io.metrics.addon.internal.CacheMetrics;
+import org.openhab.io.metrics.addon.internal.MicrometerCacheMetrics;
+import org.osgi.framework.Constants;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
 
 /**
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by XPath Expressions.
  *
+ * <p>
+ * Compiled expressions are kept in a cache and document builders are reused. Simple absolute paths can optionally be
+ * evaluated while streaming the document, without building a DOM tree.
+ *
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
  */
 @NonNullByDefault
-@Component(property = { "openhab.transform=XPATH" })
+@Component(configurationPid = XPathTransformationService.CONFIGURATION_PID, property = { "openhab.transform=XPATH",
+        Constants.SERVICE_PID + "=" + XPathTransformationService.CONFIGURATION_PID })
 public class XPathTransformationService implements TransformationService {
 
-    private final Logger logger = LoggerFactory.getLogger(XPathTransformationService.class);
+    public static final String CONFIGURATION_PID = "org.openhab.xpath";
 
-    @Override
-    public @Nullable String transform(String xpathExpression, String source) throws TransformationException {
-        if (xpathExpression == null || source == null) {
-            throw new TransformationException("the given parameters 'xpath' and 'source' must not be null");
-        }
+    private static final int DEFAULT_EXPRESSION_CACHE_SIZE = 256;
+    // enough for the threads transforming values at the same time
+    private static final int MAX_POOLED_DOCUMENT_BUILDERS = 8;
 
-        logger.debug("about to transform '{}' by the function '{}'", source, xpathExpression);
+    private final Logger logger = LoggerFactory.getLogger(XPathTransformationService.class);
+
+    private final DocumentBuilderFactory domFactory;
+    private final XPathFactory xPathFactory = XPathFactory.newInstance();
+    private final StreamingXPathEvaluator streamingEvaluator = new StreamingXPathEvaluator();
+    private final Deque<DocumentBuilder> documentBuilders = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger pooledDocumentBuilders = new AtomicInteger();
 
-        StringReader stringReader = null;
+    private volatile Map<String, XPathExpression> expressionCache = createCache(DEFAULT_EXPRESSION_CACHE_SIZE);
+    private final LongAdder expressionHits = new LongAdder();
+    private final LongAdder expressionMisses = new LongAdder();
+    private volatile CacheMetrics metrics = CacheMetrics.NOOP;
+    private volatile boolean streaming = false;
 
+    public XPathTransformationService() {
+        domFactory = DocumentBuilderFactory.newInstance();
         try {
-            DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
             // see https://cheatsheetseries.owasp.org/cheatsheets/XML_External_Entity_Prevention_Cheat_Sheet.html
             domFactory.setFeature("http://xml.org/sax/features/external-general-entities", false);
             domFactory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
             domFactory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
-            domFactory.setXIncludeAware(false);
-            domFactory.setExpandEntityReferences(false);
-            domFactory.setNamespaceAware(true);
-            domFactory.setValidating(false);
-            DocumentBuilder builder = domFactory.newDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException("XML parser does not support the required features", e);
+        }
+        domFactory.setXIncludeAware(false);
+        domFactory.setExpandEntityReferences(false);
+        domFactory.setNamespaceAware(true);
+        domFactory.setValidating(false);
+    }
 
-            stringReader = new StringReader(source);
-            InputSource inputSource = new InputSource(stringReader);
-            inputSource.setEncoding("UTF-8");
+    @Activate
+    public XPathTransformationService(Map<String, Object> config) {
+        this();
+        modified(config);
+    }
 
-            Document doc = builder.parse(inputSource);
+    @Modified
+    protected void modified(Map<String, Object> config) {
+        int expressionCacheSize = ConfigParser.valueAsOrElse(config.get("expressionCacheSize"), Integer.class,
+                DEFAULT_EXPRESSION_CACHE_SIZE);
+        streaming = ConfigParser.valueAsOrElse(config.get("streaming"), Boolean.class, false);
+        logger.debug("Using expression cache size {}, streaming {}", expressionCacheSize, streaming);
+        expressionCache = createCache(expressionCacheSize);
+    }
 
-            XPath xpath = XPathFactory.newInstance().newXPath();
-            XPathExpression expr = xpath.compile(xpathExpression);
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    protected void setMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        CacheMetrics metrics = new MicrometerCacheMetrics(meterRegistryProvider.getOHMeterRegistry(), "XPATH");
+        metrics.registerCache("expression", () -> expressionCache.size(), expressionHits, expressionMisses);
+        this.metrics = metrics;
+    }
 
-            String transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+    protected void unsetMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics.close();
+        metrics = CacheMetrics.NOOP;
+    }
+
+    @Override
+    public @Nullable String transform(String xpathExpression, String source) throws TransformationException {
+        if (xpathExpression == null || source == null) {
+            throw new TransformationException("the given parameters 'xpath' and 'source' must not be null");
+        }
+
+        logger.debug("about to transform '{}' by the function '{}'", source, xpathExpression);
+
+        try {
+            String transformationResult;
+            if (streaming && StreamingXPathEvaluator.isSimplePath(xpathExpression)) {
+                transformationResult = streamingEvaluator.evaluate(xpathExpression, source);
+            } else {
+                XPathExpression expr = getExpression(xpathExpression);
+                Document doc = parse(source);
+                // compiled expressions are not thread-safe
+                synchronized (expr) {
+                    transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+                }
+            }
 
             logger.debug("transformation resulted in '{}'", transformationResult);
 
             return transformationResult;
         } catch (Exception e) {
             throw new TransformationException("transformation throws exceptions", e);
+        }
+    }
+
+    private XPathExpression getExpression(String xpathExpression) throws XPathExpressionException {
+        XPathExpression expr = expressionCache.get(xpathExpression);
+        if (expr == null) {
+            expressionMisses.increment();
+            synchronized (xPathFactory) {
+                expr = xPathFactory.newXPath().compile(xpathExpression);
+            }
+            expressionCache.put(xpathExpression, expr);
+        } else {
+            expressionHits.increment();
+        }
+        return expr;
+    }
+
+    private Document parse(String source) throws ParserConfigurationException, SAXException, IOException {
+        DocumentBuilder builder = documentBuilders.pollFirst();
+        if (builder == null) {
+            synchronized (domFactory) {
+                builder = domFactory.newDocumentBuilder();
+            }
+        } else {
+            pooledDocumentBuilders.decrementAndGet();
+        }
+        try (StringReader stringReader = new StringReader(source)) {
+            InputSource inputSource = new InputSource(stringReader);
+            inputSource.setEncoding("UTF-8");
+            return builder.parse(inputSource);
         } finally {
-            if (stringReader != null) {
-                stringReader.close();
+            builder.reset();
+            if (pooledDocumentBuilders.incrementAndGet() <= MAX_POOLED_DOCUMENT_BUILDERS) {
+                documentBuilders.offerFirst(builder);
+            } else {
+                pooledDocumentBuilders.decrementAndGet();
             }
         }
     }
+
+    private static Map<String, XPathExpression> createCache(int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, XPathExpression> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
 }
@@ -14,19 +14,28 @@ package org.openhab.transform.xpath.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Map;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.transform.TransformationException;
 
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 /**
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
  */
 public class XPathTransformationServiceTest extends AbstractTransformationServiceTest {
 
+    private final CompositeMeterRegistry registry = new CompositeMeterRegistry();
+    private final MeterRegistryProvider meterRegistryProvider = () -> registry;
     private XPathTransformationService processor;
 
     @BeforeEach
     public void init() {
+        registry.add(new SimpleMeterRegistry());
         processor = new XPathTransformationService();
     }
 
@@ -38,4 +47,55 @@ public class XPathTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testExpressionIsCompiledOnce() throws TransformationException {
+        processor.setMeterRegistryProvider(meterRegistryProvider);
+        assertEquals("8", processor.transform("//current_conditions/temp_c/@data", source));
+        assertEquals("8", processor.transform("//current_conditions/temp_c/@data", source));
+
+        assertEquals(1, cacheGets("miss"));
+        assertEquals(1, cacheGets("hit"));
+
+        processor.unsetMeterRegistryProvider(meterRegistryProvider);
+        assertTrue(registry.getMeters().isEmpty());
+    }
+
+    @Test
+    public void testStreamingEvaluation() throws TransformationException {
+        XPathTransformationService streamingProcessor = new XPathTransformationService(Map.of("streaming", true));
+        streamingProcessor.setMeterRegistryProvider(meterRegistryProvider);
+        String xml = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <PTZStatus version="2.0">
+                    <AbsoluteHigh>
+                        <elevation>0</elevation>
+                        <azimuth>450</azimuth>
+                    </AbsoluteHigh>
+                    <AbsoluteHigh zoom="10"><extra>4<![CDATA[6]]>0<b>!</b></extra></AbsoluteHigh>
+                </PTZStatus>
+                """;
+
+        for (String path : new String[] { "/PTZStatus/AbsoluteHigh/azimuth", "/PTZStatus/AbsoluteHigh[2]/extra",
+                "/PTZStatus/AbsoluteHigh/extra", "/PTZStatus/AbsoluteHigh/@zoom", "/PTZStatus/@version",
+                "/PTZStatus/AbsoluteHigh/missing", "/PTZStatus/missing/@zoom" }) {
+            assertEquals(processor.transform(path, xml), streamingProcessor.transform(path, xml), path);
+        }
+        // only simple paths are evaluated while streaming
+        assertEquals(1, cacheGets("miss"));
+    }
+
+    @Test
+    public void testStreamingEvaluationIgnoresNamespaces() throws TransformationException {
+        XPathTransformationService streamingProcessor = new XPathTransformationService(Map.of("streaming", true));
+        String xml = "<a xmlns=\"http://example.com\"><b>1</b></a>";
+
+        assertEquals("", streamingProcessor.transform("/a/b", xml));
+        assertEquals("1", streamingProcessor.transform("/*[local-name()='a']/*[local-name()='b']", xml));
+    }
+
+    private double cacheGets(String result) {
+        return registry.get("openhab.transform.cache.gets").tag("cache", "expression").tag("result", result)
+                .functionCounter().count();
+    }
 }
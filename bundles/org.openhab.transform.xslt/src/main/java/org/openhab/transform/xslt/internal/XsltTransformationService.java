@@ -12,12 +12,17 @@
  */
 package org.openhab.transform.xslt.internal;
 
-import java.io.File;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import javax.xml.transform.Source;
-import javax.xml.transform.Transformer;
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
@@ -35,6 +40,9 @@ import org.slf4j.LoggerFactory;
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by XSLT.
  *
+ * <p>
+ * The compiled stylesheets are kept in memory and only compiled again when the file has been modified.
+ *
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
  */
 @NonNullByDefault
@@ -43,6 +51,15 @@ public class XsltTransformationService implements TransformationService {
 
     private final Logger logger = LoggerFactory.getLogger(XsltTransformationService.class);
 
+    /**
+     * A compiled stylesheet and the attributes of the file it has been compiled from.
+     */
+    private record CompiledStylesheet(Templates templates, FileTime lastModified, long size) {
+    }
+
+    private final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+    private final Map<Path, CompiledStylesheet> stylesheets = new ConcurrentHashMap<>();
+
     /**
      * Transforms the input <code>source</code> by XSLT.
      *
@@ -60,12 +77,12 @@ public class XsltTransformationService implements TransformationService {
             throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
         }
 
-        Source xsl = null;
+        Path path;
+        BasicFileAttributes attributes;
 
         try {
-            String path = OpenHAB.getConfigFolder() + File.separator + TransformationService.TRANSFORM_FOLDER_NAME
-                    + File.separator + filename;
-            xsl = new StreamSource(new File(path));
+            path = Path.of(OpenHAB.getConfigFolder(), TransformationService.TRANSFORM_FOLDER_NAME, filename);
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
         } catch (Exception e) {
             String message = "opening file '" + filename + "' throws exception";
 
@@ -73,16 +90,14 @@ public class XsltTransformationService implements TransformationService {
             throw new TransformationException(message, e);
         }
 
-        logger.debug("about to transform '{}' by the function '{}'", source, xsl);
+        logger.debug("about to transform '{}' by the function '{}'", source, path);
 
         StringReader xml = new StringReader(source);
         StringWriter out = new StringWriter();
 
-        Transformer transformer;
-
         try {
-            transformer = TransformerFactory.newInstance().newTransformer(xsl);
-            transformer.transform(new StreamSource(xml), new StreamResult(out));
+            Templates templates = getTemplates(path, attributes);
+            templates.newTransformer().transform(new StreamSource(xml), new StreamResult(out));
         } catch (Exception e) {
             logger.error("transformation throws exception", e);
             throw new TransformationException("transformation throws exception", e);
@@ -92,4 +107,24 @@ public class XsltTransformationService implements TransformationService {
 
         return out.toString();
     }
+
+    /**
+     * Returns the compiled stylesheet, compiling it if it has not been compiled yet or the file has been modified.
+     */
+    private Templates getTemplates(Path path, BasicFileAttributes attributes) throws TransformerConfigurationException {
+        CompiledStylesheet stylesheet = stylesheets.get(path);
+        if (stylesheet != null && stylesheet.lastModified().equals(attributes.lastModifiedTime())
+                && stylesheet.size() == attributes.size()) {
+            return stylesheet.templates();
+        }
+
+        logger.debug("compiling stylesheet '{}'", path);
+        Templates templates;
+        // the factory is not thread-safe
+        synchronized (transformerFactory) {
+            templates = transformerFactory.newTemplates(new StreamSource(path.toFile()));
+        }
+        stylesheets.put(path, new CompiledStylesheet(templates, attributes.lastModifiedTime(), attributes.size()));
+        return templates;
+    }
 }
@@ -14,9 +14,17 @@ package org.openhab.transform.xslt.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.core.OpenHAB;
 import org.openhab.core.transform.TransformationException;
+import org.openhab.core.transform.TransformationService;
 
 /**
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
@@ -38,4 +46,43 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testModifiedStylesheetIsCompiledAgain(@TempDir Path configFolder)
+            throws IOException, TransformationException {
+        Path stylesheet = configFolder.resolve(TransformationService.TRANSFORM_FOLDER_NAME).resolve("test.xsl");
+        Files.createDirectories(stylesheet.getParent());
+        Files.writeString(stylesheet, createStylesheet("temp_c/@data"));
+
+        String previousConfigFolder = System.getProperty(OpenHAB.CONFIG_DIR_PROG_ARGUMENT);
+        System.setProperty(OpenHAB.CONFIG_DIR_PROG_ARGUMENT, configFolder.toString());
+        try {
+            assertEquals("8", processor.transform("test.xsl", source));
+            assertEquals("8", processor.transform("test.xsl", source));
+
+            FileTime lastModified = Files.getLastModifiedTime(stylesheet);
+            Files.writeString(stylesheet, createStylesheet("humidity/@data"));
+            Files.setLastModifiedTime(stylesheet, FileTime.fromMillis(lastModified.toMillis() + 1000));
+
+            assertEquals("Feuchtigkeit: 66 %", processor.transform("test.xsl", source));
+        } finally {
+            if (previousConfigFolder == null) {
+                System.clearProperty(OpenHAB.CONFIG_DIR_PROG_ARGUMENT);
+            } else {
+                System.setProperty(OpenHAB.CONFIG_DIR_PROG_ARGUMENT, previousConfigFolder);
+            }
+        }
+    }
+
+    private String createStylesheet(String select) {
+        return """
+                <?xml version="1.0"?>
+                <xsl:stylesheet xmlns:xsl="http://www.w3.org/1999/XSL/Transform" version="1.0">
+                    <xsl:output method="text" encoding="UTF-8" />
+                    <xsl:template match="//current_conditions">
+                        <xsl:value-of select="%s" />
+                    </xsl:template>
+                </xsl:stylesheet>
+                """.formatted(select);
+    }
 }
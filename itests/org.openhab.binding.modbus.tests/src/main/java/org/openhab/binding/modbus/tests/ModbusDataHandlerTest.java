@@ -29,6 +29,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -1366,4 +1367,108 @@ public class ModbusDataHandlerTest extends AbstractModbusOSGiTest {
         dataConfig.put("writeTransform", "JS(myJsonTransform.js)");
         testInitGeneric(null, dataConfig, status -> assertThat(status.getStatus(), is(equalTo(ThingStatus.ONLINE))));
     }
+
+    private ModbusDataThingHandler createRegisterReadHandler(ModbusReadRequestBlueprint request, String transform,
+            boolean autoCreateItemsAndLinkToChannels) {
+        ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("thisishost", 502, false);
+        doReturn(3).when(request).getDataLength();
+        doReturn(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS).when(request).getFunctionCode();
+
+        PollTask task = Mockito.mock(PollTask.class);
+        doReturn(endpoint).when(task).getEndpoint();
+        doReturn(request).when(task).getRequest();
+        Bridge poller = createPollerMock("poller1", task);
+
+        Configuration dataConfig = new Configuration();
+        dataConfig.put("readStart", "0");
+        dataConfig.put("readTransform", transform);
+        dataConfig.put("readValueType", ModbusConstants.ValueType.INT16.getConfigValue());
+        // update the channels with every poll, also when the value did not change
+        dataConfig.put("updateUnchangedValuesEveryMillis", 0);
+        ModbusDataThingHandler dataHandler = createDataHandler("read1", poller,
+                builder -> builder.withConfiguration(dataConfig), bundleContext, autoCreateItemsAndLinkToChannels);
+        assertThat(dataHandler.getThing().getStatus(), is(equalTo(ThingStatus.ONLINE)));
+        return dataHandler;
+    }
+
+    private Object getLastValueStates(ModbusDataThingHandler handler) {
+        try {
+            Field field = ModbusDataThingHandler.class.getDeclaredField("lastValueStates");
+            field.setAccessible(true);
+            return field.get(handler);
+        } catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
+            fail(e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void readRegisters(ModbusDataThingHandler handler, ModbusReadRequestBlueprint request, int value) {
+        handler.onReadResult(new AsyncModbusReadResult(request,
+                new ModbusRegisterArray(new byte[] { (byte) (value >> 8), (byte) value })));
+    }
+
+    @Test
+    public void testUnchangedRegistersReuseStatesOfIdentityTransformation() {
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        ModbusDataThingHandler dataHandler = createRegisterReadHandler(request, "default", true);
+        String itemName = getItemName(new ChannelUID(dataHandler.getThing().getUID(), CHANNEL_NUMBER));
+
+        readRegisters(dataHandler, request, 5);
+        // unchanged registers, the states are reused
+        readRegisters(dataHandler, request, 5);
+        // changed registers, the value is decoded again
+        readRegisters(dataHandler, request, 6);
+
+        waitForAssert(() -> assertThat(getStateUpdates(itemName),
+                is(equalTo(List.of(new DecimalType(5), new DecimalType(5), new DecimalType(6))))));
+    }
+
+    @Test
+    public void testUnchangedRegistersAreTransformedAgain() {
+        AtomicReference<String> output = new AtomicReference<>("1");
+        mockTransformation("EXTERNAL", new TransformationService() {
+
+            @Override
+            public String transform(String function, String source) throws TransformationException {
+                // the result does not only depend on the input, e.g. like a script reading other items
+                return output.get();
+            }
+        });
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        ModbusDataThingHandler dataHandler = createRegisterReadHandler(request, "EXTERNAL(x)", true);
+        String itemName = getItemName(new ChannelUID(dataHandler.getThing().getUID(), CHANNEL_NUMBER));
+
+        readRegisters(dataHandler, request, 5);
+        assertThat(getLastValueStates(dataHandler), is(nullValue()));
+        output.set("2");
+        readRegisters(dataHandler, request, 5);
+
+        waitForAssert(() -> assertThat(getStateUpdates(itemName),
+                is(equalTo(List.of(new DecimalType(1), new DecimalType(2))))));
+    }
+
+    @Test
+    public void testChannelLinkChangesInvalidateReusedStates() {
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        ModbusDataThingHandler dataHandler = createRegisterReadHandler(request, "default", false);
+        ChannelUID numberUID = new ChannelUID(dataHandler.getThing().getUID(), CHANNEL_NUMBER);
+
+        readRegisters(dataHandler, request, 5);
+        assertThat(getLastValueStates(dataHandler), is(notNullValue()));
+
+        // the number channel is not part of the states decoded before it was linked
+        String itemName = getItemName(numberUID);
+        GenericItem item = coreItemFactory.createItem("Number", itemName);
+        assertNotNull(item);
+        addItem(item);
+        linkItem(itemName, numberUID);
+        dataHandler.channelLinked(numberUID);
+        assertThat(getLastValueStates(dataHandler), is(nullValue()));
+
+        readRegisters(dataHandler, request, 5);
+        waitForAssert(() -> assertThat(getStateUpdates(itemName), is(equalTo(List.of(new DecimalType(5))))));
+
+        dataHandler.channelUnlinked(numberUID);
+        assertThat(getLastValueStates(dataHandler), is(nullValue()));
+    }
 }
@@ -458,6 +458,65 @@ public class ModbusPollerThingHandlerTest extends AbstractModbusOSGiTest {
         verifyNoMoreInteractions(child2);
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testOnlyChangedRegistersPassedToChildDataThings()
+            throws IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+        PollTask pollTask = Mockito.mock(PollTask.class);
+        doReturn(pollTask).when(comms).registerRegularPoll(notNull(), eq(150l), eq(0L), notNull(), notNull());
+
+        Configuration pollerConfig = new Configuration();
+        pollerConfig.put("refresh", 150L);
+        pollerConfig.put("start", 5);
+        pollerConfig.put("length", 2);
+        pollerConfig.put("type", "holding");
+        pollerConfig.put("onlyOnChange", true);
+        poller = createPollerThingBuilder("poller").withConfiguration(pollerConfig).withBridge(endpoint.getUID())
+                .build();
+        addThing(poller);
+        verifyEndpointBasicInitInteraction();
+
+        assertThat(poller.getStatus(), is(equalTo(ThingStatus.ONLINE)));
+
+        ArgumentCaptor<ModbusReadCallback> callbackCapturer = ArgumentCaptor.forClass(ModbusReadCallback.class);
+        verify(comms).registerRegularPoll(notNull(), eq(150l), eq(0L), callbackCapturer.capture(), notNull());
+        ModbusReadCallback readCallback = callbackCapturer.getValue();
+
+        ModbusPollerThingHandler thingHandler = (ModbusPollerThingHandler) poller.getHandler();
+        assertNotNull(thingHandler);
+        ModbusDataThingHandler child1 = Mockito.mock(ModbusDataThingHandler.class);
+        thingHandler.childHandlerInitialized(child1, Mockito.mock(Thing.class));
+
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        AsyncModbusReadResult result = new AsyncModbusReadResult(request, new ModbusRegisterArray(1, 2));
+        AsyncModbusReadResult sameResult = new AsyncModbusReadResult(request, new ModbusRegisterArray(1, 2));
+        AsyncModbusReadResult changedResult = new AsyncModbusReadResult(request, new ModbusRegisterArray(1, 3));
+
+        // first result is always passed on
+        readCallback.handle(result);
+        verify(child1).onReadResult(result);
+
+        // unchanged result is skipped
+        readCallback.handle(sameResult);
+        verifyNoMoreInteractions(child1);
+
+        // changed result is passed on
+        readCallback.handle(changedResult);
+        verify(child1).onReadResult(changedResult);
+
+        // after an error, the next result is passed on even if it did not change
+        AsyncModbusFailure<ModbusReadRequestBlueprint> failure = new AsyncModbusFailure<>(request, new Exception());
+        ((ModbusFailureCallback<ModbusReadRequestBlueprint>) readCallback).handle(failure);
+        verify(child1).handleReadError(failure);
+        AsyncModbusReadResult changedResultAgain = new AsyncModbusReadResult(request, new ModbusRegisterArray(1, 3));
+        readCallback.handle(changedResultAgain);
+        verify(child1).onReadResult(changedResultAgain);
+        verifyNoMoreInteractions(child1);
+
+        assertThat(thingHandler.getSkippedResultCount(), is(equalTo(1L)));
+        assertThat(thingHandler.getDispatchedResultCount(), is(equalTo(4L)));
+    }
+
     @Test
     public void testBitsPassedToChildDataThings()
             throws IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {